@@ -0,0 +1,30 @@
+package io.fastprintf;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/** A JDK Flight Recorder event for a format call that was slow or produced a large output. */
+@Name("io.fastprintf.Format")
+@Label("FastPrintf Format")
+@Category("FastPrintf")
+@Description("A format call that exceeded the configured duration or output length threshold")
+final class FormatEvent extends jdk.jfr.Event {
+
+  @Label("Pattern")
+  @Description("The format string the formatter was compiled from")
+  String pattern;
+
+  @Label("Argument Count")
+  int argumentCount;
+
+  @Label("Output Length")
+  @Description("Characters produced, or -1 when writing to an Appendable of unknown length")
+  int outputLength;
+
+  @Label("Format Duration")
+  @Timespan(Timespan.NANOSECONDS)
+  long formatDuration;
+}
@@ -0,0 +1,97 @@
+package io.fastprintf;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import jdk.jfr.EventType;
+
+/**
+ * Hooks through which {@link FastPrintfImpl} reports slow or oversized format calls to JDK Flight
+ * Recorder.
+ *
+ * <p>This is the Java 11 version, selected by the multi-release JAR. While a recording with the
+ * {@code io.fastprintf.Format} event enabled is running, a call is timed and, if it took at least
+ * {@code io.fastprintf.jfr.durationThresholdMicros} (default 1000) or produced at least {@code
+ * io.fastprintf.jfr.lengthThreshold} characters (default 65536), a {@link FormatEvent} is
+ * committed. Both thresholds are read once from system properties. When no recording is running,
+ * {@link #begin()} costs a single enablement check.
+ *
+ * <p>If the {@code jdk.jfr} module is not in the boot layer, for example in a trimmed runtime image,
+ * every call is a no-op.
+ */
+final class FormatEvents {
+
+  static final long DURATION_THRESHOLD_NANOS =
+      TimeUnit.MICROSECONDS.toNanos(
+          Long.getLong("io.fastprintf.jfr.durationThresholdMicros", 1000L));
+  static final int LENGTH_THRESHOLD =
+      Integer.getInteger("io.fastprintf.jfr.lengthThreshold", 65536);
+
+  private static final boolean AVAILABLE = linkJfr();
+
+  private FormatEvents() {
+    throw new IllegalStateException();
+  }
+
+  private static boolean linkJfr() {
+    try {
+      Optional<Module> jfr = ModuleLayer.boot().findModule("jdk.jfr");
+      if (!jfr.isPresent()) {
+        return false;
+      }
+      // module-info targets Java 9, which predates an open-source jdk.jfr, so a named
+      // io.fastprintf module declares no dependency on it and must add the edge itself.
+      Module self = FormatEvents.class.getModule();
+      if (!self.canRead(jfr.get())) {
+        self.addReads(jfr.get());
+      }
+      return Jfr.TYPE != null;
+    } catch (LinkageError | RuntimeException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Called before a format call.
+   *
+   * @return an opaque start token, or {@code 0} if no event will be recorded for this call.
+   */
+  static long begin() {
+    if (!AVAILABLE || !Jfr.TYPE.isEnabled()) {
+      return 0L;
+    }
+    long now = System.nanoTime();
+    return now == 0L ? 1L : now;
+  }
+
+  /**
+   * Called after a successful format call.
+   *
+   * @param start the token returned by {@link #begin()}.
+   * @param formatter the formatter that ran.
+   * @param args the formatted arguments.
+   * @param outputLength the number of characters produced, or {@code -1} if unknown.
+   */
+  static void end(long start, FastPrintfImpl formatter, Args args, int outputLength) {
+    if (start == 0L) {
+      return;
+    }
+    long duration = System.nanoTime() - start;
+    if (duration < DURATION_THRESHOLD_NANOS && outputLength < LENGTH_THRESHOLD) {
+      return;
+    }
+    FormatEvent event = new FormatEvent();
+    if (event.shouldCommit()) {
+      event.pattern = formatter.getPattern();
+      event.argumentCount =
+          args instanceof ArgsImpl ? ((ArgsImpl) args).size() : args.values().size();
+      event.outputLength = outputLength;
+      event.formatDuration = duration;
+      event.commit();
+    }
+  }
+
+  /** Keeps every reference to {@code jdk.jfr} out of {@link FormatEvents} itself. */
+  private static final class Jfr {
+    static final EventType TYPE = EventType.getEventType(FormatEvent.class);
+  }
+}
@@ -0,0 +1,608 @@
+package io.fastprintf;
+
+import io.fastprintf.traits.BigDecimalTraits;
+import io.fastprintf.traits.BigIntegerTraits;
+import io.fastprintf.traits.BooleanTraits;
+import io.fastprintf.traits.ByteArrayTraits;
+import io.fastprintf.traits.ByteTraits;
+import io.fastprintf.traits.CharSequenceTraits;
+import io.fastprintf.traits.CharacterTraits;
+import io.fastprintf.traits.DoubleTraits;
+import io.fastprintf.traits.FloatTraits;
+import io.fastprintf.traits.FormatTraits;
+import io.fastprintf.traits.IntTraits;
+import io.fastprintf.traits.LongTraits;
+import io.fastprintf.traits.PrimitiveArrayTraits;
+import io.fastprintf.traits.ShortTraits;
+import io.fastprintf.traits.TemporalAccessorTraits;
+import io.fastprintf.util.Preconditions;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A compact binary encoding of {@link Args} into a {@link ByteBuffer} and back.
+ *
+ * <p>This codec lets a hot thread capture the arguments of a message into off-heap (or pooled)
+ * memory and have them formatted later, on another thread or even in another process, without
+ * keeping a graph of {@link FormatTraits} objects alive on the Java heap in the meantime.
+ *
+ * <h2>Wire Format:</h2>
+ *
+ * <p>An encoded argument list is a 4-byte argument count followed by one entry per argument. Every
+ * entry starts with a one-byte type tag:
+ *
+ * <ul>
+ *   <li>Primitives and their wrappers are written raw, in their natural width ({@code long} and
+ *       {@code double} take 8 bytes).
+ *   <li>Strings are length-prefixed and stored as Latin-1 (one byte per char) when every char fits,
+ *       or as UTF-16 otherwise.
+ *   <li>{@code BigInteger} is stored as its two's-complement bytes; {@code BigDecimal} as its scale
+ *       and unscaled value.
+ *   <li>{@code Instant}, {@code LocalDate}, {@code LocalTime}, {@code LocalDateTime}, {@code
+ *       OffsetTime}, {@code OffsetDateTime} and {@code ZonedDateTime} are stored by their numeric
+ *       fields (plus the zone id for {@code ZonedDateTime}).
+ *   <li>A {@code byte[]}, or the bytes from a {@code ByteBuffer}'s position to its limit, is stored
+ *       length-prefixed, so {@code %x} writes the same digits after a round trip. A buffer is
+ *       decoded as a new heap buffer over those bytes, so its {@code %s} text may differ.
+ *   <li>{@code short[]}, {@code int[]}, {@code long[]}, {@code float[]} and {@code double[]} are
+ *       stored as a length followed by their elements, so numeric conversions still apply to
+ *       each element after a round trip.
+ * </ul>
+ *
+ * <p>Any other argument, including other {@code TemporalAccessor} types and arbitrary objects, is
+ * captured by its string form ({@link FormatTraits#asString()}) and decoded as a string. Only its
+ * {@code %s} rendering is preserved. Object identity ({@code %p}) does not survive a round trip,
+ * and boxed values are decoded as primitives.
+ *
+ * <p>Each method call converts such an argument to a string once, but {@link #encodedLength(Args)}
+ * followed by {@link #encode(Args, ByteBuffer)} converts it twice. If its {@code toString()} gives
+ * a longer text the second time, {@code encode} throws {@link BufferOverflowException} before
+ * writing anything. {@link #encode(Args)} measures and writes with a single conversion.
+ *
+ * <p>Multi-byte values use the byte order of the buffer. Both {@link #encode(Args, ByteBuffer)} and
+ * {@link #decode(ByteBuffer)} advance the buffer's position past the entry, so several argument
+ * lists can be stored back to back.
+ *
+ * <h2>Usage:</h2>
+ *
+ * <pre>{@code
+ * ByteBuffer slot = ByteBuffer.allocateDirect(ArgsCodec.encodedLength(args));
+ * ArgsCodec.encode(args, slot);
+ * // ... later, possibly on another thread
+ * slot.flip();
+ * String message = formatter.format(ArgsCodec.decode(slot));
+ * }</pre>
+ */
+public final class ArgsCodec {
+
+  private static final byte TAG_NULL = 0;
+  private static final byte TAG_BOOLEAN = 1;
+  private static final byte TAG_CHAR = 2;
+  private static final byte TAG_BYTE = 3;
+  private static final byte TAG_SHORT = 4;
+  private static final byte TAG_INT = 5;
+  private static final byte TAG_LONG = 6;
+  private static final byte TAG_FLOAT = 7;
+  private static final byte TAG_DOUBLE = 8;
+  private static final byte TAG_STRING_LATIN1 = 9;
+  private static final byte TAG_STRING_UTF16 = 10;
+  private static final byte TAG_BIG_INTEGER = 11;
+  private static final byte TAG_BIG_DECIMAL = 12;
+  private static final byte TAG_INSTANT = 13;
+  private static final byte TAG_LOCAL_DATE = 14;
+  private static final byte TAG_LOCAL_TIME = 15;
+  private static final byte TAG_LOCAL_DATE_TIME = 16;
+  private static final byte TAG_OFFSET_TIME = 17;
+  private static final byte TAG_OFFSET_DATE_TIME = 18;
+  private static final byte TAG_ZONED_DATE_TIME = 19;
+  private static final byte TAG_BYTE_ARRAY = 20;
+  private static final byte TAG_BYTE_BUFFER = 21;
+  private static final byte TAG_SHORT_ARRAY = 22;
+  private static final byte TAG_INT_ARRAY = 23;
+  private static final byte TAG_LONG_ARRAY = 24;
+  private static final byte TAG_FLOAT_ARRAY = 25;
+  private static final byte TAG_DOUBLE_ARRAY = 26;
+
+  private ArgsCodec() {
+    throw new IllegalStateException();
+  }
+
+  /**
+   * Returns the exact number of bytes {@link #encode(Args, ByteBuffer)} will write for {@code
+   * args}.
+   *
+   * @param args the arguments to measure.
+   * @return the encoded length in bytes.
+   */
+  public static int encodedLength(Args args) {
+    Preconditions.checkNotNull(args, "args");
+    return new Entries(args).length;
+  }
+
+  /**
+   * Encodes {@code args} into {@code dst}, starting at its current position.
+   *
+   * @param args the arguments to encode.
+   * @param dst the destination buffer.
+   * @throws BufferOverflowException if {@code dst} has fewer bytes remaining than the encoding
+   *     needs. Nothing is written and the buffer's position is unchanged.
+   */
+  public static void encode(Args args, ByteBuffer dst) {
+    Preconditions.checkNotNull(args, "args");
+    Preconditions.checkNotNull(dst, "dst");
+    Entries entries = new Entries(args);
+    if (dst.remaining() < entries.length) {
+      throw new BufferOverflowException();
+    }
+    entries.writeTo(dst);
+  }
+
+  /**
+   * Encodes {@code args} into a new heap buffer of exactly the encoded length, converting each
+   * argument captured by its string form only once.
+   *
+   * @param args the arguments to encode.
+   * @return a buffer in big-endian order, positioned at zero with its limit at the end of the
+   *     encoding.
+   */
+  public static ByteBuffer encode(Args args) {
+    Preconditions.checkNotNull(args, "args");
+    Entries entries = new Entries(args);
+    ByteBuffer dst = ByteBuffer.allocate(entries.length);
+    entries.writeTo(dst);
+    dst.flip();
+    return dst;
+  }
+
+  /**
+   * Decodes one argument list from {@code src}, starting at its current position.
+   *
+   * @param src the source buffer.
+   * @return a new {@code Args} equivalent to the encoded one.
+   * @throws PrintfException if the buffer does not contain a valid encoding.
+   */
+  public static Args decode(ByteBuffer src) {
+    Preconditions.checkNotNull(src, "src");
+    try {
+      int count = src.getInt();
+      if (count < 0) {
+        throw new PrintfException("Invalid argument count: %s", count);
+      }
+      Args args = Args.createWithExpectedSize(Math.min(count, src.remaining()));
+      for (int i = 0; i < count; i++) {
+        decodeTraits(src, args);
+      }
+      return args;
+    } catch (BufferUnderflowException e) {
+      throw new PrintfException("Truncated argument encoding", e);
+    } catch (DateTimeException | NumberFormatException e) {
+      throw new PrintfException("Malformed argument encoding", e);
+    }
+  }
+
+  /**
+   * The arguments of one list, with every argument that is captured by its string form already
+   * converted, so the length measured is the length written.
+   */
+  private static final class Entries {
+
+    /** Each entry is either the {@code FormatTraits} or the {@code String} to write. */
+    private final List<Object> entries = new ArrayList<>();
+
+    private int length = Integer.BYTES;
+
+    Entries(Args args) {
+      for (FormatTraits traits : args) {
+        int payloadLength = payloadLength(traits);
+        if (payloadLength >= 0) {
+          entries.add(traits);
+        } else {
+          String value = traits.asString();
+          entries.add(value);
+          payloadLength = stringLength(value);
+        }
+        length += 1 + payloadLength;
+      }
+    }
+
+    void writeTo(ByteBuffer dst) {
+      dst.putInt(entries.size());
+      for (Object entry : entries) {
+        if (entry instanceof String) {
+          putString((String) entry, dst);
+        } else {
+          encodeTraits((FormatTraits) entry, dst);
+        }
+      }
+    }
+  }
+
+  /** Returns -1 if {@code traits} are captured by their string form. */
+  private static int payloadLength(FormatTraits traits) {
+    if (traits.isNull()) {
+      return 0;
+    } else if (traits instanceof BooleanTraits || traits instanceof ByteTraits) {
+      return Byte.BYTES;
+    } else if (traits instanceof CharacterTraits || traits instanceof ShortTraits) {
+      return Short.BYTES;
+    } else if (traits instanceof IntTraits || traits instanceof FloatTraits) {
+      return Integer.BYTES;
+    } else if (traits instanceof LongTraits || traits instanceof DoubleTraits) {
+      return Long.BYTES;
+    } else if (traits instanceof CharSequenceTraits) {
+      return stringLength((CharSequence) traits.asObject());
+    } else if (traits instanceof BigIntegerTraits) {
+      return bytesLength(((BigInteger) traits.asObject()).bitLength());
+    } else if (traits instanceof BigDecimalTraits) {
+      BigDecimal value = (BigDecimal) traits.asObject();
+      return Integer.BYTES + bytesLength(value.unscaledValue().bitLength());
+    } else if (traits instanceof TemporalAccessorTraits) {
+      return temporalLength(traits.asTemporalAccessor());
+    } else if (traits instanceof ByteArrayTraits) {
+      Object value = traits.asObject();
+      return Integer.BYTES
+          + (value instanceof byte[]
+              ? ((byte[]) value).length
+              : ((ByteBuffer) value).remaining());
+    } else if (traits instanceof PrimitiveArrayTraits) {
+      return arrayLength(traits.asObject());
+    }
+    return -1;
+  }
+
+  private static int bytesLength(int bitLength) {
+    // Matches BigInteger.toByteArray(), which always includes a sign bit.
+    return Integer.BYTES + (bitLength / 8 + 1);
+  }
+
+  private static int arrayLength(Object array) {
+    int elementBytes;
+    if (array instanceof short[]) {
+      elementBytes = Short.BYTES;
+    } else if (array instanceof int[] || array instanceof float[]) {
+      elementBytes = Integer.BYTES;
+    } else {
+      elementBytes = Long.BYTES;
+    }
+    return Integer.BYTES + Array.getLength(array) * elementBytes;
+  }
+
+  private static int stringLength(CharSequence value) {
+    int length = value.length();
+    return Integer.BYTES + (isLatin1(value) ? length : length * Character.BYTES);
+  }
+
+  private static int temporalLength(TemporalAccessor value) {
+    if (value instanceof Instant) {
+      return Long.BYTES + Integer.BYTES;
+    } else if (value instanceof LocalDate || value instanceof LocalTime) {
+      return Long.BYTES;
+    } else if (value instanceof LocalDateTime) {
+      return Long.BYTES * 2;
+    } else if (value instanceof OffsetTime) {
+      return Long.BYTES + Integer.BYTES;
+    } else if (value instanceof OffsetDateTime) {
+      return Long.BYTES * 2 + Integer.BYTES;
+    } else if (value instanceof ZonedDateTime) {
+      ZonedDateTime zoned = (ZonedDateTime) value;
+      int zoneIdLength = zoned.getZone().getId().length();
+      return Long.BYTES * 2 + Integer.BYTES * 2 + zoneIdLength * Character.BYTES;
+    }
+    return -1;
+  }
+
+  private static boolean isLatin1(CharSequence value) {
+    for (int i = 0, n = value.length(); i < n; i++) {
+      if (value.charAt(i) > 0xFF) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static void encodeTraits(FormatTraits traits, ByteBuffer dst) {
+    if (traits.isNull()) {
+      dst.put(TAG_NULL);
+    } else if (traits instanceof IntTraits) {
+      dst.put(TAG_INT).putInt(traits.asInt());
+    } else if (traits instanceof LongTraits) {
+      dst.put(TAG_LONG).putLong((Long) traits.asObject());
+    } else if (traits instanceof DoubleTraits) {
+      dst.put(TAG_DOUBLE).putDouble((Double) traits.asObject());
+    } else if (traits instanceof CharSequenceTraits) {
+      putString((CharSequence) traits.asObject(), dst);
+    } else if (traits instanceof BooleanTraits) {
+      dst.put(TAG_BOOLEAN).put((byte) traits.asInt());
+    } else if (traits instanceof CharacterTraits) {
+      dst.put(TAG_CHAR).putChar(traits.asChar());
+    } else if (traits instanceof ByteTraits) {
+      dst.put(TAG_BYTE).put((byte) traits.asInt());
+    } else if (traits instanceof ShortTraits) {
+      dst.put(TAG_SHORT).putShort((short) traits.asInt());
+    } else if (traits instanceof FloatTraits) {
+      dst.put(TAG_FLOAT).putFloat((Float) traits.asObject());
+    } else if (traits instanceof BigIntegerTraits) {
+      dst.put(TAG_BIG_INTEGER);
+      putBytes(((BigInteger) traits.asObject()).toByteArray(), dst);
+    } else if (traits instanceof BigDecimalTraits) {
+      BigDecimal value = (BigDecimal) traits.asObject();
+      dst.put(TAG_BIG_DECIMAL).putInt(value.scale());
+      putBytes(value.unscaledValue().toByteArray(), dst);
+    } else if (traits instanceof ByteArrayTraits) {
+      Object value = traits.asObject();
+      if (value instanceof byte[]) {
+        dst.put(TAG_BYTE_ARRAY);
+        putBytes((byte[]) value, dst);
+      } else {
+        // A duplicate leaves the argument's position where it was.
+        ByteBuffer bytes = ((ByteBuffer) value).duplicate();
+        dst.put(TAG_BYTE_BUFFER).putInt(bytes.remaining()).put(bytes);
+      }
+    } else if (traits instanceof PrimitiveArrayTraits) {
+      putArray(traits.asObject(), dst);
+    } else {
+      // payloadLength has already sent every other kind to its string form.
+      putTemporal(traits.asTemporalAccessor(), dst);
+    }
+  }
+
+  private static void putBytes(byte[] bytes, ByteBuffer dst) {
+    dst.putInt(bytes.length).put(bytes);
+  }
+
+  private static void putArray(Object array, ByteBuffer dst) {
+    if (array instanceof short[]) {
+      short[] values = (short[]) array;
+      dst.put(TAG_SHORT_ARRAY).putInt(values.length);
+      for (short value : values) {
+        dst.putShort(value);
+      }
+    } else if (array instanceof int[]) {
+      int[] values = (int[]) array;
+      dst.put(TAG_INT_ARRAY).putInt(values.length);
+      for (int value : values) {
+        dst.putInt(value);
+      }
+    } else if (array instanceof long[]) {
+      long[] values = (long[]) array;
+      dst.put(TAG_LONG_ARRAY).putInt(values.length);
+      for (long value : values) {
+        dst.putLong(value);
+      }
+    } else if (array instanceof float[]) {
+      float[] values = (float[]) array;
+      dst.put(TAG_FLOAT_ARRAY).putInt(values.length);
+      for (float value : values) {
+        dst.putFloat(value);
+      }
+    } else {
+      double[] values = (double[]) array;
+      dst.put(TAG_DOUBLE_ARRAY).putInt(values.length);
+      for (double value : values) {
+        dst.putDouble(value);
+      }
+    }
+  }
+
+  private static void putString(CharSequence value, ByteBuffer dst) {
+    int length = value.length();
+    if (isLatin1(value)) {
+      if (dst.remaining() < 1 + Integer.BYTES + length) {
+        throw new BufferOverflowException();
+      }
+      dst.put(TAG_STRING_LATIN1).putInt(length);
+      for (int i = 0; i < length; i++) {
+        dst.put((byte) value.charAt(i));
+      }
+    } else {
+      if (dst.remaining() < 1 + Integer.BYTES + length * Character.BYTES) {
+        throw new BufferOverflowException();
+      }
+      dst.put(TAG_STRING_UTF16).putInt(length);
+      for (int i = 0; i < length; i++) {
+        dst.putChar(value.charAt(i));
+      }
+    }
+  }
+
+  private static void putTemporal(TemporalAccessor value, ByteBuffer dst) {
+    if (value instanceof Instant) {
+      Instant instant = (Instant) value;
+      dst.put(TAG_INSTANT).putLong(instant.getEpochSecond()).putInt(instant.getNano());
+    } else if (value instanceof LocalDate) {
+      dst.put(TAG_LOCAL_DATE).putLong(((LocalDate) value).toEpochDay());
+    } else if (value instanceof LocalTime) {
+      dst.put(TAG_LOCAL_TIME).putLong(((LocalTime) value).toNanoOfDay());
+    } else if (value instanceof LocalDateTime) {
+      dst.put(TAG_LOCAL_DATE_TIME);
+      putLocalDateTime((LocalDateTime) value, dst);
+    } else if (value instanceof OffsetTime) {
+      OffsetTime time = (OffsetTime) value;
+      dst.put(TAG_OFFSET_TIME)
+          .putLong(time.toLocalTime().toNanoOfDay())
+          .putInt(time.getOffset().getTotalSeconds());
+    } else if (value instanceof OffsetDateTime) {
+      OffsetDateTime dateTime = (OffsetDateTime) value;
+      dst.put(TAG_OFFSET_DATE_TIME);
+      putLocalDateTime(dateTime.toLocalDateTime(), dst);
+      dst.putInt(dateTime.getOffset().getTotalSeconds());
+    } else {
+      ZonedDateTime dateTime = (ZonedDateTime) value;
+      dst.put(TAG_ZONED_DATE_TIME);
+      putLocalDateTime(dateTime.toLocalDateTime(), dst);
+      dst.putInt(dateTime.getOffset().getTotalSeconds());
+      String zoneId = dateTime.getZone().getId();
+      dst.putInt(zoneId.length());
+      for (int i = 0; i < zoneId.length(); i++) {
+        dst.putChar(zoneId.charAt(i));
+      }
+    }
+  }
+
+  private static void putLocalDateTime(LocalDateTime value, ByteBuffer dst) {
+    dst.putLong(value.toLocalDate().toEpochDay()).putLong(value.toLocalTime().toNanoOfDay());
+  }
+
+  private static void decodeTraits(ByteBuffer src, Args args) {
+    byte tag = src.get();
+    switch (tag) {
+      case TAG_NULL:
+        args.putNull();
+        break;
+      case TAG_BOOLEAN:
+        args.putBoolean(src.get() != 0);
+        break;
+      case TAG_CHAR:
+        args.putChar(src.getChar());
+        break;
+      case TAG_BYTE:
+        args.putByte(src.get());
+        break;
+      case TAG_SHORT:
+        args.putShort(src.getShort());
+        break;
+      case TAG_INT:
+        args.putInt(src.getInt());
+        break;
+      case TAG_LONG:
+        args.putLong(src.getLong());
+        break;
+      case TAG_FLOAT:
+        args.putFloat(src.getFloat());
+        break;
+      case TAG_DOUBLE:
+        args.putDouble(src.getDouble());
+        break;
+      case TAG_STRING_LATIN1:
+        args.putString(getLatin1(src));
+        break;
+      case TAG_STRING_UTF16:
+        args.putString(getUtf16(src));
+        break;
+      case TAG_BIG_INTEGER:
+        args.putBigInteger(new BigInteger(getBytes(src)));
+        break;
+      case TAG_BIG_DECIMAL:
+        int scale = src.getInt();
+        args.putBigDecimal(new BigDecimal(new BigInteger(getBytes(src)), scale));
+        break;
+      case TAG_INSTANT:
+        args.putDateTime(Instant.ofEpochSecond(src.getLong(), src.getInt()));
+        break;
+      case TAG_LOCAL_DATE:
+        args.putDateTime(LocalDate.ofEpochDay(src.getLong()));
+        break;
+      case TAG_LOCAL_TIME:
+        args.putDateTime(LocalTime.ofNanoOfDay(src.getLong()));
+        break;
+      case TAG_LOCAL_DATE_TIME:
+        args.putDateTime(getLocalDateTime(src));
+        break;
+      case TAG_OFFSET_TIME:
+        LocalTime time = LocalTime.ofNanoOfDay(src.getLong());
+        args.putDateTime(OffsetTime.of(time, ZoneOffset.ofTotalSeconds(src.getInt())));
+        break;
+      case TAG_OFFSET_DATE_TIME:
+        LocalDateTime localDateTime = getLocalDateTime(src);
+        ZoneOffset offset = ZoneOffset.ofTotalSeconds(src.getInt());
+        args.putDateTime(OffsetDateTime.of(localDateTime, offset));
+        break;
+      case TAG_ZONED_DATE_TIME:
+        LocalDateTime zonedLocal = getLocalDateTime(src);
+        ZoneOffset zonedOffset = ZoneOffset.ofTotalSeconds(src.getInt());
+        ZoneId zone = ZoneId.of(getUtf16(src));
+        args.putDateTime(ZonedDateTime.ofLocal(zonedLocal, zone, zonedOffset));
+        break;
+      case TAG_BYTE_ARRAY:
+        args.put(getBytes(src));
+        break;
+      case TAG_BYTE_BUFFER:
+        args.put(ByteBuffer.wrap(getBytes(src)));
+        break;
+      case TAG_SHORT_ARRAY:
+        short[] shorts = new short[getLength(src, Short.BYTES)];
+        src.asShortBuffer().get(shorts);
+        src.position(src.position() + shorts.length * Short.BYTES);
+        args.put(shorts);
+        break;
+      case TAG_INT_ARRAY:
+        int[] ints = new int[getLength(src, Integer.BYTES)];
+        src.asIntBuffer().get(ints);
+        src.position(src.position() + ints.length * Integer.BYTES);
+        args.put(ints);
+        break;
+      case TAG_LONG_ARRAY:
+        long[] longs = new long[getLength(src, Long.BYTES)];
+        src.asLongBuffer().get(longs);
+        src.position(src.position() + longs.length * Long.BYTES);
+        args.put(longs);
+        break;
+      case TAG_FLOAT_ARRAY:
+        float[] floats = new float[getLength(src, Float.BYTES)];
+        src.asFloatBuffer().get(floats);
+        src.position(src.position() + floats.length * Float.BYTES);
+        args.put(floats);
+        break;
+      case TAG_DOUBLE_ARRAY:
+        double[] doubles = new double[getLength(src, Double.BYTES)];
+        src.asDoubleBuffer().get(doubles);
+        src.position(src.position() + doubles.length * Double.BYTES);
+        args.put(doubles);
+        break;
+      default:
+        throw new PrintfException("Unknown argument tag: %s", tag);
+    }
+  }
+
+  private static int getLength(ByteBuffer src, int bytesPerUnit) {
+    int length = src.getInt();
+    if (length < 0 || (long) length * bytesPerUnit > src.remaining()) {
+      throw new BufferUnderflowException();
+    }
+    return length;
+  }
+
+  private static byte[] getBytes(ByteBuffer src) {
+    byte[] bytes = new byte[getLength(src, 1)];
+    src.get(bytes);
+    return bytes;
+  }
+
+  private static String getLatin1(ByteBuffer src) {
+    char[] chars = new char[getLength(src, 1)];
+    for (int i = 0; i < chars.length; i++) {
+      chars[i] = (char) (src.get() & 0xFF);
+    }
+    return new String(chars);
+  }
+
+  private static String getUtf16(ByteBuffer src) {
+    char[] chars = new char[getLength(src, Character.BYTES)];
+    for (int i = 0; i < chars.length; i++) {
+      chars[i] = src.getChar();
+    }
+    return new String(chars);
+  }
+
+  private static LocalDateTime getLocalDateTime(ByteBuffer src) {
+    LocalDate date = LocalDate.ofEpochDay(src.getLong());
+    return LocalDateTime.of(date, LocalTime.ofNanoOfDay(src.getLong()));
+  }
+}
@@ -3,13 +3,17 @@ package io.fastprintf;
 import io.fastprintf.traits.*;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.time.temporal.TemporalAccessor;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 final class ArgsImpl implements Args {
 
@@ -57,6 +61,10 @@ final class ArgsImpl implements Args {
     return addTraits(factory.apply(value));
   }
 
+  int size() {
+    return traits.size();
+  }
+
   @Override
   public List<Object> values() {
     List<Object> values = new ArrayList<>(traits.size());
@@ -216,6 +224,26 @@ final class ArgsImpl implements Args {
       return addTraitsNonNull((BigDecimal) value, BigDecimalTraits::new);
     } else if (value instanceof TemporalAccessor) {
       return addTraitsNonNull((TemporalAccessor) value, TemporalAccessorTraits::new);
+    } else if (value instanceof byte[]) {
+      return addTraitsNonNull((byte[]) value, ByteArrayTraits::new);
+    } else if (value instanceof ByteBuffer) {
+      return addTraitsNonNull((ByteBuffer) value, ByteArrayTraits::new);
+    } else if (value instanceof Stream) {
+      return addTraitsNonNull((Stream<?>) value, CollectionTraits::new);
+    } else if (value instanceof Collection && CollectionTraits.inheritsToString(value)) {
+      return addTraitsNonNull((Collection<?>) value, CollectionTraits::new);
+    } else if (value instanceof Map && CollectionTraits.inheritsToString(value)) {
+      return addTraitsNonNull((Map<?, ?>) value, CollectionTraits::new);
+    } else if (value instanceof int[]) {
+      return addTraitsNonNull((int[]) value, PrimitiveArrayTraits::new);
+    } else if (value instanceof long[]) {
+      return addTraitsNonNull((long[]) value, PrimitiveArrayTraits::new);
+    } else if (value instanceof double[]) {
+      return addTraitsNonNull((double[]) value, PrimitiveArrayTraits::new);
+    } else if (value instanceof float[]) {
+      return addTraitsNonNull((float[]) value, PrimitiveArrayTraits::new);
+    } else if (value instanceof short[]) {
+      return addTraitsNonNull((short[]) value, PrimitiveArrayTraits::new);
     } else {
       return putObject(value);
     }
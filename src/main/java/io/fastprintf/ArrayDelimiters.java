@@ -0,0 +1,101 @@
+package io.fastprintf;
+
+import io.fastprintf.util.Preconditions;
+import java.io.Serializable;
+
+/**
+ * The brackets and separator written around and between the elements of a primitive array that a
+ * numeric conversion formats element by element.
+ *
+ * <p>The default, {@link #DEFAULT}, matches {@link java.util.Arrays#toString(int[])}. Other
+ * delimiters are set with {@link FastPrintf#withArrayDelimiters(ArrayDelimiters)}:
+ *
+ * <pre>{@code
+ * FastPrintf formatter =
+ *     FastPrintf.compile("%.2f").withArrayDelimiters(ArrayDelimiters.of("(", "; ", ")"));
+ * formatter.format(new double[] {1, 2.5}); // "(1.00; 2.50)"
+ * }</pre>
+ */
+public final class ArrayDelimiters implements Serializable {
+
+  /** {@code [}, {@code , } and {@code ]}, as {@link java.util.Arrays#toString(int[])} writes. */
+  public static final ArrayDelimiters DEFAULT = new ArrayDelimiters("[", ", ", "]");
+
+  private static final long serialVersionUID = -3915032780361405283L;
+
+  private final String prefix;
+  private final String separator;
+  private final String suffix;
+
+  private ArrayDelimiters(String prefix, String separator, String suffix) {
+    this.prefix = prefix;
+    this.separator = separator;
+    this.suffix = suffix;
+  }
+
+  /**
+   * Returns the delimiters with the given strings, any of which may be empty.
+   *
+   * @param prefix the string written before the first element.
+   * @param separator the string written between two elements.
+   * @param suffix the string written after the last element.
+   * @return the delimiters; {@link #DEFAULT} if the strings are its own.
+   */
+  public static ArrayDelimiters of(String prefix, String separator, String suffix) {
+    Preconditions.checkNotNull(prefix, "prefix");
+    Preconditions.checkNotNull(separator, "separator");
+    Preconditions.checkNotNull(suffix, "suffix");
+    if (prefix.equals(DEFAULT.prefix)
+        && separator.equals(DEFAULT.separator)
+        && suffix.equals(DEFAULT.suffix)) {
+      return DEFAULT;
+    }
+    return new ArrayDelimiters(prefix, separator, suffix);
+  }
+
+  public String getPrefix() {
+    return prefix;
+  }
+
+  public String getSeparator() {
+    return separator;
+  }
+
+  public String getSuffix() {
+    return suffix;
+  }
+
+  private Object readResolve() {
+    return of(prefix, separator, suffix);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof ArrayDelimiters)) {
+      return false;
+    }
+    ArrayDelimiters that = (ArrayDelimiters) o;
+    return prefix.equals(that.prefix)
+        && separator.equals(that.separator)
+        && suffix.equals(that.suffix);
+  }
+
+  @Override
+  public int hashCode() {
+    return (prefix.hashCode() * 31 + separator.hashCode()) * 31 + suffix.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return "ArrayDelimiters{prefix='"
+        + prefix
+        + "', separator='"
+        + separator
+        + "', suffix='"
+        + suffix
+        + "'}";
+  }
+}
@@ -3,6 +3,7 @@ package io.fastprintf;
 import io.fastprintf.appender.Appender;
 import io.fastprintf.appender.DefaultAppender;
 import io.fastprintf.appender.FixedStringAppender;
+import io.fastprintf.appender.FusedAppender;
 import io.fastprintf.util.Preconditions;
 import io.fastprintf.util.Utils;
 import java.time.format.DateTimeFormatter;
@@ -12,18 +13,61 @@ import java.util.List;
 
 final class Compiler {
 
+  /** The context of a {@code {}} placeholder: a plain {@code %s}. */
+  private static final FormatContext PLACEHOLDER_CONTEXT = FormatContext.create("");
+
   private final String source;
+  private final LocaleSymbols symbols;
   private final List<Appender> appenders = new ArrayList<>();
   private int lookahead = 0;
 
   Compiler(String source) {
+    this(source, LocaleSymbols.ROOT);
+  }
+
+  Compiler(String source, LocaleSymbols symbols) {
     this.source = Preconditions.checkNotNull(source, "source");
+    this.symbols = Preconditions.checkNotNull(symbols, "symbols");
   }
 
   void compile() {
     parseNext();
   }
 
+  /**
+   * Compiles the source as an SLF4J-style template: each {@code {}} is a placeholder formatted
+   * like {@code %s}, {@code \{}} is a literal {@code {}}, and {@code \\{}} is a literal
+   * backslash followed by a placeholder. {@code %} has no special meaning.
+   */
+  void compileBraces() {
+    int length = source.length();
+    StringBuilder literal = new StringBuilder();
+    while (lookahead < length) {
+      int brace = source.indexOf("{}", lookahead);
+      if (brace == -1) {
+        literal.append(source, lookahead, length);
+        lookahead = length;
+        break;
+      }
+      boolean escaped = brace > 0 && source.charAt(brace - 1) == '\\';
+      boolean escapedBackslash = escaped && brace > 1 && source.charAt(brace - 2) == '\\';
+      if (escaped && !escapedBackslash) {
+        literal.append(source, lookahead, brace - 1).append("{}");
+      } else {
+        literal.append(source, lookahead, escapedBackslash ? brace - 1 : brace);
+        if (literal.length() > 0) {
+          appenders.add(new FixedStringAppender(literal.toString()));
+          literal.setLength(0);
+        }
+        appenders.add(new DefaultAppender(Specifier.STRING, PLACEHOLDER_CONTEXT));
+      }
+      lookahead = brace + 2;
+    }
+    if (literal.length() > 0) {
+      appenders.add(new FixedStringAppender(literal.toString()));
+    }
+  }
+
   private boolean endOfSource() {
     return lookahead >= source.length();
   }
@@ -57,7 +101,8 @@ final class Compiler {
     if (specifier.isDateTimeSpecifier()) {
       dateTimeFormatter = dateTimeFormatter();
     }
-    FormatContext context = FormatContext.create(flags, width, precision, dateTimeFormatter);
+    FormatContext context =
+        FormatContext.create(flags, width, precision, dateTimeFormatter).setSymbols(symbols);
     appenders.add(new DefaultAppender(specifier, context));
     parseNext();
   }
@@ -216,4 +261,37 @@ final class Compiler {
   List<Appender> getAppenders() {
     return appenders;
   }
+
+  /**
+   * Returns the compiled appenders with adjacent literals merged and each literal fused into the
+   * neighbouring field, so that a format call performs one dispatch per field rather than two.
+   * {@code %%} sequences are folded into the surrounding literal text.
+   */
+  List<Appender> getFusedAppenders() {
+    List<Appender> fused = new ArrayList<>(appenders.size());
+    StringBuilder literal = new StringBuilder();
+    for (Appender appender : appenders) {
+      if (appender instanceof FixedStringAppender) {
+        literal.append(((FixedStringAppender) appender).getValue());
+      } else if (literal.length() > 0) {
+        fused.add(new FusedAppender(literal.toString(), (DefaultAppender) appender, ""));
+        literal.setLength(0);
+      } else {
+        fused.add(appender);
+      }
+    }
+    if (literal.length() > 0) {
+      String suffix = literal.toString();
+      int last = fused.size() - 1;
+      if (last < 0) {
+        fused.add(new FixedStringAppender(suffix));
+      } else if (fused.get(last) instanceof FusedAppender) {
+        FusedAppender tail = (FusedAppender) fused.get(last);
+        fused.set(last, new FusedAppender(tail.getPrefix(), tail.getField(), suffix));
+      } else {
+        fused.set(last, new FusedAppender("", (DefaultAppender) fused.get(last), suffix));
+      }
+    }
+    return fused;
+  }
 }
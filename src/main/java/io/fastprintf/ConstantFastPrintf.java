@@ -0,0 +1,89 @@
+package io.fastprintf;
+
+import io.fastprintf.util.Preconditions;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * A {@link FastPrintf} for templates that contain no argument-consuming specifiers, such as {@code
+ * "Done."} or {@code "100%% complete"}. The output never depends on the arguments, so it is
+ * computed once at compile time and every call simply returns (or appends) the same {@code String}.
+ *
+ * <p>As with {@link FastPrintfImpl}, surplus arguments are ignored.
+ */
+final class ConstantFastPrintf implements FastPrintf {
+
+  private final String value;
+
+  ConstantFastPrintf(String value) {
+    this.value = Preconditions.checkNotNull(value, "value");
+  }
+
+  @Override
+  public <T extends Appendable> T format(T builder, Args args) {
+    Preconditions.checkNotNull(builder, "builder");
+    Preconditions.checkNotNull(args, "args");
+    if (builder instanceof StringBuilder) {
+      ((StringBuilder) builder).append(value);
+      return builder;
+    }
+    try {
+      builder.append(value);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return builder;
+  }
+
+  @Override
+  public String format(Args args) {
+    Preconditions.checkNotNull(args, "args");
+    return value;
+  }
+
+  @Override
+  public String format(Object... values) {
+    return value;
+  }
+
+  @Override
+  public FormatDescription describe() {
+    return FormatDescription.ofConstant(value);
+  }
+
+  @Override
+  public Throwable trailingThrowable(Object... values) {
+    return FastPrintfImpl.trailingThrowable(values, 0);
+  }
+
+  /** There is no builder to cache, so this instance is returned as-is. */
+  @Override
+  public ConstantFastPrintf enableThreadLocalCache() {
+    return this;
+  }
+
+  /** There is no builder to size, so this instance is returned as-is. */
+  @Override
+  public ConstantFastPrintf setStringBuilderInitialCapacity(int capacity) {
+    Preconditions.checkArgument(capacity > 0, "capacity must be positive");
+    return this;
+  }
+
+  /** There is no field to measure, so this instance is returned as-is. */
+  @Override
+  public ConstantFastPrintf withWidthMode(WidthMode mode) {
+    Preconditions.checkNotNull(mode, "mode");
+    return this;
+  }
+
+  /** There is no field to take an array, so this instance is returned as-is. */
+  @Override
+  public ConstantFastPrintf withArrayDelimiters(ArrayDelimiters delimiters) {
+    Preconditions.checkNotNull(delimiters, "delimiters");
+    return this;
+  }
+
+  String getValue() {
+    return value;
+  }
+}
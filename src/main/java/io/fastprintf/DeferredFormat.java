@@ -0,0 +1,107 @@
+package io.fastprintf;
+
+import io.fastprintf.util.Preconditions;
+import java.io.IOException;
+import java.util.function.Supplier;
+
+/**
+ * A formatting call whose execution is postponed until its result is first needed.
+ *
+ * <p>Instances are created by {@link FastPrintf#defer(Args)}. Creating one only captures the
+ * formatter and its arguments; the appenders run on the first call to {@link #toString()}, {@link
+ * #get()}, {@link #length()}, {@link #charAt(int)}, {@link #subSequence(int, int)} or {@link
+ * #appendTo(Appendable)}. The resulting string is then cached, so later calls are cheap. A message
+ * that is never inspected never pays for formatting.
+ *
+ * <pre>{@code
+ * FastPrintf formatter = FastPrintf.compile("user=%s, elapsed=%.3fms");
+ * DeferredFormat message = formatter.defer(Args.of(user, elapsed));
+ * logger.debug(message); // formatted only if the debug level is enabled
+ * }</pre>
+ *
+ * <p>The captured {@link Args} must not be modified after this object is created. Any exception
+ * thrown by the formatter, such as {@link PrintfException}, surfaces on the first access rather
+ * than at creation time.
+ *
+ * <p>This class is thread-safe. Like {@code String#hashCode()}, the cache is written without
+ * synchronization: concurrent first accesses may each run the formatter, but all of them observe an
+ * equal result.
+ *
+ * @see FastPrintf#defer(Args)
+ */
+public final class DeferredFormat implements CharSequence, Supplier<String> {
+
+  private final FastPrintf formatter;
+  private final Args args;
+
+  /** The formatted result, lazily initialized. It remains {@code null} until first access. */
+  private String str;
+
+  DeferredFormat(FastPrintf formatter, Args args) {
+    this.formatter = Preconditions.checkNotNull(formatter, "formatter");
+    this.args = Preconditions.checkNotNull(args, "args");
+  }
+
+  /**
+   * Returns whether the result has already been computed by this thread or a thread whose write it
+   * has observed.
+   *
+   * @return {@code true} if the formatted string is cached.
+   */
+  public boolean isFormatted() {
+    return str != null;
+  }
+
+  /**
+   * Appends the formatted result to the given {@link Appendable}, formatting it first if needed.
+   *
+   * @param <T> the type of the {@code Appendable}.
+   * @param appendable the destination.
+   * @return the same {@code appendable} instance.
+   * @throws IOException if the destination throws.
+   */
+  public <T extends Appendable> T appendTo(T appendable) throws IOException {
+    Preconditions.checkNotNull(appendable, "appendable");
+    appendable.append(getCachedString());
+    return appendable;
+  }
+
+  /**
+   * Returns the formatted result, formatting it first if needed.
+   *
+   * @return the formatted string.
+   */
+  @Override
+  public String get() {
+    return getCachedString();
+  }
+
+  @Override
+  public int length() {
+    return getCachedString().length();
+  }
+
+  @Override
+  public char charAt(int index) {
+    return getCachedString().charAt(index);
+  }
+
+  @Override
+  public CharSequence subSequence(int start, int end) {
+    return getCachedString().subSequence(start, end);
+  }
+
+  @Override
+  public String toString() {
+    return getCachedString();
+  }
+
+  private String getCachedString() {
+    String str = this.str;
+    if (str == null) {
+      str = formatter.format(args);
+      this.str = str;
+    }
+    return str;
+  }
+}
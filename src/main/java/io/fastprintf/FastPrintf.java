@@ -57,6 +57,74 @@ public interface FastPrintf {
     return FastPrintfImpl.compile(format);
   }
 
+  /**
+   * Compiles a `printf`-style format string whose {@code '} flag groups digits with the given
+   * separator, rather than the default {@code ,}.
+   *
+   * <pre>{@code
+   * FastPrintf.compile("%'d", '_').format(1234567);        // "1_234_567"
+   * FastPrintf.compile("%'.2f", ' ').format(1234567.891);  // "1 234 567.89"
+   * }</pre>
+   *
+   * @param format the `printf`-style format string to compile.
+   * @param groupingSeparator the separator placed between groups of three digits.
+   * @return a new, thread-safe {@code FastPrintf} instance.
+   * @throws PrintfSyntaxException if the format string contains a syntax error.
+   */
+  static FastPrintf compile(String format, char groupingSeparator) {
+    return FastPrintfImpl.compile(
+        format, LocaleSymbols.ROOT.withGroupingSeparator(groupingSeparator));
+  }
+
+  /**
+   * Compiles a `printf`-style format string whose numbers are written with the given decimal
+   * separator, grouping separator and minus sign.
+   *
+   * <p>The symbols are resolved here, once, and stored with each field; formatting performs no
+   * locale lookup, and {@link LocaleSymbols#ROOT} gives exactly the output of {@link
+   * #compile(String)}.
+   *
+   * <pre>{@code
+   * FastPrintf formatter = FastPrintf.compile("%'.2f EUR", LocaleSymbols.of(Locale.GERMANY));
+   * formatter.format(1234567.891); // "1.234.567,89 EUR"
+   * }</pre>
+   *
+   * @param format the `printf`-style format string to compile.
+   * @param symbols the locale symbols for numeric fields.
+   * @return a new, thread-safe {@code FastPrintf} instance.
+   * @throws PrintfSyntaxException if the format string contains a syntax error.
+   * @see LocaleSymbols#of(java.util.Locale)
+   */
+  static FastPrintf compile(String format, LocaleSymbols symbols) {
+    return FastPrintfImpl.compile(format, symbols);
+  }
+
+  /**
+   * Compiles an SLF4J-style template, where each {@code {}} is a placeholder, into a reusable
+   * {@code FastPrintf} instance.
+   *
+   * <p>Placeholders are formatted like {@code %s}, so primitives passed through {@link Args} take
+   * the same allocation-free paths as with {@link #compile(String)}. {@code \{}} produces a literal
+   * {@code {}}, {@code \\{}} a literal backslash followed by a placeholder, and {@code %} has no
+   * special meaning. Unlike SLF4J, a placeholder without an argument is an error rather than being
+   * printed as-is.
+   *
+   * <p>As in SLF4J, a {@link Throwable} passed after the last placeholder's argument is not part
+   * of the message; {@link #trailingThrowable(Object...)} retrieves it.
+   *
+   * <pre>{@code
+   * FastPrintf formatter = FastPrintf.compileBraces("user {} failed to log in from {}");
+   * String message = formatter.format(user, address, exception); // exception is not formatted
+   * Throwable cause = formatter.trailingThrowable(user, address, exception); // exception
+   * }</pre>
+   *
+   * @param template the SLF4J-style template to compile.
+   * @return a new, thread-safe {@code FastPrintf} instance.
+   */
+  static FastPrintf compileBraces(String template) {
+    return FastPrintfImpl.compileBraces(template);
+  }
+
   /**
    * Formats the given arguments and appends the result to the provided {@link Appendable}.
    *
@@ -99,6 +167,82 @@ public interface FastPrintf {
     return format(Args.of(values));
   }
 
+  /**
+   * Returns the trailing {@link Throwable} of the given arguments, as SLF4J does: the last value,
+   * if it is a {@code Throwable} and this format does not consume it. Surplus arguments are ignored
+   * by {@code format}, so such a throwable never appears in the formatted message.
+   *
+   * @param values the arguments as they would be passed to {@link #format(Object...)}.
+   * @return the trailing throwable, or {@code null} if there is none.
+   * @throws UnsupportedOperationException if this formatter does not support {@link #describe()}.
+   */
+  default Throwable trailingThrowable(Object... values) {
+    return FastPrintfImpl.trailingThrowable(values, describe().getArgumentCount());
+  }
+
+  /**
+   * Captures the given arguments and returns a handle that formats them only when its content is
+   * first requested.
+   *
+   * <p>This is useful when the decision to emit a message is made long after the message is built,
+   * as in logging frameworks with late level filtering: if the returned {@link DeferredFormat} is
+   * never read, no formatting work is done. Once computed, the result is cached.
+   *
+   * <pre>{@code
+   * DeferredFormat message = formatter.defer(Args.of(requestId, payload));
+   * if (sink.accepts(level)) {
+   *   sink.write(message); // formatting happens here, at most once
+   * }
+   * }</pre>
+   *
+   * @param args the arguments to be formatted later; must not be modified afterwards.
+   * @return a lazily formatted {@code CharSequence}.
+   */
+  default DeferredFormat defer(Args args) {
+    return new DeferredFormat(this, args);
+  }
+
+  /**
+   * Returns a static analysis of this compiled format: its literal and field segments, the number
+   * of arguments it consumes, estimated output length bounds, and which fields always allocate.
+   *
+   * <p>The analysis does not run the formatter. It is intended for build-time checks, for example
+   * to reject templates whose output is unbounded or that use heap-allocating conversions such as
+   * {@code %t} on hot paths.
+   *
+   * <p>The formatters this library creates all support this method. The default implementation,
+   * for other implementations of this interface, throws {@link UnsupportedOperationException}.
+   *
+   * @return the description of this format.
+   * @throws UnsupportedOperationException if this formatter cannot describe its format.
+   * @see FormatDescription
+   */
+  default FormatDescription describe() {
+    throw new UnsupportedOperationException(getClass().getName() + " does not support describe()");
+  }
+
+  /**
+   * Returns a formatter that produces the same output as this one and records each call into the
+   * given {@link FormatMetrics}: invocation and failure counts, output lengths and latency.
+   *
+   * <p>Instrumentation is opt-in and lives entirely in the returned wrapper, so formatters that are
+   * not instrumented carry no overhead. To attribute cost per template, give each compiled
+   * formatter its own {@code FormatMetrics}; sharing one aggregates them.
+   *
+   * <pre>{@code
+   * FormatMetrics metrics = new FormatMetrics();
+   * FastPrintf formatter = FastPrintf.compile("id=%d, name=%s").instrument(metrics);
+   * formatter.format(42, "foo");
+   * metrics.getInvocations(); // 1
+   * }</pre>
+   *
+   * @param metrics the collector to record into.
+   * @return an instrumented formatter.
+   */
+  default FastPrintf instrument(FormatMetrics metrics) {
+    return new InstrumentedFastPrintf(this, metrics);
+  }
+
   /**
    * Returns a new {@code FastPrintf} instance that uses a {@link ThreadLocal} cache for its
    * internal {@link StringBuilder}.
@@ -146,4 +290,62 @@ public interface FastPrintf {
    * @see #enableThreadLocalCache()
    */
   FastPrintf setStringBuilderInitialCapacity(int capacity);
+
+  /**
+   * Returns a new {@code FastPrintf} instance that measures field width and string precision in
+   * the given unit.
+   *
+   * <p>By default, as in {@link java.util.Formatter}, both count UTF-16 {@code char}s, which pads
+   * text containing CJK characters or emoji to the wrong width in a terminal. {@link
+   * WidthMode#COLUMNS} counts display columns instead, so the fields of a table line up whatever
+   * their script:
+   *
+   * <pre>{@code
+   * FastPrintf row = FastPrintf.compile("|%-8s|%4d|").withWidthMode(WidthMode.COLUMNS);
+   * row.format("apple", 3);        // "|apple   |   3|"
+   * row.format("\u82f9\u679c", 5); // "|\u82f9\u679c    |   5|"
+   * }</pre>
+   *
+   * <p>Latin-1 text is measured without decoding, so the other modes cost nothing extra for it.
+   *
+   * <p>The default implementation, for implementations of this interface outside the library,
+   * throws {@link UnsupportedOperationException}.
+   *
+   * @param mode how to measure width and precision.
+   * @return a new {@code FastPrintf} instance with the given mode, or this instance if the mode is
+   *     unchanged.
+   * @throws UnsupportedOperationException if this formatter cannot change its width mode.
+   */
+  default FastPrintf withWidthMode(WidthMode mode) {
+    throw new UnsupportedOperationException(
+        getClass().getName() + " does not support withWidthMode(WidthMode)");
+  }
+
+  /**
+   * Returns a new {@code FastPrintf} instance that writes the given brackets and separator around
+   * and between the elements of a primitive array.
+   *
+   * <p>A {@code short[]}, {@code int[]}, {@code long[]}, {@code float[]} or {@code double[]}
+   * argument to a numeric conversion is formatted element by element, with the field's width,
+   * precision and flags applied to each element, and without boxing the elements:
+   *
+   * <pre>{@code
+   * FastPrintf.compile("%.1f").format(new double[] {1, 2.25}); // "[1.0, 2.3]"
+   * FastPrintf.compile("%02x")
+   *     .withArrayDelimiters(ArrayDelimiters.of("", ":", ""))
+   *     .format(new int[] {10, 11, 255});                      // "0a:0b:ff"
+   * }</pre>
+   *
+   * <p>The default implementation, for implementations of this interface outside the library,
+   * throws {@link UnsupportedOperationException}.
+   *
+   * @param delimiters the strings written before, between and after the elements.
+   * @return a new {@code FastPrintf} instance with the given delimiters, or this instance if they
+   *     are unchanged.
+   * @throws UnsupportedOperationException if this formatter cannot change its delimiters.
+   */
+  default FastPrintf withArrayDelimiters(ArrayDelimiters delimiters) {
+    throw new UnsupportedOperationException(
+        getClass().getName() + " does not support withArrayDelimiters(ArrayDelimiters)");
+  }
 }
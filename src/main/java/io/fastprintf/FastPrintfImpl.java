@@ -1,6 +1,9 @@
 package io.fastprintf;
 
 import io.fastprintf.appender.Appender;
+import io.fastprintf.appender.DefaultAppender;
+import io.fastprintf.appender.FixedStringAppender;
+import io.fastprintf.appender.FusedAppender;
 import io.fastprintf.seq.Seq;
 import io.fastprintf.traits.FormatTraits;
 import io.fastprintf.util.Preconditions;
@@ -8,22 +11,32 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.IntFunction;
+import java.util.function.UnaryOperator;
 
 /** GRAMMAR: %[flags][width][.precision]specifier */
 final class FastPrintfImpl implements FastPrintf {
 
   private static final int STRING_BUILDER_MAX_RETAINED_CAPACITY = 65536;
 
+  private final String pattern;
   private final Appender[] appenders;
+  private final int argumentCount;
   private final int stringBuilderInitialCapacity;
   private final ThreadLocal<StringBuilder> threadLocalBuilder;
   private final IntFunction<StringBuilder> stringBuilderFactory;
 
   private FastPrintfImpl(
-      Appender[] appenders, int stringBuilderInitialCapacity, boolean enableThreadLocalCache) {
+      String pattern,
+      Appender[] appenders,
+      int argumentCount,
+      int stringBuilderInitialCapacity,
+      boolean enableThreadLocalCache) {
+    this.pattern = pattern;
     this.appenders = appenders;
+    this.argumentCount = argumentCount;
     this.stringBuilderInitialCapacity = stringBuilderInitialCapacity;
     if (enableThreadLocalCache) {
       // Initialize with a default-sized builder to avoid startup costs for every thread.
@@ -65,13 +78,38 @@ final class FastPrintfImpl implements FastPrintf {
     }
   }
 
-  static FastPrintfImpl compile(String format) {
-    Compiler compiler = new Compiler(format);
+  static FastPrintf compile(String format) {
+    return compile(format, LocaleSymbols.ROOT);
+  }
+
+  static FastPrintf compile(String format, LocaleSymbols symbols) {
+    Compiler compiler = new Compiler(format, symbols);
     compiler.compile();
+    return create(format, compiler);
+  }
+
+  static FastPrintf compileBraces(String template) {
+    Compiler compiler = new Compiler(template);
+    compiler.compileBraces();
+    return create(template, compiler);
+  }
+
+  private static FastPrintf create(String format, Compiler compiler) {
+    List<Appender> appenders = compiler.getFusedAppenders();
+    // Constant folding: without any field, the output never depends on the arguments.
+    if (appenders.isEmpty()) {
+      return new ConstantFastPrintf("");
+    }
+    if (appenders.size() == 1 && appenders.get(0) instanceof FixedStringAppender) {
+      return new ConstantFastPrintf(((FixedStringAppender) appenders.get(0)).getValue());
+    }
     int sourceLength =
         Math.max(format.length(), 11); // To align with StringBuilder default capacity
+    Appender[] array = appenders.toArray(new Appender[0]);
     return new FastPrintfImpl(
-        compiler.getAppenders().toArray(new Appender[0]),
+        format,
+        array,
+        FormatDescription.ofAppenders(array).getArgumentCount(),
         Math.addExact(sourceLength, sourceLength >> 1), // 1.5x format length as initial capacity
         false);
   }
@@ -84,10 +122,15 @@ final class FastPrintfImpl implements FastPrintf {
     // OPTIMIZATION: Create the consumer ONCE.
     // This reduces allocation from O(N) to O(1) where N is the number of appenders.
     Consumer<Seq> consumer = seq -> seq.appendTo(builder);
+    long start = FormatEvents.begin();
     for (Appender appender : appenders) {
       appender.append(consumer, iterator);
     }
-    return builder.toString();
+    String result = builder.toString();
+    if (start != 0L) {
+      FormatEvents.end(start, this, args, result.length());
+    }
+    return result;
   }
 
   @Override
@@ -95,13 +138,18 @@ final class FastPrintfImpl implements FastPrintf {
     Preconditions.checkNotNull(builder, "builder");
     Preconditions.checkNotNull(args, "args");
     Iterator<FormatTraits> iterator = args.iterator();
+    long start = FormatEvents.begin();
 
     if (builder instanceof StringBuilder) {
       StringBuilder stringBuilder = (StringBuilder) builder;
+      int initialLength = stringBuilder.length();
       Consumer<Seq> consumer = seq -> seq.appendTo(stringBuilder);
       for (Appender appender : appenders) {
         appender.append(consumer, iterator);
       }
+      if (start != 0L) {
+        FormatEvents.end(start, this, args, stringBuilder.length() - initialLength);
+      }
       return builder;
     }
     Consumer<Seq> consumer =
@@ -115,16 +163,46 @@ final class FastPrintfImpl implements FastPrintf {
     for (Appender appender : appenders) {
       appender.append(consumer, iterator);
     }
+    if (start != 0L) {
+      FormatEvents.end(start, this, args, -1);
+    }
     return builder;
   }
 
+  @Override
+  public FormatDescription describe() {
+    return FormatDescription.ofAppenders(appenders);
+  }
+
+  @Override
+  public Throwable trailingThrowable(Object... values) {
+    return trailingThrowable(values, argumentCount);
+  }
+
+  /**
+   * Returns the last of {@code values} if it is a {@link Throwable} beyond the first {@code
+   * argumentCount} values, or {@code null}.
+   */
+  static Throwable trailingThrowable(Object[] values, int argumentCount) {
+    Preconditions.checkNotNull(values, "values");
+    int last = values.length - 1;
+    if (last >= argumentCount && values[last] instanceof Throwable) {
+      return (Throwable) values[last];
+    }
+    return null;
+  }
+
   @Override
   public FastPrintfImpl enableThreadLocalCache() {
     if (threadLocalBuilder != null) {
       return this;
     }
     return new FastPrintfImpl(
-        Arrays.copyOf(appenders, appenders.length), stringBuilderInitialCapacity, true);
+        pattern,
+        Arrays.copyOf(appenders, appenders.length),
+        argumentCount,
+        stringBuilderInitialCapacity,
+        true);
   }
 
   @Override
@@ -134,6 +212,69 @@ final class FastPrintfImpl implements FastPrintf {
       return this;
     }
     return new FastPrintfImpl(
-        Arrays.copyOf(appenders, appenders.length), capacity, threadLocalBuilder != null);
+        pattern,
+        Arrays.copyOf(appenders, appenders.length),
+        argumentCount,
+        capacity,
+        threadLocalBuilder != null);
+  }
+
+  @Override
+  public FastPrintfImpl withWidthMode(WidthMode mode) {
+    Preconditions.checkNotNull(mode, "mode");
+    return withContexts(context -> context.setWidthMode(mode));
+  }
+
+  @Override
+  public FastPrintfImpl withArrayDelimiters(ArrayDelimiters delimiters) {
+    Preconditions.checkNotNull(delimiters, "delimiters");
+    return withContexts(context -> context.setArrayDelimiters(delimiters));
+  }
+
+  /**
+   * Returns an instance whose fields have the contexts {@code update} makes of their current ones,
+   * or this instance if it leaves every context unchanged.
+   */
+  private FastPrintfImpl withContexts(UnaryOperator<FormatContext> update) {
+    Appender[] copy = new Appender[appenders.length];
+    boolean changed = false;
+    for (int i = 0; i < appenders.length; i++) {
+      Appender appender = appenders[i];
+      if (appender instanceof DefaultAppender) {
+        appender = withContext((DefaultAppender) appender, update);
+      } else if (appender instanceof FusedAppender) {
+        FusedAppender fused = (FusedAppender) appender;
+        DefaultAppender field = withContext(fused.getField(), update);
+        if (field != fused.getField()) {
+          appender = new FusedAppender(fused.getPrefix(), field, fused.getSuffix());
+        }
+      }
+      changed |= appender != appenders[i];
+      copy[i] = appender;
+    }
+    if (!changed) {
+      return this;
+    }
+    return new FastPrintfImpl(
+        pattern, copy, argumentCount, stringBuilderInitialCapacity, threadLocalBuilder != null);
+  }
+
+  private static DefaultAppender withContext(
+      DefaultAppender appender, UnaryOperator<FormatContext> update) {
+    FormatContext context = appender.getContext();
+    FormatContext newContext = update.apply(context);
+    return newContext == context
+        ? appender
+        : new DefaultAppender(appender.getSpecifier(), newContext);
+  }
+
+  /** Returns the compiled appenders; the array must not be modified. */
+  Appender[] getAppenders() {
+    return appenders;
+  }
+
+  /** Returns the format string this instance was compiled from. */
+  String getPattern() {
+    return pattern;
   }
 }
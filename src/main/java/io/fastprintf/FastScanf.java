@@ -0,0 +1,112 @@
+package io.fastprintf;
+
+import io.fastprintf.util.Preconditions;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+
+/**
+ * A compiled {@code scanf}-style parser, the inverse of {@link FastPrintf}.
+ *
+ * <p>A format is compiled with the same grammar as {@link FastPrintf#compile(String)}, so the
+ * template used to write a record can be used to read it back:
+ *
+ * <pre>{@code
+ * FastPrintf printf = FastPrintf.compile("%d,%8.3f,%s");
+ * FastScanf scanf = FastScanf.compile("%d,%8.3f,%s");
+ *
+ * ScanResult result = new ScanResult();
+ * scanf.scan(printf.format(42, Math.PI, "done"), result); // 3
+ * result.getLong(0);   // 42
+ * result.getDouble(1); // 3.142
+ * result.getString(2); // "done"
+ * }</pre>
+ *
+ * <p>Matching follows C {@code scanf}:
+ *
+ * <ul>
+ *   <li>A whitespace character in the format matches any amount of whitespace in the input,
+ *       including none. Any other literal character, including {@code %%}, must match exactly.
+ *   <li>Every conversion except {@code %c} and {@code %n} skips leading whitespace.
+ *   <li>A width is the maximum number of characters a conversion reads, after that whitespace.
+ *       Flags and precision are accepted, so printf templates can be reused, but ignored.
+ *   <li>{@code %d}/{@code %i} read a signed decimal, {@code %u} an unsigned decimal, {@code %o}
+ *       octal and {@code %x}/{@code %X} hexadecimal with an optional {@code 0x} prefix; values
+ *       must fit in 64 bits.
+ *   <li>{@code %f}, {@code %e}, {@code %g} and {@code %a}, in either case, all read a decimal or
+ *       hexadecimal floating-point number, {@code NaN} or {@code Infinity}.
+ *   <li>{@code %s}/{@code %S} read a run of non-whitespace characters, {@code %c} exactly
+ *       width characters (default 1), and {@code %n} stores the number of characters consumed so
+ *       far.
+ * </ul>
+ *
+ * <p>Scanning stops at the first mismatch; the fields converted up to that point are kept. Numbers
+ * are converted directly from the input without creating substrings, and text fields are stored as
+ * offsets, so a scan into a reused {@link ScanResult} does not allocate in the common case.
+ */
+public interface FastScanf {
+
+  /**
+   * Compiles a {@code scanf}-style format into a reusable, thread-safe {@code FastScanf}.
+   *
+   * @param format the format to compile.
+   * @return a new {@code FastScanf} instance.
+   * @throws PrintfSyntaxException if the format contains a syntax error, a {@code *} width or
+   *     precision, or a conversion that cannot be scanned ({@code %j}, {@code %q}, {@code %t},
+   *     {@code %p}).
+   */
+  static FastScanf compile(String format) {
+    return FastScanfImpl.compile(format);
+  }
+
+  /**
+   * Scans the input into the given result, replacing its previous content.
+   *
+   * @param input the text to scan.
+   * @param result the holder to fill.
+   * @return the number of fields converted; equal to the number of conversions in the format if
+   *     the whole format matched.
+   */
+  int scan(CharSequence input, ScanResult result);
+
+  /**
+   * Scans a range of a {@code char} array without copying it. Text offsets in the result are
+   * relative to {@code offset}.
+   *
+   * @param input the characters to scan.
+   * @param offset the start of the range.
+   * @param length the length of the range.
+   * @param result the holder to fill.
+   * @return the number of fields converted.
+   */
+  default int scan(char[] input, int offset, int length, ScanResult result) {
+    Preconditions.checkNotNull(input, "input");
+    Preconditions.checkPositionIndexes(offset, offset + length, input.length);
+    return scan(CharBuffer.wrap(input, offset, length), result);
+  }
+
+  /**
+   * Scans the remaining bytes of a buffer as ISO-8859-1 (which includes ASCII) text, without
+   * copying them or changing the buffer's position. Text offsets in the result are relative to the
+   * buffer's position.
+   *
+   * @param input the bytes to scan.
+   * @param result the holder to fill.
+   * @return the number of fields converted.
+   */
+  default int scan(ByteBuffer input, ScanResult result) {
+    Preconditions.checkNotNull(input, "input");
+    return scan(new Latin1Chars(input, input.position(), input.remaining()), result);
+  }
+
+  /**
+   * Scans the input into a new result.
+   *
+   * @param input the text to scan.
+   * @return the converted fields.
+   */
+  default ScanResult scan(CharSequence input) {
+    ScanResult result = new ScanResult();
+    scan(input, result);
+    return result;
+  }
+}
@@ -0,0 +1,356 @@
+package io.fastprintf;
+
+import io.fastprintf.appender.Appender;
+import io.fastprintf.appender.DefaultAppender;
+import io.fastprintf.appender.FixedStringAppender;
+import io.fastprintf.util.Preconditions;
+import io.fastprintf.util.Utils;
+import io.fastprintf.util.internal.DecimalToDouble;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@link FastScanf} implementation. The format is parsed by the printf {@link Compiler}, and
+ * each resulting appender is turned into a {@link Directive} that matches, rather than produces,
+ * its part of the text.
+ */
+final class FastScanfImpl implements FastScanf {
+
+  private final String pattern;
+  private final Directive[] directives;
+  private final int fieldCount;
+
+  private FastScanfImpl(String pattern, Directive[] directives, int fieldCount) {
+    this.pattern = pattern;
+    this.directives = directives;
+    this.fieldCount = fieldCount;
+  }
+
+  static FastScanf compile(String format) {
+    Compiler compiler = new Compiler(format);
+    compiler.compile();
+    List<Directive> directives = new ArrayList<>();
+    StringBuilder literal = new StringBuilder();
+    int fieldCount = 0;
+    for (Appender appender : compiler.getAppenders()) {
+      if (appender instanceof FixedStringAppender) {
+        literal.append(((FixedStringAppender) appender).getValue());
+        continue;
+      }
+      if (literal.length() > 0) {
+        directives.add(Directive.literal(literal.toString()));
+        literal.setLength(0);
+      }
+      DefaultAppender field = (DefaultAppender) appender;
+      directives.add(Directive.conversion(format, field.getSpecifier(), field.getContext()));
+      fieldCount++;
+    }
+    if (literal.length() > 0) {
+      directives.add(Directive.literal(literal.toString()));
+    }
+    return new FastScanfImpl(format, directives.toArray(new Directive[0]), fieldCount);
+  }
+
+  @Override
+  public int scan(CharSequence input, ScanResult result) {
+    Preconditions.checkNotNull(input, "input");
+    Preconditions.checkNotNull(result, "result");
+    result.reset(input, fieldCount);
+    int length = input.length();
+    int pos = 0;
+    for (Directive directive : directives) {
+      if (directive.literal != null) {
+        pos = matchLiteral(input, pos, directive.literal);
+      } else if (directive.kind == Directive.CHARACTERS) {
+        int end = pos + (directive.width > 0 ? directive.width : 1);
+        if (end > length) {
+          break;
+        }
+        result.addText(pos, end);
+        pos = end;
+      } else if (directive.kind == Directive.POSITION) {
+        result.addLong(pos, pos, pos);
+      } else {
+        pos = skipWhitespace(input, pos, length);
+        int limit =
+            directive.width > 0 ? (int) Math.min(length, (long) pos + directive.width) : length;
+        switch (directive.kind) {
+          case Directive.INTEGER:
+            pos = scanInteger(input, pos, limit, directive, result);
+            break;
+          case Directive.FLOATING:
+            pos = scanFloating(input, pos, limit, result);
+            break;
+          default:
+            pos = scanWord(input, pos, limit, result);
+        }
+      }
+      if (pos < 0) {
+        break;
+      }
+    }
+    return result.size();
+  }
+
+  private static boolean isWhitespace(char c) {
+    return c == ' ' || (c >= '\t' && c <= '\r');
+  }
+
+  private static int skipWhitespace(CharSequence input, int pos, int length) {
+    while (pos < length && isWhitespace(input.charAt(pos))) {
+      pos++;
+    }
+    return pos;
+  }
+
+  private static int matchLiteral(CharSequence input, int pos, String literal) {
+    int length = input.length();
+    for (int i = 0; i < literal.length(); i++) {
+      char c = literal.charAt(i);
+      if (isWhitespace(c)) {
+        pos = skipWhitespace(input, pos, length);
+      } else if (pos < length && input.charAt(pos) == c) {
+        pos++;
+      } else {
+        return -1;
+      }
+    }
+    return pos;
+  }
+
+  private static int scanWord(CharSequence input, int pos, int limit, ScanResult result) {
+    int end = pos;
+    while (end < limit && !isWhitespace(input.charAt(end))) {
+      end++;
+    }
+    if (end == pos) {
+      return -1;
+    }
+    result.addText(pos, end);
+    return end;
+  }
+
+  private static int digit(char c, int radix) {
+    int d;
+    if (c >= '0' && c <= '9') {
+      d = c - '0';
+    } else {
+      char lower = (char) (c | 0x20);
+      d = lower >= 'a' && lower <= 'z' ? lower - 'a' + 10 : Integer.MAX_VALUE;
+    }
+    return d < radix ? d : -1;
+  }
+
+  private static int scanInteger(
+      CharSequence input, int pos, int limit, Directive directive, ScanResult result) {
+    int start = pos;
+    int radix = directive.radix;
+    boolean negative = false;
+    if (directive.signed && pos < limit) {
+      char c = input.charAt(pos);
+      if (c == '-' || c == '+') {
+        negative = c == '-';
+        pos++;
+      }
+    }
+    if (radix == 16
+        && pos + 2 < limit
+        && input.charAt(pos) == '0'
+        && (input.charAt(pos + 1) | 0x20) == 'x'
+        && digit(input.charAt(pos + 2), 16) >= 0) {
+      pos += 2;
+    }
+    int digitsStart = pos;
+    long value = 0;
+    int d;
+    while (pos < limit && (d = digit(input.charAt(pos), radix)) >= 0) {
+      // Unsigned 64-bit overflow check, as in C strtoul.
+      int compare = Long.compareUnsigned(value, directive.cutoff);
+      if (compare > 0 || (compare == 0 && d > directive.cutlim)) {
+        return -1;
+      }
+      value = value * radix + d;
+      pos++;
+    }
+    if (pos == digitsStart) {
+      return -1;
+    }
+    if (directive.signed) {
+      if (negative) {
+        if (Long.compareUnsigned(value, Long.MIN_VALUE) > 0) {
+          return -1;
+        }
+        value = -value;
+      } else if (value < 0) {
+        return -1;
+      }
+    }
+    result.addLong(value, start, pos);
+    return pos;
+  }
+
+  private static boolean regionMatches(CharSequence input, int pos, int limit, String expected) {
+    if (limit - pos < expected.length()) {
+      return false;
+    }
+    for (int i = 0; i < expected.length(); i++) {
+      if (input.charAt(pos + i) != expected.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int scanFloating(CharSequence input, int pos, int limit, ScanResult result) {
+    int start = pos;
+    if (pos < limit && (input.charAt(pos) == '-' || input.charAt(pos) == '+')) {
+      pos++;
+    }
+    int end;
+    if (regionMatches(input, pos, limit, "NaN")) {
+      end = pos + 3;
+    } else if (regionMatches(input, pos, limit, "Infinity")) {
+      end = pos + 8;
+    } else if (pos + 1 < limit
+        && input.charAt(pos) == '0'
+        && (input.charAt(pos + 1) | 0x20) == 'x') {
+      end = hexFloatingEnd(input, pos + 2, limit);
+    } else {
+      end = decimalEnd(input, pos, limit);
+    }
+    if (end < 0) {
+      return -1;
+    }
+    result.addDouble(DecimalToDouble.parseDouble(input, start, end), start, end);
+    return end;
+  }
+
+  /** Returns the end of the digits, with at most one '.', starting at {@code pos}, or -1. */
+  private static int digitsEnd(CharSequence input, int pos, int limit, int radix) {
+    boolean fraction = false;
+    boolean anyDigit = false;
+    for (; pos < limit; pos++) {
+      char c = input.charAt(pos);
+      if (c == '.' && !fraction) {
+        fraction = true;
+      } else if (digit(c, radix) >= 0) {
+        anyDigit = true;
+      } else {
+        break;
+      }
+    }
+    return anyDigit ? pos : -1;
+  }
+
+  /** Returns the end of an exponent marked by {@code marker} at {@code pos}, or -1. */
+  private static int exponentEnd(CharSequence input, int pos, int limit, char marker) {
+    if (pos >= limit || (input.charAt(pos) | 0x20) != marker) {
+      return -1;
+    }
+    int e = pos + 1;
+    if (e < limit && (input.charAt(e) == '-' || input.charAt(e) == '+')) {
+      e++;
+    }
+    if (e >= limit || !Utils.isDigit(input.charAt(e))) {
+      return -1;
+    }
+    while (e < limit && Utils.isDigit(input.charAt(e))) {
+      e++;
+    }
+    return e;
+  }
+
+  private static int decimalEnd(CharSequence input, int pos, int limit) {
+    int end = digitsEnd(input, pos, limit, 10);
+    if (end < 0) {
+      return -1;
+    }
+    // An exponent marker without digits is left unread, as by C strtod.
+    int exponentEnd = exponentEnd(input, end, limit, 'e');
+    return exponentEnd < 0 ? end : exponentEnd;
+  }
+
+  /** The binary exponent is mandatory in Java's hexadecimal floating-point syntax. */
+  private static int hexFloatingEnd(CharSequence input, int pos, int limit) {
+    int end = digitsEnd(input, pos, limit, 16);
+    return end < 0 ? -1 : exponentEnd(input, end, limit, 'p');
+  }
+
+  String getPattern() {
+    return pattern;
+  }
+
+  @Override
+  public String toString() {
+    return "FastScanf{" + pattern + "}";
+  }
+
+  /** One step of a compiled format: a literal to match, or a conversion to store. */
+  private static final class Directive {
+
+    static final int INTEGER = 0;
+    static final int FLOATING = 1;
+    static final int WORD = 2;
+    static final int CHARACTERS = 3;
+    static final int POSITION = 4;
+
+    final String literal;
+    final int kind;
+    final int width;
+    final int radix;
+    final boolean signed;
+    final long cutoff;
+    final int cutlim;
+
+    private Directive(String literal, int kind, int width, int radix, boolean signed) {
+      this.literal = literal;
+      this.kind = kind;
+      this.width = width;
+      this.radix = radix;
+      this.signed = signed;
+      this.cutoff = Long.divideUnsigned(-1L, radix);
+      this.cutlim = (int) Long.remainderUnsigned(-1L, radix);
+    }
+
+    static Directive literal(String text) {
+      return new Directive(text, -1, 0, 10, false);
+    }
+
+    static Directive conversion(String format, Specifier specifier, FormatContext context) {
+      if (context.isPrecedingWidth() || context.isPrecedingPrecision()) {
+        throw new PrintfSyntaxException("'*' is not supported by FastScanf", format, -1);
+      }
+      int width = Math.max(context.getWidth(), 0);
+      switch (specifier) {
+        case SIGNED_DECIMAL_INTEGER:
+          return new Directive(null, INTEGER, width, 10, true);
+        case UNSIGNED_DECIMAL_INTEGER:
+          return new Directive(null, INTEGER, width, 10, false);
+        case UNSIGNED_OCTAL_INTEGER:
+          return new Directive(null, INTEGER, width, 8, false);
+        case UNSIGNED_HEXADECIMAL_INTEGER:
+        case UNSIGNED_HEXADECIMAL_INTEGER_UPPERCASE:
+          return new Directive(null, INTEGER, width, 16, false);
+        case DECIMAL_FLOATING_POINT:
+        case DECIMAL_FLOATING_POINT_UPPERCASE:
+        case SCIENTIFIC_NOTATION:
+        case SCIENTIFIC_NOTATION_UPPERCASE:
+        case USE_SHORTEST_PRESENTATION:
+        case USE_SHORTEST_PRESENTATION_UPPERCASE:
+        case HEXADECIMAL_FLOATING_POINT:
+        case HEXADECIMAL_FLOATING_POINT_UPPERCASE:
+          return new Directive(null, FLOATING, width, 10, true);
+        case STRING:
+        case STRING_UPPERCASE:
+          return new Directive(null, WORD, width, 10, false);
+        case CHARACTER:
+          return new Directive(null, CHARACTERS, width, 10, false);
+        case NOTHING_PRINTED:
+          return new Directive(null, POSITION, 0, 10, false);
+        default:
+          throw new PrintfSyntaxException(
+              "'%" + specifier + "' is not supported by FastScanf", format, -1);
+      }
+    }
+  }
+}
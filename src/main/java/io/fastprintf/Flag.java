@@ -25,7 +25,12 @@ public enum Flag {
   // a precision specification is also present—for example, %04.d—the 0 is ignored. If 0 is
   // specified for the a or A floating-point format, leading zeros are prepended to the mantissa,
   // after the 0x or 0X prefix.
-  ZERO_PAD;
+  ZERO_PAD,
+
+  // Separate the integer digits of the d, i, u, f and F formats into groups of three with the
+  // context's grouping separator, as glibc does. Zeros added for precision or width are not
+  // grouped. Ignored by other formats.
+  GROUPING;
 
   public static Flag valueOf(char c) {
     switch (c) {
@@ -39,6 +44,8 @@ public enum Flag {
         return LEADING_SPACE;
       case '0':
         return ZERO_PAD;
+      case '\'':
+        return GROUPING;
       default:
         return null;
     }
@@ -18,13 +18,25 @@ public final class FormatContext implements Serializable {
   private final int width;
   private final int precision;
   private final DateTimeFormatter dateTimeFormatter;
+  private final LocaleSymbols symbols;
+  private final WidthMode widthMode;
+  private final ArrayDelimiters arrayDelimiters;
 
   private FormatContext(
-      EnumSet<Flag> flags, int width, int precision, DateTimeFormatter dateTimeFormatter) {
+      EnumSet<Flag> flags,
+      int width,
+      int precision,
+      DateTimeFormatter dateTimeFormatter,
+      LocaleSymbols symbols,
+      WidthMode widthMode,
+      ArrayDelimiters arrayDelimiters) {
     this.flags = flags;
     this.width = width;
     this.precision = precision;
     this.dateTimeFormatter = dateTimeFormatter;
+    this.symbols = symbols;
+    this.widthMode = widthMode;
+    this.arrayDelimiters = arrayDelimiters;
   }
 
   // Helper method to centralize validation logic.
@@ -53,7 +65,14 @@ public final class FormatContext implements Serializable {
     Preconditions.checkNotNull(flags, "flags");
     checkWidth(width);
     checkPrecision(precision);
-    return new FormatContext(EnumSet.copyOf(flags), width, precision, dateTimeFormatter);
+    return new FormatContext(
+        EnumSet.copyOf(flags),
+        width,
+        precision,
+        dateTimeFormatter,
+        LocaleSymbols.ROOT,
+        WidthMode.CHARS,
+        ArrayDelimiters.DEFAULT);
   }
 
   public static FormatContext create(String flags) {
@@ -79,7 +98,14 @@ public final class FormatContext implements Serializable {
   public FormatContext setWidth(int newWidth) {
     // Validate the new width before creating the new instance.
     checkWidth(newWidth);
-    return new FormatContext(EnumSet.copyOf(flags), newWidth, precision, dateTimeFormatter);
+    return new FormatContext(
+        EnumSet.copyOf(flags),
+        newWidth,
+        precision,
+        dateTimeFormatter,
+        symbols,
+        widthMode,
+        arrayDelimiters);
   }
 
   public boolean isWidthSet() {
@@ -93,7 +119,14 @@ public final class FormatContext implements Serializable {
   public FormatContext setPrecision(int newPrecision) {
     // Validate the new precision before creating the new instance.
     checkPrecision(newPrecision);
-    return new FormatContext(EnumSet.copyOf(flags), width, newPrecision, dateTimeFormatter);
+    return new FormatContext(
+        EnumSet.copyOf(flags),
+        width,
+        newPrecision,
+        dateTimeFormatter,
+        symbols,
+        widthMode,
+        arrayDelimiters);
   }
 
   public boolean isPrecisionSet() {
@@ -117,7 +150,14 @@ public final class FormatContext implements Serializable {
       return this;
     }
     FormatContext newContext =
-        new FormatContext(EnumSet.copyOf(flags), width, precision, dateTimeFormatter);
+        new FormatContext(
+            EnumSet.copyOf(flags),
+            width,
+            precision,
+            dateTimeFormatter,
+            symbols,
+            widthMode,
+            arrayDelimiters);
     newContext.flags.add(flag);
     return newContext;
   }
@@ -130,6 +170,75 @@ public final class FormatContext implements Serializable {
     return dateTimeFormatter;
   }
 
+  /** Returns the decimal separator, grouping separator and minus sign numbers are written with. */
+  public LocaleSymbols getSymbols() {
+    return symbols;
+  }
+
+  public FormatContext setSymbols(LocaleSymbols newSymbols) {
+    Preconditions.checkNotNull(newSymbols, "newSymbols");
+    if (newSymbols.equals(symbols)) {
+      return this;
+    }
+    return new FormatContext(
+        EnumSet.copyOf(flags),
+        width,
+        precision,
+        dateTimeFormatter,
+        newSymbols,
+        widthMode,
+        arrayDelimiters);
+  }
+
+  /** Returns the separator placed between digit groups by the {@link Flag#GROUPING} flag. */
+  public char getGroupingSeparator() {
+    return symbols.getGroupingSeparator();
+  }
+
+  public FormatContext setGroupingSeparator(char newGroupingSeparator) {
+    return setSymbols(symbols.withGroupingSeparator(newGroupingSeparator));
+  }
+
+  /** Returns how the width and string precision are measured. */
+  public WidthMode getWidthMode() {
+    return widthMode;
+  }
+
+  public FormatContext setWidthMode(WidthMode newWidthMode) {
+    Preconditions.checkNotNull(newWidthMode, "newWidthMode");
+    if (newWidthMode == widthMode) {
+      return this;
+    }
+    return new FormatContext(
+        EnumSet.copyOf(flags),
+        width,
+        precision,
+        dateTimeFormatter,
+        symbols,
+        newWidthMode,
+        arrayDelimiters);
+  }
+
+  /** Returns the brackets and separator that enclose the elements of a formatted array. */
+  public ArrayDelimiters getArrayDelimiters() {
+    return arrayDelimiters;
+  }
+
+  public FormatContext setArrayDelimiters(ArrayDelimiters newArrayDelimiters) {
+    Preconditions.checkNotNull(newArrayDelimiters, "newArrayDelimiters");
+    if (newArrayDelimiters.equals(arrayDelimiters)) {
+      return this;
+    }
+    return new FormatContext(
+        EnumSet.copyOf(flags),
+        width,
+        precision,
+        dateTimeFormatter,
+        symbols,
+        widthMode,
+        newArrayDelimiters);
+  }
+
   @Override
   public String toString() {
     return "{" + "flags=" + flags + ", width=" + width + ", precision=" + precision + '}';
@@ -156,6 +265,9 @@ public final class FormatContext implements Serializable {
         case LEADING_SPACE:
           builder.append(' ');
           break;
+        case GROUPING:
+          builder.append('\'');
+          break;
       }
     }
     if (width == PRECEDING) {
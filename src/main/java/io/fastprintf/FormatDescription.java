@@ -0,0 +1,568 @@
+package io.fastprintf;
+
+import io.fastprintf.appender.Appender;
+import io.fastprintf.appender.DefaultAppender;
+import io.fastprintf.appender.FixedStringAppender;
+import io.fastprintf.appender.FusedAppender;
+import io.fastprintf.util.Preconditions;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A static analysis of a compiled format, returned by {@link FastPrintf#describe()}.
+ *
+ * <p>The description lists the segments of the format, literal text and fields, in output order,
+ * together with an estimate of how long each one can get and whether it has to allocate
+ * intermediate objects on the heap. It is meant for tooling: a build step can compile every
+ * template an application uses and reject those whose output is unbounded or that defeat the
+ * allocation-light paths.
+ *
+ * <pre>{@code
+ * FormatDescription description = FastPrintf.compile("%-10s|%08.3f|%t").describe();
+ * description.getArgumentCount();        // 3
+ * description.getMaxLength();            // FormatDescription.UNBOUNDED, because of %s and %t
+ * description.hasHeapAllocatingFields(); // true, because of %t
+ * }</pre>
+ *
+ * <p>Length estimates are computed from the format alone. The bounds assume primitive or boxed
+ * arguments: a {@code BigInteger} printed with {@code %d}, for example, can exceed the reported
+ * maximum, and so can a primitive array given to a numeric conversion, which repeats the field for
+ * every element. The notes of such fields say so. A field whose width or precision is taken from an argument ({@code *}) has an unbounded
+ * maximum.
+ */
+public final class FormatDescription {
+
+  /** The length reported for output that has no upper bound. */
+  public static final int UNBOUNDED = -1;
+
+  // Longest outputs of the primitive conversions, excluding sign and padding.
+  private static final int MAX_DECIMAL_DIGITS = 19; // Long.MIN_VALUE
+  private static final int MAX_UNSIGNED_DECIMAL_DIGITS = 20; // 2^64 - 1
+  private static final int MAX_OCTAL_DIGITS = 22;
+  private static final int MAX_HEX_DIGITS = 16;
+  private static final int MAX_DOUBLE_INTEGER_DIGITS = 309; // Double.MAX_VALUE
+  private static final int MAX_EXPONENT_LENGTH = 5; // e+308
+  private static final int MAX_HEX_SIGNIFICAND_DIGITS = 13;
+  private static final int MIN_NON_FINITE_LENGTH = 3; // NaN
+  private static final int MAX_NON_FINITE_LENGTH = 9; // -Infinity
+  private static final int DEFAULT_PRECISION = 6;
+
+  private static final String ARRAY_NOTE =
+      "short[], int[], long[], float[] and double[] arguments repeat the field for every element,"
+          + " with no length bound";
+
+  /** The kind of a {@link Segment}. */
+  public enum Kind {
+    /** Literal text, copied to the output as-is. */
+    LITERAL,
+    /** A conversion that formats an argument. */
+    FIELD
+  }
+
+  /** One literal run or field of a compiled format. */
+  public static final class Segment {
+
+    private final Kind kind;
+    private final String text;
+    private final Specifier specifier;
+    private final FormatContext context;
+    private final int argumentCount;
+    private final int minLength;
+    private final int maxLength;
+    private final boolean heapAllocating;
+    private final List<String> notes;
+
+    private Segment(
+        Kind kind,
+        String text,
+        Specifier specifier,
+        FormatContext context,
+        int argumentCount,
+        int minLength,
+        int maxLength,
+        boolean heapAllocating,
+        List<String> notes) {
+      this.kind = kind;
+      this.text = text;
+      this.specifier = specifier;
+      this.context = context;
+      this.argumentCount = argumentCount;
+      this.minLength = minLength;
+      this.maxLength = maxLength;
+      this.heapAllocating = heapAllocating;
+      this.notes = Collections.unmodifiableList(notes);
+    }
+
+    static Segment literal(String text) {
+      return new Segment(
+          Kind.LITERAL,
+          text,
+          null,
+          null,
+          0,
+          text.length(),
+          text.length(),
+          false,
+          Collections.emptyList());
+    }
+
+    static Segment field(Specifier specifier, FormatContext context) {
+      List<String> notes = new ArrayList<>(2);
+      int argumentCount = 1;
+      if (context.isPrecedingWidth()) {
+        argumentCount++;
+        notes.add("width is taken from an argument");
+      }
+      if (context.isPrecedingPrecision()) {
+        argumentCount++;
+        notes.add("precision is taken from an argument");
+      }
+      boolean heapAllocating = false;
+      boolean floating = false;
+      int precision;
+      if (context.isPrecedingPrecision()) {
+        // Unknown until the call; 0 gives the lower bound, and the maximum is unbounded anyway.
+        precision = 0;
+      } else {
+        precision = context.isPrecisionSet() ? context.getPrecision() : FormatContext.UNSET;
+      }
+      int sign = context.hasFlag(Flag.PLUS) || context.hasFlag(Flag.LEADING_SPACE) ? 1 : 0;
+      boolean alternate = context.hasFlag(Flag.ALTERNATE);
+      boolean grouping = context.hasFlag(Flag.GROUPING);
+      int kept = keptChars(context.getWidthMode(), precision);
+      int min;
+      int max;
+      switch (specifier) {
+        case SIGNED_DECIMAL_INTEGER:
+          min = sign + (precision == 0 ? 0 : Math.max(precision, 1));
+          max =
+              1
+                  + Math.max(precision, MAX_DECIMAL_DIGITS)
+                  + separators(grouping, MAX_DECIMAL_DIGITS);
+          notes.add("BigInteger arguments allocate digit buffers");
+          notes.add(ARRAY_NOTE);
+          break;
+        case UNSIGNED_DECIMAL_INTEGER:
+          min = precision == 0 ? 0 : Math.max(precision, 1);
+          max =
+              Math.max(precision, MAX_UNSIGNED_DECIMAL_DIGITS)
+                  + separators(grouping, MAX_UNSIGNED_DECIMAL_DIGITS);
+          notes.add("BigInteger arguments allocate digit buffers");
+          notes.add(ARRAY_NOTE);
+          break;
+        case UNSIGNED_OCTAL_INTEGER:
+          min = precision == 0 && !alternate ? 0 : Math.max(precision, 1);
+          max = Math.max(precision, MAX_OCTAL_DIGITS + (alternate ? 1 : 0));
+          notes.add("BigInteger arguments allocate digit buffers");
+          notes.add(ARRAY_NOTE);
+          break;
+        case UNSIGNED_HEXADECIMAL_INTEGER:
+        case UNSIGNED_HEXADECIMAL_INTEGER_UPPERCASE:
+          min = precision == 0 ? 0 : Math.max(precision, 1);
+          max = (alternate ? 2 : 0) + Math.max(precision, MAX_HEX_DIGITS);
+          notes.add("BigInteger arguments allocate digit buffers");
+          notes.add(ARRAY_NOTE);
+          notes.add("byte[] and ByteBuffer arguments are written as hex, up to precision bytes");
+          break;
+        case DECIMAL_FLOATING_POINT:
+        case DECIMAL_FLOATING_POINT_UPPERCASE:
+          {
+            int fraction = fractionLength(precision, DEFAULT_PRECISION, alternate);
+            min = Math.min(sign + 1 + fraction, MIN_NON_FINITE_LENGTH);
+            max =
+                1
+                    + MAX_DOUBLE_INTEGER_DIGITS
+                    + separators(grouping, MAX_DOUBLE_INTEGER_DIGITS)
+                    + Math.max(fraction, 1);
+            notes.add("BigDecimal arguments allocate digit buffers");
+            floating = true;
+            break;
+          }
+        case SCIENTIFIC_NOTATION:
+        case SCIENTIFIC_NOTATION_UPPERCASE:
+          {
+            int fraction = fractionLength(precision, DEFAULT_PRECISION, alternate);
+            min =
+                Math.min(sign + 1 + fraction + MAX_EXPONENT_LENGTH - 1, MIN_NON_FINITE_LENGTH);
+            max = 1 + 1 + Math.max(fraction, 1) + MAX_EXPONENT_LENGTH;
+            notes.add("BigDecimal arguments allocate digit buffers");
+            floating = true;
+            break;
+          }
+        case USE_SHORTEST_PRESENTATION:
+        case USE_SHORTEST_PRESENTATION_UPPERCASE:
+          {
+            int significant = precision == FormatContext.UNSET ? DEFAULT_PRECISION : precision;
+            significant = Math.max(significant, 1);
+            min = Math.min(sign + 1, MIN_NON_FINITE_LENGTH);
+            // d.ddde+308 or 0.000ddd, whichever is longer.
+            max = 1 + significant + 1 + MAX_EXPONENT_LENGTH;
+            notes.add("BigDecimal arguments allocate digit buffers");
+            floating = true;
+            break;
+          }
+        case HEXADECIMAL_FLOATING_POINT:
+        case HEXADECIMAL_FLOATING_POINT_UPPERCASE:
+          // 0x1.<digits>p-1074
+          min = MIN_NON_FINITE_LENGTH;
+          max =
+              1
+                  + "0x1.".length()
+                  + Math.max(precision, MAX_HEX_SIGNIFICAND_DIGITS)
+                  + "p-1074".length();
+          notes.add("BigDecimal arguments are not supported");
+          floating = true;
+          break;
+        case CHARACTER:
+          min = 1;
+          max = 1;
+          break;
+        case STRING:
+        case STRING_UPPERCASE:
+          min = 0;
+          max = kept >= 0 ? kept : UNBOUNDED;
+          notes.add("arguments other than CharSequence are converted with toString()");
+          break;
+        case JSON_STRING:
+          // A quoted null argument is written as a bare null.
+          min = alternate ? 2 : 0;
+          max = kept >= 0 ? (alternate ? 2 : 0) + 6 * kept : UNBOUNDED;
+          if (alternate && max != UNBOUNDED) {
+            max = Math.max(max, "null".length());
+          }
+          notes.add("arguments other than CharSequence are converted with toString()");
+          notes.add("text that needs escaping is copied once into a new buffer");
+          break;
+        case CSV_FIELD:
+          min = alternate ? 2 : 0;
+          max = kept >= 0 ? 2 + 2 * kept : UNBOUNDED;
+          notes.add("arguments other than CharSequence are converted with toString()");
+          notes.add("quoted fields are assembled from slices of the argument without copying");
+          break;
+        case DATE_AND_TIME:
+        case DATE_AND_TIME_UPPERCASE:
+          min = 0;
+          max = UNBOUNDED;
+          heapAllocating = true;
+          notes.add(
+              context.getDateTimeFormatter() != null
+                  ? "formats through a custom DateTimeFormatter into a new String"
+                  : "formats through an ISO DateTimeFormatter into a new String");
+          break;
+        case POINTER:
+          min = "null".length();
+          max = UNBOUNDED;
+          heapAllocating = true;
+          notes.add("builds the class name and identity hash code as new Strings");
+          break;
+        case NOTHING_PRINTED:
+          min = 0;
+          max = 0;
+          break;
+        default:
+          // %% never reaches a field; it is compiled to literal text.
+          min = 1;
+          max = 1;
+          break;
+      }
+      if (floating) {
+        // NaN and Infinity replace the digits entirely.
+        max = Math.max(max, MAX_NON_FINITE_LENGTH);
+        notes.add(ARRAY_NOTE);
+      }
+      if (context.isPrecedingWidth() || context.isPrecedingPrecision()) {
+        max = UNBOUNDED;
+      }
+      if (context.isWidthSet() && !context.isPrecedingWidth()) {
+        if (context.getWidthMode() == WidthMode.CHARS) {
+          min = Math.max(min, context.getWidth());
+          if (max != UNBOUNDED) {
+            max = Math.max(max, context.getWidth());
+          }
+        } else if (max != UNBOUNDED) {
+          // Padding counts columns or code points, which may be fewer than the chars it pads.
+          max += context.getWidth();
+        }
+      }
+      return new Segment(
+          Kind.FIELD,
+          context.toPatternString(specifier),
+          specifier,
+          context,
+          argumentCount,
+          Math.max(min, 0),
+          max,
+          heapAllocating,
+          notes);
+    }
+
+    /**
+     * The most chars of a string argument that precision keeps, or a negative value if it keeps
+     * them all: a code point may be two chars, and a column may hold any number of combining marks.
+     */
+    private static int keptChars(WidthMode mode, int precision) {
+      if (precision < 0 || mode == WidthMode.CHARS) {
+        return precision;
+      }
+      return mode == WidthMode.CODE_POINTS ? 2 * precision : UNBOUNDED;
+    }
+
+    /** The separators the {@code '} flag adds to {@code digits} integer digits. */
+    private static int separators(boolean grouping, int digits) {
+      return grouping ? (digits - 1) / 3 : 0;
+    }
+
+    /** The characters after the decimal point, including the point itself. */
+    private static int fractionLength(int precision, int defaultPrecision, boolean alternate) {
+      int digits = precision == FormatContext.UNSET ? defaultPrecision : precision;
+      return digits > 0 || alternate ? digits + 1 : 0;
+    }
+
+    /**
+     * Returns whether this segment is literal text or a field.
+     *
+     * @return the segment kind.
+     */
+    public Kind getKind() {
+      return kind;
+    }
+
+    /**
+     * Returns the literal text, or the field's specification such as {@code %-08.3f}.
+     *
+     * @return the segment text.
+     */
+    public String getText() {
+      return text;
+    }
+
+    /**
+     * Returns the conversion of a field.
+     *
+     * @return the specifier, or {@code null} for literal text.
+     */
+    public Specifier getSpecifier() {
+      return specifier;
+    }
+
+    /**
+     * Returns the flags, width and precision of a field.
+     *
+     * @return the context, or {@code null} for literal text.
+     */
+    public FormatContext getContext() {
+      return context;
+    }
+
+    /**
+     * Returns how many arguments this segment consumes, counting {@code *} width and precision.
+     *
+     * @return the argument count; {@code 0} for literal text.
+     */
+    public int getArgumentCount() {
+      return argumentCount;
+    }
+
+    /**
+     * Returns a lower bound on the number of characters this segment produces.
+     *
+     * @return the minimum length.
+     */
+    public int getMinLength() {
+      return minLength;
+    }
+
+    /**
+     * Returns an upper bound on the number of characters this segment produces for primitive or
+     * boxed arguments.
+     *
+     * @return the maximum length, or {@link #UNBOUNDED}.
+     */
+    public int getMaxLength() {
+      return maxLength;
+    }
+
+    /**
+     * Returns whether this field allocates intermediate objects, such as a {@code String} per call,
+     * whatever the argument type.
+     *
+     * @return {@code true} if the field always allocates on the heap.
+     */
+    public boolean isHeapAllocating() {
+      return heapAllocating;
+    }
+
+    /**
+     * Returns short remarks on the cost of this segment, such as argument types that take a slower
+     * path.
+     *
+     * @return an immutable list of notes, possibly empty.
+     */
+    public List<String> getNotes() {
+      return notes;
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder();
+      if (kind == Kind.LITERAL) {
+        sb.append('"').append(text).append('"');
+      } else {
+        sb.append(text);
+      }
+      sb.append(" [").append(minLength).append(", ");
+      sb.append(maxLength == UNBOUNDED ? "unbounded" : Integer.toString(maxLength)).append(']');
+      if (heapAllocating) {
+        sb.append(" heap");
+      }
+      for (String note : notes) {
+        sb.append("; ").append(note);
+      }
+      return sb.toString();
+    }
+  }
+
+  private final List<Segment> segments;
+  private final int argumentCount;
+  private final int minLength;
+  private final int maxLength;
+
+  private FormatDescription(List<Segment> segments) {
+    this.segments = Collections.unmodifiableList(segments);
+    int arguments = 0;
+    long min = 0;
+    long max = 0;
+    for (Segment segment : segments) {
+      arguments += segment.argumentCount;
+      min += segment.minLength;
+      if (max != UNBOUNDED) {
+        max = segment.maxLength == UNBOUNDED ? UNBOUNDED : max + segment.maxLength;
+      }
+    }
+    this.argumentCount = arguments;
+    this.minLength = (int) Math.min(min, Integer.MAX_VALUE);
+    this.maxLength = max > Integer.MAX_VALUE ? UNBOUNDED : (int) max;
+  }
+
+  static FormatDescription ofConstant(String value) {
+    List<Segment> segments = new ArrayList<>(1);
+    if (!value.isEmpty()) {
+      segments.add(Segment.literal(value));
+    }
+    return new FormatDescription(segments);
+  }
+
+  static FormatDescription ofAppenders(Appender[] appenders) {
+    Preconditions.checkNotNull(appenders, "appenders");
+    List<Segment> segments = new ArrayList<>(appenders.length * 2);
+    StringBuilder pendingLiteral = new StringBuilder();
+    for (Appender appender : appenders) {
+      if (appender instanceof FixedStringAppender) {
+        pendingLiteral.append(((FixedStringAppender) appender).getValue());
+      } else if (appender instanceof FusedAppender) {
+        FusedAppender fused = (FusedAppender) appender;
+        pendingLiteral.append(fused.getPrefix());
+        flushLiteral(pendingLiteral, segments);
+        segments.add(field(fused.getField()));
+        pendingLiteral.append(fused.getSuffix());
+      } else if (appender instanceof DefaultAppender) {
+        flushLiteral(pendingLiteral, segments);
+        segments.add(field((DefaultAppender) appender));
+      } else {
+        throw new IllegalArgumentException("Unknown appender: " + appender);
+      }
+    }
+    flushLiteral(pendingLiteral, segments);
+    return new FormatDescription(segments);
+  }
+
+  private static Segment field(DefaultAppender appender) {
+    return Segment.field(appender.getSpecifier(), appender.getContext());
+  }
+
+  private static void flushLiteral(StringBuilder pendingLiteral, List<Segment> segments) {
+    if (pendingLiteral.length() > 0) {
+      segments.add(Segment.literal(pendingLiteral.toString()));
+      pendingLiteral.setLength(0);
+    }
+  }
+
+  /**
+   * Returns the literal runs and fields of the format, in output order.
+   *
+   * @return an immutable list of segments.
+   */
+  public List<Segment> getSegments() {
+    return segments;
+  }
+
+  /**
+   * Returns the number of arguments a call consumes.
+   *
+   * @return the argument count.
+   */
+  public int getArgumentCount() {
+    return argumentCount;
+  }
+
+  /**
+   * Returns a lower bound on the output length.
+   *
+   * @return the minimum length.
+   */
+  public int getMinLength() {
+    return minLength;
+  }
+
+  /**
+   * Returns an upper bound on the output length for primitive or boxed arguments.
+   *
+   * @return the maximum length, or {@link #UNBOUNDED}.
+   */
+  public int getMaxLength() {
+    return maxLength;
+  }
+
+  /**
+   * Returns whether the output never depends on the arguments.
+   *
+   * @return {@code true} if the format has no fields.
+   */
+  public boolean isConstant() {
+    for (Segment segment : segments) {
+      if (segment.kind == Kind.FIELD) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns whether any field always allocates on the heap, see {@link
+   * Segment#isHeapAllocating()}.
+   *
+   * @return {@code true} if at least one field is heap-allocating.
+   */
+  public boolean hasHeapAllocatingFields() {
+    for (Segment segment : segments) {
+      if (segment.heapAllocating) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Returns a multi-line report with one line per segment. */
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("FormatDescription{arguments=").append(argumentCount);
+    sb.append(", length=[").append(minLength).append(", ");
+    sb.append(maxLength == UNBOUNDED ? "unbounded" : Integer.toString(maxLength)).append("]}");
+    for (Segment segment : segments) {
+      sb.append(System.lineSeparator()).append("  ").append(segment);
+    }
+    return sb.toString();
+  }
+}
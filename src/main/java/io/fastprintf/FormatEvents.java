@@ -0,0 +1,35 @@
+package io.fastprintf;
+
+/**
+ * Hooks through which {@link FastPrintfImpl} reports slow or oversized format calls to JDK Flight
+ * Recorder.
+ *
+ * <p>This is the Java 8 version and does nothing, so the calls compile away. On Java 11 and later
+ * the multi-release JAR replaces it with the implementation in {@code src/main/java-11}, which
+ * commits an {@code io.fastprintf.Format} event while a recording is running.
+ */
+final class FormatEvents {
+
+  private FormatEvents() {
+    throw new IllegalStateException();
+  }
+
+  /**
+   * Called before a format call.
+   *
+   * @return an opaque start token, or {@code 0} if no event will be recorded for this call.
+   */
+  static long begin() {
+    return 0L;
+  }
+
+  /**
+   * Called after a successful format call.
+   *
+   * @param start the token returned by {@link #begin()}.
+   * @param formatter the formatter that ran.
+   * @param args the formatted arguments.
+   * @param outputLength the number of characters produced, or {@code -1} if unknown.
+   */
+  static void end(long start, FastPrintfImpl formatter, Args args, int outputLength) {}
+}
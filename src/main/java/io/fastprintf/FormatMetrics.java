@@ -0,0 +1,209 @@
+package io.fastprintf;
+
+import io.fastprintf.util.Preconditions;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runtime statistics for one or more formatters, collected by {@link
+ * FastPrintf#instrument(FormatMetrics)}.
+ *
+ * <p>A compiled {@link FastPrintf} is typically shared by many threads, so every counter here is
+ * striped ({@link LongAdder}, {@link LongAccumulator}) rather than a single contended atomic.
+ * Recording a call costs two {@link System#nanoTime()} reads and a handful of uncontended adds;
+ * formatters that are not instrumented pay nothing at all.
+ *
+ * <p>Latencies are kept in a log-linear histogram in the spirit of HdrHistogram: each power of two
+ * is split into eight linear buckets, so any reported percentile is within 12.5% of the true value,
+ * using a fixed set of counters regardless of how many calls are recorded.
+ *
+ * <pre>{@code
+ * FormatMetrics metrics = new FormatMetrics();
+ * FastPrintf formatter = FastPrintf.compile("order=%d total=%.2f").instrument(metrics);
+ * ...
+ * long p99 = metrics.getLatencyPercentileNanos(99.0);
+ * }</pre>
+ *
+ * <p>Reads are not atomic across counters: a snapshot taken while calls are in flight may, for
+ * example, include a call in {@link #getInvocations()} that is not yet in {@link
+ * #getTotalChars()}.
+ */
+public final class FormatMetrics {
+
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private final LongAdder invocations = new LongAdder();
+  private final LongAdder failures = new LongAdder();
+  private final LongAdder totalChars = new LongAdder();
+  private final LongAccumulator maxLength = new LongAccumulator(Math::max, 0);
+  private final Map<Class<? extends Throwable>, LongAdder> failuresByCause =
+      new ConcurrentHashMap<>();
+  private final LongAdder[] latencyBuckets = new LongAdder[BUCKET_COUNT];
+
+  public FormatMetrics() {
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      latencyBuckets[i] = new LongAdder();
+    }
+  }
+
+  static int bucketIndex(long nanos) {
+    if (nanos < SUB_BUCKETS) {
+      return (int) Math.max(nanos, 0);
+    }
+    int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos)) - SUB_BUCKET_BITS;
+    return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((nanos >>> shift) & (SUB_BUCKETS - 1));
+  }
+
+  /** The largest value that falls into bucket {@code index}. */
+  static long bucketUpperBound(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    int shift = (index >>> SUB_BUCKET_BITS) - 1;
+    long lower = (long) (SUB_BUCKETS + (index & (SUB_BUCKETS - 1))) << shift;
+    return lower + (1L << shift) - 1;
+  }
+
+  void recordSuccess(long nanos, long length) {
+    invocations.increment();
+    totalChars.add(length);
+    maxLength.accumulate(length);
+    latencyBuckets[bucketIndex(nanos)].increment();
+  }
+
+  void recordFailure(long nanos, Throwable failure) {
+    invocations.increment();
+    failures.increment();
+    latencyBuckets[bucketIndex(nanos)].increment();
+    Class<? extends Throwable> key = failure.getClass();
+    if (failure instanceof PrintfException && failure.getCause() != null) {
+      key = failure.getCause().getClass();
+    }
+    failuresByCause.computeIfAbsent(key, k -> new LongAdder()).increment();
+  }
+
+  /**
+   * Returns the number of format calls recorded, including failed ones.
+   *
+   * @return the invocation count.
+   */
+  public long getInvocations() {
+    return invocations.sum();
+  }
+
+  /**
+   * Returns the number of format calls that threw.
+   *
+   * @return the failure count.
+   */
+  public long getFailures() {
+    return failures.sum();
+  }
+
+  /**
+   * Returns the total number of characters produced by successful calls.
+   *
+   * @return the character count.
+   */
+  public long getTotalChars() {
+    return totalChars.sum();
+  }
+
+  /**
+   * Returns the length of the longest output produced by a single successful call.
+   *
+   * @return the maximum output length, or {@code 0} if nothing succeeded yet.
+   */
+  public long getMaxLength() {
+    return maxLength.get();
+  }
+
+  /**
+   * Returns the mean output length of successful calls.
+   *
+   * @return the average length, or {@code 0} if nothing succeeded yet.
+   */
+  public double getAverageLength() {
+    long successes = invocations.sum() - failures.sum();
+    return successes <= 0 ? 0 : (double) totalChars.sum() / successes;
+  }
+
+  /**
+   * Returns the failure counts keyed by exception type. A {@link PrintfException} that wraps
+   * another exception, such as a failing {@code toString()}, is counted under the wrapped
+   * exception's type; otherwise the thrown type itself is used.
+   *
+   * @return an immutable snapshot of the failure counts.
+   */
+  public Map<Class<? extends Throwable>, Long> getFailuresByCause() {
+    Map<Class<? extends Throwable>, Long> snapshot = new LinkedHashMap<>();
+    failuresByCause.forEach((type, count) -> snapshot.put(type, count.sum()));
+    return Collections.unmodifiableMap(snapshot);
+  }
+
+  /**
+   * Returns an upper bound for the given latency percentile.
+   *
+   * @param percentile a value in {@code [0, 100]}.
+   * @return the upper edge of the histogram bucket holding the percentile, in nanoseconds, or
+   *     {@code 0} if no call was recorded.
+   * @throws IllegalArgumentException if the percentile is out of range.
+   */
+  public long getLatencyPercentileNanos(double percentile) {
+    Preconditions.checkArgument(
+        percentile >= 0 && percentile <= 100, "percentile must be in [0, 100]");
+    long[] counts = new long[BUCKET_COUNT];
+    long total = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      counts[i] = latencyBuckets[i].sum();
+      total += counts[i];
+    }
+    if (total == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+    long seen = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return bucketUpperBound(i);
+      }
+    }
+    return bucketUpperBound(BUCKET_COUNT - 1);
+  }
+
+  /** Clears every counter and the latency histogram. */
+  public void reset() {
+    invocations.reset();
+    failures.reset();
+    totalChars.reset();
+    maxLength.reset();
+    failuresByCause.clear();
+    for (LongAdder bucket : latencyBuckets) {
+      bucket.reset();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "FormatMetrics{invocations="
+        + getInvocations()
+        + ", failures="
+        + getFailures()
+        + ", totalChars="
+        + getTotalChars()
+        + ", maxLength="
+        + getMaxLength()
+        + ", p50="
+        + getLatencyPercentileNanos(50)
+        + "ns, p99="
+        + getLatencyPercentileNanos(99)
+        + "ns}";
+  }
+}
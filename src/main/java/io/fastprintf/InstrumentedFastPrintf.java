@@ -0,0 +1,145 @@
+package io.fastprintf;
+
+import io.fastprintf.util.Preconditions;
+import java.io.IOException;
+
+/**
+ * A {@link FastPrintf} decorator that records every call into a {@link FormatMetrics}.
+ *
+ * <p>Output lengths are measured without touching the output: {@link #format(Args)} uses the
+ * returned string, and {@link #format(Appendable, Args)} compares lengths before and after when the
+ * destination is a {@link CharSequence}. Other destinations, such as a {@link java.io.Writer}, are
+ * wrapped in a counting {@link Appendable}.
+ */
+final class InstrumentedFastPrintf implements FastPrintf {
+
+  private final FastPrintf delegate;
+  private final FormatMetrics metrics;
+
+  InstrumentedFastPrintf(FastPrintf delegate, FormatMetrics metrics) {
+    this.delegate = Preconditions.checkNotNull(delegate, "delegate");
+    this.metrics = Preconditions.checkNotNull(metrics, "metrics");
+  }
+
+  @Override
+  public <T extends Appendable> T format(T builder, Args args) {
+    Preconditions.checkNotNull(builder, "builder");
+    long start = System.nanoTime();
+    try {
+      long length;
+      if (builder instanceof CharSequence) {
+        CharSequence chars = (CharSequence) builder;
+        int before = chars.length();
+        delegate.format(builder, args);
+        length = chars.length() - before;
+      } else {
+        CountingAppendable counting = new CountingAppendable(builder);
+        delegate.format(counting, args);
+        length = counting.count;
+      }
+      metrics.recordSuccess(System.nanoTime() - start, length);
+      return builder;
+    } catch (RuntimeException | Error e) {
+      metrics.recordFailure(System.nanoTime() - start, e);
+      throw e;
+    }
+  }
+
+  @Override
+  public String format(Args args) {
+    long start = System.nanoTime();
+    try {
+      String result = delegate.format(args);
+      metrics.recordSuccess(System.nanoTime() - start, result.length());
+      return result;
+    } catch (RuntimeException | Error e) {
+      metrics.recordFailure(System.nanoTime() - start, e);
+      throw e;
+    }
+  }
+
+  @Override
+  public FormatDescription describe() {
+    return delegate.describe();
+  }
+
+  @Override
+  public Throwable trailingThrowable(Object... values) {
+    return delegate.trailingThrowable(values);
+  }
+
+  @Override
+  public InstrumentedFastPrintf instrument(FormatMetrics metrics) {
+    Preconditions.checkNotNull(metrics, "metrics");
+    if (this.metrics == metrics) {
+      return this;
+    }
+    // Re-instrumenting replaces the sink rather than timing the same call twice.
+    return new InstrumentedFastPrintf(delegate, metrics);
+  }
+
+  @Override
+  public FastPrintf enableThreadLocalCache() {
+    return rewrap(delegate.enableThreadLocalCache());
+  }
+
+  @Override
+  public FastPrintf setStringBuilderInitialCapacity(int capacity) {
+    return rewrap(delegate.setStringBuilderInitialCapacity(capacity));
+  }
+
+  @Override
+  public FastPrintf withWidthMode(WidthMode mode) {
+    return rewrap(delegate.withWidthMode(mode));
+  }
+
+  @Override
+  public FastPrintf withArrayDelimiters(ArrayDelimiters delimiters) {
+    return rewrap(delegate.withArrayDelimiters(delimiters));
+  }
+
+  FastPrintf getDelegate() {
+    return delegate;
+  }
+
+  FormatMetrics getMetrics() {
+    return metrics;
+  }
+
+  private InstrumentedFastPrintf rewrap(FastPrintf configured) {
+    return configured == delegate ? this : new InstrumentedFastPrintf(configured, metrics);
+  }
+
+  private static final class CountingAppendable implements Appendable {
+
+    private final Appendable out;
+    private long count;
+
+    CountingAppendable(Appendable out) {
+      this.out = out;
+    }
+
+    @Override
+    public Appendable append(CharSequence csq) throws IOException {
+      CharSequence s = csq == null ? "null" : csq;
+      out.append(s);
+      count += s.length();
+      return this;
+    }
+
+    @Override
+    public Appendable append(CharSequence csq, int start, int end) throws IOException {
+      CharSequence s = csq == null ? "null" : csq;
+      out.append(s, start, end);
+      count += end - start;
+      return this;
+    }
+
+    @Override
+    public Appendable append(char c) throws IOException {
+      out.append(c);
+      count++;
+      return this;
+    }
+  }
+}
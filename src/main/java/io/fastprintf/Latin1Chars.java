@@ -0,0 +1,47 @@
+package io.fastprintf;
+
+import io.fastprintf.util.Preconditions;
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link CharSequence} view of a {@link ByteBuffer} range, one ISO-8859-1 character per byte.
+ * Reads use absolute indexing, so the buffer's position is never changed.
+ */
+final class Latin1Chars implements CharSequence {
+
+  private final ByteBuffer buffer;
+  private final int offset;
+  private final int length;
+
+  Latin1Chars(ByteBuffer buffer, int offset, int length) {
+    this.buffer = buffer;
+    this.offset = offset;
+    this.length = length;
+  }
+
+  @Override
+  public int length() {
+    return length;
+  }
+
+  @Override
+  public char charAt(int index) {
+    Preconditions.checkPositionIndex(index, length);
+    return (char) (buffer.get(offset + index) & 0xFF);
+  }
+
+  @Override
+  public CharSequence subSequence(int start, int end) {
+    Preconditions.checkPositionIndexes(start, end, length);
+    return new Latin1Chars(buffer, offset + start, end - start);
+  }
+
+  @Override
+  public String toString() {
+    char[] chars = new char[length];
+    for (int i = 0; i < length; i++) {
+      chars[i] = (char) (buffer.get(offset + i) & 0xFF);
+    }
+    return new String(chars);
+  }
+}
@@ -0,0 +1,130 @@
+package io.fastprintf;
+
+import io.fastprintf.util.Preconditions;
+import java.io.Serializable;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * The locale-dependent characters of a formatted number: the decimal separator, the grouping
+ * separator used by the {@code '} flag, and the minus sign.
+ *
+ * <p>The library is locale-agnostic by default and formats with {@link #ROOT}. Passing other
+ * symbols to {@link FastPrintf#compile(String, LocaleSymbols)} resolves them once, at compile time,
+ * into each numeric field, so formatting does no locale lookup and the default symbols cost
+ * nothing extra.
+ *
+ * <pre>{@code
+ * FastPrintf formatter = FastPrintf.compile("%'.2f", LocaleSymbols.of(Locale.GERMANY));
+ * formatter.format(-1234567.891); // "-1.234.567,89"
+ * }</pre>
+ *
+ * <p>Only {@code d}, {@code i}, {@code u}, {@code f}, {@code F}, {@code e}, {@code E}, {@code g}
+ * and {@code G} are localized. Exponents, hexadecimal output and {@code NaN} keep their ASCII form.
+ */
+public final class LocaleSymbols implements Serializable {
+
+  /** The symbols of the C locale: {@code .} for decimals, {@code ,} for groups, and {@code -}. */
+  public static final LocaleSymbols ROOT = new LocaleSymbols('.', ',', '-');
+
+  private static final long serialVersionUID = 6712004467731945107L;
+
+  private final char decimalSeparator;
+  private final char groupingSeparator;
+  private final char minusSign;
+
+  private LocaleSymbols(char decimalSeparator, char groupingSeparator, char minusSign) {
+    this.decimalSeparator = decimalSeparator;
+    this.groupingSeparator = groupingSeparator;
+    this.minusSign = minusSign;
+  }
+
+  /**
+   * Returns the symbols with the given characters.
+   *
+   * @param decimalSeparator the character between the integer and fractional digits.
+   * @param groupingSeparator the character between groups of three integer digits.
+   * @param minusSign the character that marks a negative number.
+   * @return the symbols; {@link #ROOT} if the characters are its own.
+   */
+  public static LocaleSymbols of(char decimalSeparator, char groupingSeparator, char minusSign) {
+    if (decimalSeparator == ROOT.decimalSeparator
+        && groupingSeparator == ROOT.groupingSeparator
+        && minusSign == ROOT.minusSign) {
+      return ROOT;
+    }
+    return new LocaleSymbols(decimalSeparator, groupingSeparator, minusSign);
+  }
+
+  /**
+   * Returns the symbols that {@link DecimalFormatSymbols} defines for the given locale.
+   *
+   * @param locale the locale.
+   * @return the symbols of {@code locale}.
+   */
+  public static LocaleSymbols of(Locale locale) {
+    Preconditions.checkNotNull(locale, "locale");
+    DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+    return of(
+        symbols.getDecimalSeparator(), symbols.getGroupingSeparator(), symbols.getMinusSign());
+  }
+
+  public char getDecimalSeparator() {
+    return decimalSeparator;
+  }
+
+  public char getGroupingSeparator() {
+    return groupingSeparator;
+  }
+
+  public char getMinusSign() {
+    return minusSign;
+  }
+
+  /**
+   * Returns these symbols with a different grouping separator.
+   *
+   * @param newGroupingSeparator the character between groups of three integer digits.
+   * @return the new symbols, or this instance if the separator is unchanged.
+   */
+  public LocaleSymbols withGroupingSeparator(char newGroupingSeparator) {
+    if (newGroupingSeparator == groupingSeparator) {
+      return this;
+    }
+    return of(decimalSeparator, newGroupingSeparator, minusSign);
+  }
+
+  private Object readResolve() {
+    return of(decimalSeparator, groupingSeparator, minusSign);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof LocaleSymbols)) {
+      return false;
+    }
+    LocaleSymbols that = (LocaleSymbols) o;
+    return decimalSeparator == that.decimalSeparator
+        && groupingSeparator == that.groupingSeparator
+        && minusSign == that.minusSign;
+  }
+
+  @Override
+  public int hashCode() {
+    return (decimalSeparator * 31 + groupingSeparator) * 31 + minusSign;
+  }
+
+  @Override
+  public String toString() {
+    return "LocaleSymbols{decimal='"
+        + decimalSeparator
+        + "', grouping='"
+        + groupingSeparator
+        + "', minus='"
+        + minusSign
+        + "'}";
+  }
+}
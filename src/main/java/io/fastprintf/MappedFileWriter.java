@@ -0,0 +1,337 @@
+package io.fastprintf;
+
+import io.fastprintf.util.Preconditions;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A sink that writes formatted text as UTF-8 directly into a memory-mapped region of a file.
+ *
+ * <p>This class is designed for high-volume text exports, where millions of rows are produced from
+ * the same compiled {@link FastPrintf} template. Each row is formatted into a reusable internal
+ * {@link StringBuilder} (taking the library's zero-copy fast path) and then encoded straight into a
+ * {@link MappedByteBuffer}. No intermediate {@code String}, {@code byte[]} or {@code
+ * FileOutputStream} buffer is involved.
+ *
+ * <p>The file is mapped one region at a time. When the current region fills up, the next region is
+ * mapped right after the last byte written, so the file grows on demand. On {@link #close()}, the
+ * file is truncated to the exact number of bytes written.
+ *
+ * <p>ASCII characters, which make up the overwhelming majority of numeric and log output, are
+ * written with a single byte store. Other characters are encoded as UTF-8; unpaired surrogates are
+ * replaced with {@code '?'}.
+ *
+ * <h2>Usage:</h2>
+ *
+ * <pre>{@code
+ * FastPrintf row = FastPrintf.compile("%d,%s,%.3f\n");
+ * try (MappedFileWriter writer = MappedFileWriter.open(Paths.get("export.csv"))) {
+ *   for (Record r : records) {
+ *     writer.format(row, Args.create().putLong(r.id()).putString(r.name()).putDouble(r.score()));
+ *   }
+ *   writer.force();
+ * }
+ * }</pre>
+ *
+ * <p>Instances are not thread-safe. A mapped region is released by the garbage collector once it
+ * is no longer referenced. A region the writer has moved past stays referenced until the next
+ * {@link #force()} or {@link #close()} forces it, so calling {@code force()} now and then also
+ * bounds how many regions stay mapped. On platforms that forbid truncating a file while a mapping is alive, the
+ * final truncation in {@link #close()} may leave trailing zero bytes.
+ */
+public final class MappedFileWriter implements Appendable, Flushable, Closeable {
+
+  /** The default size of a mapped region: 16 MiB. */
+  public static final int DEFAULT_REGION_SIZE = 1 << 24;
+
+  // The longest UTF-8 encoding of a single code point.
+  private static final int MAX_BYTES_PER_CODE_POINT = 4;
+  private static final int SCRATCH_MAX_RETAINED_CAPACITY = 65536;
+  private static final byte REPLACEMENT = '?';
+
+  private final FileChannel channel;
+  private final int regionSize;
+  private MappedByteBuffer region;
+  private long regionStart;
+  // Regions moved past since the last force(), kept so force() can reach their bytes.
+  private final List<MappedByteBuffer> unforced = new ArrayList<>();
+  private StringBuilder scratch;
+  private char pendingHighSurrogate;
+  private boolean closed;
+
+  private MappedFileWriter(FileChannel channel, int regionSize) throws IOException {
+    this.channel = channel;
+    this.regionSize = regionSize;
+    this.regionStart = 0;
+    this.region = channel.map(FileChannel.MapMode.READ_WRITE, 0, regionSize);
+    this.scratch = new StringBuilder();
+  }
+
+  /**
+   * Opens a writer on the given file using {@link #DEFAULT_REGION_SIZE}. The file is created if it
+   * does not exist and truncated if it does.
+   *
+   * @param path the file to write to.
+   * @return a new writer positioned at the start of the file.
+   * @throws IOException if the file cannot be opened or mapped.
+   */
+  public static MappedFileWriter open(Path path) throws IOException {
+    return open(path, DEFAULT_REGION_SIZE);
+  }
+
+  /**
+   * Opens a writer on the given file, mapping {@code regionSize} bytes at a time. The file is
+   * created if it does not exist and truncated if it does.
+   *
+   * @param path the file to write to.
+   * @param regionSize the number of bytes to map at a time; must be at least 4.
+   * @return a new writer positioned at the start of the file.
+   * @throws IOException if the file cannot be opened or mapped.
+   * @throws IllegalArgumentException if {@code regionSize} is less than 4.
+   */
+  public static MappedFileWriter open(Path path, int regionSize) throws IOException {
+    Preconditions.checkNotNull(path, "path");
+    Preconditions.checkArgument(
+        regionSize >= MAX_BYTES_PER_CODE_POINT,
+        "regionSize must be at least %s, but was: %s",
+        MAX_BYTES_PER_CODE_POINT,
+        regionSize);
+    FileChannel channel =
+        FileChannel.open(
+            path,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING);
+    try {
+      return new MappedFileWriter(channel, regionSize);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Formats the given arguments with {@code formatter} and writes the result to the file.
+   *
+   * @param formatter the compiled template.
+   * @param args the arguments to format.
+   * @return this writer.
+   * @throws IOException if the file cannot be remapped or the writer is closed.
+   */
+  public MappedFileWriter format(FastPrintf formatter, Args args) throws IOException {
+    Preconditions.checkNotNull(formatter, "formatter");
+    ensureOpen();
+    StringBuilder sb = scratch;
+    sb.setLength(0);
+    formatter.format(sb, args);
+    append(sb, 0, sb.length());
+    if (sb.capacity() > SCRATCH_MAX_RETAINED_CAPACITY) {
+      // Don't hold on to the buffer of an unusually long row.
+      scratch = new StringBuilder();
+    }
+    return this;
+  }
+
+  /**
+   * Formats the given varargs arguments with {@code formatter} and writes the result to the file.
+   *
+   * @param formatter the compiled template.
+   * @param values the arguments to format.
+   * @return this writer.
+   * @throws IOException if the file cannot be remapped or the writer is closed.
+   * @see Args#of(Object...)
+   */
+  public MappedFileWriter format(FastPrintf formatter, Object... values) throws IOException {
+    return format(formatter, Args.of(values));
+  }
+
+  /**
+   * Returns the number of bytes written so far, which is also the file offset of the next byte.
+   *
+   * @return the number of bytes written.
+   */
+  public long position() {
+    return regionStart + region.position();
+  }
+
+  @Override
+  public MappedFileWriter append(CharSequence csq) throws IOException {
+    if (csq == null) {
+      csq = "null";
+    }
+    return append(csq, 0, csq.length());
+  }
+
+  @Override
+  public MappedFileWriter append(CharSequence csq, int start, int end) throws IOException {
+    if (csq == null) {
+      csq = "null";
+    }
+    Preconditions.checkPositionIndexes(start, end, csq.length());
+    ensureOpen();
+    int i = start;
+    while (i < end) {
+      if (pendingHighSurrogate != 0) {
+        putNonAscii(csq.charAt(i++));
+        continue;
+      }
+      MappedByteBuffer buffer = region;
+      // ASCII fast path: one byte per char, bounded by what the current region can hold.
+      int limit = Math.min(end, i + buffer.remaining());
+      char c = 0;
+      while (i < limit && (c = csq.charAt(i)) < 0x80) {
+        buffer.put((byte) c);
+        i++;
+      }
+      if (i == end) {
+        break;
+      }
+      if (i < limit) {
+        putNonAscii(c);
+        i++;
+      } else {
+        remap();
+      }
+    }
+    return this;
+  }
+
+  @Override
+  public MappedFileWriter append(char c) throws IOException {
+    ensureOpen();
+    if (c < 0x80 && pendingHighSurrogate == 0) {
+      ensureRemaining(1);
+      region.put((byte) c);
+    } else {
+      putNonAscii(c);
+    }
+    return this;
+  }
+
+  private void putNonAscii(char c) throws IOException {
+    char high = pendingHighSurrogate;
+    if (high != 0) {
+      pendingHighSurrogate = 0;
+      if (Character.isLowSurrogate(c)) {
+        putCodePoint(Character.toCodePoint(high, c));
+        return;
+      }
+      putReplacement();
+    }
+    if (Character.isHighSurrogate(c)) {
+      pendingHighSurrogate = c;
+    } else if (Character.isLowSurrogate(c)) {
+      putReplacement();
+    } else {
+      putCodePoint(c);
+    }
+  }
+
+  private void putReplacement() throws IOException {
+    ensureRemaining(1);
+    region.put(REPLACEMENT);
+  }
+
+  private void putCodePoint(int cp) throws IOException {
+    ensureRemaining(MAX_BYTES_PER_CODE_POINT);
+    MappedByteBuffer buffer = region;
+    if (cp < 0x80) {
+      buffer.put((byte) cp);
+    } else if (cp < 0x800) {
+      buffer.put((byte) (0xC0 | (cp >> 6)));
+      buffer.put((byte) (0x80 | (cp & 0x3F)));
+    } else if (cp < 0x10000) {
+      buffer.put((byte) (0xE0 | (cp >> 12)));
+      buffer.put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+      buffer.put((byte) (0x80 | (cp & 0x3F)));
+    } else {
+      buffer.put((byte) (0xF0 | (cp >> 18)));
+      buffer.put((byte) (0x80 | ((cp >> 12) & 0x3F)));
+      buffer.put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+      buffer.put((byte) (0x80 | (cp & 0x3F)));
+    }
+  }
+
+  private void ensureRemaining(int bytes) throws IOException {
+    if (region.remaining() < bytes) {
+      remap();
+    }
+  }
+
+  private void remap() throws IOException {
+    unforced.add(region);
+    // Map the next region right after the last byte written, so no gap is left in the file.
+    long next = regionStart + region.position();
+    region = channel.map(FileChannel.MapMode.READ_WRITE, next, regionSize);
+    regionStart = next;
+  }
+
+  private void ensureOpen() throws IOException {
+    if (closed) {
+      throw new ClosedChannelException();
+    }
+  }
+
+  /**
+   * Forces all bytes written so far to the storage device: those in the regions the writer has
+   * moved past since the last call, and those in the current region.
+   *
+   * @throws IOException if the writer is closed.
+   */
+  public void force() throws IOException {
+    ensureOpen();
+    forceRegions();
+  }
+
+  private void forceRegions() {
+    for (MappedByteBuffer buffer : unforced) {
+      buffer.force();
+    }
+    unforced.clear();
+    region.force();
+  }
+
+  /**
+   * Equivalent to {@link #force()}.
+   *
+   * @throws IOException if the writer is closed.
+   */
+  @Override
+  public void flush() throws IOException {
+    force();
+  }
+
+  /**
+   * Forces pending bytes to storage, truncates the file to {@link #position()}, and closes the
+   * underlying channel. A dangling high surrogate is written as {@code '?'}. Calling this method
+   * more than once has no effect.
+   *
+   * @throws IOException if an I/O error occurs.
+   */
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    try {
+      if (pendingHighSurrogate != 0) {
+        pendingHighSurrogate = 0;
+        putReplacement();
+      }
+      forceRegions();
+      channel.truncate(position());
+    } finally {
+      closed = true;
+      channel.close();
+    }
+  }
+}
@@ -0,0 +1,241 @@
+package io.fastprintf;
+
+import io.fastprintf.util.Preconditions;
+import java.util.Arrays;
+
+/**
+ * The reusable output of {@link FastScanf#scan(CharSequence, ScanResult)}.
+ *
+ * <p>Each converted field is stored by position, in the order of the format's conversions.
+ * Integer conversions ({@code %d}, {@code %u}, {@code %o}, {@code %x}, {@code %n}) are read with
+ * {@link #getLong(int)} or {@link #getInt(int)}, floating-point conversions with {@link
+ * #getDouble(int)}. Text conversions ({@code %s}, {@code %c}) are stored as offsets into the input,
+ * so nothing is copied until {@link #getText(int)} or {@link #getString(int)} is called.
+ *
+ * <p>An instance holds primitive arrays that grow to the largest format it has been used with, and
+ * is meant to be reused across calls by a single thread:
+ *
+ * <pre>{@code
+ * FastScanf scanf = FastScanf.compile("%d,%f,%s");
+ * ScanResult result = new ScanResult();
+ * for (String line : lines) {
+ *   if (scanf.scan(line, result) == 3) {
+ *     total += result.getLong(0) * result.getDouble(1);
+ *   }
+ * }
+ * }</pre>
+ *
+ * <p>The result refers to the scanned input; it must not be read after the input is modified.
+ */
+public final class ScanResult {
+
+  private static final byte INTEGER = 0;
+  private static final byte FLOATING = 1;
+  private static final byte TEXT = 2;
+
+  private CharSequence input = "";
+  private int size;
+  private byte[] kinds;
+  private long[] longs;
+  private double[] doubles;
+  private int[] starts;
+  private int[] ends;
+
+  /** Creates an empty result. */
+  public ScanResult() {
+    this(8);
+  }
+
+  /**
+   * Creates an empty result sized for the given number of fields.
+   *
+   * @param expectedFields the number of fields to reserve room for.
+   * @throws IllegalArgumentException if {@code expectedFields} is negative.
+   */
+  public ScanResult(int expectedFields) {
+    Preconditions.checkArgument(expectedFields >= 0, "expectedFields < 0");
+    kinds = new byte[expectedFields];
+    longs = new long[expectedFields];
+    doubles = new double[expectedFields];
+    starts = new int[expectedFields];
+    ends = new int[expectedFields];
+  }
+
+  void reset(CharSequence input, int capacity) {
+    this.input = input;
+    this.size = 0;
+    if (kinds.length < capacity) {
+      kinds = Arrays.copyOf(kinds, capacity);
+      longs = Arrays.copyOf(longs, capacity);
+      doubles = Arrays.copyOf(doubles, capacity);
+      starts = Arrays.copyOf(starts, capacity);
+      ends = Arrays.copyOf(ends, capacity);
+    }
+  }
+
+  void addLong(long value, int start, int end) {
+    longs[size] = value;
+    add(INTEGER, start, end);
+  }
+
+  void addDouble(double value, int start, int end) {
+    doubles[size] = value;
+    add(FLOATING, start, end);
+  }
+
+  void addText(int start, int end) {
+    add(TEXT, start, end);
+  }
+
+  private void add(byte kind, int start, int end) {
+    kinds[size] = kind;
+    starts[size] = start;
+    ends[size] = end;
+    size++;
+  }
+
+  private byte kindAt(int index) {
+    Preconditions.checkPositionIndex(index, size);
+    return kinds[index];
+  }
+
+  /**
+   * Returns the number of fields converted by the last scan.
+   *
+   * @return the field count.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns an integer field.
+   *
+   * @param index the field index.
+   * @return the value; {@code %u}, {@code %o} and {@code %x} values above {@link Long#MAX_VALUE}
+   *     are returned as their two's complement bits.
+   * @throws IndexOutOfBoundsException if {@code index} is not below {@link #size()}.
+   * @throws IllegalStateException if the field is not an integer conversion.
+   */
+  public long getLong(int index) {
+    if (kindAt(index) != INTEGER) {
+      throw new IllegalStateException("Field " + index + " is not an integer");
+    }
+    return longs[index];
+  }
+
+  /**
+   * Returns an integer field that fits in an {@code int}.
+   *
+   * @param index the field index.
+   * @return the value.
+   * @throws IndexOutOfBoundsException if {@code index} is not below {@link #size()}.
+   * @throws IllegalStateException if the field is not an integer conversion.
+   * @throws ArithmeticException if the value does not fit in an {@code int}.
+   */
+  public int getInt(int index) {
+    return Math.toIntExact(getLong(index));
+  }
+
+  /**
+   * Returns a floating-point field, or an integer field converted to {@code double}.
+   *
+   * @param index the field index.
+   * @return the value.
+   * @throws IndexOutOfBoundsException if {@code index} is not below {@link #size()}.
+   * @throws IllegalStateException if the field is a text conversion.
+   */
+  public double getDouble(int index) {
+    byte kind = kindAt(index);
+    if (kind == FLOATING) {
+      return doubles[index];
+    }
+    if (kind == INTEGER) {
+      return longs[index];
+    }
+    throw new IllegalStateException("Field " + index + " is not a number");
+  }
+
+  /**
+   * Returns the first character of a field's text, typically of a {@code %c} conversion.
+   *
+   * @param index the field index.
+   * @return the character.
+   * @throws IndexOutOfBoundsException if {@code index} is not below {@link #size()}, or the field
+   *     is empty.
+   */
+  public char getChar(int index) {
+    kindAt(index);
+    Preconditions.checkPositionIndex(starts[index], ends[index]);
+    return input.charAt(starts[index]);
+  }
+
+  /**
+   * Returns the offset in the input where a field's text starts.
+   *
+   * @param index the field index.
+   * @return the inclusive start offset.
+   * @throws IndexOutOfBoundsException if {@code index} is not below {@link #size()}.
+   */
+  public int getStart(int index) {
+    kindAt(index);
+    return starts[index];
+  }
+
+  /**
+   * Returns the offset in the input where a field's text ends.
+   *
+   * @param index the field index.
+   * @return the exclusive end offset.
+   * @throws IndexOutOfBoundsException if {@code index} is not below {@link #size()}.
+   */
+  public int getEnd(int index) {
+    kindAt(index);
+    return ends[index];
+  }
+
+  /**
+   * Returns the input text a field was converted from, as a view of the input where the input
+   * type allows it.
+   *
+   * @param index the field index.
+   * @return the field's text.
+   * @throws IndexOutOfBoundsException if {@code index} is not below {@link #size()}.
+   */
+  public CharSequence getText(int index) {
+    kindAt(index);
+    return input.subSequence(starts[index], ends[index]);
+  }
+
+  /**
+   * Returns the input text a field was converted from, as a new {@code String}.
+   *
+   * @param index the field index.
+   * @return the field's text.
+   * @throws IndexOutOfBoundsException if {@code index} is not below {@link #size()}.
+   */
+  public String getString(int index) {
+    return getText(index).toString();
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("ScanResult[");
+    for (int i = 0; i < size; i++) {
+      if (i > 0) {
+        sb.append(", ");
+      }
+      switch (kinds[i]) {
+        case INTEGER:
+          sb.append(longs[i]);
+          break;
+        case FLOATING:
+          sb.append(doubles[i]);
+          break;
+        default:
+          sb.append('"').append(input, starts[i], ends[i]).append('"');
+      }
+    }
+    return sb.append(']').toString();
+  }
+}
@@ -18,6 +18,10 @@ public enum Specifier {
   CHARACTER('c'),
   STRING('s'),
   STRING_UPPERCASE('S'),
+  // Extension: the argument as JSON string content; with '#', as a quoted JSON string.
+  JSON_STRING('j'),
+  // Extension: the argument as an RFC 4180 CSV field; with '#', always quoted.
+  CSV_FIELD('q'),
   DATE_AND_TIME('t'),
   DATE_AND_TIME_UPPERCASE('T'),
   NOTHING_PRINTED('n'),
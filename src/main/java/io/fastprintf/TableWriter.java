@@ -0,0 +1,339 @@
+package io.fastprintf;
+
+import io.fastprintf.appender.Appender;
+import io.fastprintf.appender.DefaultAppender;
+import io.fastprintf.appender.FixedStringAppender;
+import io.fastprintf.appender.FusedAppender;
+import io.fastprintf.seq.Seq;
+import io.fastprintf.traits.FormatTraits;
+import io.fastprintf.util.Preconditions;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Lays out rows formatted by one compiled template as an aligned plain-text table.
+ *
+ * <p>Each field of the row template is a column. A cell is padded to the width of its column as if
+ * that were the field width: on the right if the field has the {@code -} flag, on the left
+ * otherwise. The literal text of the template separates the columns and should end the row with a
+ * line break.
+ *
+ * <pre>{@code
+ * TableWriter table = TableWriter.create(FastPrintf.compile("%-s  %d  %.2f\n"));
+ * table.addRow("apple", 3, 1.5);
+ * table.addRow("kiwi", 120, 0.25);
+ * table.writeTo(System.out);
+ * // apple    3  1.50
+ * // kiwi   120  0.25
+ * }</pre>
+ *
+ * <p>{@link #addRow(Args)} formats the cells into {@link Seq} ropes and records their widths,
+ * which for most cells is an O(1) length query, so a table sized from its data is still rendered
+ * only once, in a single buffer written in bulk by {@link #writeTo(Appendable)}. For unbounded
+ * output, fix the column widths with {@link #create(FastPrintf, int...)} and stream each row with
+ * {@link #writeRow(Appendable, Args)} instead; nothing is buffered then.
+ *
+ * <p>Widths are measured in the {@link WidthMode} of each field, so a template configured with
+ * {@link FastPrintf#withWidthMode(WidthMode)} lines up CJK text and emoji by display column.
+ *
+ * <p>A buffered cell may still refer to its {@link CharSequence} argument, which must therefore not
+ * change until the table is written. Instances are not thread-safe.
+ */
+public final class TableWriter {
+
+  private final String[] literals;
+  private final DefaultAppender[] fields;
+  private final boolean[] leftJustified;
+  private final int[] widths;
+  private final int literalLength;
+  private final List<Row> rows = new ArrayList<>();
+
+  private TableWriter(List<String> literals, List<DefaultAppender> fields, int[] widths) {
+    this.literals = literals.toArray(new String[0]);
+    this.fields = fields.toArray(new DefaultAppender[0]);
+    this.leftJustified = new boolean[this.fields.length];
+    for (int i = 0; i < this.fields.length; i++) {
+      leftJustified[i] = this.fields[i].getContext().hasFlag(Flag.LEFT_JUSTIFY);
+    }
+    this.widths = widths;
+    int length = 0;
+    for (String literal : this.literals) {
+      length += literal.length();
+    }
+    this.literalLength = length;
+  }
+
+  /**
+   * Creates a table whose column widths are those of the widest cell added to each column.
+   *
+   * @param rowFormat the template of one row; each of its fields is a column.
+   * @return a new, empty table.
+   * @throws IllegalArgumentException if {@code rowFormat} was not compiled by this library.
+   */
+  public static TableWriter create(FastPrintf rowFormat) {
+    return create(rowFormat, null);
+  }
+
+  /**
+   * Creates a table with fixed minimum column widths. Columns still widen to fit the rows added
+   * with {@link #addRow(Args)}, but rows streamed with {@link #writeRow(Appendable, Args)} use the
+   * widths as they are when the row is written.
+   *
+   * @param rowFormat the template of one row; each of its fields is a column.
+   * @param columnWidths the minimum width of each column.
+   * @return a new, empty table.
+   * @throws IllegalArgumentException if {@code rowFormat} was not compiled by this library, or if
+   *     the number of widths differs from the number of columns or a width is negative.
+   */
+  public static TableWriter create(FastPrintf rowFormat, int... columnWidths) {
+    Preconditions.checkNotNull(rowFormat, "rowFormat");
+    List<String> literals = new ArrayList<>();
+    List<DefaultAppender> fields = new ArrayList<>();
+    StringBuilder literal = new StringBuilder();
+    for (Appender appender : appendersOf(rowFormat)) {
+      if (appender instanceof FixedStringAppender) {
+        literal.append(((FixedStringAppender) appender).getValue());
+        continue;
+      }
+      DefaultAppender field;
+      String suffix = "";
+      if (appender instanceof FusedAppender) {
+        FusedAppender fused = (FusedAppender) appender;
+        literal.append(fused.getPrefix());
+        field = fused.getField();
+        suffix = fused.getSuffix();
+      } else {
+        field = (DefaultAppender) appender;
+      }
+      literals.add(literal.toString());
+      fields.add(field);
+      literal.setLength(0);
+      literal.append(suffix);
+    }
+    literals.add(literal.toString());
+    int[] widths;
+    if (columnWidths == null) {
+      widths = new int[fields.size()];
+    } else {
+      Preconditions.checkArgument(
+          columnWidths.length == fields.size(),
+          "%s column widths for %s columns",
+          columnWidths.length,
+          fields.size());
+      for (int width : columnWidths) {
+        Preconditions.checkArgument(width >= 0, "negative column width: %s", width);
+      }
+      widths = columnWidths.clone();
+    }
+    return new TableWriter(literals, fields, widths);
+  }
+
+  private static Appender[] appendersOf(FastPrintf rowFormat) {
+    if (rowFormat instanceof InstrumentedFastPrintf) {
+      return appendersOf(((InstrumentedFastPrintf) rowFormat).getDelegate());
+    }
+    if (rowFormat instanceof FastPrintfImpl) {
+      return ((FastPrintfImpl) rowFormat).getAppenders();
+    }
+    if (rowFormat instanceof ConstantFastPrintf) {
+      return new Appender[] {new FixedStringAppender(((ConstantFastPrintf) rowFormat).getValue())};
+    }
+    throw new IllegalArgumentException(
+        "rowFormat must be compiled by FastPrintf, but was: " + rowFormat.getClass().getName());
+  }
+
+  /** Returns the number of columns, which is the number of fields in the row template. */
+  public int getColumnCount() {
+    return fields.length;
+  }
+
+  /**
+   * Returns the current width of a column.
+   *
+   * @param column the zero-based column index.
+   * @return the fixed minimum width, or the widest cell added so far if that is wider.
+   */
+  public int getColumnWidth(int column) {
+    Preconditions.checkPositionIndex(column, fields.length);
+    return widths[column];
+  }
+
+  /** Returns the number of rows added and not yet cleared. */
+  public int getRowCount() {
+    return rows.size();
+  }
+
+  /**
+   * Formats a row and adds it to the table, widening its columns to fit.
+   *
+   * @param args the arguments of the row template.
+   * @return this table.
+   * @throws PrintfException if an argument is missing or does not match its field.
+   */
+  public TableWriter addRow(Args args) {
+    Row row = format(args);
+    for (int i = 0; i < widths.length; i++) {
+      widths[i] = Math.max(widths[i], row.widths[i]);
+    }
+    rows.add(row);
+    return this;
+  }
+
+  /**
+   * Formats a row and adds it to the table, widening its columns to fit.
+   *
+   * @param values the arguments of the row template.
+   * @return this table.
+   * @see #addRow(Args)
+   */
+  public TableWriter addRow(Object... values) {
+    return addRow(Args.of(values));
+  }
+
+  /** Removes all rows, keeping the column widths. */
+  public void clear() {
+    rows.clear();
+  }
+
+  /**
+   * Formats a row and writes it at once, padded to the current column widths, without adding it
+   * to the table. A cell wider than its column is written in full.
+   *
+   * @param out the destination.
+   * @param args the arguments of the row template.
+   * @param <T> the type of the destination.
+   * @return {@code out}.
+   * @throws UncheckedIOException if {@code out} throws an {@link IOException}.
+   */
+  public <T extends Appendable> T writeRow(T out, Args args) {
+    Preconditions.checkNotNull(out, "out");
+    Row row = format(args);
+    StringBuilder sb = out instanceof StringBuilder ? (StringBuilder) out : new StringBuilder();
+    sb.ensureCapacity(sb.length() + renderedLength(row));
+    render(sb, row);
+    flush(out, sb);
+    return out;
+  }
+
+  /**
+   * Writes every row added so far, padded to the final column widths. The table is rendered into
+   * one buffer of exactly its length and handed to {@code out} in a single call.
+   *
+   * @param out the destination.
+   * @param <T> the type of the destination.
+   * @return {@code out}.
+   * @throws UncheckedIOException if {@code out} throws an {@link IOException}.
+   */
+  public <T extends Appendable> T writeTo(T out) {
+    Preconditions.checkNotNull(out, "out");
+    long length = 0;
+    for (Row row : rows) {
+      length += renderedLength(row);
+    }
+    StringBuilder sb = out instanceof StringBuilder ? (StringBuilder) out : null;
+    int capacity = Math.toIntExact((sb == null ? 0 : sb.length()) + length);
+    if (sb == null) {
+      sb = new StringBuilder(capacity);
+    } else {
+      sb.ensureCapacity(capacity);
+    }
+    for (Row row : rows) {
+      render(sb, row);
+    }
+    flush(out, sb);
+    return out;
+  }
+
+  /** Returns the rows added so far as a table. */
+  @Override
+  public String toString() {
+    return writeTo(new StringBuilder()).toString();
+  }
+
+  private Row format(Args args) {
+    Preconditions.checkNotNull(args, "args");
+    Iterator<FormatTraits> iterator = args.iterator();
+    Row row = new Row(fields.length);
+    for (DefaultAppender field : fields) {
+      field.append(row, iterator);
+    }
+    for (int i = 0; i < fields.length; i++) {
+      row.widths[i] = measure(fields[i].getContext().getWidthMode(), row.cells[i]);
+    }
+    return row;
+  }
+
+  private static int measure(WidthMode mode, Seq cell) {
+    switch (mode) {
+      case CODE_POINTS:
+        return Seq.codePointCount(cell);
+      case COLUMNS:
+        return Seq.columnCount(cell);
+      default:
+        return cell.length();
+    }
+  }
+
+  private int renderedLength(Row row) {
+    int length = literalLength;
+    for (int i = 0; i < widths.length; i++) {
+      length += row.cells[i].length() + Math.max(widths[i] - row.widths[i], 0);
+    }
+    return length;
+  }
+
+  private void render(StringBuilder sb, Row row) {
+    sb.append(literals[0]);
+    for (int i = 0; i < widths.length; i++) {
+      int padding = widths[i] - row.widths[i];
+      if (padding > 0 && !leftJustified[i]) {
+        appendSpaces(sb, padding);
+      }
+      row.cells[i].appendTo(sb);
+      if (padding > 0 && leftJustified[i]) {
+        appendSpaces(sb, padding);
+      }
+      sb.append(literals[i + 1]);
+    }
+  }
+
+  private static void appendSpaces(StringBuilder sb, int count) {
+    for (int i = 0; i < count; i++) {
+      sb.append(' ');
+    }
+  }
+
+  private static void flush(Appendable out, StringBuilder sb) {
+    if (sb == out) {
+      return;
+    }
+    try {
+      out.append(sb);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** The formatted cells of one row and their measured widths, filled field by field. */
+  private static final class Row implements Consumer<Seq> {
+
+    final Seq[] cells;
+    final int[] widths;
+    private int next;
+
+    Row(int columns) {
+      this.cells = new Seq[columns];
+      this.widths = new int[columns];
+    }
+
+    @Override
+    public void accept(Seq cell) {
+      cells[next++] = cell;
+    }
+  }
+}
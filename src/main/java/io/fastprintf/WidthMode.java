@@ -0,0 +1,29 @@
+package io.fastprintf;
+
+/**
+ * How field width and string precision are measured, selected with {@link
+ * FastPrintf#withWidthMode(WidthMode)}.
+ *
+ * <p>C {@code printf} counts bytes and {@link java.util.Formatter} counts UTF-16 {@code char}s,
+ * which is also this library's default. Neither lines up text that mixes Latin, CJK and emoji in a
+ * terminal: a supplementary character is two {@code char}s but one character, and an ideograph is
+ * one {@code char} but two columns wide.
+ */
+public enum WidthMode {
+
+  /** Counts UTF-16 {@code char}s, as {@link java.util.Formatter} does. The default. */
+  CHARS,
+
+  /**
+   * Counts Unicode code points, so a surrogate pair counts once and precision never splits it.
+   */
+  CODE_POINTS,
+
+  /**
+   * Counts terminal columns, as {@code wcswidth} does: East Asian wide and fullwidth characters,
+   * including most emoji, take two columns; combining marks and format characters from U+0300 on
+   * take none; everything else takes one. Precision never splits a character, and keeps the
+   * combining marks that follow the last one.
+   */
+  COLUMNS
+}
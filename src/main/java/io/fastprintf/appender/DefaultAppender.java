@@ -1,11 +1,13 @@
 package io.fastprintf.appender;
 
+import io.fastprintf.ArrayDelimiters;
 import io.fastprintf.Flag;
 import io.fastprintf.FormatContext;
 import io.fastprintf.PrintfException;
 import io.fastprintf.Specifier;
 import io.fastprintf.seq.Seq;
 import io.fastprintf.traits.FormatTraits;
+import io.fastprintf.traits.PrimitiveArrayTraits;
 import io.fastprintf.util.Preconditions;
 import java.util.Iterator;
 import java.util.function.BiFunction;
@@ -16,11 +18,45 @@ public final class DefaultAppender implements Appender {
   private final Specifier specifier;
   private final FormatContext context;
   private final BiFunction<FormatContext, FormatTraits, Seq> formatter;
+  private final boolean elementWise;
+  private final boolean plainDecimal;
 
   public DefaultAppender(Specifier specifier, FormatContext context) {
     this.specifier = Preconditions.checkNotNull(specifier, "specifier");
     this.context = Preconditions.checkNotNull(context, "context");
     this.formatter = formatterForSpecifier(specifier);
+    this.elementWise = isNumeric(specifier);
+    this.plainDecimal = isPlainDecimal(specifier, context);
+  }
+
+  /** Returns whether the field is a {@code %d} without flags, width or precision. */
+  private static boolean isPlainDecimal(Specifier specifier, FormatContext context) {
+    return specifier == Specifier.SIGNED_DECIMAL_INTEGER
+        && context.getFlags().isEmpty()
+        && !context.isWidthSet()
+        && !context.isPrecisionSet()
+        && context.getSymbols().getMinusSign() == '-';
+  }
+
+  private static boolean isNumeric(Specifier specifier) {
+    switch (specifier) {
+      case SIGNED_DECIMAL_INTEGER:
+      case UNSIGNED_DECIMAL_INTEGER:
+      case UNSIGNED_HEXADECIMAL_INTEGER:
+      case UNSIGNED_HEXADECIMAL_INTEGER_UPPERCASE:
+      case UNSIGNED_OCTAL_INTEGER:
+      case DECIMAL_FLOATING_POINT:
+      case DECIMAL_FLOATING_POINT_UPPERCASE:
+      case SCIENTIFIC_NOTATION:
+      case SCIENTIFIC_NOTATION_UPPERCASE:
+      case USE_SHORTEST_PRESENTATION:
+      case USE_SHORTEST_PRESENTATION_UPPERCASE:
+      case HEXADECIMAL_FLOATING_POINT:
+      case HEXADECIMAL_FLOATING_POINT_UPPERCASE:
+        return true;
+      default:
+        return false;
+    }
   }
 
   private static BiFunction<FormatContext, FormatTraits, Seq> formatterForSpecifier(
@@ -34,10 +70,10 @@ public final class DefaultAppender implements Appender {
             SeqFormatter.u(context, traits.asIntForm());
       case UNSIGNED_HEXADECIMAL_INTEGER:
         return (FormatContext context, FormatTraits traits) ->
-            SeqFormatter.x(context, traits.asIntForm());
+            SeqFormatter.x(context, traits, false);
       case UNSIGNED_HEXADECIMAL_INTEGER_UPPERCASE:
         return (FormatContext context, FormatTraits traits) ->
-            SeqFormatter.x(context, traits.asIntForm()).upperCase();
+            SeqFormatter.x(context, traits, true);
       case UNSIGNED_OCTAL_INTEGER:
         return (FormatContext context, FormatTraits traits) ->
             SeqFormatter.o(context, traits.asIntForm());
@@ -70,6 +106,10 @@ public final class DefaultAppender implements Appender {
       case STRING_UPPERCASE:
         return (FormatContext context, FormatTraits traits) ->
             SeqFormatter.s(context, traits).upperCase();
+      case JSON_STRING:
+        return SeqFormatter::j;
+      case CSV_FIELD:
+        return SeqFormatter::q;
       case DATE_AND_TIME:
         return SeqFormatter::t;
       case DATE_AND_TIME_UPPERCASE:
@@ -118,9 +158,39 @@ public final class DefaultAppender implements Appender {
   }
 
   private Seq format(FormatContext context, FormatTraits traits) {
+    if (elementWise && traits instanceof PrimitiveArrayTraits) {
+      return formatElements(context, (PrimitiveArrayTraits) traits);
+    }
     return formatter.apply(context, traits);
   }
 
+  /**
+   * Formats each element of {@code array} with the field's width, precision and flags, between
+   * the context's delimiters, into one buffer. The elements are read through a single cursor, and
+   * a plain {@code %d} appends their digits straight from the primitive.
+   */
+  private Seq formatElements(FormatContext context, PrimitiveArrayTraits array) {
+    ArrayDelimiters delimiters = context.getArrayDelimiters();
+    String separator = delimiters.getSeparator();
+    int length = array.length();
+    StringBuilder sb = new StringBuilder(length * (plainDecimal ? 4 : 8) + 2);
+    sb.append(delimiters.getPrefix());
+    PrimitiveArrayTraits.Cursor cursor = array.cursor();
+    for (int i = 0; i < length; i++) {
+      if (i > 0) {
+        sb.append(separator);
+      }
+      cursor.moveTo(i);
+      if (plainDecimal) {
+        cursor.appendDecimal(sb);
+      } else {
+        formatter.apply(context, cursor).appendTo(sb);
+      }
+    }
+    sb.append(delimiters.getSuffix());
+    return Seq.wrap(sb.toString());
+  }
+
   public Specifier getSpecifier() {
     return specifier;
   }
@@ -0,0 +1,81 @@
+package io.fastprintf.appender;
+
+import io.fastprintf.seq.Seq;
+import io.fastprintf.traits.FormatTraits;
+import io.fastprintf.util.Preconditions;
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+/**
+ * An appender that combines a format specifier with the literal text around it.
+ *
+ * <p>A compiled template such as {@code "id=%d, name=%s"} naturally alternates between {@link
+ * FixedStringAppender} and {@link DefaultAppender}. Fusing each literal with the field that follows
+ * it (and the trailing literal with the last field) halves the number of polymorphic {@link
+ * Appender#append} calls per format operation. The inner call to the field is monomorphic, since
+ * {@code DefaultAppender} is final.
+ *
+ * <p>The number of {@link Consumer#accept} calls is unchanged: the prefix, the field and the suffix
+ * are each passed on separately. Joining them into one {@link Seq} would allocate a node per call
+ * only to save a call that the sinks, which append each sequence straight to a builder, already
+ * make cheaply.
+ */
+public final class FusedAppender implements Appender {
+
+  private final String prefix;
+  private final Seq prefixSeq;
+  private final DefaultAppender field;
+  private final String suffix;
+  private final Seq suffixSeq;
+
+  /**
+   * Creates a fused appender.
+   *
+   * @param prefix the literal emitted before the field; may be empty.
+   * @param field the field to format.
+   * @param suffix the literal emitted after the field; may be empty.
+   */
+  public FusedAppender(String prefix, DefaultAppender field, String suffix) {
+    this.prefix = Preconditions.checkNotNull(prefix, "prefix");
+    this.field = Preconditions.checkNotNull(field, "field");
+    this.suffix = Preconditions.checkNotNull(suffix, "suffix");
+    this.prefixSeq = prefix.isEmpty() ? null : Seq.wrap(prefix);
+    this.suffixSeq = suffix.isEmpty() ? null : Seq.wrap(suffix);
+  }
+
+  @Override
+  public void append(Consumer<? super Seq> collect, Iterator<FormatTraits> traitsIterator) {
+    if (prefixSeq != null) {
+      collect.accept(prefixSeq);
+    }
+    field.append(collect, traitsIterator);
+    if (suffixSeq != null) {
+      collect.accept(suffixSeq);
+    }
+  }
+
+  public String getPrefix() {
+    return prefix;
+  }
+
+  public DefaultAppender getField() {
+    return field;
+  }
+
+  public String getSuffix() {
+    return suffix;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    if (prefixSeq != null) {
+      sb.append(new FixedStringAppender(prefix)).append(' ');
+    }
+    sb.append(field);
+    if (suffixSeq != null) {
+      sb.append(' ').append(new FixedStringAppender(suffix));
+    }
+    return sb.toString();
+  }
+}
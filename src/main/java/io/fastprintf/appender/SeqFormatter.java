@@ -2,11 +2,14 @@ package io.fastprintf.appender;
 
 import io.fastprintf.Flag;
 import io.fastprintf.FormatContext;
+import io.fastprintf.LocaleSymbols;
 import io.fastprintf.PrintfException;
+import io.fastprintf.WidthMode;
 import io.fastprintf.number.FloatForm;
 import io.fastprintf.number.FloatLayout;
 import io.fastprintf.number.IntForm;
 import io.fastprintf.seq.Seq;
+import io.fastprintf.traits.ByteArrayTraits;
 import io.fastprintf.traits.FormatTraits;
 import io.fastprintf.traits.RefSlot;
 import java.time.Instant;
@@ -29,9 +32,61 @@ public final class SeqFormatter {
     return context.isWidthSet() ? context.getWidth() : 0;
   }
 
+  /** Returns the length of {@code seq} in the unit of the context's {@link WidthMode}. */
+  private static int measure(FormatContext context, Seq seq) {
+    switch (context.getWidthMode()) {
+      case CODE_POINTS:
+        return Seq.codePointCount(seq);
+      case COLUMNS:
+        return Seq.columnCount(seq);
+      default:
+        return seq.length();
+    }
+  }
+
+  /** Cuts {@code seq} to the precision, if set, in the unit of the context's {@link WidthMode}. */
+  private static Seq truncate(FormatContext context, Seq seq) {
+    if (!context.isPrecisionSet()) {
+      return seq;
+    }
+    int precision = context.getPrecision();
+    switch (context.getWidthMode()) {
+      case CODE_POINTS:
+        return Seq.truncateCodePoints(seq, precision);
+      case COLUMNS:
+        return Seq.truncateColumns(seq, precision);
+      default:
+        return precision < seq.length() ? seq.subSequence(0, precision) : seq;
+    }
+  }
+
+  /**
+   * Returns the argument's text for a string conversion, asking the argument for no more characters
+   * than the precision can keep in the context's {@link WidthMode}.
+   */
+  private static Seq source(FormatContext context, FormatTraits value) {
+    if (!context.isPrecisionSet()) {
+      return value.asSeq();
+    }
+    int precision = context.getPrecision();
+    switch (context.getWidthMode()) {
+      case CHARS:
+        return value.asSeq(precision);
+      case CODE_POINTS:
+        // A code point is at most two chars.
+        return value.asSeq(2 * precision);
+      default:
+        // Zero-width characters make the number of chars per column unbounded.
+        return value.asSeq();
+    }
+  }
+
   private static Seq spaceJustify(FormatContext context, Seq v0) {
     int width = width(context);
-    int len = v0.length();
+    if (width == 0) {
+      return v0;
+    }
+    int len = measure(context, v0);
     if (width > len) {
       Seq pad = Seq.repeated(' ', width - len);
       if (context.hasFlag(Flag.LEFT_JUSTIFY)) {
@@ -45,7 +100,7 @@ public final class SeqFormatter {
 
   private static Seq sign(FormatContext context, Seq v0, boolean negative) {
     if (negative) {
-      v0 = v0.prepend(Seq.ch('-'));
+      v0 = v0.prepend(Seq.ch(context.getSymbols().getMinusSign()));
     } else if (context.hasFlag(Flag.PLUS)) {
       v0 = v0.prepend(Seq.ch('+'));
     } else if (context.hasFlag(Flag.LEADING_SPACE)) {
@@ -76,10 +131,18 @@ public final class SeqFormatter {
       Seq v0 = context.hasFlag(Flag.PLUS) ? Seq.ch('+') : Seq.empty();
       return spaceJustify(context, v0);
     }
-    Seq v0 = Seq.wrap(value.toDecimalString());
+    boolean grouping = context.hasFlag(Flag.GROUPING);
+    Seq v0 =
+        grouping
+            ? value.toGroupedDecimalSeq(context.getGroupingSeparator())
+            : value.toDecimalSeq();
+    int length = v0.length();
     int precision = 1;
     if (context.isPrecisionSet()) {
       precision = context.getPrecision();
+      if (grouping) {
+        length = ungroupedLength(length);
+      }
     } else if (context.hasFlag(Flag.ZERO_PAD)
         && context.isWidthSet()
         && !context.hasFlag(Flag.LEFT_JUSTIFY)) {
@@ -88,36 +151,73 @@ public final class SeqFormatter {
         --precision;
       }
     }
-    if (precision > v0.length()) {
-      Seq pad = Seq.repeated('0', precision - v0.length());
+    if (precision > length) {
+      Seq pad = Seq.repeated('0', precision - length);
       v0 = v0.prepend(pad);
     }
     v0 = sign(context, v0, signum < 0);
     return spaceJustify(context, v0);
   }
 
+  /**
+   * Returns the number of digits in a run of decimal digits that {@link Seq#groupDigits(Seq, char)}
+   * has grouped into {@code groupedLength} characters: one in four characters past the first three
+   * is a separator.
+   */
+  private static int ungroupedLength(int groupedLength) {
+    return groupedLength - groupedLength / 4;
+  }
+
   static Seq o(FormatContext context, IntForm value) {
-    return formatUnsignedInteger(context, value, IntForm::toOctalString, "0");
+    return formatUnsignedInteger(context, value, IntForm::toOctalSeq, "0", false);
   }
 
   static Seq x(FormatContext context, IntForm value) {
-    return formatUnsignedInteger(context, value, IntForm::toHexString, "0x");
+    return formatUnsignedInteger(context, value, IntForm::toHexSeq, "0x", false);
+  }
+
+  /**
+   * Formats a {@code byte[]} or {@code ByteBuffer} argument as hexadecimal digits, two per byte,
+   * and any other argument as an integer. For bytes, precision is the maximum number of bytes, the
+   * {@code #} flag separates bytes with spaces, and the width pads with spaces.
+   */
+  static Seq x(FormatContext context, FormatTraits traits, boolean upperCase) {
+    if (traits instanceof ByteArrayTraits) {
+      int maxBytes = context.isPrecisionSet() ? context.getPrecision() : Integer.MAX_VALUE;
+      boolean grouped = context.hasFlag(Flag.ALTERNATE);
+      return spaceJustify(
+          context, ((ByteArrayTraits) traits).asHexSeq(maxBytes, grouped, upperCase));
+    }
+    Seq seq = x(context, traits.asIntForm());
+    return upperCase ? seq.upperCase() : seq;
   }
 
   static Seq u(FormatContext context, IntForm value) {
-    return formatUnsignedInteger(context, value, IntForm::toUnsignedDecimalString, "");
+    return formatUnsignedInteger(context, value, IntForm::toUnsignedDecimalSeq, "", true);
   }
 
   private static Seq formatUnsignedInteger(
-      FormatContext context, IntForm value, Function<IntForm, String> toString, String prefix) {
+      FormatContext context,
+      IntForm value,
+      Function<IntForm, Seq> toSeq,
+      String prefix,
+      boolean groupable) {
     int signum = value.signum();
     if (signum == 0 && context.getPrecision() == 0) {
       return spaceJustify(context, Seq.empty());
     }
-    Seq v0 = Seq.wrap(toString.apply(value));
+    Seq v0 = toSeq.apply(value);
+    boolean grouping = groupable && context.hasFlag(Flag.GROUPING);
+    if (grouping) {
+      v0 = Seq.groupDigits(v0, context.getGroupingSeparator());
+    }
+    int length = v0.length();
     int precision = 1;
     if (context.isPrecisionSet()) {
       precision = context.getPrecision();
+      if (grouping) {
+        length = ungroupedLength(length);
+      }
       if (context.hasFlag(Flag.ALTERNATE) && "0".equals(prefix)) {
         --precision;
       }
@@ -129,8 +229,8 @@ public final class SeqFormatter {
         precision -= prefix.length();
       }
     }
-    if (precision > v0.length()) {
-      Seq pad = Seq.repeated('0', precision - v0.length());
+    if (precision > length) {
+      Seq pad = Seq.repeated('0', precision - length);
       v0 = v0.prepend(pad);
     }
     if (signum != 0 && context.hasFlag(Flag.ALTERNATE)) {
@@ -146,7 +246,8 @@ public final class SeqFormatter {
     } else {
       boolean neg = value.signum() < 0;
       if (neg) {
-        v0 = Seq.wrap("-Infinity");
+        char minus = context.getSymbols().getMinusSign();
+        v0 = minus == '-' ? Seq.wrap("-Infinity") : Seq.wrap("Infinity").prepend(Seq.ch(minus));
       } else if (context.hasFlag(Flag.PLUS)) {
         v0 = Seq.wrap("+Infinity");
       } else {
@@ -167,6 +268,13 @@ public final class SeqFormatter {
     FloatLayout layout = value.decimalLayout(precision);
     Seq mantissa =
         formatFractionalPart(layout.getMantissa(), precision, context.hasFlag(Flag.ALTERNATE));
+    LocaleSymbols symbols = context.getSymbols();
+    if (context.hasFlag(Flag.GROUPING)) {
+      mantissa =
+          Seq.groupDigits(mantissa, symbols.getGroupingSeparator(), symbols.getDecimalSeparator());
+    } else {
+      mantissa = Seq.replaceDecimalPoint(mantissa, symbols.getDecimalSeparator());
+    }
     return signAndJustify(context, mantissa, value.isNegative());
   }
 
@@ -201,6 +309,7 @@ public final class SeqFormatter {
     }
     FloatLayout layout = value.scientificLayout(precision);
     Seq v0 = formatFractionalPart(layout.getMantissa(), precision, context.hasFlag(Flag.ALTERNATE));
+    v0 = Seq.replaceDecimalPoint(v0, context.getSymbols().getDecimalSeparator());
     v0 = v0.append(Seq.ch('e'));
     v0 = v0.append(layout.getExponent());
     return signAndJustify(context, v0, value.isNegative());
@@ -257,11 +366,13 @@ public final class SeqFormatter {
 
   /** Formats the mantissa for %g when it chooses decimal representation. */
   private static Seq formatGDecimal(FormatContext context, FloatLayout layout, int precision) {
+    Seq mantissa;
     if (context.hasFlag(Flag.ALTERNATE)) {
-      return padToPrecision(layout.getMantissa(), precision);
+      mantissa = padToPrecision(layout.getMantissa(), precision);
     } else {
-      return stripTrailingZeros(layout.getMantissa());
+      mantissa = stripTrailingZeros(layout.getMantissa());
     }
+    return Seq.replaceDecimalPoint(mantissa, context.getSymbols().getDecimalSeparator());
   }
 
   /** Formats the mantissa and exponent for %g when it chooses scientific representation. */
@@ -270,6 +381,7 @@ public final class SeqFormatter {
     if (!context.hasFlag(Flag.ALTERNATE)) {
       mantissa = stripTrailingZeros(mantissa);
     }
+    mantissa = Seq.replaceDecimalPoint(mantissa, context.getSymbols().getDecimalSeparator());
     return mantissa.append(Seq.ch('e')).append(layout.getExponent());
   }
 
@@ -342,14 +454,42 @@ public final class SeqFormatter {
   }
 
   static Seq s(FormatContext context, FormatTraits value) {
-    Seq seq = value.asSeq();
-    int precision;
-    if (context.isPrecisionSet() && (precision = context.getPrecision()) < seq.length()) {
-      seq = seq.subSequence(0, precision);
+    Seq seq = source(context, value);
+    seq = truncate(context, seq);
+    return spaceJustify(context, seq);
+  }
+
+  /**
+   * Formats the argument as JSON string content, escaping {@code "}, {@code \} and control
+   * characters. Precision truncates the argument before escaping. With the {@code #} flag the
+   * result is enclosed in double quotes, and a {@code null} argument is written as a bare {@code
+   * null}.
+   */
+  static Seq j(FormatContext context, FormatTraits value) {
+    boolean quoted = context.hasFlag(Flag.ALTERNATE);
+    Seq seq = source(context, value);
+    if (quoted && value.isNull()) {
+      return spaceJustify(context, seq);
+    }
+    seq = truncate(context, seq);
+    seq = Seq.escapeJson(seq);
+    if (quoted) {
+      seq = seq.prepend(Seq.ch('"')).append(Seq.ch('"'));
     }
     return spaceJustify(context, seq);
   }
 
+  /**
+   * Formats the argument as an RFC 4180 CSV field, quoting it only if it contains a comma, a
+   * double quote or a line break. Precision truncates the argument before quoting. With the {@code
+   * #} flag the field is always quoted.
+   */
+  static Seq q(FormatContext context, FormatTraits value) {
+    Seq seq = source(context, value);
+    seq = truncate(context, seq);
+    return spaceJustify(context, Seq.quoteCsv(seq, context.hasFlag(Flag.ALTERNATE)));
+  }
+
   static Seq p(FormatContext context, FormatTraits traits) {
     RefSlot slot = traits.ref();
     if (slot.isPrimitive()) {
@@ -1,6 +1,7 @@
 package io.fastprintf.number;
 
 import io.fastprintf.PrintfException;
+import io.fastprintf.seq.AtomicSeq;
 import io.fastprintf.seq.Seq;
 import java.math.BigDecimal;
 import java.math.BigInteger;
@@ -9,6 +10,22 @@ import java.math.RoundingMode;
 
 public final class BigDecimalWrapper implements FloatForm {
 
+  /**
+   * Values with at most this many unscaled digits are rounded and printed with {@code long}
+   * arithmetic; larger ones fall back to {@link BigInteger}.
+   */
+  private static final int MAX_LONG_DIGITS = 18;
+
+  private static final long[] POWERS_OF_TEN = new long[MAX_LONG_DIGITS + 1];
+
+  static {
+    long power = 1;
+    for (int i = 0; i <= MAX_LONG_DIGITS; i++) {
+      POWERS_OF_TEN[i] = power;
+      power *= 10;
+    }
+  }
+
   private final BigDecimal value;
   private final int signum;
 
@@ -22,18 +39,19 @@ public final class BigDecimalWrapper implements FloatForm {
     this.signum = unscaledValue.signum();
   }
 
-  private static Seq insertDotAfterFirstChar(String unscaledString) {
+  private static Seq insertDotAfterFirstChar(AtomicSeq unscaledString) {
     int length = unscaledString.length();
     Seq mant = Seq.ch(unscaledString.charAt(0));
     mant = mant.append(Seq.ch('.'));
-    mant = mant.append(Seq.wrap(unscaledString, 1, length));
+    mant = mant.append(unscaledString.subSequence(1, length));
     return mant;
   }
 
   private static FloatLayout scientificLayout0(BigDecimal value) {
-    BigInteger unscaledValue = value.unscaledValue();
-    int scale = value.scale();
-    String unscaledString = unscaledValue.toString();
+    return scientificLayout0(Seq.wrap(value.unscaledValue().toString()), value.scale());
+  }
+
+  private static FloatLayout scientificLayout0(AtomicSeq unscaledString, int scale) {
     int length = unscaledString.length();
     if (scale == 0) {
       if (length > 1) {
@@ -41,14 +59,14 @@ public final class BigDecimalWrapper implements FloatForm {
         Seq exp = length < 10 ? Seq.wrap("+0" + (length - 1)) : Seq.wrap("+" + (length - 1));
         return new FloatLayout(mant, exp);
       } else {
-        return new FloatLayout(Seq.wrap(unscaledString), Seq.wrap("+00"));
+        return new FloatLayout(unscaledString, Seq.wrap("+00"));
       }
     }
     Seq mant;
     if (length > 1) {
       mant = insertDotAfterFirstChar(unscaledString);
     } else {
-      mant = Seq.wrap(unscaledString);
+      mant = unscaledString;
     }
     long adjusted = -(long) scale + (length - 1);
     Seq exp;
@@ -67,16 +85,17 @@ public final class BigDecimalWrapper implements FloatForm {
   }
 
   private static FloatLayout decimalLayout0(BigDecimal value) {
-    BigInteger unscaledValue = value.unscaledValue();
-    int scale = value.scale();
-    String unscaledString = unscaledValue.toString();
+    return decimalLayout0(Seq.wrap(value.unscaledValue().toString()), value.scale());
+  }
+
+  private static FloatLayout decimalLayout0(AtomicSeq unscaledString, int scale) {
     if (scale == 0) {
-      return new FloatLayout(Seq.wrap(unscaledString), null);
+      return new FloatLayout(unscaledString, null);
     }
     int length = unscaledString.length();
     int pad = scale - length;
     if (pad >= 0) {
-      Seq mant = Seq.wrap(unscaledString);
+      Seq mant = unscaledString;
       if (pad > 0) {
         mant = mant.prepend(Seq.repeated('0', pad));
       }
@@ -84,13 +103,13 @@ public final class BigDecimalWrapper implements FloatForm {
       return new FloatLayout(mant, null);
     }
     if (-pad < length) {
-      Seq mant = Seq.wrap(unscaledString, 0, -pad);
+      Seq mant = unscaledString.subSequence(0, -pad);
       mant = mant.append(Seq.ch('.'));
-      mant = mant.append(Seq.wrap(unscaledString, -pad, length));
+      mant = mant.append(unscaledString.subSequence(-pad, length));
       return new FloatLayout(mant, null);
     }
 
-    Seq mant = Seq.wrap(unscaledString);
+    Seq mant = unscaledString;
     mant = mant.append(Seq.repeated('0', -scale));
     return new FloatLayout(mant, null);
   }
@@ -112,13 +131,18 @@ public final class BigDecimalWrapper implements FloatForm {
 
   @Override
   public FloatLayout generalLayout(int precision) {
-    BigDecimal tenToTheNegFour = BigDecimal.valueOf(1, 4);
-    BigDecimal tenToThePrec = BigDecimal.valueOf(1, -precision);
-    if ((value.equals(BigDecimal.ZERO))
-        || ((value.compareTo(tenToTheNegFour) >= 0) && (value.compareTo(tenToThePrec) < 0))) {
-
-      int e = -value.scale() + (value.unscaledValue().toString().length() - 1);
-
+    BigDecimal value = this.value;
+    // The decimal exponent of the leading digit; value lies in [10^e, 10^(e+1)) unless it is zero.
+    long e = (long) value.precision() - 1 - value.scale();
+    boolean useDecimal;
+    if (value.signum() == 0) {
+      // Only an unscaled zero (0, not 0.00 or 0E+3) takes the decimal branch.
+      useDecimal = value.scale() == 0;
+    } else {
+      // Equivalent to 1E-4 <= value < 10^precision.
+      useDecimal = e >= -4 && e < precision;
+    }
+    if (useDecimal) {
       // xxx.yyy
       //   g precision (# sig digits) = #x + #y
       //   f precision = #y
@@ -129,7 +153,7 @@ public final class BigDecimalWrapper implements FloatForm {
       //   f precision = #0 (after '.') + #z
       //   exponent = - #0 (after '.') - 1
       // => f precision = g precision - exponent - 1
-      precision = precision - e - 1;
+      precision = precision - (int) e - 1;
       return decimalLayout(precision);
     } else {
       return scientificLayout(precision - 1);
@@ -138,6 +162,33 @@ public final class BigDecimalWrapper implements FloatForm {
 
   @Override
   public FloatLayout scientificLayout(int precision) {
+    BigDecimal value = this.value;
+    int origPrec = value.precision();
+    if (origPrec > MAX_LONG_DIGITS) {
+      return scientificLayoutFallback(precision);
+    }
+    long unscaled = value.unscaledValue().longValue();
+    long scale = value.scale();
+    if (precision < origPrec - 1) {
+      // Round to (precision + 1) significant digits, half-up, as MathContext would.
+      int compPrec = precision + 1;
+      int drop = origPrec - compPrec;
+      unscaled = roundHalfUp(unscaled, drop);
+      scale -= drop;
+      if (unscaled == POWERS_OF_TEN[compPrec]) {
+        // The rounding carried into an extra digit; BigDecimal drops it again.
+        unscaled /= 10;
+        scale--;
+      }
+      if (scale != (int) scale) {
+        return scientificLayoutFallback(precision);
+      }
+    }
+    return scientificLayout0(digits(unscaled), (int) scale);
+  }
+
+  /** The {@link BigInteger}-based implementation, used when the unscaled value exceeds 18 digits. */
+  FloatLayout scientificLayoutFallback(int precision) {
     int scale = value.scale();
     int origPrec = value.precision();
     int compPrec;
@@ -154,6 +205,34 @@ public final class BigDecimalWrapper implements FloatForm {
 
   @Override
   public FloatLayout decimalLayout(int precision) {
+    BigDecimal value = this.value;
+    int compPrec = value.precision();
+    if (compPrec > MAX_LONG_DIGITS) {
+      return decimalLayoutFallback(precision);
+    }
+    long unscaled = value.unscaledValue().longValue();
+    int scale = value.scale();
+    if (scale > precision) {
+      // more "scale" digits than the requested "precision"
+      int drop = scale - precision;
+      if (compPrec <= scale) {
+        // case of 0.xxxxxx, same as setScale(precision, HALF_UP)
+        unscaled = drop > MAX_LONG_DIGITS ? 0 : roundHalfUp(unscaled, drop);
+      } else {
+        // same as rounding to (compPrec - drop) significant digits with a MathContext
+        unscaled = roundHalfUp(unscaled, drop);
+        if (unscaled == POWERS_OF_TEN[compPrec - drop]) {
+          unscaled /= 10;
+          --precision;
+        }
+      }
+      scale = precision;
+    }
+    return decimalLayout0(digits(unscaled), scale);
+  }
+
+  /** The {@link BigInteger}-based implementation, used when the unscaled value exceeds 18 digits. */
+  FloatLayout decimalLayoutFallback(int precision) {
     BigDecimal value = this.value;
     int scale = value.scale();
     if (scale > precision) {
@@ -170,6 +249,20 @@ public final class BigDecimalWrapper implements FloatForm {
     return decimalLayout0(value);
   }
 
+  /** Returns {@code value / 10^drop} rounded half-up, for {@code 0 <= drop <= 18}. */
+  private static long roundHalfUp(long value, int drop) {
+    long divisor = POWERS_OF_TEN[drop];
+    long quotient = value / divisor;
+    long remainder = value - quotient * divisor;
+    return remainder >= divisor - remainder ? quotient + 1 : quotient;
+  }
+
+  private static AtomicSeq digits(long value) {
+    char[] buf = new char[MAX_LONG_DIGITS + 1];
+    int start = BigIntegerWrapper.writeLong(value, buf, buf.length, 1);
+    return Seq.forArray(buf, start, buf.length - start);
+  }
+
   @Override
   public FloatLayout hexLayout(int precision) {
     throw new PrintfException("hexLayout not supported for BigDecimal: %s", value);
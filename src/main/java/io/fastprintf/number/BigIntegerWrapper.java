@@ -1,10 +1,23 @@
 package io.fastprintf.number;
 
 import io.fastprintf.PrintfException;
+import io.fastprintf.seq.Seq;
 import java.math.BigInteger;
+import java.util.Arrays;
 
 public final class BigIntegerWrapper implements IntForm {
 
+  private static final char[] DIGITS = "0123456789abcdef".toCharArray();
+
+  // Every value below 2^63 is converted with plain long arithmetic.
+  private static final int LONG_DIGITS = 18;
+
+  /**
+   * Cached divisors for the decimal divide-and-conquer conversion: entry {@code k} holds {@code
+   * 10^(18 * 2^k)}. The array only ever grows, and is republished as a whole on growth.
+   */
+  private static volatile BigInteger[] powersOfTen = {BigInteger.TEN.pow(LONG_DIGITS)};
+
   private final BigInteger value;
   private final int signum;
 
@@ -41,6 +54,29 @@ public final class BigIntegerWrapper implements IntForm {
     return value.toString();
   }
 
+  @Override
+  public Seq toDecimalSeq() {
+    return decimalSeq(value);
+  }
+
+  @Override
+  public Seq toHexSeq() {
+    ensureNonNegative();
+    return hexSeq(value);
+  }
+
+  @Override
+  public Seq toOctalSeq() {
+    ensureNonNegative();
+    return octalSeq(value);
+  }
+
+  @Override
+  public Seq toUnsignedDecimalSeq() {
+    ensureNonNegative();
+    return decimalSeq(value);
+  }
+
   @Override
   public String toString() {
     if (signum >= 0) {
@@ -55,4 +91,121 @@ public final class BigIntegerWrapper implements IntForm {
       throw new PrintfException("Negative BigInteger(-%s) cannot be converted to unsigned", value);
     }
   }
+
+  /**
+   * Converts a non-negative value to hexadecimal by reading four bits at a time from its
+   * two's-complement bytes. No division is involved.
+   */
+  static Seq hexSeq(BigInteger value) {
+    int bitLength = value.bitLength();
+    if (bitLength == 0) {
+      return Seq.ch('0');
+    }
+    int digits = (bitLength + 3) >>> 2;
+    byte[] bytes = value.toByteArray();
+    int last = bytes.length - 1;
+    char[] buf = new char[digits];
+    for (int k = 0; k < digits; k++) {
+      int b = bytes[last - (k >>> 1)];
+      int nibble = (k & 1) == 0 ? b & 0xF : (b >>> 4) & 0xF;
+      buf[digits - 1 - k] = DIGITS[nibble];
+    }
+    return Seq.forArray(buf);
+  }
+
+  /**
+   * Converts a non-negative value to octal by reading three bits at a time from its
+   * two's-complement bytes. No division is involved.
+   */
+  static Seq octalSeq(BigInteger value) {
+    int bitLength = value.bitLength();
+    if (bitLength == 0) {
+      return Seq.ch('0');
+    }
+    int digits = (bitLength + 2) / 3;
+    byte[] bytes = value.toByteArray();
+    int last = bytes.length - 1;
+    char[] buf = new char[digits];
+    for (int k = 0; k < digits; k++) {
+      int bit = k * 3;
+      int index = last - (bit >>> 3);
+      int shift = bit & 7;
+      int word = bytes[index] & 0xFF;
+      if (shift > 5 && index > 0) {
+        // The digit straddles a byte boundary.
+        word |= (bytes[index - 1] & 0xFF) << 8;
+      }
+      buf[digits - 1 - k] = DIGITS[(word >>> shift) & 7];
+    }
+    return Seq.forArray(buf);
+  }
+
+  /**
+   * Converts a non-negative value to decimal. Small values use long arithmetic. Larger values are
+   * split recursively around {@code 10^(18 * 2^k)}, which keeps the conversion sub-quadratic given
+   * {@code BigInteger}'s fast division, and the digits are written right to left into a single
+   * {@code char[]}.
+   */
+  static Seq decimalSeq(BigInteger value) {
+    int bitLength = value.bitLength();
+    if (bitLength < Long.SIZE) {
+      char[] buf = new char[LONG_DIGITS + 1];
+      int start = writeLong(value.longValue(), buf, buf.length, 1);
+      return Seq.forArray(buf, start, buf.length - start);
+    }
+    // An upper bound on the number of decimal digits, with one spare for rounding.
+    int capacity = (int) (bitLength * 0.30102999566398120) + 2;
+    char[] buf = new char[capacity];
+    int start = writeDecimal(value, buf, capacity, 1);
+    return Seq.forArray(buf, start, capacity - start);
+  }
+
+  /**
+   * Writes the digits of {@code value} so that they end just before {@code end}, left-padding with
+   * zeros up to {@code minDigits}, and returns the index of the first digit written.
+   */
+  private static int writeDecimal(BigInteger value, char[] buf, int end, int minDigits) {
+    int bitLength = value.bitLength();
+    if (bitLength < Long.SIZE) {
+      return writeLong(value.longValue(), buf, end, minDigits);
+    }
+    // Pick the largest divisor with at most half the bits. 10^(18 * 2^k) has roughly 60 * 2^k
+    // bits, so the remainder gets between a quarter and a half of them and the quotient the rest:
+    // at worst a 1:3 split, which still keeps the recursion sub-quadratic.
+    int k = 0;
+    while (120L << (k + 1) <= bitLength) {
+      k++;
+    }
+    BigInteger[] qr = value.divideAndRemainder(powerOfTen(k));
+    int lowDigits = LONG_DIGITS << k;
+    int cursor = writeDecimal(qr[1], buf, end, lowDigits);
+    return writeDecimal(qr[0], buf, cursor, Math.max(0, minDigits - lowDigits));
+  }
+
+  static int writeLong(long value, char[] buf, int end, int minDigits) {
+    int i = end;
+    while (value != 0) {
+      long q = value / 10;
+      buf[--i] = (char) ('0' + (int) (value - q * 10));
+      value = q;
+    }
+    int limit = end - minDigits;
+    while (i > limit) {
+      buf[--i] = '0';
+    }
+    return i;
+  }
+
+  private static BigInteger powerOfTen(int k) {
+    BigInteger[] powers = powersOfTen;
+    if (k < powers.length) {
+      return powers[k];
+    }
+    BigInteger[] grown = Arrays.copyOf(powers, k + 1);
+    for (int i = powers.length; i <= k; i++) {
+      grown[i] = grown[i - 1].multiply(grown[i - 1]);
+    }
+    powersOfTen = grown;
+    return grown[k];
+  }
 }
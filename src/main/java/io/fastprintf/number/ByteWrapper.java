@@ -1,5 +1,7 @@
 package io.fastprintf.number;
 
+import io.fastprintf.seq.Seq;
+
 public final class ByteWrapper implements IntForm {
 
   private final byte value;
@@ -18,6 +20,11 @@ public final class ByteWrapper implements IntForm {
     return Integer.toString(Math.abs(value));
   }
 
+  @Override
+  public Seq toGroupedDecimalSeq(char separator) {
+    return LongWrapper.groupedDecimalSeq(value, separator);
+  }
+
   @Override
   public String toHexString() {
     return Integer.toHexString(Byte.toUnsignedInt(value));
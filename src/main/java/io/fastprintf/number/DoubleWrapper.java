@@ -1,13 +1,17 @@
 package io.fastprintf.number;
 
 import io.fastprintf.seq.Seq;
+import io.fastprintf.util.Utils;
 import io.fastprintf.util.internal.DoubleConsts;
 import io.fastprintf.util.internal.DoubleToDecimal;
 import io.fastprintf.util.internal.FormattedFPDecimal;
 
 public final class DoubleWrapper implements FloatForm {
 
-  private static final double SCALE_UP = Math.scalb(1.0, 54);
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  // The significand's 52 stored bits print as 13 hex digits.
+  private static final int HEX_SIGNIFICAND_DIGITS = 13;
 
   private final double value;
 
@@ -19,26 +23,6 @@ public final class DoubleWrapper implements FloatForm {
     return ch != null ? Seq.forArray(ch) : null;
   }
 
-  private static boolean startsWithMinus(String s) {
-    return s.charAt(0) == '-';
-  }
-
-  private static FloatLayout simpleHexLayout(double d) {
-    String s = Double.toHexString(d);
-    int p = s.indexOf('p');
-    assert (p >= 0);
-    // Use charAt(0) for optimal performance. It's safe because toHexString() is never empty.
-    // This correctly handles -0.0, as its string representation starts with '-'.
-    return new FloatLayout(Seq.wrap(s, startsWithMinus(s) ? 3 : 2, p), addPlus(s.substring(p + 1)));
-  }
-
-  private static Seq addPlus(String input) {
-    if (startsWithMinus(input)) {
-      return Seq.wrap(input);
-    }
-    return Seq.wrap("+" + input);
-  }
-
   @Override
   public int signum() {
     return Double.compare(value, 0D);
@@ -54,102 +38,141 @@ public final class DoubleWrapper implements FloatForm {
     return Double.isInfinite(value);
   }
 
-  private FloatLayout toLayout(int precision, char form) {
+  private static FloatLayout toLayout(double value, int precision, char form) {
     FormattedFPDecimal fd = FormattedFPDecimal.valueOf(Math.abs(value), precision, form);
     return new FloatLayout(seqOrNull(fd.getMantissa()), seqOrNull(fd.getExponent()));
   }
 
   @Override
   public FloatLayout generalLayout(int precision) {
+    return generalLayout(value, precision);
+  }
+
+  static FloatLayout generalLayout(double value, int precision) {
     if (value == 0D) {
       return new FloatLayout(Seq.ch('0'), null);
     }
-    return toLayout(precision, FormattedFPDecimal.GENERAL);
+    return toLayout(value, precision, FormattedFPDecimal.GENERAL);
   }
 
   @Override
   public FloatLayout scientificLayout(int precision) {
+    return scientificLayout(value, precision);
+  }
+
+  static FloatLayout scientificLayout(double value, int precision) {
     if (value == 0D) {
       return new FloatLayout(Seq.ch('0'), Seq.wrap("+00"));
     }
-    return toLayout(precision, FormattedFPDecimal.SCIENTIFIC);
+    return toLayout(value, precision, FormattedFPDecimal.SCIENTIFIC);
   }
 
   @Override
   public FloatLayout decimalLayout(int precision) {
-    return toLayout(precision, FormattedFPDecimal.PLAIN);
+    return decimalLayout(value, precision);
   }
 
-  @Override
-  public FloatLayout hexLayout(int prec) {
-    // From java.util.Formatter#hexDouble L3440
-    double d = value;
-    // Let Double.toHexString handle simple cases
-    if (!Double.isFinite(d) || d == 0.0 || prec == 0 || prec >= 13) {
-      return simpleHexLayout(d);
+  static FloatLayout decimalLayout(double value, int precision) {
+    char[] fixed = FixedDecimal.tryFormat(Math.abs(value), precision);
+    if (fixed != null) {
+      return new FloatLayout(Seq.forArray(fixed), null);
     }
+    return toLayout(value, precision, FormattedFPDecimal.PLAIN);
+  }
 
-    assert (prec >= 1 && prec <= 12);
-    int exponent = Math.getExponent(d);
-    boolean subnormal = (exponent == Double.MIN_EXPONENT - 1);
-
-    // If this is subnormal input so normalize (could be faster to
-    // do as integer operation).
-    if (subnormal) {
-      d *= SCALE_UP;
-      // Calculate the exponent.  This is not just exponent + 54
-      // since the former is not the normalized exponent.
-      exponent = Math.getExponent(d);
-      assert exponent >= Double.MIN_EXPONENT && exponent <= Double.MAX_EXPONENT : exponent;
-    }
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The digits are taken straight from the IEEE 754 bits and match {@link
+   * java.util.Formatter}'s {@code %a}: with {@code precision} in {@code [1, 12]} the significand
+   * is rounded half-even to that many hex digits and subnormals are normalized to {@code 1.x};
+   * otherwise the output is that of {@link Double#toHexString(double)}. Trailing zero digits are
+   * dropped, keeping at least one.
+   */
+  @Override
+  public FloatLayout hexLayout(int precision) {
+    return hexLayout(value, precision);
+  }
 
-    int precision = 1 + prec * 4;
-    int shiftDistance = DoubleConsts.SIGNIFICAND_WIDTH - precision;
-    assert (shiftDistance >= 1 && shiftDistance < DoubleConsts.SIGNIFICAND_WIDTH);
-
-    long doppel = Double.doubleToLongBits(d);
-    // Deterime the number of bits to keep.
-    long newSignif =
-        (doppel & (DoubleConsts.EXP_BIT_MASK | DoubleConsts.SIGNIF_BIT_MASK)) >> shiftDistance;
-    // Bits to round away.
-    long roundingBits = doppel & ~(~0L << shiftDistance);
-
-    // To decide how to round, look at the low-order bit of the
-    // working significand, the highest order discarded bit (the
-    // round bit) and whether any of the lower order discarded bits
-    // are nonzero (the sticky bit).
-
-    boolean leastZero = (newSignif & 0x1L) == 0L;
-    boolean round = ((1L << (shiftDistance - 1)) & roundingBits) != 0L;
-    boolean sticky = shiftDistance > 1 && (~(1L << (shiftDistance - 1)) & roundingBits) != 0;
-    if ((leastZero && round && sticky) || (!leastZero && round)) {
-      newSignif++;
+  static FloatLayout hexLayout(double value, int precision) {
+    if (!Double.isFinite(value)) {
+      return new FloatLayout(Seq.wrap(Double.isNaN(value) ? "NaN" : "Infinity"), null);
+    }
+    long bits = Double.doubleToRawLongBits(value) & DoubleConsts.MAG_BIT_MASK;
+    if (bits == 0) {
+      return hexLayout(0, 0, 1, 0);
+    }
+    int biasedExponent = (int) (bits >>> (DoubleConsts.SIGNIFICAND_WIDTH - 1));
+    long significand = bits & DoubleConsts.SIGNIF_BIT_MASK;
+    if (precision < 1 || precision >= HEX_SIGNIFICAND_DIGITS) {
+      // Double.toHexString: subnormals keep a leading 0 and the minimum exponent.
+      if (biasedExponent == 0) {
+        return hexLayout(0, significand, HEX_SIGNIFICAND_DIGITS, Double.MIN_EXPONENT);
+      }
+      return hexLayout(
+          1, significand, HEX_SIGNIFICAND_DIGITS, biasedExponent - DoubleConsts.EXP_BIAS);
     }
 
-    long signBit = doppel & DoubleConsts.SIGN_BIT_MASK;
-    newSignif = signBit | (newSignif << shiftDistance);
-    double result = Double.longBitsToDouble(newSignif);
+    int exponent;
+    if (biasedExponent == 0) {
+      // Normalize the subnormal so that its highest set bit becomes the implicit one.
+      int shift =
+          Long.numberOfLeadingZeros(significand) - (Long.SIZE - DoubleConsts.SIGNIFICAND_WIDTH);
+      significand = (significand << shift) & DoubleConsts.SIGNIF_BIT_MASK;
+      exponent = Double.MIN_EXPONENT - shift;
+    } else {
+      exponent = biasedExponent - DoubleConsts.EXP_BIAS;
+    }
 
-    if (Double.isInfinite(result)) {
+    int fractionBits = precision * 4;
+    int shiftDistance = (DoubleConsts.SIGNIFICAND_WIDTH - 1) - fractionBits;
+    long kept = (significand | (1L << (DoubleConsts.SIGNIFICAND_WIDTH - 1))) >>> shiftDistance;
+    long discarded = significand & ((1L << shiftDistance) - 1);
+    long half = 1L << (shiftDistance - 1);
+    if (discarded > half || (discarded == half && (kept & 1) != 0)) {
+      kept++;
+      if (kept >>> (fractionBits + 1) != 0) {
+        // Rounded up to 2.0.
+        kept >>>= 1;
+        exponent++;
+      }
+    }
+    if (exponent > Double.MAX_EXPONENT) {
       // Infinite result generated by rounding
       return new FloatLayout(Seq.wrap("1.0"), Seq.wrap("+1024"));
-    } else {
-      if (!subnormal) return simpleHexLayout(result);
-      else {
-        String s = Double.toHexString(result);
-        // Create a normalized subnormal string.
-        int idx = s.indexOf('p');
-        if (idx >= 0) {
-          // Get exponent and append at the end.
-          String exp = s.substring(idx + 1);
-          int iexp = Integer.parseInt(exp) - 54;
-          return new FloatLayout(
-              Seq.wrap(s, startsWithMinus(s) ? 3 : 2, idx), addPlus(Integer.toString(iexp)));
-        } else {
-          throw new AssertionError("Invalid hex string: " + s);
-        }
-      }
     }
+    return hexLayout(1, kept & ((1L << fractionBits) - 1), precision, exponent);
+  }
+
+  /**
+   * Writes {@code lead.fraction} and the signed decimal {@code exponent} into one buffer, where
+   * {@code fraction} holds {@code digits} hex digits.
+   */
+  private static FloatLayout hexLayout(int lead, long fraction, int digits, int exponent) {
+    // Drop trailing zero digits, keeping at least one.
+    while (digits > 1 && (fraction & 0xF) == 0) {
+      fraction >>>= 4;
+      digits--;
+    }
+    int mantissaLength = digits + 2;
+    int magnitude = Math.abs(exponent);
+    int exponentLength = Utils.stringSize(magnitude) + 1;
+    char[] buf = new char[mantissaLength + exponentLength];
+    buf[0] = (char) ('0' + lead);
+    buf[1] = '.';
+    for (int i = mantissaLength - 1; i >= 2; i--) {
+      buf[i] = HEX_DIGITS[(int) (fraction & 0xF)];
+      fraction >>>= 4;
+    }
+    int i = buf.length;
+    do {
+      buf[--i] = (char) ('0' + magnitude % 10);
+      magnitude /= 10;
+    } while (magnitude != 0);
+    buf[mantissaLength] = exponent < 0 ? '-' : '+';
+    return new FloatLayout(
+        Seq.forArray(buf, 0, mantissaLength),
+        Seq.forArray(buf, mantissaLength, exponentLength));
   }
 
   /**
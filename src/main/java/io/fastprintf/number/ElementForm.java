@@ -0,0 +1,166 @@
+package io.fastprintf.number;
+
+import io.fastprintf.seq.Seq;
+import io.fastprintf.util.internal.DoubleToDecimal;
+
+/**
+ * A reusable {@link IntForm} and {@link FloatForm} that holds one primitive value at a time.
+ *
+ * <p>Formatting the elements of a primitive array loads each element into the same instance in
+ * turn, instead of wrapping every element in a new form. Each {@code load} method returns this
+ * instance, which behaves exactly as the form {@link IntForm#valueOf} or {@link FloatForm#valueOf}
+ * would create for the value, until the next {@code load}. A form must therefore be fully consumed
+ * before the next element is loaded, and must not be shared between threads.
+ */
+public final class ElementForm implements IntForm, FloatForm {
+
+  private static final int SHORT = 0;
+  private static final int INT = 1;
+  private static final int LONG = 2;
+  private static final int DOUBLE = 3;
+
+  private int kind;
+  private long longValue;
+  private double doubleValue;
+
+  /**
+   * Loads a {@code short}, with the semantics of {@link IntForm#valueOf(short)}.
+   *
+   * @param value the value to load.
+   * @return this form.
+   */
+  public IntForm load(short value) {
+    return loadIntegral(SHORT, value);
+  }
+
+  /**
+   * Loads an {@code int}, with the semantics of {@link IntForm#valueOf(int)}.
+   *
+   * @param value the value to load.
+   * @return this form.
+   */
+  public IntForm load(int value) {
+    return loadIntegral(INT, value);
+  }
+
+  /**
+   * Loads a {@code long}, with the semantics of {@link IntForm#valueOf(long)}.
+   *
+   * @param value the value to load.
+   * @return this form.
+   */
+  public IntForm load(long value) {
+    return loadIntegral(LONG, value);
+  }
+
+  /**
+   * Loads a {@code double}, with the semantics of {@link FloatForm#valueOf(double)}.
+   *
+   * @param value the value to load.
+   * @return this form.
+   */
+  public FloatForm load(double value) {
+    this.kind = DOUBLE;
+    this.doubleValue = value;
+    return this;
+  }
+
+  private IntForm loadIntegral(int kind, long value) {
+    this.kind = kind;
+    this.longValue = value;
+    return this;
+  }
+
+  @Override
+  public int signum() {
+    return kind == DOUBLE ? Double.compare(doubleValue, 0D) : Long.signum(longValue);
+  }
+
+  @Override
+  public String toDecimalString() {
+    long value = longValue;
+    if (value >= 0) {
+      return Long.toString(value);
+    }
+    if (value > Long.MIN_VALUE) {
+      return Long.toString(-value);
+    }
+    return "9223372036854775808";
+  }
+
+  @Override
+  public Seq toGroupedDecimalSeq(char separator) {
+    return LongWrapper.groupedDecimalSeq(longValue, separator);
+  }
+
+  @Override
+  public String toHexString() {
+    switch (kind) {
+      case SHORT:
+        return Integer.toHexString(Short.toUnsignedInt((short) longValue));
+      case INT:
+        return Integer.toHexString((int) longValue);
+      default:
+        return Long.toHexString(longValue);
+    }
+  }
+
+  @Override
+  public String toOctalString() {
+    switch (kind) {
+      case SHORT:
+        return Integer.toOctalString(Short.toUnsignedInt((short) longValue));
+      case INT:
+        return Integer.toOctalString((int) longValue);
+      default:
+        return Long.toOctalString(longValue);
+    }
+  }
+
+  @Override
+  public String toUnsignedDecimalString() {
+    switch (kind) {
+      case SHORT:
+        return Integer.toUnsignedString(Short.toUnsignedInt((short) longValue));
+      case INT:
+        return Integer.toUnsignedString((int) longValue);
+      default:
+        return Long.toUnsignedString(longValue);
+    }
+  }
+
+  @Override
+  public boolean isNaN() {
+    return Double.isNaN(doubleValue);
+  }
+
+  @Override
+  public boolean isInfinite() {
+    return Double.isInfinite(doubleValue);
+  }
+
+  @Override
+  public FloatLayout generalLayout(int precision) {
+    return DoubleWrapper.generalLayout(doubleValue, precision);
+  }
+
+  @Override
+  public FloatLayout scientificLayout(int precision) {
+    return DoubleWrapper.scientificLayout(doubleValue, precision);
+  }
+
+  @Override
+  public FloatLayout decimalLayout(int precision) {
+    return DoubleWrapper.decimalLayout(doubleValue, precision);
+  }
+
+  @Override
+  public FloatLayout hexLayout(int precision) {
+    return DoubleWrapper.hexLayout(doubleValue, precision);
+  }
+
+  @Override
+  public String toString() {
+    return kind == DOUBLE ? DoubleToDecimal.toString(doubleValue) : Long.toString(longValue);
+  }
+}
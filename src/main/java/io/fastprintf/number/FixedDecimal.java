@@ -0,0 +1,130 @@
+package io.fastprintf.number;
+
+import io.fastprintf.util.Utils;
+
+/**
+ * A fast path for {@code %.Nf} on doubles of moderate magnitude with a small precision.
+ *
+ * <p>The general {@code PLAIN} formatting first computes the shortest decimal that uniquely
+ * identifies the double (Schubfach), then rounds that decimal half-up to the requested number of
+ * fraction digits. This class instead scales the exact binary value {@code m * 2^-t} by {@code
+ * 10^precision} with 128-bit integer arithmetic and rounds the result directly.
+ *
+ * <p>The two approaches can only disagree when the exact value lies very close to a rounding
+ * midpoint: the shortest decimal is within half an ulp of the exact value, so it may fall on, or on
+ * the other side of, the midpoint. Whenever the exact value is within {@code 10^precision} units of
+ * {@code 2^-t} from a midpoint (a safe over-approximation of half an ulp), {@link #tryFormat}
+ * declines and the caller falls back to the general algorithm. The rounded value is therefore always
+ * the one the general path produces; only trailing fraction zeros, which {@code %f} pads back, may
+ * differ.
+ */
+final class FixedDecimal {
+
+  /** The largest precision handled here; {@code 10^9 < 2^30} keeps the product within 83 bits. */
+  static final int MAX_PRECISION = 9;
+
+  private static final long SIGNIFICAND_MASK = (1L << 52) - 1;
+  private static final long HIDDEN_BIT = 1L << 52;
+  private static final int EXPONENT_BIAS = 1075; // 1023 + 52
+
+  private static final long[] POWERS_OF_TEN = new long[MAX_PRECISION + 1];
+
+  static {
+    long power = 1;
+    for (int i = 0; i <= MAX_PRECISION; i++) {
+      POWERS_OF_TEN[i] = power;
+      power *= 10;
+    }
+  }
+
+  private FixedDecimal() {
+    throw new IllegalStateException();
+  }
+
+  /**
+   * Formats a non-negative double rounded to {@code precision} fraction digits.
+   *
+   * @param value a non-negative double.
+   * @param precision the number of fraction digits.
+   * @return the formatted digits, or {@code null} if the value or precision is outside the fast
+   *     path and the caller must use the general algorithm.
+   */
+  static char[] tryFormat(double value, int precision) {
+    if (precision < 0 || precision > MAX_PRECISION) {
+      return null;
+    }
+    long bits = Double.doubleToRawLongBits(value);
+    if (bits == 0) {
+      return render(0, precision);
+    }
+    int biasedExponent = (int) (bits >>> 52);
+    // The sign bit lands above the exponent, so negative values are rejected here too, along with
+    // subnormals, infinities and NaN.
+    if (biasedExponent == 0 || biasedExponent > 0x7FE) {
+      return null;
+    }
+    // value = m * 2^-t with 2^52 <= m < 2^53. Restricting t to [1, 63] keeps value in
+    // [2^-11, 2^52) and lets the fraction fit in a single long.
+    int t = EXPONENT_BIAS - biasedExponent;
+    if (t < 1 || t > 63) {
+      return null;
+    }
+    long m = (bits & SIGNIFICAND_MASK) | HIDDEN_BIT;
+    long pow = POWERS_OF_TEN[precision];
+
+    // (hi, lo) = m * 10^precision, which needs up to 83 bits.
+    long low = (m & 0xFFFFFFFFL) * pow; // < 2^62
+    long high = (m >>> 32) * pow; // < 2^51
+    long lo = low + (high << 32);
+    long hi = (high >>> 32) + (Long.compareUnsigned(lo, low) < 0 ? 1 : 0);
+    if ((hi >>> (t - 1)) != 0) {
+      // The integer part would not fit in 63 bits.
+      return null;
+    }
+
+    long integer = (hi << (64 - t)) | (lo >>> t);
+    long fraction = lo & ((1L << t) - 1);
+    long distance = fraction - (1L << (t - 1));
+    if (Math.abs(distance) <= pow) {
+      // Too close to a midpoint to be sure of agreeing with the shortest-decimal rounding.
+      return null;
+    }
+    if (distance > 0 && ++integer < 0) {
+      // Rounding up overflowed the long range.
+      return null;
+    }
+    return render(integer, precision);
+  }
+
+  /**
+   * Writes {@code scaled / 10^precision} the way the general {@code PLAIN} layout does: trailing
+   * fraction zeros, and then a bare decimal point, are dropped, leaving the padding to the
+   * formatter.
+   */
+  private static char[] render(long scaled, int precision) {
+    while (precision > 0 && scaled % 10 == 0) {
+      scaled /= 10;
+      precision--;
+    }
+    long pow = POWERS_OF_TEN[precision];
+    long integer = scaled / pow;
+    long fraction = scaled - integer * pow;
+    int length = Utils.stringSize(integer) + (precision > 0 ? precision + 1 : 0);
+    char[] buf = new char[length];
+    int i = length;
+    for (int k = 0; k < precision; k++) {
+      long q = fraction / 10;
+      buf[--i] = (char) ('0' + (int) (fraction - q * 10));
+      fraction = q;
+    }
+    if (precision > 0) {
+      buf[--i] = '.';
+    }
+    do {
+      long q = integer / 10;
+      buf[--i] = (char) ('0' + (int) (integer - q * 10));
+      integer = q;
+    } while (integer != 0);
+    return buf;
+  }
+}
@@ -1,6 +1,7 @@
 package io.fastprintf.number;
 
 import io.fastprintf.appender.SeqFormatter;
+import io.fastprintf.seq.Seq;
 import io.fastprintf.traits.FormatTraits;
 import java.math.BigInteger;
 
@@ -101,4 +102,60 @@ public interface IntForm extends NumberForm {
    * @return an unsigned string representation of the number in base 10.
    */
   String toUnsignedDecimalString();
+
+  /**
+   * Returns the absolute value of this number in base 10 as a {@link Seq}.
+   *
+   * <p>The default implementation wraps {@link #toDecimalString()}. Implementations that can emit
+   * digits without building an intermediate {@code String} should override this method.
+   *
+   * @return the decimal digits of the absolute value of this number.
+   */
+  default Seq toDecimalSeq() {
+    return Seq.wrap(toDecimalString());
+  }
+
+  /**
+   * Returns the absolute value of this number in base 10 with {@code separator} between every
+   * group of three digits. This is used for the {@code %'d} specifier.
+   *
+   * <p>The default implementation groups {@link #toDecimalSeq()}. Implementations backed by a
+   * primitive override this method to write the digits and separators in a single pass.
+   *
+   * @param separator the grouping separator.
+   * @return the grouped decimal digits of the absolute value of this number.
+   */
+  default Seq toGroupedDecimalSeq(char separator) {
+    return Seq.groupDigits(toDecimalSeq(), separator);
+  }
+
+  /**
+   * Returns the number as unsigned hexadecimal digits in a {@link Seq}.
+   *
+   * @return the lowercase base-16 digits of this number.
+   * @see #toHexString()
+   */
+  default Seq toHexSeq() {
+    return Seq.wrap(toHexString());
+  }
+
+  /**
+   * Returns the number as unsigned octal digits in a {@link Seq}.
+   *
+   * @return the base-8 digits of this number.
+   * @see #toOctalString()
+   */
+  default Seq toOctalSeq() {
+    return Seq.wrap(toOctalString());
+  }
+
+  /**
+   * Returns the number as unsigned decimal digits in a {@link Seq}.
+   *
+   * @return the unsigned base-10 digits of this number.
+   * @see #toUnsignedDecimalString()
+   */
+  default Seq toUnsignedDecimalSeq() {
+    return Seq.wrap(toUnsignedDecimalString());
+  }
 }
@@ -1,5 +1,7 @@
 package io.fastprintf.number;
 
+import io.fastprintf.seq.Seq;
+
 public final class IntWrapper implements IntForm {
 
   private final int value;
@@ -25,6 +27,11 @@ public final class IntWrapper implements IntForm {
     return "2147483648";
   }
 
+  @Override
+  public Seq toGroupedDecimalSeq(char separator) {
+    return LongWrapper.groupedDecimalSeq(value, separator);
+  }
+
   @Override
   public String toHexString() {
     return Integer.toHexString(value);
@@ -1,5 +1,7 @@
 package io.fastprintf.number;
 
+import io.fastprintf.seq.Seq;
+
 public final class LongWrapper implements IntForm {
 
   private final long value;
@@ -24,6 +26,38 @@ public final class LongWrapper implements IntForm {
     return "9223372036854775808";
   }
 
+  @Override
+  public Seq toGroupedDecimalSeq(char separator) {
+    return groupedDecimalSeq(value, separator);
+  }
+
+  /**
+   * Writes the digits of {@code |value|} right-to-left with {@code separator} after every third
+   * digit. The digits are taken from the non-positive {@code -|value|}, which also covers {@code
+   * Long.MIN_VALUE}.
+   */
+  static Seq groupedDecimalSeq(long value, char separator) {
+    long negative = value > 0 ? -value : value;
+    int digits = 1;
+    for (long v = negative / 10; v != 0; v /= 10) {
+      digits++;
+    }
+    char[] buf = new char[digits + (digits - 1) / 3];
+    int pos = buf.length;
+    int run = 0;
+    do {
+      if (run == 3) {
+        buf[--pos] = separator;
+        run = 0;
+      }
+      long q = negative / 10;
+      buf[--pos] = (char) ('0' + (q * 10 - negative));
+      negative = q;
+      run++;
+    } while (negative != 0);
+    return Seq.forArray(buf);
+  }
+
   @Override
   public String toHexString() {
     return Long.toHexString(value);
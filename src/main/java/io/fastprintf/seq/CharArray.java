@@ -74,6 +74,18 @@ final class CharArray implements AtomicSeq {
     return hash;
   }
 
+  /**
+   * Returns whether every char is below U+0100. The check ORs the backing chars together without
+   * branching, which the JIT can vectorize.
+   */
+  boolean isLatin1() {
+    int bits = 0;
+    for (int i = start, end = start + length; i < end; i++) {
+      bits |= ch[i];
+    }
+    return bits < 0x100;
+  }
+
   @Override
   public int length() {
     return length;
@@ -164,6 +176,14 @@ final class CharArray implements AtomicSeq {
     sb.append(ch, start, length);
   }
 
+  Seq escapeJson() {
+    if (upperCase) {
+      String s = toString();
+      return JsonEscape.escape(s, 0, length, this);
+    }
+    return JsonEscape.escape(ch, start, start + length, this);
+  }
+
   @Override
   public CharArray upperCase() {
     if (upperCase) {
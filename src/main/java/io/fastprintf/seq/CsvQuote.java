@@ -0,0 +1,52 @@
+package io.fastprintf.seq;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Quotes character data as an RFC 4180 CSV field: a field containing {@code ,}, {@code "}, CR or
+ * LF is enclosed in double quotes, and each embedded {@code "} is doubled.
+ *
+ * <p>The input is scanned once. Characters before the first one that forces quoting are only
+ * checked; from there on, only {@code "} matters. The quoted field is assembled from {@link
+ * AtomicSeq#subSequence(int, int) slices} of the input that each end just after a quote, with the
+ * next slice starting at that same quote, so the doubling costs no copy at all.
+ */
+final class CsvQuote {
+
+  private static final AtomicSeq QUOTE = Seq.ch('"');
+
+  private CsvQuote() {
+    throw new IllegalStateException();
+  }
+
+  private static boolean needsQuoting(char c) {
+    return c == ',' || c == '"' || c == '\n' || c == '\r';
+  }
+
+  static Seq quote(Seq seq, boolean always) {
+    int length = seq.length();
+    int i = 0;
+    while (i < length && !needsQuoting(seq.charAt(i))) {
+      i++;
+    }
+    if (i == length && !always) {
+      return seq;
+    }
+    AtomicSeq atomic = seq instanceof AtomicSeq ? (AtomicSeq) seq : Seq.wrap(seq.toString());
+    List<AtomicSeq> parts = new ArrayList<>();
+    parts.add(QUOTE);
+    int runStart = 0;
+    for (; i < length; i++) {
+      if (atomic.charAt(i) == '"') {
+        parts.add(atomic.subSequence(runStart, i + 1));
+        runStart = i;
+      }
+    }
+    if (runStart < length) {
+      parts.add(atomic.subSequence(runStart, length));
+    }
+    parts.add(QUOTE);
+    return Seq.join(parts);
+  }
+}
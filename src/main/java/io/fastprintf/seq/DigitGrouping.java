@@ -0,0 +1,58 @@
+package io.fastprintf.seq;
+
+/**
+ * Applies locale symbols to a formatted number: a separator between every group of three digits in
+ * its integer part, as the {@code '} flag does, and a decimal separator in place of {@code .}.
+ *
+ * <p>The integer part is the run of characters before the first {@code .}, or the whole sequence
+ * if there is none. The grouped copy is filled right-to-left in a single pass, with a separator
+ * written after every third digit, so no intermediate text is built. A decimal separator alone is
+ * substituted by slicing around the {@code .}, without copying.
+ */
+final class DigitGrouping {
+
+  private DigitGrouping() {
+    throw new IllegalStateException();
+  }
+
+  static Seq group(Seq seq, char separator, char decimalSeparator) {
+    int length = seq.length();
+    int integerDigits = seq.indexOf('.');
+    if (integerDigits < 0) {
+      integerDigits = length;
+    }
+    if (integerDigits <= 3) {
+      return replaceDecimalPoint(seq, decimalSeparator);
+    }
+    int separators = (integerDigits - 1) / 3;
+    char[] buf = new char[length + separators];
+    int pos = buf.length;
+    for (int i = length - 1; i > integerDigits; i--) {
+      buf[--pos] = seq.charAt(i);
+    }
+    if (integerDigits < length) {
+      buf[--pos] = decimalSeparator;
+    }
+    for (int i = integerDigits - 1, run = 0; i >= 0; i--, run++) {
+      if (run == 3) {
+        buf[--pos] = separator;
+        run = 0;
+      }
+      buf[--pos] = seq.charAt(i);
+    }
+    return Seq.forArray(buf);
+  }
+
+  static Seq replaceDecimalPoint(Seq seq, char decimalSeparator) {
+    if (decimalSeparator == '.') {
+      return seq;
+    }
+    int dot = seq.indexOf('.');
+    if (dot < 0) {
+      return seq;
+    }
+    int length = seq.length();
+    Seq replaced = seq.subSequence(0, dot).append(Seq.ch(decimalSeparator));
+    return dot + 1 < length ? replaced.append(seq.subSequence(dot + 1, length)) : replaced;
+  }
+}
@@ -0,0 +1,166 @@
+package io.fastprintf.seq;
+
+/**
+ * Measures and truncates sequences in Unicode code points or terminal columns, rather than UTF-16
+ * {@code char}s.
+ *
+ * <p>Column widths follow {@code wcwidth}: characters in {@link #WIDE} take two columns, combining
+ * marks and format characters take none, and everything else takes one. Everything below U+0300,
+ * controls included, takes one column, so Latin-1 text is exactly as wide as it is long. The wide
+ * ranges are the East Asian Wide and Fullwidth blocks and the emoji presentation ranges, merged
+ * into a single sorted table that is binary searched only for characters from U+1100 on.
+ *
+ * <p>Text that is all Latin-1 is the common case and is one column and one code point per {@code
+ * char}. String and array views check that on their backing storage with a branch-free OR, so
+ * measuring such text costs one pass with no decoding at all.
+ */
+final class DisplayWidth {
+
+  /* Inclusive [first, last] pairs of two-column code points, sorted and non-overlapping. */
+  private static final int[] WIDE = {
+    0x1100, 0x115F, 0x231A, 0x231B, 0x2329, 0x232A, 0x23E9, 0x23EC, 0x23F0, 0x23F0, 0x23F3, 0x23F3,
+    0x25FD, 0x25FE, 0x2614, 0x2615, 0x2648, 0x2653, 0x267F, 0x267F, 0x2693, 0x2693, 0x26A1, 0x26A1,
+    0x26AA, 0x26AB, 0x26BD, 0x26BE, 0x26C4, 0x26C5, 0x26CE, 0x26CE, 0x26D4, 0x26D4, 0x26EA, 0x26EA,
+    0x26F2, 0x26F3, 0x26F5, 0x26F5, 0x26FA, 0x26FA, 0x26FD, 0x26FD, 0x2705, 0x2705, 0x270A, 0x270B,
+    0x2728, 0x2728, 0x274C, 0x274C, 0x274E, 0x274E, 0x2753, 0x2755, 0x2757, 0x2757, 0x2795, 0x2797,
+    0x27B0, 0x27B0, 0x27BF, 0x27BF, 0x2B1B, 0x2B1C, 0x2B50, 0x2B50, 0x2B55, 0x2B55, 0x2E80, 0x303E,
+    0x3041, 0x33FF, 0x3400, 0x4DBF, 0x4E00, 0x9FFF, 0xA000, 0xA4CF, 0xA960, 0xA97F, 0xAC00, 0xD7A3,
+    0xF900, 0xFAFF, 0xFE10, 0xFE19, 0xFE30, 0xFE6F, 0xFF00, 0xFF60, 0xFFE0, 0xFFE6,
+    0x16FE0, 0x16FE4, 0x17000, 0x18CFF, 0x1B000, 0x1B2FF, 0x1F004, 0x1F004, 0x1F0CF, 0x1F0CF,
+    0x1F18E, 0x1F18E, 0x1F191, 0x1F19A, 0x1F200, 0x1F202, 0x1F210, 0x1F23B, 0x1F240, 0x1F248,
+    0x1F250, 0x1F251, 0x1F260, 0x1F265, 0x1F300, 0x1F320, 0x1F32D, 0x1F335, 0x1F337, 0x1F37C,
+    0x1F37E, 0x1F393, 0x1F3A0, 0x1F3CA, 0x1F3CF, 0x1F3D3, 0x1F3E0, 0x1F3F0, 0x1F3F4, 0x1F3F4,
+    0x1F3F8, 0x1F43E, 0x1F440, 0x1F440, 0x1F442, 0x1F4FC, 0x1F4FF, 0x1F53D, 0x1F54B, 0x1F54E,
+    0x1F550, 0x1F567, 0x1F57A, 0x1F57A, 0x1F595, 0x1F596, 0x1F5A4, 0x1F5A4, 0x1F5FB, 0x1F64F,
+    0x1F680, 0x1F6C5, 0x1F6CC, 0x1F6CC, 0x1F6D0, 0x1F6D2, 0x1F6D5, 0x1F6D7, 0x1F6DC, 0x1F6DF,
+    0x1F6EB, 0x1F6EC, 0x1F6F4, 0x1F6FC, 0x1F7E0, 0x1F7EB, 0x1F7F0, 0x1F7F0, 0x1F90C, 0x1F93A,
+    0x1F93C, 0x1F945, 0x1F947, 0x1F9FF, 0x1FA70, 0x1FAFF, 0x20000, 0x2FFFD, 0x30000, 0x3FFFD
+  };
+
+  private DisplayWidth() {
+    throw new IllegalStateException();
+  }
+
+  /** Returns the number of terminal columns {@code codePoint} takes. */
+  static int columns(int codePoint) {
+    if (codePoint < 0x300) {
+      return 1;
+    }
+    if (codePoint >= WIDE[0] && isWide(codePoint)) {
+      return 2;
+    }
+    switch (Character.getType(codePoint)) {
+      case Character.NON_SPACING_MARK:
+      case Character.ENCLOSING_MARK:
+      case Character.FORMAT:
+        return 0;
+      default:
+        // Hangul medial vowels and final consonants join the preceding initial consonant.
+        return codePoint >= 0x1160 && codePoint <= 0x11FF ? 0 : 1;
+    }
+  }
+
+  private static boolean isWide(int codePoint) {
+    int low = 0;
+    int high = WIDE.length / 2 - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      if (codePoint < WIDE[2 * mid]) {
+        high = mid - 1;
+      } else if (codePoint > WIDE[2 * mid + 1]) {
+        low = mid + 1;
+      } else {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isLatin1(Seq seq) {
+    if (seq instanceof StrView) {
+      return ((StrView) seq).isLatin1();
+    }
+    if (seq instanceof CharArray) {
+      return ((CharArray) seq).isLatin1();
+    }
+    if (seq instanceof Repeated) {
+      return ((Repeated) seq).isLatin1();
+    }
+    return seq.length() == 0;
+  }
+
+  /** Returns the width of {@code seq} in columns, or in code points if not {@code columns}. */
+  static int width(Seq seq, boolean columns) {
+    if (!(seq instanceof AtomicSeqIterable)) {
+      return atomicWidth(seq, columns);
+    }
+    int width = 0;
+    char last = 0;
+    for (AtomicSeq part : (AtomicSeqIterable) seq) {
+      int length = part.length();
+      if (length == 0) {
+        continue;
+      }
+      width += atomicWidth(part, columns);
+      char first = part.charAt(0);
+      if (Character.isHighSurrogate(last) && Character.isLowSurrogate(first)) {
+        // The parts split a surrogate pair, which was measured as two lone surrogates.
+        width += (columns ? columns(Character.toCodePoint(last, first)) : 1) - 2;
+      }
+      last = part.charAt(length - 1);
+    }
+    return width;
+  }
+
+  private static int atomicWidth(Seq seq, boolean columns) {
+    int length = seq.length();
+    if (isLatin1(seq)) {
+      return length;
+    }
+    int width = 0;
+    for (int i = 0; i < length; ) {
+      int codePoint = codePointAt(seq, i, length);
+      i += Character.charCount(codePoint);
+      width += columns ? columns(codePoint) : 1;
+    }
+    return width;
+  }
+
+  /**
+   * Returns the longest prefix of {@code seq} that is at most {@code max} columns, or code points
+   * if not {@code columns}, wide. A surrogate pair is never split, and zero-width characters that
+   * follow the last kept character are kept with it.
+   */
+  static Seq truncate(Seq seq, int max, boolean columns) {
+    int length = seq.length();
+    if (length <= max && (!columns || isLatin1(seq))) {
+      return seq;
+    }
+    if (isLatin1(seq)) {
+      return seq.subSequence(0, max);
+    }
+    int width = 0;
+    int end = 0;
+    while (end < length) {
+      int codePoint = codePointAt(seq, end, length);
+      int w = columns ? columns(codePoint) : 1;
+      if (width + w > max) {
+        break;
+      }
+      width += w;
+      end += Character.charCount(codePoint);
+    }
+    return end == length ? seq : seq.subSequence(0, end);
+  }
+
+  private static int codePointAt(Seq seq, int index, int length) {
+    char c = seq.charAt(index);
+    if (Character.isHighSurrogate(c) && index + 1 < length) {
+      char next = seq.charAt(index + 1);
+      if (Character.isLowSurrogate(next)) {
+        return Character.toCodePoint(c, next);
+      }
+    }
+    return c;
+  }
+}
@@ -0,0 +1,88 @@
+package io.fastprintf.seq;
+
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+/**
+ * Encodes bytes as hexadecimal text, two digits per byte, straight into the output builder.
+ *
+ * <p>Each byte is looked up in a 256-entry table of digit pairs, so encoding takes no shifts or
+ * branches per digit. The digits are staged in a small chunk and handed to the builder in bulk, and
+ * heap buffers are read from their backing array directly. Grouped output separates bytes with a
+ * space and every group of {@value #BYTES_PER_GROUP} bytes with two, as {@code hexdump -C} does.
+ *
+ * <p>The bytes are read when the sequence is appended, so they must not change before that.
+ */
+final class HexBytes implements Consumer<StringBuilder> {
+
+  private static final char[] LOWER_PAIRS = pairs("0123456789abcdef");
+  private static final char[] UPPER_PAIRS = pairs("0123456789ABCDEF");
+  private static final int BYTES_PER_GROUP = 8;
+  private static final int CHUNK_SIZE = 256;
+
+  private final ByteBuffer bytes;
+  private final int count;
+  private final boolean grouped;
+  private final char[] pairs;
+  private final int length;
+
+  private HexBytes(ByteBuffer bytes, int count, boolean grouped, boolean upperCase) {
+    this.bytes = bytes;
+    this.count = count;
+    this.grouped = grouped;
+    this.pairs = upperCase ? UPPER_PAIRS : LOWER_PAIRS;
+    this.length = length(count, grouped);
+  }
+
+  private static char[] pairs(String digits) {
+    char[] pairs = new char[512];
+    for (int b = 0; b < 256; b++) {
+      pairs[b << 1] = digits.charAt(b >>> 4);
+      pairs[(b << 1) + 1] = digits.charAt(b & 0xF);
+    }
+    return pairs;
+  }
+
+  static Seq encode(ByteBuffer bytes, int maxBytes, boolean grouped, boolean upperCase) {
+    int count = Math.min(bytes.remaining(), maxBytes);
+    if (count == 0) {
+      return Seq.empty();
+    }
+    HexBytes hex = new HexBytes(bytes, count, grouped, upperCase);
+    return new LazySeq(hex, hex.length);
+  }
+
+  static int length(int count, boolean grouped) {
+    if (count == 0) {
+      return 0;
+    }
+    long length = grouped ? 3L * count - 1 + (count - 1) / BYTES_PER_GROUP : 2L * count;
+    return Math.toIntExact(length);
+  }
+
+  @Override
+  public void accept(StringBuilder sb) {
+    char[] table = pairs;
+    char[] chunk = new char[Math.max(Math.min(length, CHUNK_SIZE), 4)];
+    int start = bytes.position();
+    byte[] array = bytes.hasArray() ? bytes.array() : null;
+    int offset = array == null ? start : bytes.arrayOffset() + start;
+    int pos = 0;
+    for (int i = 0; i < count; i++) {
+      if (pos > chunk.length - 4) {
+        sb.append(chunk, 0, pos);
+        pos = 0;
+      }
+      if (grouped && i > 0) {
+        chunk[pos++] = ' ';
+        if (i % BYTES_PER_GROUP == 0) {
+          chunk[pos++] = ' ';
+        }
+      }
+      int index = ((array != null ? array[offset + i] : bytes.get(offset + i)) & 0xFF) << 1;
+      chunk[pos++] = table[index];
+      chunk[pos++] = table[index + 1];
+    }
+    sb.append(chunk, 0, pos);
+  }
+}
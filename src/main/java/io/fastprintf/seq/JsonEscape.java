@@ -0,0 +1,137 @@
+package io.fastprintf.seq;
+
+/**
+ * Escapes character data as the content of a JSON string (RFC 8259): {@code "} and {@code \} are
+ * backslash-escaped, and control characters below U+0020 use their short form ({@code \n}, {@code
+ * \t}, ...) or {@code \}{@code u00XX}. Everything else, including non-ASCII text, is copied as-is.
+ *
+ * <p>The scan works directly on the backing {@code String} or {@code char[]} of a {@link StrView}
+ * or {@link CharArray}. Input that needs no escaping, which is the common case, is returned
+ * unchanged without copying. Otherwise the exact output length is computed first, and the clean
+ * runs between escapes are bulk-copied into a single {@code char[]}.
+ */
+final class JsonEscape {
+
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  /**
+   * For each ASCII character, the letter that follows the backslash in its escape sequence, {@code
+   * 'u'} for the six-character form, or {@code 0} if the character is copied as-is.
+   */
+  private static final char[] ESCAPES = new char[128];
+
+  static {
+    for (int c = 0; c < 0x20; c++) {
+      ESCAPES[c] = 'u';
+    }
+    ESCAPES['"'] = '"';
+    ESCAPES['\\'] = '\\';
+    ESCAPES['\b'] = 'b';
+    ESCAPES['\f'] = 'f';
+    ESCAPES['\n'] = 'n';
+    ESCAPES['\r'] = 'r';
+    ESCAPES['\t'] = 't';
+  }
+
+  private JsonEscape() {
+    throw new IllegalStateException();
+  }
+
+  private static char escapeOf(char c) {
+    return c < 128 ? ESCAPES[c] : 0;
+  }
+
+  private static int escapedLength(char escape) {
+    return escape == 'u' ? 6 : 2;
+  }
+
+  static Seq escape(Seq seq) {
+    if (seq instanceof StrView) {
+      return ((StrView) seq).escapeJson();
+    }
+    if (seq instanceof CharArray) {
+      return ((CharArray) seq).escapeJson();
+    }
+    if (seq.isEmpty()) {
+      return seq;
+    }
+    String s = seq.toString();
+    return escape(s, 0, s.length(), seq);
+  }
+
+  /** Escapes {@code s[start, end)}, returning {@code original} if nothing needs escaping. */
+  static Seq escape(String s, int start, int end, Seq original) {
+    int i = start;
+    while (i < end && escapeOf(s.charAt(i)) == 0) {
+      i++;
+    }
+    if (i == end) {
+      return original;
+    }
+    int length = i - start;
+    for (int k = i; k < end; k++) {
+      char escape = escapeOf(s.charAt(k));
+      length += escape == 0 ? 1 : escapedLength(escape);
+    }
+    char[] out = new char[length];
+    s.getChars(start, i, out, 0);
+    int pos = i - start;
+    int runStart = i;
+    for (; i < end; i++) {
+      char c = s.charAt(i);
+      char escape = escapeOf(c);
+      if (escape != 0) {
+        s.getChars(runStart, i, out, pos);
+        pos += i - runStart;
+        pos = writeEscape(out, pos, c, escape);
+        runStart = i + 1;
+      }
+    }
+    s.getChars(runStart, end, out, pos);
+    return CharArray.wrap(out, 0, length);
+  }
+
+  /** Escapes {@code ch[start, end)}, returning {@code original} if nothing needs escaping. */
+  static Seq escape(char[] ch, int start, int end, Seq original) {
+    int i = start;
+    while (i < end && escapeOf(ch[i]) == 0) {
+      i++;
+    }
+    if (i == end) {
+      return original;
+    }
+    int length = i - start;
+    for (int k = i; k < end; k++) {
+      char escape = escapeOf(ch[k]);
+      length += escape == 0 ? 1 : escapedLength(escape);
+    }
+    char[] out = new char[length];
+    System.arraycopy(ch, start, out, 0, i - start);
+    int pos = i - start;
+    int runStart = i;
+    for (; i < end; i++) {
+      char c = ch[i];
+      char escape = escapeOf(c);
+      if (escape != 0) {
+        System.arraycopy(ch, runStart, out, pos, i - runStart);
+        pos += i - runStart;
+        pos = writeEscape(out, pos, c, escape);
+        runStart = i + 1;
+      }
+    }
+    System.arraycopy(ch, runStart, out, pos, end - runStart);
+    return CharArray.wrap(out, 0, length);
+  }
+
+  private static int writeEscape(char[] out, int pos, char c, char escape) {
+    out[pos++] = '\\';
+    out[pos++] = escape;
+    if (escape == 'u') {
+      out[pos++] = '0';
+      out[pos++] = '0';
+      out[pos++] = HEX_DIGITS[c >>> 4];
+      out[pos++] = HEX_DIGITS[c & 0xF];
+    }
+    return pos;
+  }
+}
@@ -76,6 +76,10 @@ final class Repeated implements AtomicSeq {
     }
   }
 
+  boolean isLatin1() {
+    return c < 0x100;
+  }
+
   @Override
   public int length() {
     return count;
@@ -2,6 +2,7 @@ package io.fastprintf.seq;
 
 import io.fastprintf.util.Preconditions;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -231,6 +232,154 @@ public interface Seq extends CharSequence {
     return Concat.concat(left, right);
   }
 
+  /**
+   * Returns the given sequence escaped as the content of a JSON string, without the surrounding
+   * quotes.
+   *
+   * <p>{@code "}, {@code \} and control characters are escaped; all other characters are kept. If
+   * nothing needs escaping, which is checked directly on the backing storage of string and array
+   * views, {@code seq} itself is returned.
+   *
+   * @param seq the sequence to escape.
+   * @return the escaped sequence, or {@code seq} if it is already safe.
+   */
+  static Seq escapeJson(Seq seq) {
+    Preconditions.checkNotNull(seq, "seq");
+    return JsonEscape.escape(seq);
+  }
+
+  /**
+   * Returns the given sequence as an RFC 4180 CSV field.
+   *
+   * <p>A field containing {@code ,}, {@code "}, CR or LF is enclosed in double quotes with every
+   * embedded {@code "} doubled; other fields are returned as-is unless {@code always} is set. The
+   * quoted result is made of slices of {@code seq}, so its characters are not copied.
+   *
+   * @param seq the sequence to quote.
+   * @param always whether to quote the field even if it does not need it.
+   * @return the quoted sequence, or {@code seq} if no quoting is needed.
+   */
+  static Seq quoteCsv(Seq seq, boolean always) {
+    Preconditions.checkNotNull(seq, "seq");
+    return CsvQuote.quote(seq, always);
+  }
+
+  /**
+   * Returns the given number with {@code separator} between every group of three digits of its
+   * integer part, which is everything before the first {@code .}.
+   *
+   * <p>The grouped digits are copied once, right-to-left, into a new buffer; a number with at most
+   * three integer digits is returned as-is.
+   *
+   * @param seq the unsigned digits, optionally followed by a fraction.
+   * @param separator the grouping separator.
+   * @return the grouped sequence, or {@code seq} if it needs no separator.
+   */
+  static Seq groupDigits(Seq seq, char separator) {
+    return groupDigits(seq, separator, '.');
+  }
+
+  /**
+   * Returns the given number with {@code separator} between every group of three digits of its
+   * integer part, and {@code decimalSeparator} in place of its first {@code .}.
+   *
+   * @param seq the unsigned digits, optionally followed by a fraction.
+   * @param separator the grouping separator.
+   * @param decimalSeparator the character that replaces the decimal point.
+   * @return the localized sequence, or {@code seq} if nothing changes.
+   * @see #groupDigits(Seq, char)
+   */
+  static Seq groupDigits(Seq seq, char separator, char decimalSeparator) {
+    Preconditions.checkNotNull(seq, "seq");
+    return DigitGrouping.group(seq, separator, decimalSeparator);
+  }
+
+  /**
+   * Returns the given number with {@code decimalSeparator} in place of its first {@code .}. The
+   * result is made of slices of {@code seq}, so its characters are not copied.
+   *
+   * @param seq the formatted number.
+   * @param decimalSeparator the character that replaces the decimal point.
+   * @return the localized sequence, or {@code seq} if it has no {@code .} or the separator is one.
+   */
+  static Seq replaceDecimalPoint(Seq seq, char decimalSeparator) {
+    Preconditions.checkNotNull(seq, "seq");
+    return DigitGrouping.replaceDecimalPoint(seq, decimalSeparator);
+  }
+
+  /**
+   * Returns the remaining bytes of the given buffer as hexadecimal digits, two per byte.
+   *
+   * <p>The digits are written straight into the destination when the sequence is appended, so no
+   * intermediate {@code String} is created; the buffer's position is never changed, and its bytes
+   * must not change until then.
+   *
+   * @param bytes the bytes from the buffer's position to its limit.
+   * @param maxBytes the maximum number of bytes to encode.
+   * @param grouped whether to separate bytes with a space, and groups of eight with two.
+   * @param upperCase whether to use the digits {@code A-F} rather than {@code a-f}.
+   * @return the hexadecimal sequence.
+   */
+  static Seq hex(ByteBuffer bytes, int maxBytes, boolean grouped, boolean upperCase) {
+    Preconditions.checkNotNull(bytes, "bytes");
+    Preconditions.checkArgument(maxBytes >= 0, "maxBytes < 0");
+    return HexBytes.encode(bytes, maxBytes, grouped, upperCase);
+  }
+
+  /**
+   * Returns the number of Unicode code points in the given sequence. An unpaired surrogate counts
+   * as one.
+   *
+   * @param seq the sequence to measure.
+   * @return the number of code points.
+   */
+  static int codePointCount(Seq seq) {
+    Preconditions.checkNotNull(seq, "seq");
+    return DisplayWidth.width(seq, false);
+  }
+
+  /**
+   * Returns the number of terminal columns the given sequence takes, as {@code wcswidth} would
+   * count them: two for East Asian wide characters and emoji, none for combining marks, and one
+   * for everything else.
+   *
+   * @param seq the sequence to measure.
+   * @return the number of columns.
+   */
+  static int columnCount(Seq seq) {
+    Preconditions.checkNotNull(seq, "seq");
+    return DisplayWidth.width(seq, true);
+  }
+
+  /**
+   * Returns the longest prefix of the given sequence with at most {@code max} code points.
+   *
+   * @param seq the sequence to truncate.
+   * @param max the maximum number of code points.
+   * @return the prefix, which never ends in half a surrogate pair, or {@code seq} if it is short
+   *     enough.
+   */
+  static Seq truncateCodePoints(Seq seq, int max) {
+    Preconditions.checkNotNull(seq, "seq");
+    Preconditions.checkArgument(max >= 0, "max < 0");
+    return DisplayWidth.truncate(seq, max, false);
+  }
+
+  /**
+   * Returns the longest prefix of the given sequence that takes at most {@code max} columns. The
+   * prefix never splits a wide character, and keeps the combining marks of its last character.
+   *
+   * @param seq the sequence to truncate.
+   * @param max the maximum number of columns.
+   * @return the prefix, or {@code seq} if it is narrow enough.
+   * @see #columnCount(Seq)
+   */
+  static Seq truncateColumns(Seq seq, int max) {
+    Preconditions.checkNotNull(seq, "seq");
+    Preconditions.checkArgument(max >= 0, "max < 0");
+    return DisplayWidth.truncate(seq, max, true);
+  }
+
   /**
    * Returns a singleton, empty atomic sequence.
    *
@@ -35,6 +35,18 @@ final class StrView implements AtomicSeq {
     return new StrView(str, this.start + start, end - start, upperCase);
   }
 
+  /**
+   * Returns whether every char is below U+0100. The check ORs the backing chars together without
+   * branching, which the JIT can vectorize.
+   */
+  boolean isLatin1() {
+    int bits = 0;
+    for (int i = start, end = start + length; i < end; i++) {
+      bits |= str.charAt(i);
+    }
+    return bits < 0x100;
+  }
+
   @Override
   public int length() {
     return length;
@@ -127,6 +139,14 @@ final class StrView implements AtomicSeq {
     sb.append(str, start, start + length);
   }
 
+  Seq escapeJson() {
+    if (upperCase) {
+      String s = toString();
+      return JsonEscape.escape(s, 0, length, this);
+    }
+    return JsonEscape.escape(str, start, start + length, this);
+  }
+
   @Override
   public AtomicSeq upperCase() {
     if (upperCase) {
@@ -0,0 +1,85 @@
+package io.fastprintf.traits;
+
+import java.util.function.Consumer;
+
+/**
+ * An {@link Appendable} that keeps only the first {@code maxLength} characters written to it, and
+ * stops the writer as soon as anything more is appended.
+ *
+ * <p>The writer is stopped by throwing a preallocated exception without a stack trace, which
+ * {@link #render(int, Consumer)} catches. That unwinds a writer such as {@link
+ * java.util.Formattable#formatTo} from any depth, so it pays for the characters that are kept and
+ * little more. Unlike an {@link java.io.IOException}, the exception is not swallowed by a {@link
+ * java.util.Formatter} in between.
+ */
+final class BoundedAppendable implements Appendable {
+
+  private static final Full FULL = new Full();
+
+  private final StringBuilder sb;
+  private final int maxLength;
+
+  private BoundedAppendable(int maxLength) {
+    this.sb = new StringBuilder(Math.min(maxLength, 64));
+    this.maxLength = maxLength;
+  }
+
+  /**
+   * Runs {@code writer} and returns the first {@code maxLength} characters it wrote.
+   *
+   * @param maxLength the number of characters to keep; not negative.
+   * @param writer writes the text to the given appendable.
+   * @return the first {@code maxLength} characters written, or all of them if fewer.
+   */
+  static String render(int maxLength, Consumer<? super BoundedAppendable> writer) {
+    BoundedAppendable out = new BoundedAppendable(maxLength);
+    try {
+      writer.accept(out);
+    } catch (Full e) {
+      if (out.sb.length() < out.maxLength) {
+        // Thrown by another instance that the writer failed to contain.
+        throw e;
+      }
+    }
+    return out.sb.toString();
+  }
+
+  @Override
+  public BoundedAppendable append(CharSequence csq) {
+    CharSequence s = csq == null ? "null" : csq;
+    return append(s, 0, s.length());
+  }
+
+  @Override
+  public BoundedAppendable append(CharSequence csq, int start, int end) {
+    if (csq == null) {
+      return append("null", start, end);
+    }
+    int room = maxLength - sb.length();
+    if (end - start <= room) {
+      sb.append(csq, start, end);
+      return this;
+    }
+    sb.append(csq, start, start + room);
+    throw FULL;
+  }
+
+  @Override
+  public BoundedAppendable append(char c) {
+    if (sb.length() >= maxLength) {
+      throw FULL;
+    }
+    sb.append(c);
+    return this;
+  }
+
+  /** Signals that the prefix is complete; carries no stack trace. */
+  private static final class Full extends RuntimeException {
+
+    private static final long serialVersionUID = -2301855718262637904L;
+
+    Full() {
+      super(null, null, false, false);
+    }
+  }
+}
@@ -0,0 +1,72 @@
+package io.fastprintf.traits;
+
+import io.fastprintf.PrintfException;
+import io.fastprintf.number.FloatForm;
+import io.fastprintf.number.IntForm;
+import io.fastprintf.seq.Seq;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * Traits for {@code byte[]} and {@link ByteBuffer} arguments, which {@code %x} and {@code %X}
+ * write as hexadecimal digits, two per byte. A buffer is read from its position to its limit, and
+ * its position is left unchanged.
+ *
+ * <p>With {@code %s}, a {@code byte[]} is still written in Base64 and a {@code ByteBuffer} with its
+ * {@code toString()}.
+ */
+public final class ByteArrayTraits implements FormatTraits {
+
+  private final Object value;
+  private final ByteBuffer bytes;
+
+  public ByteArrayTraits(byte[] value) {
+    this.value = value;
+    this.bytes = ByteBuffer.wrap(value);
+  }
+
+  public ByteArrayTraits(ByteBuffer value) {
+    this.value = value;
+    this.bytes = value;
+  }
+
+  /**
+   * Returns the bytes as hexadecimal digits, encoded straight into the output when appended.
+   *
+   * @param maxBytes the maximum number of bytes to encode.
+   * @param grouped whether to separate bytes with a space, and groups of eight with two.
+   * @param upperCase whether to use the digits {@code A-F}.
+   * @return the hexadecimal sequence.
+   */
+  public Seq asHexSeq(int maxBytes, boolean grouped, boolean upperCase) {
+    return Seq.hex(bytes, maxBytes, grouped, upperCase);
+  }
+
+  @Override
+  public String asString() {
+    if (value instanceof byte[]) {
+      return Base64.getEncoder().encodeToString((byte[]) value);
+    }
+    return value.toString();
+  }
+
+  @Override
+  public IntForm asIntForm() {
+    throw new PrintfException("%s is not a number", value);
+  }
+
+  @Override
+  public FloatForm asFloatForm() {
+    throw new PrintfException("%s is not a number", value);
+  }
+
+  @Override
+  public int asInt() {
+    throw new PrintfException("%s cannot be converted to int", value);
+  }
+
+  @Override
+  public RefSlot ref() {
+    return RefSlot.of(value);
+  }
+}
@@ -74,4 +74,13 @@ public final class CharSequenceTraits implements FormatTraits, Consumer<StringBu
       return Seq.lazy(this, value.length());
     }
   }
+
+  /** Copies only the first {@code maxLength} characters of a mutable or custom sequence. */
+  @Override
+  public Seq asSeq(int maxLength) {
+    if (value instanceof String || value instanceof Seq || value.length() <= maxLength) {
+      return asSeq();
+    }
+    return Seq.lazy(sb -> sb.append(value, 0, maxLength), maxLength);
+  }
 }
@@ -0,0 +1,190 @@
+package io.fastprintf.traits;
+
+import io.fastprintf.PrintfException;
+import io.fastprintf.number.FloatForm;
+import io.fastprintf.number.IntForm;
+import io.fastprintf.seq.Seq;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Traits for {@link Collection}, {@link Map} and {@link Stream} arguments, which {@code %s} writes
+ * element by element, exactly as {@link AbstractCollection#toString()} and {@link
+ * AbstractMap#toString()} do.
+ *
+ * <p>With a precision, the elements are written only until the output holds as many characters as
+ * the precision can keep, and the rest are never iterated or converted, so {@code %.200s} of a
+ * collection of a million elements renders a handful of them. Nested collections and maps are
+ * written the same way, within the same budget.
+ *
+ * <p>Only collections and maps that inherit {@code toString()} from {@link AbstractCollection} or
+ * {@link AbstractMap} get these traits; others keep their own {@code toString()}.
+ *
+ * <p>A stream can be iterated only once, but an argument's text may be asked for more than once,
+ * for example by {@link io.fastprintf.ArgsCodec}. The traits therefore read a stream only as far
+ * as the longest text asked for so far and keep the elements read, so every call sees the same
+ * elements. Those elements stay reachable for as long as the traits are, and an infinite stream
+ * can only be written with a precision. Like the stream itself, the traits must not be used from
+ * several threads at once.
+ */
+public final class CollectionTraits implements FormatTraits {
+
+  private static final ClassValue<Boolean> INHERITS_TO_STRING =
+      new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+          try {
+            Class<?> owner = type.getMethod("toString").getDeclaringClass();
+            return owner == AbstractCollection.class || owner == AbstractMap.class;
+          } catch (NoSuchMethodException e) {
+            return false;
+          }
+        }
+      };
+
+  private final Object value;
+  private Iterator<?> unread;
+  private List<Object> read;
+
+  public CollectionTraits(Collection<?> value) {
+    this.value = value;
+  }
+
+  public CollectionTraits(Map<?, ?> value) {
+    this.value = value;
+  }
+
+  public CollectionTraits(Stream<?> value) {
+    this.value = value;
+  }
+
+  /**
+   * Returns whether {@code value} is a collection or map whose {@code toString()} is inherited
+   * from {@link AbstractCollection} or {@link AbstractMap}, so writing its elements one by one
+   * gives the same text.
+   */
+  public static boolean inheritsToString(Object value) {
+    return (value instanceof Collection || value instanceof Map)
+        && INHERITS_TO_STRING.get(value.getClass());
+  }
+
+  @Override
+  public String asString() {
+    return render(Integer.MAX_VALUE);
+  }
+
+  /** Writes elements only until {@code maxLength} characters are written. */
+  @Override
+  public Seq asSeq(int maxLength) {
+    return Seq.wrap(render(maxLength));
+  }
+
+  private String render(int maxLength) {
+    return BoundedAppendable.render(
+        maxLength,
+        out -> {
+          if (value instanceof Stream) {
+            appendElements(out, streamElements(), value);
+          } else {
+            appendValue(out, value, null);
+          }
+        });
+  }
+
+  /** Returns the stream's elements, replaying those read by earlier calls before reading more. */
+  private Iterator<Object> streamElements() {
+    if (read == null) {
+      unread = ((Stream<?>) value).iterator();
+      read = new ArrayList<>();
+    }
+    return new Iterator<Object>() {
+      private int index;
+
+      @Override
+      public boolean hasNext() {
+        return index < read.size() || unread.hasNext();
+      }
+
+      @Override
+      public Object next() {
+        if (index == read.size()) {
+          read.add(unread.next());
+        }
+        return read.get(index++);
+      }
+    };
+  }
+
+  private static void appendValue(BoundedAppendable out, Object value, Object container) {
+    if (value != null && value == container) {
+      out.append(container instanceof Map ? "(this Map)" : "(this Collection)");
+    } else if (inheritsToString(value)) {
+      if (value instanceof Map) {
+        appendEntries(out, (Map<?, ?>) value);
+      } else {
+        appendElements(out, ((Collection<?>) value).iterator(), value);
+      }
+    } else if (value instanceof CharSequence) {
+      out.append((CharSequence) value);
+    } else {
+      out.append(String.valueOf(value));
+    }
+  }
+
+  private static void appendElements(
+      BoundedAppendable out, Iterator<?> elements, Object container) {
+    out.append('[');
+    boolean first = true;
+    while (elements.hasNext()) {
+      if (!first) {
+        out.append(", ");
+      }
+      first = false;
+      appendValue(out, elements.next(), container);
+    }
+    out.append(']');
+  }
+
+  private static void appendEntries(BoundedAppendable out, Map<?, ?> map) {
+    out.append('{');
+    Iterator<? extends Map.Entry<?, ?>> entries = map.entrySet().iterator();
+    boolean first = true;
+    while (entries.hasNext()) {
+      if (!first) {
+        out.append(", ");
+      }
+      first = false;
+      Map.Entry<?, ?> entry = entries.next();
+      appendValue(out, entry.getKey(), map);
+      out.append('=');
+      appendValue(out, entry.getValue(), map);
+    }
+    out.append('}');
+  }
+
+  @Override
+  public IntForm asIntForm() {
+    throw new PrintfException("%s is not a number", value.getClass().getName());
+  }
+
+  @Override
+  public FloatForm asFloatForm() {
+    throw new PrintfException("%s is not a number", value.getClass().getName());
+  }
+
+  @Override
+  public int asInt() {
+    throw new PrintfException("%s cannot be converted to int", value.getClass().getName());
+  }
+
+  @Override
+  public RefSlot ref() {
+    return RefSlot.of(value);
+  }
+}
@@ -166,4 +166,21 @@ public interface FormatTraits {
   default Seq asSeq() {
     return Seq.wrap(asString());
   }
+
+  /**
+   * Provides a {@link io.fastprintf.seq.Seq} representation of the argument, of which only the
+   * first {@code maxLength} characters will be used.
+   *
+   * <p>Formatters call this when a precision cuts the argument short. The result must start with
+   * the first {@code maxLength} characters of {@link #asSeq()}, or be all of it if shorter, and may
+   * be longer. Implementations whose text is expensive to produce, such as a large collection, can
+   * override this to stop once {@code maxLength} characters are written. The default
+   * implementation returns {@link #asSeq()}.
+   *
+   * @param maxLength the number of leading characters that will be used; not negative.
+   * @return a {@code Seq} starting with at least {@code maxLength} characters of the argument.
+   */
+  default Seq asSeq(int maxLength) {
+    return asSeq();
+  }
 }
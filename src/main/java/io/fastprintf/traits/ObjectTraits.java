@@ -3,6 +3,7 @@ package io.fastprintf.traits;
 import io.fastprintf.PrintfException;
 import io.fastprintf.number.FloatForm;
 import io.fastprintf.number.IntForm;
+import io.fastprintf.seq.Seq;
 import io.fastprintf.util.Utils;
 import java.lang.reflect.Array;
 import java.time.temporal.TemporalAccessor;
@@ -10,6 +11,9 @@ import java.util.Arrays;
 import java.util.Base64;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.Formattable;
+import java.util.Formatter;
+import java.util.Locale;
 
 public final class ObjectTraits implements FormatTraits {
 
@@ -59,9 +63,34 @@ public final class ObjectTraits implements FormatTraits {
     if (type.isArray()) {
       return arrayToString(value, type.getComponentType());
     }
+    if (value instanceof Formattable) {
+      return formatTo(Integer.MAX_VALUE);
+    }
     return value.toString();
   }
 
+  /**
+   * Stops a {@link Formattable} argument as soon as it has written {@code maxLength} characters.
+   * Other objects are converted whole, as {@code toString()} cannot be interrupted.
+   */
+  @Override
+  public Seq asSeq(int maxLength) {
+    if (value instanceof Formattable) {
+      return Seq.wrap(formatTo(maxLength));
+    }
+    return asSeq();
+  }
+
+  /**
+   * Writes a {@link Formattable} argument through a {@link Formatter} in the root locale, without
+   * flags, width or precision, which the caller applies to the result instead.
+   */
+  private String formatTo(int maxLength) {
+    Formattable formattable = (Formattable) value;
+    return BoundedAppendable.render(
+        maxLength, out -> formattable.formatTo(new Formatter(out, Locale.ROOT), 0, -1, -1));
+  }
+
   @Override
   public IntForm asIntForm() {
     if (value instanceof Number) {
@@ -0,0 +1,240 @@
+package io.fastprintf.traits;
+
+import io.fastprintf.PrintfException;
+import io.fastprintf.number.ElementForm;
+import io.fastprintf.number.FloatForm;
+import io.fastprintf.number.IntForm;
+import java.util.Arrays;
+
+/**
+ * Traits for {@code short[]}, {@code int[]}, {@code long[]}, {@code float[]} and {@code double[]}
+ * arguments, which the numeric conversions format element by element, each element as if it were
+ * passed on its own.
+ *
+ * <p>Elements are read from the array when the field is formatted, through one {@link Cursor} per
+ * field that loads each element into the same reusable {@link ElementForm}, so no traits or form
+ * object is created per element. With {@code %s}, the array is still written as {@link
+ * Arrays#toString(int[])} writes it.
+ */
+public final class PrimitiveArrayTraits implements FormatTraits {
+
+  private final Object value;
+  private final int length;
+
+  public PrimitiveArrayTraits(short[] value) {
+    this(value, value.length);
+  }
+
+  public PrimitiveArrayTraits(int[] value) {
+    this(value, value.length);
+  }
+
+  public PrimitiveArrayTraits(long[] value) {
+    this(value, value.length);
+  }
+
+  public PrimitiveArrayTraits(float[] value) {
+    this(value, value.length);
+  }
+
+  public PrimitiveArrayTraits(double[] value) {
+    this(value, value.length);
+  }
+
+  private PrimitiveArrayTraits(Object value, int length) {
+    this.value = value;
+    this.length = length;
+  }
+
+  /** Returns the number of elements in the array. */
+  public int length() {
+    return length;
+  }
+
+  /**
+   * Returns a new cursor over the elements of the array, positioned at the first one.
+   *
+   * @return a cursor for formatting one field.
+   */
+  public Cursor cursor() {
+    return new Cursor();
+  }
+
+  @Override
+  public String asString() {
+    if (value instanceof int[]) {
+      return Arrays.toString((int[]) value);
+    }
+    if (value instanceof long[]) {
+      return Arrays.toString((long[]) value);
+    }
+    if (value instanceof double[]) {
+      return Arrays.toString((double[]) value);
+    }
+    if (value instanceof float[]) {
+      return Arrays.toString((float[]) value);
+    }
+    return Arrays.toString((short[]) value);
+  }
+
+  @Override
+  public IntForm asIntForm() {
+    throw new PrintfException("%s is not a number", value.getClass().getName());
+  }
+
+  @Override
+  public FloatForm asFloatForm() {
+    throw new PrintfException("%s is not a number", value.getClass().getName());
+  }
+
+  @Override
+  public int asInt() {
+    throw new PrintfException("%s cannot be converted to int", value.getClass().getName());
+  }
+
+  @Override
+  public RefSlot ref() {
+    return RefSlot.of(value);
+  }
+
+  /**
+   * The traits of one element at a time, converting it exactly as the traits of its primitive type
+   * would. The forms returned by {@link #asIntForm()} and {@link #asFloatForm()} are the cursor's
+   * single {@link ElementForm}, so each must be consumed before the cursor moves or converts again.
+   */
+  public final class Cursor implements FormatTraits {
+
+    private final ElementForm form = new ElementForm();
+    private int index;
+
+    private Cursor() {}
+
+    /**
+     * Moves the cursor to the element at {@code index}.
+     *
+     * @param index the index of the element.
+     * @return this cursor.
+     */
+    public Cursor moveTo(int index) {
+      if (index < 0 || index >= length) {
+        throw new ArrayIndexOutOfBoundsException(index);
+      }
+      this.index = index;
+      return this;
+    }
+
+    /**
+     * Appends the element as {@code %d} writes it without flags, width or precision, straight
+     * from the primitive.
+     *
+     * @param sb the builder to append to.
+     */
+    public void appendDecimal(StringBuilder sb) {
+      if (value instanceof int[]) {
+        sb.append(((int[]) value)[index]);
+      } else if (value instanceof long[]) {
+        sb.append(((long[]) value)[index]);
+      } else if (value instanceof double[]) {
+        sb.append((long) ((double[]) value)[index]);
+      } else if (value instanceof float[]) {
+        sb.append((int) ((float[]) value)[index]);
+      } else {
+        sb.append(((short[]) value)[index]);
+      }
+    }
+
+    @Override
+    public IntForm asIntForm() {
+      if (value instanceof int[]) {
+        return form.load(((int[]) value)[index]);
+      }
+      if (value instanceof long[]) {
+        return form.load(((long[]) value)[index]);
+      }
+      if (value instanceof double[]) {
+        return form.load((long) ((double[]) value)[index]);
+      }
+      if (value instanceof float[]) {
+        return form.load((int) ((float[]) value)[index]);
+      }
+      return form.load(((short[]) value)[index]);
+    }
+
+    @Override
+    public FloatForm asFloatForm() {
+      return form.load(doubleValue());
+    }
+
+    private double doubleValue() {
+      if (value instanceof int[]) {
+        return ((int[]) value)[index];
+      }
+      if (value instanceof long[]) {
+        return ((long[]) value)[index];
+      }
+      if (value instanceof double[]) {
+        return ((double[]) value)[index];
+      }
+      if (value instanceof float[]) {
+        return ((float[]) value)[index];
+      }
+      return ((short[]) value)[index];
+    }
+
+    @Override
+    public String asString() {
+      if (value instanceof int[]) {
+        return Integer.toString(((int[]) value)[index]);
+      }
+      if (value instanceof long[]) {
+        return Long.toString(((long[]) value)[index]);
+      }
+      if (value instanceof double[]) {
+        return Double.toString(((double[]) value)[index]);
+      }
+      if (value instanceof float[]) {
+        return Float.toString(((float[]) value)[index]);
+      }
+      return Short.toString(((short[]) value)[index]);
+    }
+
+    @Override
+    public int asInt() {
+      if (value instanceof int[]) {
+        return ((int[]) value)[index];
+      }
+      if (value instanceof long[]) {
+        return (int) ((long[]) value)[index];
+      }
+      if (value instanceof double[]) {
+        return (int) Math.round(((double[]) value)[index]);
+      }
+      if (value instanceof float[]) {
+        return Math.round(((float[]) value)[index]);
+      }
+      return ((short[]) value)[index];
+    }
+
+    @Override
+    public RefSlot ref() {
+      return RefSlot.ofPrimitive();
+    }
+
+    @Override
+    public Object asObject() {
+      if (value instanceof int[]) {
+        return ((int[]) value)[index];
+      }
+      if (value instanceof long[]) {
+        return ((long[]) value)[index];
+      }
+      if (value instanceof double[]) {
+        return ((double[]) value)[index];
+      }
+      if (value instanceof float[]) {
+        return ((float[]) value)[index];
+      }
+      return ((short[]) value)[index];
+    }
+  }
+}
@@ -0,0 +1,307 @@
+package io.fastprintf.util.internal;
+
+import static io.fastprintf.util.internal.MathUtils.flog2pow10;
+import static io.fastprintf.util.internal.MathUtils.g0;
+import static io.fastprintf.util.internal.MathUtils.g1;
+import static io.fastprintf.util.internal.MultiplyHigh.multiplyHigh;
+
+import io.fastprintf.util.Preconditions;
+import java.math.BigDecimal;
+
+/**
+ * Converts decimal text to the nearest {@code double}, reading straight from a {@link
+ * CharSequence} range.
+ *
+ * <p>The decimal is reduced to a 64-bit significand <i>w</i> and a power of ten <i>q</i>, then
+ * converted by the first of these steps that can decide the rounding:
+ *
+ * <ol>
+ *   <li>Clinger's fast path: if <i>w</i> &lt; 2<sup>53</sup> and |<i>q</i>| &le; 22, both
+ *       <i>w</i> and 10<sup>|<i>q</i>|</sup> are exact doubles, and one multiplication or division
+ *       is correctly rounded.
+ *   <li>An Eisel-Lemire style step: <i>w</i> is multiplied by the 126-bit approximation of
+ *       10<sup><i>q</i></sup> that Schubfach already uses ({@link MathUtils#g1(int)}, {@link
+ *       MathUtils#g0(int)}). The approximation error is below two units in the last place of the
+ *       128 kept bits, so rounding is decided unless the discarded bits are within that distance of
+ *       a rounding boundary, which includes exact ties. Results that are exact, an integer below
+ *       2<sup>64</sup> or <i>w</i> / 5<sup>-<i>q</i></sup> scaled by 2<sup><i>q</i></sup>, are
+ *       converted with a single rounding instead.
+ *   <li>{@link BigDecimal#doubleValue()} for the rare remaining cases: near-ties, subnormal
+ *       results, and powers of ten outside the table.
+ * </ol>
+ *
+ * <p>Significands longer than 19 digits are truncated; the result is accepted only if the truncated
+ * significand and its successor round to the same {@code double}.
+ */
+public final class DecimalToDouble {
+
+  /* Exact powers of ten: every one of them is representable in a double. */
+  private static final double[] SMALL_POWERS_OF_TEN = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+    1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+
+  private static final long[] SMALL_POWERS_OF_LONG = {
+    1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L,
+    1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L, 10_000_000_000_000L,
+    100_000_000_000_000L, 1_000_000_000_000_000L, 10_000_000_000_000_000L,
+    100_000_000_000_000_000L, 1_000_000_000_000_000_000L
+  };
+
+  /* 5^0 to 5^27, the powers of five that fit in a long. */
+  private static final long[] POWERS_OF_FIVE = new long[28];
+
+  static {
+    POWERS_OF_FIVE[0] = 1;
+    for (int i = 1; i < POWERS_OF_FIVE.length; i++) {
+      POWERS_OF_FIVE[i] = POWERS_OF_FIVE[i - 1] * 5;
+    }
+  }
+
+  /* At most this many digits fit in an unsigned 64-bit significand. */
+  private static final int MAX_SIGNIFICANT_DIGITS = 19;
+
+  /*
+   * The explicit exponent is clamped here while it is read. The digits of an int-indexed range
+   * shift the decimal point by less than 2^31, so they cannot bring a larger exponent into range.
+   */
+  private static final long MAX_EXPLICIT_EXPONENT = 1L << 40;
+
+  /*
+   * The final exponent is clamped here; anything larger overflows or underflows regardless.
+   */
+  private static final int MAX_EXPONENT_MAGNITUDE = 100_000;
+
+  private static final long SIGNIFICAND_MASK = (1L << 52) - 1;
+
+  private DecimalToDouble() {
+    throw new IllegalStateException();
+  }
+
+  /**
+   * Parses {@code cs[start, end)} as a {@code double}, with the same result as {@link
+   * Double#parseDouble(String)} on that text.
+   *
+   * <p>Accepted are an optional sign followed by decimal digits with an optional decimal point and
+   * an optional exponent ({@code e} or {@code E}, optional sign, digits), {@code NaN}, {@code
+   * Infinity}, or a hexadecimal floating-point literal. Unlike {@code Double.parseDouble}, leading
+   * and trailing whitespace and the {@code d}/{@code f} suffixes are not accepted.
+   *
+   * @param cs the characters to read.
+   * @param start the start of the number, inclusive.
+   * @param end the end of the number, exclusive.
+   * @return the nearest {@code double}.
+   * @throws NumberFormatException if the range is not a number.
+   * @throws IndexOutOfBoundsException if the range is out of bounds.
+   */
+  public static double parseDouble(CharSequence cs, int start, int end) {
+    Preconditions.checkNotNull(cs, "cs");
+    Preconditions.checkPositionIndexes(start, end, cs.length());
+    int pos = start;
+    boolean negative = false;
+    if (pos < end && (cs.charAt(pos) == '-' || cs.charAt(pos) == '+')) {
+      negative = cs.charAt(pos) == '-';
+      pos++;
+    }
+    if (pos == end) {
+      throw invalid(cs, start, end);
+    }
+    char first = cs.charAt(pos);
+    if (first == 'N' || first == 'I') {
+      if (matches(cs, pos, end, "NaN")) {
+        return Double.NaN;
+      }
+      if (matches(cs, pos, end, "Infinity")) {
+        return negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+      }
+      throw invalid(cs, start, end);
+    }
+    if (first == '0' && pos + 1 < end && (cs.charAt(pos + 1) | 0x20) == 'x') {
+      return Double.parseDouble(cs.subSequence(start, end).toString());
+    }
+
+    long significand = 0;
+    int significantDigits = 0;
+    int exponent = 0;
+    boolean truncated = false;
+    boolean anyDigit = false;
+    boolean fraction = false;
+    for (; pos < end; pos++) {
+      char c = cs.charAt(pos);
+      if (c == '.' && !fraction) {
+        fraction = true;
+        continue;
+      }
+      if (c < '0' || c > '9') {
+        break;
+      }
+      anyDigit = true;
+      int d = c - '0';
+      if (significantDigits == 0 && d == 0) {
+        // A leading zero only shifts the decimal point.
+        exponent -= fraction ? 1 : 0;
+      } else if (significantDigits < MAX_SIGNIFICANT_DIGITS) {
+        significand = significand * 10 + d;
+        significantDigits++;
+        exponent -= fraction ? 1 : 0;
+      } else {
+        truncated |= d != 0;
+        exponent += fraction ? 0 : 1;
+      }
+    }
+    if (!anyDigit) {
+      throw invalid(cs, start, end);
+    }
+    if (pos < end) {
+      if ((cs.charAt(pos) | 0x20) != 'e') {
+        throw invalid(cs, start, end);
+      }
+      pos++;
+      boolean negativeExponent = false;
+      if (pos < end && (cs.charAt(pos) == '-' || cs.charAt(pos) == '+')) {
+        negativeExponent = cs.charAt(pos) == '-';
+        pos++;
+      }
+      if (pos == end) {
+        throw invalid(cs, start, end);
+      }
+      long explicit = 0;
+      for (; pos < end; pos++) {
+        char c = cs.charAt(pos);
+        if (c < '0' || c > '9') {
+          throw invalid(cs, start, end);
+        }
+        explicit = Math.min(explicit * 10 + (c - '0'), MAX_EXPLICIT_EXPONENT);
+      }
+      // Clamp only after adding the shift from the digits, which can be as large as the exponent.
+      long total = exponent + (negativeExponent ? -explicit : explicit);
+      exponent = (int) Math.max(-MAX_EXPONENT_MAGNITUDE, Math.min(total, MAX_EXPONENT_MAGNITUDE));
+    }
+
+    double magnitude;
+    if (significantDigits == 0) {
+      magnitude = 0;
+    } else if (exponent + significantDigits - 1 > DoubleToDecimal.E_MAX - 1) {
+      // At least 10^E_MAX, which is above Double.MAX_VALUE.
+      magnitude = Double.POSITIVE_INFINITY;
+    } else if (exponent + significantDigits < DoubleToDecimal.E_MIN - 1) {
+      // Below 10^(E_MIN - 2), which is less than half of Double.MIN_VALUE.
+      magnitude = 0;
+    } else {
+      magnitude = toDouble(significand, exponent, truncated);
+      if (Double.isNaN(magnitude)) {
+        magnitude = Math.abs(new BigDecimal(cs.subSequence(start, end).toString()).doubleValue());
+      }
+    }
+    return negative ? -magnitude : magnitude;
+  }
+
+  /**
+   * Returns the nearest double to {@code w * 10^q} for the unsigned {@code w}, or NaN if the fast
+   * steps cannot decide the rounding. If {@code truncated}, the exact significand lies strictly
+   * between {@code w} and {@code w + 1}.
+   */
+  static double toDouble(long w, int q, boolean truncated) {
+    if (!truncated && w >= 0 && w < 1L << 53 && q >= -22 && q <= 22) {
+      return q >= 0 ? w * SMALL_POWERS_OF_TEN[q] : w / SMALL_POWERS_OF_TEN[-q];
+    }
+    if (!truncated && q >= 0 && q < SMALL_POWERS_OF_LONG.length) {
+      // An integer that fits in 64 bits converts with a single rounding.
+      long power = SMALL_POWERS_OF_LONG[q];
+      if (Long.compareUnsigned(w, Long.divideUnsigned(-1L, power)) <= 0) {
+        return unsignedToDouble(w * power);
+      }
+    }
+    double value = eiselLemire(w, q);
+    if (truncated && value != eiselLemire(w + 1, q)) {
+      return Double.NaN;
+    }
+    if (Double.isNaN(value) && !truncated && q < 0 && -q < POWERS_OF_FIVE.length) {
+      // Declined results are often exact binary fractions: w * 10^q = (w / 5^-q) * 2^q.
+      long power = POWERS_OF_FIVE[-q];
+      if (Long.remainderUnsigned(w, power) == 0) {
+        return Math.scalb(unsignedToDouble(Long.divideUnsigned(w, power)), q);
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Returns the nearest double to {@code w * 10^q} for a non-zero unsigned {@code w}, or NaN if it
+   * is subnormal, too close to a rounding boundary, or {@code q} is outside the table.
+   */
+  static double eiselLemire(long w, int q) {
+    if (-q < MathUtils.K_MIN || -q > MathUtils.K_MAX) {
+      return Double.NaN;
+    }
+    // 10^q = beta * 2^r with 2^125 <= beta < 2^126, and g1 * 2^63 + g0 = floor(beta) + 1.
+    int r = flog2pow10(q) - 125;
+    int lz = Long.numberOfLeadingZeros(w);
+    long x = w << lz;
+    long g1 = g1(-q);
+    long g0 = g0(-q);
+
+    // top = floor(x * (g1 * 2^63 + g0) / 2^63) as a 128-bit value. x has its top bit set, so the
+    // unsigned high words gain g1 and g0 over the signed ones.
+    long hiA = multiplyHigh(x, g1) + g1;
+    long loA = x * g1;
+    long hiB = multiplyHigh(x, g0) + g0;
+    long loB = x * g0;
+    long loT = loA + (hiB << 1 | loB >>> 63);
+    long hiT = hiA + (Long.compareUnsigned(loT, loA) < 0 ? 1 : 0);
+
+    // x * beta lies in (top - 2, top + 1) units. Keep 54 bits: 53 for the significand and one for
+    // rounding. top >= 2^125, so at least 72 bits remain below them.
+    int msb = 127 - Long.numberOfLeadingZeros(hiT);
+    int shift = msb - 53;
+    int highShift = shift - 64;
+    long kept = hiT >>> highShift;
+    long restMask = (1L << highShift) - 1;
+    long restHigh = hiT & restMask;
+    if (restHigh == 0 && Long.compareUnsigned(loT, 2) < 0) {
+      return Double.NaN;
+    }
+    if (restHigh == restMask && loT == -1L) {
+      return Double.NaN;
+    }
+    long mantissa = (kept >>> 1) + (kept & 1);
+    int e2 = shift + 1 + 63 + r - lz;
+    if (mantissa == 1L << 53) {
+      mantissa >>>= 1;
+      e2++;
+    }
+    int biased = e2 + 52 + Double.MAX_EXPONENT;
+    if (biased >= 2 * Double.MAX_EXPONENT + 1) {
+      return Double.POSITIVE_INFINITY;
+    }
+    if (biased <= 0) {
+      return Double.NaN;
+    }
+    return Double.longBitsToDouble((long) biased << 52 | (mantissa & SIGNIFICAND_MASK));
+  }
+
+  private static double unsignedToDouble(long value) {
+    if (value >= 0) {
+      return value;
+    }
+    // Halve with a sticky bit, so the conversion still rounds as the full value would.
+    return (double) (value >>> 1 | (value & 1)) * 2;
+  }
+
+  private static boolean matches(CharSequence cs, int pos, int end, String expected) {
+    if (end - pos != expected.length()) {
+      return false;
+    }
+    for (int i = 0; i < expected.length(); i++) {
+      if (cs.charAt(pos + i) != expected.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static NumberFormatException invalid(CharSequence cs, int start, int end) {
+    return new NumberFormatException(
+        "For input string: \"" + cs.subSequence(start, end) + "\"");
+  }
+}
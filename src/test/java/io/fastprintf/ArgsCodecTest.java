@@ -0,0 +1,241 @@
+package io.fastprintf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import io.fastprintf.util.TestHelper;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Year;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.junit.Test;
+
+public class ArgsCodecTest {
+
+  private static Args roundTrip(Args args, ByteBuffer buffer) {
+    int length = ArgsCodec.encodedLength(args);
+    int start = buffer.position();
+    ArgsCodec.encode(args, buffer);
+    assertEquals(length, buffer.position() - start);
+    buffer.flip();
+    buffer.position(start);
+    Args decoded = ArgsCodec.decode(buffer);
+    assertEquals(0, buffer.remaining());
+    return decoded;
+  }
+
+  private static Args roundTrip(Args args) {
+    return roundTrip(args, ByteBuffer.allocate(ArgsCodec.encodedLength(args)));
+  }
+
+  @Test
+  public void roundTrip_withPrimitives_shouldPreserveValues() {
+    Args args =
+        Args.create()
+            .putBoolean(true)
+            .putChar('中')
+            .putByte((byte) -7)
+            .putShort((short) 1234)
+            .putInt(Integer.MIN_VALUE)
+            .putLong(Long.MAX_VALUE)
+            .putFloat(Float.NaN)
+            .putDouble(-0.0)
+            .putNull();
+    Args decoded = roundTrip(args);
+    assertEquals(args.values(), decoded.values());
+  }
+
+  @Test
+  public void roundTrip_withBoxedValues_shouldPreserveValues() {
+    Args args = Args.of(1, 2L, 3.5f, 4.25, 'c', (byte) 5, (short) 6, false, null);
+    assertEquals(args.values(), roundTrip(args).values());
+  }
+
+  @Test
+  public void roundTrip_withStrings_shouldChooseCompactEncoding() {
+    Args latin1 = Args.of("café");
+    assertEquals(4 + 1 + 4 + 4, ArgsCodec.encodedLength(latin1));
+    assertEquals(Collections.singletonList("café"), roundTrip(latin1).values());
+
+    Args utf16 = Args.of("中文😀");
+    assertEquals(4 + 1 + 4 + 8, ArgsCodec.encodedLength(utf16));
+    assertEquals(Collections.singletonList("中文😀"), roundTrip(utf16).values());
+
+    Args builder = Args.create().putCharSequence(new StringBuilder("sb"));
+    assertEquals(Collections.singletonList("sb"), roundTrip(builder).values());
+  }
+
+  @Test
+  public void roundTrip_withBigNumbers_shouldPreserveValues() {
+    BigInteger big = BigInteger.ONE.shiftLeft(200).negate().add(BigInteger.TEN);
+    Args args =
+        Args.create()
+            .putBigInteger(big)
+            .putBigInteger(BigInteger.ZERO)
+            .putBigDecimal(new BigDecimal("-12345678901234567890.000123"))
+            .putBigDecimal(new BigDecimal("1E+5"));
+    assertEquals(args.values(), roundTrip(args).values());
+  }
+
+  @Test
+  public void roundTrip_withTemporals_shouldPreserveValues() {
+    LocalDateTime local = LocalDateTime.of(2024, 3, 31, 2, 30, 15, 123456789);
+    Args args =
+        Args.create()
+            .putDateTime(Instant.ofEpochSecond(-12345, 999))
+            .putDateTime(local.toLocalDate())
+            .putDateTime(local.toLocalTime())
+            .putDateTime(local)
+            .putDateTime(OffsetTime.of(local.toLocalTime(), ZoneOffset.ofHours(-3)))
+            .putDateTime(OffsetDateTime.of(local, ZoneOffset.ofHoursMinutes(5, 30)))
+            .putDateTime(ZonedDateTime.of(local, ZoneId.of("Europe/Paris")))
+            .putDateTime(ZonedDateTime.of(local, ZoneOffset.UTC));
+    assertEquals(args.values(), roundTrip(args).values());
+  }
+
+  @Test
+  public void roundTrip_withOtherObjects_shouldCaptureStringForm() {
+    Args args = Args.of(Year.of(2024), Optional.of(2), Arrays.asList("a", "b"));
+    assertEquals(Arrays.asList("2024", "Optional[2]", "[a, b]"), roundTrip(args).values());
+  }
+
+  @Test
+  public void roundTrip_withPrimitiveArrays_shouldFormatElementWise() {
+    FastPrintf fastPrintf = FastPrintf.compile("%d|%x|%d|%.1f|%.2e|%s");
+    Args args =
+        Args.of(
+            new int[] {1, 2},
+            new long[] {255L, Long.MIN_VALUE},
+            new short[] {-3},
+            new float[] {1.25f, -0.5f},
+            new double[] {Math.PI},
+            new double[0]);
+    ByteBuffer direct = ByteBuffer.allocateDirect(256).order(ByteOrder.LITTLE_ENDIAN);
+    Args decoded = roundTrip(args, direct);
+    assertEquals(
+        "[1, 2]|[ff, 8000000000000000]|[-3]|[1.3, -0.5]|[3.14e+00]|[]",
+        fastPrintf.format(decoded));
+    assertEquals(fastPrintf.format(args), fastPrintf.format(decoded));
+  }
+
+  @Test
+  public void roundTrip_withBytes_shouldKeepHexDigits() {
+    FastPrintf fastPrintf = FastPrintf.compile("%x|%X|%s");
+    byte[] array = {1, 2, (byte) 0xff};
+    ByteBuffer buffer = ByteBuffer.allocateDirect(8).put(new byte[] {9, 10, 11, 12});
+    buffer.flip().position(1);
+    Args args = Args.of(array, buffer, array);
+
+    Args decoded = roundTrip(args);
+    assertEquals("0102ff|0A0B0C|AQL/", fastPrintf.format(decoded));
+    assertEquals(fastPrintf.format(args), fastPrintf.format(decoded));
+    assertEquals(1, buffer.position());
+  }
+
+  @Test
+  public void roundTrip_shouldFormatIdentically() {
+    FastPrintf fastPrintf = FastPrintf.compile("%d|%5.2f|%-8s|%x|%c|%.3e|%tY|%S");
+    Args args =
+        Args.create()
+            .putLong(-42L)
+            .putDouble(Math.PI)
+            .putString("naïve")
+            .putBigInteger(new BigInteger("ffffffffffffffffff", 16))
+            .putChar('z')
+            .putBigDecimal(new BigDecimal("6.02214076E+23"))
+            .putDateTime(LocalDate.of(1999, 12, 31))
+            .putBoolean(false);
+    ByteBuffer direct = ByteBuffer.allocateDirect(256).order(ByteOrder.LITTLE_ENDIAN);
+    assertEquals(fastPrintf.format(args), fastPrintf.format(roundTrip(args, direct)));
+  }
+
+  @Test
+  public void encode_withSeveralArgsLists_shouldDecodeBackToBack() {
+    ByteBuffer buffer = ByteBuffer.allocate(128);
+    ArgsCodec.encode(Args.of(1, "a"), buffer);
+    ArgsCodec.encode(Args.create(), buffer);
+    ArgsCodec.encode(Args.of(2.5), buffer);
+    buffer.flip();
+    assertEquals(Arrays.asList(1, "a"), ArgsCodec.decode(buffer).values());
+    assertEquals(Collections.emptyList(), ArgsCodec.decode(buffer).values());
+    assertEquals(Collections.singletonList(2.5), ArgsCodec.decode(buffer).values());
+  }
+
+  @Test
+  public void encode_withTooSmallBuffer_shouldThrow() {
+    Args args = Args.of("a long enough string");
+    ByteBuffer buffer = ByteBuffer.allocate(ArgsCodec.encodedLength(args) - 1);
+    assertThrows(BufferOverflowException.class, () -> ArgsCodec.encode(args, buffer));
+  }
+
+  @Test
+  public void encode_withTooSmallBuffer_shouldLeaveThePositionUnchanged() {
+    ByteBuffer buffer = ByteBuffer.allocate(16).putInt(7);
+    assertThrows(BufferOverflowException.class, () -> ArgsCodec.encode(Args.of(1, 2L), buffer));
+    assertEquals(Integer.BYTES, buffer.position());
+  }
+
+  @Test
+  public void roundTrip_withStream_shouldKeepItsElements() {
+    Args args = Args.of(Stream.of(1, 2, 3));
+    assertEquals(Collections.singletonList("[1, 2, 3]"), roundTrip(args).values());
+  }
+
+  @Test
+  public void encode_withChangingToString_shouldConvertOnce() {
+    Object growing =
+        new Object() {
+          private final StringBuilder text = new StringBuilder();
+
+          @Override
+          public String toString() {
+            return text.append('x').toString();
+          }
+        };
+    Args args = Args.of(growing);
+
+    ByteBuffer encoded = ArgsCodec.encode(args);
+    assertEquals(Integer.BYTES + 1 + Integer.BYTES + 1, encoded.remaining());
+    assertEquals(Collections.singletonList("x"), ArgsCodec.decode(encoded).values());
+    assertEquals(0, encoded.remaining());
+
+    ByteBuffer buffer = ByteBuffer.allocate(ArgsCodec.encodedLength(args));
+    assertThrows(BufferOverflowException.class, () -> ArgsCodec.encode(args, buffer));
+    assertEquals(0, buffer.position());
+  }
+
+  @Test
+  public void decode_withMalformedInput_shouldThrowPrintfException() {
+    ByteBuffer truncated = ByteBuffer.allocate(5).putInt(1).put((byte) 6);
+    truncated.flip();
+    assertThrows(PrintfException.class, () -> ArgsCodec.decode(truncated));
+
+    ByteBuffer badTag = ByteBuffer.allocate(5).putInt(1).put((byte) 127);
+    badTag.flip();
+    assertThrows(PrintfException.class, () -> ArgsCodec.decode(badTag));
+
+    ByteBuffer badLength = ByteBuffer.allocate(9).putInt(1).put((byte) 9).putInt(1000);
+    badLength.flip();
+    assertThrows(PrintfException.class, () -> ArgsCodec.decode(badLength));
+  }
+
+  @Test
+  public void testPrivateConstructor() throws Exception {
+    TestHelper.testPrivateConstructor_forCodeCoverage(ArgsCodec.class);
+  }
+}
@@ -0,0 +1,119 @@
+package io.fastprintf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Random;
+import org.junit.Test;
+
+public class ArrayDelimitersTest {
+
+  @Test
+  public void of_shouldReuseDefault() {
+    assertSame(ArrayDelimiters.DEFAULT, ArrayDelimiters.of("[", ", ", "]"));
+    ArrayDelimiters delimiters = ArrayDelimiters.of("", ":", "");
+    assertEquals("", delimiters.getPrefix());
+    assertEquals(":", delimiters.getSeparator());
+    assertEquals("", delimiters.getSuffix());
+    assertThrows(NullPointerException.class, () -> ArrayDelimiters.of(null, ",", ""));
+    assertThrows(NullPointerException.class, () -> ArrayDelimiters.of("", null, ""));
+    assertThrows(NullPointerException.class, () -> ArrayDelimiters.of("", ",", null));
+  }
+
+  @Test
+  public void valueSemantics_shouldCompareStrings() throws Exception {
+    ArrayDelimiters delimiters = ArrayDelimiters.of("(", "; ", ")");
+    assertEquals(delimiters, ArrayDelimiters.of("(", "; ", ")"));
+    assertEquals(delimiters.hashCode(), ArrayDelimiters.of("(", "; ", ")").hashCode());
+    assertNotEquals(delimiters, ArrayDelimiters.of("(", ";", ")"));
+    assertEquals(
+        "ArrayDelimiters{prefix='(', separator='; ', suffix=')'}", delimiters.toString());
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(ArrayDelimiters.DEFAULT);
+    }
+    try (ObjectInputStream in =
+        new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      assertSame(ArrayDelimiters.DEFAULT, in.readObject());
+    }
+  }
+
+  @Test
+  public void format_withPrimitiveArrays_shouldFormatEachElement() {
+    assertEquals("[1, -2, 3]", FastPrintf.compile("%d").format(new int[] {1, -2, 3}));
+    assertEquals("[+1, -2]", FastPrintf.compile("%+d").format(new short[] {1, -2}));
+    assertEquals(
+        "[9223372036854775807]", FastPrintf.compile("%d").format(new long[] {Long.MAX_VALUE}));
+    assertEquals("[1.000, 2.500]", FastPrintf.compile("%.3f").format(new double[] {1, 2.5}));
+    assertEquals("[1.0, 2.3]", FastPrintf.compile("%.1f").format(new double[] {1, 2.25}));
+    assertEquals("[  1.00,   2.50]", FastPrintf.compile("%6.2f").format(new float[] {1, 2.5f}));
+    assertEquals("[1    , 22   ]", FastPrintf.compile("%-5d").format(new int[] {1, 22}));
+    assertEquals("[0xff, 0x10]", FastPrintf.compile("%#x").format(new int[] {255, 16}));
+    assertEquals("[FFFFFFFF]", FastPrintf.compile("%X").format(new int[] {-1}));
+    assertEquals("[1.500000E+00]", FastPrintf.compile("%E").format(new double[] {1.5}));
+    assertEquals("[]", FastPrintf.compile("%d").format(new int[0]));
+    assertEquals("a=[1, 2] b=3", FastPrintf.compile("a=%d b=%d").format(new int[] {1, 2}, 3));
+    assertEquals("[ 007]", FastPrintf.compile("%*.*d").format(4, 3, new int[] {7}));
+
+    // Other conversions keep their behaviour.
+    assertEquals("[1, 2]", FastPrintf.compile("%s").format(new int[] {1, 2}));
+    assertEquals("[1.5]", FastPrintf.compile("%s").format(new double[] {1.5}));
+    assertThrows(PrintfException.class, () -> FastPrintf.compile("%c").format(new int[] {65}));
+  }
+
+  @Test
+  public void withArrayDelimiters_shouldChangeBracketsAndSeparator() {
+    FastPrintf formatter = FastPrintf.compile("mac=%02x;").enableThreadLocalCache();
+    FastPrintf colons = formatter.withArrayDelimiters(ArrayDelimiters.of("", ":", ""));
+    assertEquals("mac=0a:0b:ff;", colons.format(new int[] {10, 11, 255}));
+    assertEquals("mac=[0a, 0b];", formatter.format(new int[] {10, 11}));
+    assertEquals("mac=07;", colons.format(7));
+    assertSame(formatter, formatter.withArrayDelimiters(ArrayDelimiters.DEFAULT));
+    assertSame(colons, colons.withArrayDelimiters(ArrayDelimiters.of("", ":", "")));
+
+    FastPrintf constant = FastPrintf.compile("no fields");
+    assertSame(constant, constant.withArrayDelimiters(ArrayDelimiters.of("<", "|", ">")));
+    assertThrows(NullPointerException.class, () -> formatter.withArrayDelimiters(null));
+
+    FastPrintf instrumented =
+        FastPrintf.compile("%.1f")
+            .instrument(new FormatMetrics())
+            .withArrayDelimiters(ArrayDelimiters.of("{", ",", "}"));
+    assertEquals("{0.5,1.0}", instrumented.format(new double[] {0.5, 1}));
+  }
+
+  @Test
+  public void format_withPrimitiveArrays_shouldMatchEachElementFormattedAlone() {
+    String[] patterns = {
+      "%d", "%-6d", "%+05d", "%'d", "% .3d", "%x", "%#o", "%u", "%.2f", "%10.3e", "%G", "%a"
+    };
+    Random random = new Random(48);
+    long[] longs = new long[40];
+    double[] doubles = new double[40];
+    for (int i = 0; i < longs.length; i++) {
+      longs[i] = random.nextBoolean() ? random.nextInt(2000) - 1000 : random.nextLong();
+      doubles[i] = Double.longBitsToDouble(random.nextLong());
+    }
+    longs[0] = Long.MIN_VALUE;
+    doubles[0] = -0.0;
+    for (String pattern : patterns) {
+      FastPrintf formatter = FastPrintf.compile(pattern);
+      StringBuilder expectedLongs = new StringBuilder("[");
+      StringBuilder expectedDoubles = new StringBuilder("[");
+      for (int i = 0; i < longs.length; i++) {
+        String separator = i > 0 ? ", " : "";
+        expectedLongs.append(separator).append(formatter.format(longs[i]));
+        expectedDoubles.append(separator).append(formatter.format(doubles[i]));
+      }
+      assertEquals(pattern, expectedLongs.append(']').toString(), formatter.format(longs));
+      assertEquals(pattern, expectedDoubles.append(']').toString(), formatter.format(doubles));
+    }
+  }
+}
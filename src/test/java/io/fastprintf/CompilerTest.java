@@ -7,6 +7,7 @@ import static org.junit.Assert.assertTrue;
 import io.fastprintf.appender.Appender;
 import io.fastprintf.appender.DefaultAppender;
 import io.fastprintf.appender.FixedStringAppender;
+import io.fastprintf.appender.FusedAppender;
 import java.time.format.DateTimeFormatter;
 import java.util.EnumSet;
 import java.util.List;
@@ -284,4 +285,93 @@ public class CompilerTest {
     new Compiler("%+c").compile(); // '+' flag is ignored for chars
     new Compiler("%.5c").compile(); // precision is ignored for chars
   }
+
+  private void assertFused(Appender appender, String prefix, Specifier specifier, String suffix) {
+    assertTrue(appender instanceof FusedAppender);
+    FusedAppender fused = (FusedAppender) appender;
+    assertEquals(prefix, fused.getPrefix());
+    assertEquals(specifier, fused.getField().getSpecifier());
+    assertEquals(suffix, fused.getSuffix());
+  }
+
+  @Test
+  public void getFusedAppenders_shouldFuseLiteralsIntoFields() {
+    Compiler compiler = new Compiler("id=%d, name=%s, t=%.3f\n");
+    compiler.compile();
+    assertEquals(7, compiler.getAppenders().size());
+    List<Appender> fused = compiler.getFusedAppenders();
+    assertEquals(3, fused.size());
+    assertFused(fused.get(0), "id=", Specifier.SIGNED_DECIMAL_INTEGER, "");
+    assertFused(fused.get(1), ", name=", Specifier.STRING, "");
+    assertFused(fused.get(2), ", t=", Specifier.DECIMAL_FLOATING_POINT, "\n");
+  }
+
+  @Test
+  public void getFusedAppenders_shouldMergePercentSignsIntoLiterals() {
+    Compiler compiler = new Compiler("%%%d%% of %s%%");
+    compiler.compile();
+    List<Appender> fused = compiler.getFusedAppenders();
+    assertEquals(2, fused.size());
+    assertFused(fused.get(0), "%", Specifier.SIGNED_DECIMAL_INTEGER, "");
+    assertFused(fused.get(1), "% of ", Specifier.STRING, "%");
+  }
+
+  @Test
+  public void getFusedAppenders_shouldKeepBareFieldsAndLiterals() {
+    Compiler fields = new Compiler("%d%s");
+    fields.compile();
+    List<Appender> fused = fields.getFusedAppenders();
+    assertEquals(2, fused.size());
+    assertPattern(
+        fused.get(0), Specifier.SIGNED_DECIMAL_INTEGER, EnumSet.noneOf(Flag.class), -1, -1);
+    assertPattern(fused.get(1), Specifier.STRING, EnumSet.noneOf(Flag.class), -1, -1);
+
+    Compiler literals = new Compiler("100%% sure");
+    literals.compile();
+    fused = literals.getFusedAppenders();
+    assertEquals(1, fused.size());
+    assertFixed(fused.get(0), "100% sure");
+
+    Compiler empty = new Compiler("");
+    empty.compile();
+    assertTrue(empty.getFusedAppenders().isEmpty());
+  }
+
+  @Test
+  public void compileBraces_shouldMapPlaceholdersToPlainStrings() {
+    Compiler compiler = new Compiler("user {} took {}ms, 100% done");
+    compiler.compileBraces();
+    List<Appender> appenders = compiler.getAppenders();
+    assertEquals(5, appenders.size());
+    assertFixed(appenders.get(0), "user ");
+    assertPattern(appenders.get(1), Specifier.STRING, EnumSet.noneOf(Flag.class), -1, -1);
+    assertFixed(appenders.get(2), " took ");
+    assertPattern(appenders.get(3), Specifier.STRING, EnumSet.noneOf(Flag.class), -1, -1);
+    assertFixed(appenders.get(4), "ms, 100% done");
+  }
+
+  @Test
+  public void compileBraces_shouldHandleEscapes() {
+    Compiler escaped = new Compiler("set \\{} to {}");
+    escaped.compileBraces();
+    List<Appender> fused = escaped.getFusedAppenders();
+    assertEquals(1, fused.size());
+    assertFused(fused.get(0), "set {} to ", Specifier.STRING, "");
+
+    Compiler backslash = new Compiler("C:\\\\{}{");
+    backslash.compileBraces();
+    fused = backslash.getFusedAppenders();
+    assertEquals(1, fused.size());
+    assertFused(fused.get(0), "C:\\", Specifier.STRING, "{");
+
+    Compiler literal = new Compiler("{ } \\{} %d");
+    literal.compileBraces();
+    fused = literal.getFusedAppenders();
+    assertEquals(1, fused.size());
+    assertFixed(fused.get(0), "{ } {} %d");
+
+    Compiler adjacent = new Compiler("{}{}");
+    adjacent.compileBraces();
+    assertEquals(2, adjacent.getAppenders().size());
+  }
 }
@@ -0,0 +1,82 @@
+package io.fastprintf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import org.junit.Test;
+
+public class ConstantFastPrintfTest {
+
+  @Test
+  public void compile_withLiteralsOnly_shouldFoldToConstant() {
+    FastPrintf formatter = FastPrintf.compile("100%% done%%");
+    assertTrue(formatter instanceof ConstantFastPrintf);
+    assertEquals("100% done%", ((ConstantFastPrintf) formatter).getValue());
+
+    String first = formatter.format();
+    assertSame(first, formatter.format(Args.of(1, "ignored")));
+    assertSame(first, formatter.format("extra", 2));
+  }
+
+  @Test
+  public void compile_withEmptyFormat_shouldFoldToEmptyString() {
+    FastPrintf formatter = FastPrintf.compile("");
+    assertTrue(formatter instanceof ConstantFastPrintf);
+    assertEquals("", formatter.format());
+  }
+
+  @Test
+  public void compile_withArgumentConsumingSpecifier_shouldNotFold() {
+    // %n prints nothing but still consumes an argument, so it is not constant.
+    assertTrue(FastPrintf.compile("a%nb") instanceof FastPrintfImpl);
+    assertThrows(PrintfException.class, () -> FastPrintf.compile("a%nb").format());
+    assertEquals("ab", FastPrintf.compile("a%nb").format(1));
+  }
+
+  @Test
+  public void format_toAppendable_shouldAppendValue() {
+    FastPrintf formatter = FastPrintf.compile("const");
+    StringBuilder sb = new StringBuilder(">");
+    assertSame(sb, formatter.format(sb, Args.create()));
+    assertEquals(">const", sb.toString());
+
+    StringWriter writer = new StringWriter();
+    formatter.format(writer, Args.create());
+    assertEquals("const", writer.toString());
+  }
+
+  @Test
+  public void format_toFailingAppendable_shouldThrowUncheckedIOException() {
+    Writer failing =
+        new Writer() {
+          @Override
+          public void write(char[] cbuf, int off, int len) throws IOException {
+            throw new IOException("boom");
+          }
+
+          @Override
+          public void flush() {}
+
+          @Override
+          public void close() {}
+        };
+    FastPrintf formatter = FastPrintf.compile("const");
+    assertThrows(UncheckedIOException.class, () -> formatter.format(failing, Args.create()));
+  }
+
+  @Test
+  public void configurationMethods_shouldReturnSameInstance() {
+    FastPrintf formatter = FastPrintf.compile("const");
+    assertSame(formatter, formatter.enableThreadLocalCache());
+    assertSame(formatter, formatter.setStringBuilderInitialCapacity(64));
+    assertSame(formatter, formatter.withWidthMode(WidthMode.COLUMNS));
+    assertThrows(IllegalArgumentException.class, () -> formatter.setStringBuilderInitialCapacity(0));
+    assertThrows(NullPointerException.class, () -> formatter.format((Args) null));
+  }
+}
@@ -0,0 +1,89 @@
+package io.fastprintf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class DeferredFormatTest {
+
+  private static final class CountingFastPrintf implements FastPrintf {
+
+    private final FastPrintf delegate;
+    private final AtomicInteger calls = new AtomicInteger();
+
+    CountingFastPrintf(String format) {
+      this.delegate = FastPrintf.compile(format);
+    }
+
+    @Override
+    public <T extends Appendable> T format(T builder, Args args) {
+      calls.incrementAndGet();
+      return delegate.format(builder, args);
+    }
+
+    @Override
+    public FormatDescription describe() {
+      return delegate.describe();
+    }
+
+    @Override
+    public FastPrintf enableThreadLocalCache() {
+      return this;
+    }
+
+    @Override
+    public FastPrintf setStringBuilderInitialCapacity(int capacity) {
+      return this;
+    }
+  }
+
+  @Test
+  public void defer_shouldNotFormatUntilAccessed() {
+    CountingFastPrintf fastPrintf = new CountingFastPrintf("id=%d, name=%s");
+    DeferredFormat deferred = fastPrintf.defer(Args.of(42, "foo"));
+    assertEquals(0, fastPrintf.calls.get());
+    assertFalse(deferred.isFormatted());
+
+    assertEquals(15, deferred.length());
+    assertTrue(deferred.isFormatted());
+    assertEquals("id=42, name=foo", deferred.toString());
+    assertEquals("id=42, name=foo", deferred.get());
+    assertEquals('4', deferred.charAt(3));
+    assertEquals("name", deferred.subSequence(7, 11).toString());
+    assertEquals(1, fastPrintf.calls.get());
+  }
+
+  @Test
+  public void appendTo_shouldAppendCachedResult() throws IOException {
+    FastPrintf fastPrintf = FastPrintf.compile("[%5.1f]");
+    DeferredFormat deferred = fastPrintf.defer(Args.of(3.14159));
+    StringBuilder sb = new StringBuilder("x");
+    assertSame(sb, deferred.appendTo(sb));
+    assertEquals("x[  3.1]", sb.toString());
+
+    StringWriter writer = new StringWriter();
+    deferred.appendTo(writer);
+    assertEquals("[  3.1]", writer.toString());
+  }
+
+  @Test
+  public void defer_withBadArgs_shouldThrowOnFirstAccess() {
+    FastPrintf fastPrintf = FastPrintf.compile("%d");
+    DeferredFormat deferred = fastPrintf.defer(Args.create());
+    assertThrows(PrintfException.class, deferred::toString);
+    assertFalse(deferred.isFormatted());
+  }
+
+  @Test
+  public void defer_withNullArgs_shouldThrow() {
+    FastPrintf fastPrintf = FastPrintf.compile("%s");
+    assertThrows(NullPointerException.class, () -> fastPrintf.defer(null));
+  }
+}
@@ -2,10 +2,21 @@ package io.fastprintf;
 
 import static org.junit.Assert.*;
 
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Formattable;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
 import org.junit.Test;
 
 /**
@@ -65,6 +76,85 @@ public class FastPrintfAdvancedFeaturesTest {
     assertEquals(expected, actual);
   }
 
+  @Test
+  public void testJsonStringSpecifier() {
+    // `%j` escapes the argument as JSON string content, so structured log lines can be built in a
+    // single pass. `%#j` also adds the quotes and keeps null as a JSON null.
+    FastPrintf formatter = FastPrintf.compile("{\"msg\":\"%j\",\"user\":%#j,\"tag\":%#.3j}");
+    assertEquals(
+        "{\"msg\":\"line1\\nsaid \\\"hi\\\"\",\"user\":\"C:\\\\tmp\",\"tag\":\"abc\"}",
+        formatter.format("line1\nsaid \"hi\"", "C:\\tmp", "abcdef"));
+    assertEquals(
+        "{\"msg\":\"null\",\"user\":null,\"tag\":\"42\"}", formatter.format(null, null, 42));
+    assertEquals("[  \"a\\tb\"]", FastPrintf.compile("[%#8j]").format("a\tb"));
+    assertEquals("[\\u0007   ]", FastPrintf.compile("[%-9j]").format("\u0007"));
+  }
+
+  @Test
+  public void testCsvFieldSpecifier() {
+    // `%q` quotes a field only when it needs it, so a row can be written in a single format call.
+    // `%#q` always quotes.
+    FastPrintf formatter = FastPrintf.compile("%q,%q,%#q,%.3q");
+    assertEquals(
+        "plain,\"a,b\",\"x\",\"\"\"\"\"x\"", formatter.format("plain", "a,b", "x", "\"\"xyz"));
+    assertEquals(
+        "\"say \"\"hi\"\"\",\"two\nlines\",\"\",nul",
+        formatter.format("say \"hi\"", "two\nlines", "", null));
+    assertEquals("[  \"a,b\"]", FastPrintf.compile("[%7q]").format("a,b"));
+  }
+
+  @Test
+  public void testGroupingFlag() {
+    // `'` groups the integer digits of %d, %u and %f; other conversions ignore it.
+    FastPrintf formatter = FastPrintf.compile("%'d|%'u|%'.2f|%'x|%'12d|%-'9d|%'012d|%'.6d");
+    assertEquals(
+        "-1,234,567|4,294,967,295|1,234,567.89|4d2| 123,456,789|12,345   |0001,234,567|001,234",
+        formatter.format(
+            Args.create()
+                .putInt(-1234567)
+                .putLong(4294967295L)
+                .putDouble(1234567.891)
+                .putInt(1234)
+                .putInt(123456789)
+                .putInt(12345)
+                .putInt(1234567)
+                .putInt(1234)));
+    assertEquals("1 234 567.5", FastPrintf.compile("%'.1f", ' ').format(1234567.5));
+    assertEquals("12_345", FastPrintf.compile("%'d", '_').format(12345));
+    assertEquals(
+        "123,456,789,012,345,678,901",
+        FastPrintf.compile("%'d").format(new BigInteger("123456789012345678901")));
+  }
+
+  @Test
+  public void testGroupingFlag_matchesJavaFormatter() {
+    Random random = new Random(43);
+    FastPrintf formatter = FastPrintf.compile("%'d %'20d %'.3f %'+.0f %'#.0f");
+    for (int i = 0; i < 10_000; i++) {
+      long integer = random.nextLong() >> random.nextInt(64);
+      // Below 2^53, where java.util.Formatter prints the same digits.
+      double value = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(16));
+      String expected =
+          String.format(
+              Locale.ROOT,
+              "%,d %,20d %,.3f %,+.0f %,#.0f",
+              integer,
+              integer,
+              value,
+              value,
+              value);
+      assertEquals(
+          expected,
+          formatter.format(
+              Args.create()
+                  .putLong(integer)
+                  .putLong(integer)
+                  .putDouble(value)
+                  .putDouble(value)
+                  .putDouble(value)));
+    }
+  }
+
   @Test
   public void testSafePointerFormattingForObject() {
     // The '%p' specifier should correctly format an object's identity.
@@ -143,4 +233,106 @@ public class FastPrintfAdvancedFeaturesTest {
     FastPrintf reCached = cachedAndResized.enableThreadLocalCache();
     assertSame("The new instance should retain the cached property", cachedAndResized, reCached);
   }
+
+  @Test
+  public void testWidthMode() {
+    String ideographs = "\u4e2d\u6587";
+    String emoji = "\ud83d\ude00";
+    FastPrintf formatter = FastPrintf.compile("|%-6s|%4s|%.1s|");
+    assertEquals(
+        "|\u4e2d\u6587    |  \u4e2d\u6587|\u4e2d|",
+        formatter.format(ideographs, ideographs, ideographs));
+
+    FastPrintf columns = formatter.withWidthMode(WidthMode.COLUMNS);
+    assertNotSame(formatter, columns);
+    assertSame(columns, columns.withWidthMode(WidthMode.COLUMNS));
+    assertEquals(
+        "|\u4e2d\u6587  |\u4e2d\u6587||", columns.format(ideographs, ideographs, ideographs));
+    assertEquals("|e\u0301     |  " + emoji + "||", columns.format("e\u0301", emoji, emoji));
+    assertEquals("|abc   | abc|a|", columns.format("abc", "abc", "abc"));
+
+    FastPrintf codePoints = formatter.withWidthMode(WidthMode.CODE_POINTS);
+    assertEquals(
+        "|" + emoji + "     |   " + emoji + "|" + emoji + "|",
+        codePoints.format(emoji, emoji, emoji + emoji));
+    assertEquals(
+        "|" + emoji + "    |  " + emoji + "|\ud83d|",
+        formatter.format(emoji, emoji, emoji));
+
+    // Numbers are ASCII, so they are padded the same in every mode.
+    FastPrintf numbers = FastPrintf.compile("%6.2f|%-5d|%*s").withWidthMode(WidthMode.COLUMNS);
+    assertEquals("  3.14|42   |  \u4e2d", numbers.format(3.14159, 42, 4, "\u4e2d"));
+    FastPrintf cached =
+        FastPrintf.compile("[%-6s]").enableThreadLocalCache().withWidthMode(WidthMode.COLUMNS);
+    assertEquals("[\u4e2d\u6587  ]", cached.format(ideographs));
+  }
+
+  @Test
+  public void testHexBytes() {
+    byte[] payload = "Hello, world".getBytes(StandardCharsets.US_ASCII);
+    assertEquals("48656c6c6f2c20776f726c64", FastPrintf.compile("%x").format(payload));
+    assertEquals("48656C6C", FastPrintf.compile("%.4X").format(payload));
+    assertEquals(
+        "[48 65 6c 6c 6f 2c 20 77  6f 72 6c 64]", FastPrintf.compile("[%#x]").format(payload));
+    assertEquals("[  4865]", FastPrintf.compile("[%6.2x]").format(payload));
+    assertEquals("[4865  ]", FastPrintf.compile("[%-6.2x]").format(payload));
+    assertEquals("[]", FastPrintf.compile("[%x]").format(new byte[0]));
+
+    ByteBuffer buffer = ByteBuffer.wrap(payload);
+    buffer.position(7);
+    assertEquals("776f726c64", FastPrintf.compile("%x").format(buffer));
+    assertEquals(7, buffer.position());
+
+    // Other conversions keep their behaviour.
+    assertEquals("SGVsbG8sIHdvcmxk", FastPrintf.compile("%s").format(payload));
+    assertEquals("0xff", FastPrintf.compile("%#x").format(255));
+    assertThrows(PrintfException.class, () -> FastPrintf.compile("%d").format(payload));
+  }
+
+  @Test
+  public void testCollections() {
+    List<Integer> list = new ArrayList<>();
+    for (int i = 0; i < 100_000; i++) {
+      list.add(i);
+    }
+    assertEquals(list.toString(), FastPrintf.compile("%s").format(list));
+    assertEquals("[0, 1, 2, 3, 4, 5, 6, 7", FastPrintf.compile("%.23s").format(list));
+    assertEquals("[0, 1,    |", FastPrintf.compile("%-10.6s|").format(list));
+    assertEquals("[0, 1, 2", FastPrintf.compile("%.*S").format(8, list));
+    assertEquals("\"[\\\"a\\\"\"", FastPrintf.compile("%#.4j").format(Arrays.asList("\"a\"")));
+
+    Map<String, Integer> map = new LinkedHashMap<>();
+    map.put("a", 1);
+    map.put("b", 2);
+    assertEquals("{a=1, b=2}", FastPrintf.compile("%s").format(map));
+    assertEquals("{a=1", FastPrintf.compile("%.4s").format(map));
+
+    assertEquals("[0, 2, 4", FastPrintf.compile("%.8s").format(Stream.iterate(0, i -> i + 2)));
+    assertEquals(
+        "[\ud83d\ude00, a",
+        FastPrintf.compile("%.5s")
+            .withWidthMode(WidthMode.CODE_POINTS)
+            .format(Arrays.asList("\ud83d\ude00", "a")));
+    assertThrows(PrintfException.class, () -> FastPrintf.compile("%d").format(list));
+  }
+
+  @Test
+  public void testPrecisionBudget() {
+    StringBuilder payload = new StringBuilder();
+    for (int i = 0; i < 100_000; i++) {
+      payload.append(i % 10);
+    }
+    assertEquals("<012345>", FastPrintf.compile("<%.6s>").format(payload));
+    assertEquals("<  0123>", FastPrintf.compile("<%6.4s>").format(payload));
+    assertEquals(payload.length() + 2, FastPrintf.compile("<%s>").format(payload).length());
+
+    Formattable formattable =
+        (formatter, flags, width, precision) -> {
+          for (int i = 0; i < 100_000; i++) {
+            formatter.format("%d,", i);
+          }
+        };
+    assertEquals("0,1,2,3,4,", FastPrintf.compile("%.10s").format(formattable));
+    assertEquals("\"0,1,\"", FastPrintf.compile("%#.4j").format(formattable));
+  }
 }
@@ -57,10 +57,10 @@ public class FastPrintfImplTest {
 
   @Test
   public void enableThreadLocalCache_shouldReturnNewInstanceFirstTime() {
-    FastPrintf formatter = FastPrintf.compile("test");
+    FastPrintf formatter = FastPrintf.compile("test %s");
     FastPrintf cachedFormatter = formatter.enableThreadLocalCache();
     assertNotSame(formatter, cachedFormatter);
-    assertEquals("test", cachedFormatter.format());
+    assertEquals("test ok", cachedFormatter.format("ok"));
   }
 
   @Test
@@ -111,4 +111,48 @@ public class FastPrintfImplTest {
     FastPrintf formatter = FastPrintf.compile("Rate is 100%%");
     assertEquals("Rate is 100%", formatter.format());
   }
+
+  @Test
+  public void getPattern_shouldSurviveConfigurationChanges() {
+    FastPrintfImpl formatter = (FastPrintfImpl) FastPrintf.compile("id=%d, name=%s");
+    assertEquals("id=%d, name=%s", formatter.getPattern());
+    assertEquals("id=%d, name=%s", formatter.enableThreadLocalCache().getPattern());
+    assertEquals("id=%d, name=%s", formatter.setStringBuilderInitialCapacity(99).getPattern());
+  }
+
+  @Test
+  public void compileBraces_shouldFormatLikePercentS() {
+    FastPrintf formatter = FastPrintf.compileBraces("user {} took {}ms ({}) \\{}");
+    assertEquals("user alice took 42ms (null) {}", formatter.format("alice", 42, null));
+    assertEquals(
+        "user bob took 7ms (1.5) {}",
+        formatter.format(Args.create().putString("bob").putInt(7).putDouble(1.5)));
+    assertEquals("no placeholders", FastPrintf.compileBraces("no placeholders").format());
+    assertEquals("user {} took {}ms ({}) \\{}", ((FastPrintfImpl) formatter).getPattern());
+  }
+
+  @Test(expected = PrintfException.class)
+  public void compileBraces_withMissingArgument_shouldThrowException() {
+    FastPrintf.compileBraces("{} and {}").format("one");
+  }
+
+  @Test
+  public void trailingThrowable_shouldOnlyReturnUnconsumedThrowable() {
+    IllegalStateException failure = new IllegalStateException("boom");
+    FastPrintf braces = FastPrintf.compileBraces("failed {} for {}");
+    assertEquals("failed read for /tmp", braces.format("read", "/tmp", failure));
+    assertSame(failure, braces.trailingThrowable("read", "/tmp", failure));
+    assertEquals(null, braces.trailingThrowable("read", failure));
+    assertEquals(null, braces.trailingThrowable("read", "/tmp", "extra"));
+    assertEquals(null, braces.trailingThrowable());
+
+    // Width and precision taken from arguments count as consumed.
+    FastPrintf printf = FastPrintf.compile("%*s");
+    assertEquals(null, printf.trailingThrowable(5, failure));
+    assertSame(failure, printf.trailingThrowable(5, "x", failure));
+    assertSame(failure, FastPrintf.compile("done").trailingThrowable(failure));
+    assertSame(failure, braces.enableThreadLocalCache().trailingThrowable(1, 2, failure));
+    assertSame(
+        failure, braces.instrument(new FormatMetrics()).trailingThrowable(1, 2, failure));
+  }
 }
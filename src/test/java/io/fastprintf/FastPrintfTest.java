@@ -1,6 +1,7 @@
 package io.fastprintf;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
 
 import io.fastprintf.util.Utils;
 import java.math.BigDecimal;
@@ -19,6 +20,37 @@ import org.junit.Test;
 
 public class FastPrintfTest {
 
+  /** An implementation from outside the library, overriding only the abstract methods. */
+  private static final class MinimalFastPrintf implements FastPrintf {
+
+    @Override
+    public <T extends Appendable> T format(T builder, Args args) {
+      return builder;
+    }
+
+    @Override
+    public FastPrintf enableThreadLocalCache() {
+      return this;
+    }
+
+    @Override
+    public FastPrintf setStringBuilderInitialCapacity(int capacity) {
+      return this;
+    }
+  }
+
+  @Test
+  public void defaultMethods_onOutsideImplementation_shouldThrowUnsupported() {
+    FastPrintf minimal = new MinimalFastPrintf();
+    assertThrows(UnsupportedOperationException.class, minimal::describe);
+    assertThrows(UnsupportedOperationException.class, () -> minimal.trailingThrowable(1));
+    assertThrows(
+        UnsupportedOperationException.class, () -> minimal.withWidthMode(WidthMode.COLUMNS));
+    assertThrows(
+        UnsupportedOperationException.class,
+        () -> minimal.withArrayDelimiters(ArrayDelimiters.DEFAULT));
+  }
+
   @Test
   public void test1() {
     FastPrintf fastPrintf = FastPrintf.compile("%d %f %s %s");
@@ -0,0 +1,172 @@
+package io.fastprintf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import org.junit.Test;
+
+public class FastScanfTest {
+
+  @Test
+  public void scan_shouldReadBackWhatPrintfWrote() {
+    FastPrintf printf = FastPrintf.compile("%d,%8.3f,%s");
+    FastScanf scanf = FastScanf.compile("%d,%8.3f,%s");
+    ScanResult result = new ScanResult();
+    assertEquals(3, scanf.scan(printf.format(-42, Math.PI, "done"), result));
+    assertEquals(-42, result.getLong(0));
+    assertEquals(3.142, result.getDouble(1), 0);
+    assertEquals("done", result.getString(2));
+  }
+
+  @Test
+  public void scan_withIntegerConversions_shouldUseTheirRadix() {
+    ScanResult result = FastScanf.compile("%i %u %o %x %X %x").scan("+7 18 777 ff 0XFF 0x");
+    assertEquals(6, result.size());
+    assertEquals(7, result.getLong(0));
+    assertEquals(18, result.getLong(1));
+    assertEquals(511, result.getLong(2));
+    assertEquals(255, result.getLong(3));
+    assertEquals(255, result.getLong(4));
+    // "0x" without hex digits after it reads as just the 0.
+    assertEquals(0, result.getLong(5));
+    assertEquals("0", result.getString(5));
+  }
+
+  @Test
+  public void scan_withIntegerLimits_shouldDetectOverflow() {
+    FastScanf scanf = FastScanf.compile("%d");
+    assertEquals(Long.MAX_VALUE, scanf.scan("9223372036854775807").getLong(0));
+    assertEquals(Long.MIN_VALUE, scanf.scan("-9223372036854775808").getLong(0));
+    assertEquals(0, scanf.scan("9223372036854775808").size());
+    assertEquals(0, scanf.scan("-9223372036854775809").size());
+    assertEquals(-1L, FastScanf.compile("%u").scan("18446744073709551615").getLong(0));
+    assertEquals(0, FastScanf.compile("%u").scan("18446744073709551616").size());
+    assertEquals(-1L, FastScanf.compile("%x").scan("ffffffffffffffff").getLong(0));
+  }
+
+  @Test
+  public void scan_withWidth_shouldLimitEachField() {
+    ScanResult result = FastScanf.compile("%4d%2s%3c%n").scan("  123456abcdef");
+    assertEquals(4, result.size());
+    assertEquals(1234, result.getLong(0));
+    assertEquals("56", result.getString(1));
+    assertEquals("abc", result.getString(2));
+    assertEquals(11, result.getLong(3));
+    assertEquals(2, result.getStart(0));
+    assertEquals(6, result.getEnd(0));
+  }
+
+  @Test
+  public void scan_withWhitespaceAndLiterals_shouldFollowScanf() {
+    FastScanf scanf = FastScanf.compile("id = %d; name=%s 100%%");
+    ScanResult result = scanf.scan("id=7;name=bob\t\n100%");
+    assertEquals(2, result.size());
+    assertEquals("bob", result.getString(1));
+    // %c does not skip whitespace.
+    assertEquals(' ', FastScanf.compile("%d%c").scan("1 x").getChar(1));
+  }
+
+  @Test
+  public void scan_withMismatch_shouldKeepFieldsConvertedSoFar() {
+    FastScanf scanf = FastScanf.compile("%d,%d,%f");
+    ScanResult result = new ScanResult(1);
+    assertEquals(1, scanf.scan("1;2,3.0", result));
+    assertEquals(1, result.getLong(0));
+    assertEquals(2, scanf.scan("1,2,x", result));
+    assertEquals(0, scanf.scan("", result));
+    assertEquals(3, scanf.scan("4,5,6e-1", result));
+    assertEquals(0.6, result.getDouble(2), 0);
+    assertEquals(1, FastScanf.compile("%c%c").scan("x").size());
+    assertEquals(0, FastScanf.compile("%s").scan("   ").size());
+  }
+
+  @Test
+  public void scan_withFloatingForms_shouldParseExactly() {
+    FastScanf scanf = FastScanf.compile("%f %e %g %a %f %f %f %f");
+    ScanResult result =
+        scanf.scan("-0.0 1.5e-3 123456789012345678901234 0x1.8p1 NaN -Infinity .5 7.");
+    assertEquals(8, result.size());
+    assertEquals(Double.doubleToLongBits(-0.0), Double.doubleToLongBits(result.getDouble(0)));
+    assertEquals(1.5e-3, result.getDouble(1), 0);
+    assertEquals(1.2345678901234568e23, result.getDouble(2), 0);
+    assertEquals(3.0, result.getDouble(3), 0);
+    assertEquals(Double.NaN, result.getDouble(4), 0);
+    assertEquals(Double.NEGATIVE_INFINITY, result.getDouble(5), 0);
+    assertEquals(0.5, result.getDouble(6), 0);
+    assertEquals(7.0, result.getDouble(7), 0);
+    assertEquals(1e19, FastScanf.compile("%f").scan("9999999999999999999").getDouble(0), 0);
+
+    // An exponent marker without digits is not consumed.
+    ScanResult partial = FastScanf.compile("%f%s").scan("2.5e+x");
+    assertEquals(2.5, partial.getDouble(0), 0);
+    assertEquals("e+x", partial.getString(1));
+  }
+
+  @Test
+  public void scan_withRandomValues_shouldRoundTripThroughPrintf() {
+    Random random = new Random(41);
+    FastPrintf printf = FastPrintf.compile("%d|%u|%o|%#x|%.17g|%e|%a|%s");
+    FastScanf scanf = FastScanf.compile("%d|%u|%o|%x|%g|%e|%a|%s");
+    ScanResult result = new ScanResult();
+    for (int i = 0; i < 20_000; i++) {
+      long integer = random.nextLong() >> random.nextInt(64);
+      double value = Double.longBitsToDouble(random.nextLong());
+      if (i % 2 == 0) {
+        value = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(40) - 20);
+      }
+      String line =
+          printf.format(
+              Args.create()
+                  .putLong(integer)
+                  .putLong(integer)
+                  .putLong(integer)
+                  .putLong(integer)
+                  .putDouble(value)
+                  .putDouble(value)
+                  .putDouble(value)
+                  .putString("w" + i));
+      assertEquals(line, 8, scanf.scan(line, result));
+      for (int k = 0; k < 4; k++) {
+        assertEquals(line, integer, result.getLong(k));
+      }
+      long bits = Double.doubleToLongBits(value);
+      assertEquals(line, bits, Double.doubleToLongBits(result.getDouble(4)));
+      assertEquals(line, bits, Double.doubleToLongBits(result.getDouble(6)));
+      assertEquals(line, Double.parseDouble(result.getString(5)), result.getDouble(5), 0);
+      assertEquals(line, "w" + i, result.getString(7));
+    }
+  }
+
+  @Test
+  public void scan_withCharArrayAndByteBuffer_shouldNotCopyOrMoveInput() {
+    FastScanf scanf = FastScanf.compile("%s %d");
+    char[] chars = "##key 12##".toCharArray();
+    ScanResult result = new ScanResult();
+    assertEquals(2, scanf.scan(chars, 2, 6, result));
+    assertEquals("key", result.getString(0));
+    assertEquals(0, result.getStart(0));
+    assertEquals(12, result.getLong(1));
+
+    ByteBuffer buffer = ByteBuffer.wrap("xxcaf\u00e9 3".getBytes(StandardCharsets.ISO_8859_1));
+    buffer.position(2);
+    assertEquals(2, scanf.scan(buffer, result));
+    assertEquals("caf\u00e9", result.getString(0));
+    assertEquals("caf\u00e9", result.getText(0).toString());
+    assertEquals(3, result.getLong(1));
+    assertEquals(2, buffer.position());
+
+    assertThrows(IndexOutOfBoundsException.class, () -> scanf.scan(chars, 4, 7, result));
+  }
+
+  @Test
+  public void compile_withUnsupportedConversions_shouldThrow() {
+    for (String format : new String[] {"%*d", "%.*f", "%j", "%q", "%t", "%p"}) {
+      assertThrows(format, PrintfSyntaxException.class, () -> FastScanf.compile(format));
+    }
+    assertThrows(PrintfSyntaxException.class, () -> FastScanf.compile("%"));
+    assertEquals("FastScanf{%d}", FastScanf.compile("%d").toString());
+  }
+}
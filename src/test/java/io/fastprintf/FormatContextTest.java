@@ -157,6 +157,45 @@ public class FormatContextTest {
         FormatContext.create("", -1, FormatContext.PRECEDING).toPatternString(Specifier.CHARACTER));
   }
 
+  @Test
+  public void testGroupingSeparator() {
+    FormatContext ctx = FormatContext.create("'", 8, -1);
+    assertSame(LocaleSymbols.ROOT, ctx.getSymbols());
+    assertEquals(',', ctx.getGroupingSeparator());
+    assertSame(ctx, ctx.setGroupingSeparator(','));
+    FormatContext spaced = ctx.setGroupingSeparator(' ');
+    assertEquals(' ', spaced.getGroupingSeparator());
+    assertEquals(' ', spaced.setWidth(3).setPrecision(2).addFlag(Flag.PLUS).getGroupingSeparator());
+    assertEquals("%'8d", spaced.toPatternString(Specifier.SIGNED_DECIMAL_INTEGER));
+  }
+
+  @Test
+  public void testWidthMode() {
+    FormatContext ctx = FormatContext.create("-", 8, 2);
+    assertSame(WidthMode.CHARS, ctx.getWidthMode());
+    assertSame(ctx, ctx.setWidthMode(WidthMode.CHARS));
+    FormatContext columns = ctx.setWidthMode(WidthMode.COLUMNS);
+    assertSame(WidthMode.COLUMNS, columns.getWidthMode());
+    FormatContext copied =
+        columns.setWidth(3).setPrecision(1).addFlag(Flag.PLUS).setGroupingSeparator(' ');
+    assertSame(WidthMode.COLUMNS, copied.getWidthMode());
+    assertEquals("%-8.2s", columns.toPatternString(Specifier.STRING));
+  }
+
+  @Test
+  public void testArrayDelimiters() {
+    FormatContext ctx = FormatContext.create("-", 8, 2);
+    assertSame(ArrayDelimiters.DEFAULT, ctx.getArrayDelimiters());
+    assertSame(ctx, ctx.setArrayDelimiters(ArrayDelimiters.of("[", ", ", "]")));
+    ArrayDelimiters colons = ArrayDelimiters.of("", ":", "");
+    FormatContext custom = ctx.setArrayDelimiters(colons);
+    assertEquals(colons, custom.getArrayDelimiters());
+    FormatContext copied =
+        custom.setWidth(3).setPrecision(1).addFlag(Flag.PLUS).setWidthMode(WidthMode.COLUMNS);
+    assertEquals(colons, copied.getArrayDelimiters());
+    assertThrows(NullPointerException.class, () -> ctx.setArrayDelimiters(null));
+  }
+
   @Test
   public void testToString_doesNotThrow() {
     FormatContext ctx = FormatContext.create("#+- 0", 123, 456);
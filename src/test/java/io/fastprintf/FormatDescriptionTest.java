@@ -0,0 +1,176 @@
+package io.fastprintf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import io.fastprintf.FormatDescription.Kind;
+import io.fastprintf.FormatDescription.Segment;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+public class FormatDescriptionTest {
+
+  @Test
+  public void describe_shouldListSegmentsInOrder() {
+    FormatDescription description =
+        FastPrintf.compile("id=%05d, name=%-8.3s%%, t=%t!").describe();
+    List<Segment> segments = description.getSegments();
+    assertEquals(7, segments.size());
+
+    assertEquals(Kind.LITERAL, segments.get(0).getKind());
+    assertEquals("id=", segments.get(0).getText());
+    assertNull(segments.get(0).getSpecifier());
+
+    Segment id = segments.get(1);
+    assertEquals(Kind.FIELD, id.getKind());
+    assertEquals(Specifier.SIGNED_DECIMAL_INTEGER, id.getSpecifier());
+    assertTrue(id.getContext().hasFlag(Flag.ZERO_PAD));
+    assertEquals(5, id.getMinLength());
+    assertEquals(20, id.getMaxLength());
+    assertFalse(id.isHeapAllocating());
+
+    assertEquals(", name=", segments.get(2).getText());
+    Segment name = segments.get(3);
+    assertEquals("%-8.3s", name.getText());
+    assertEquals(8, name.getMinLength());
+    assertEquals(8, name.getMaxLength());
+
+    // %% is literal text and merges with its neighbour.
+    assertEquals("%, t=", segments.get(4).getText());
+    Segment date = segments.get(5);
+    assertEquals(Specifier.DATE_AND_TIME, date.getSpecifier());
+    assertTrue(date.isHeapAllocating());
+    assertEquals(FormatDescription.UNBOUNDED, date.getMaxLength());
+    assertEquals("!", segments.get(6).getText());
+
+    assertEquals(3, description.getArgumentCount());
+    assertEquals(FormatDescription.UNBOUNDED, description.getMaxLength());
+    assertEquals(3 + 5 + 7 + 8 + 5 + 0 + 1, description.getMinLength());
+    assertTrue(description.hasHeapAllocatingFields());
+    assertFalse(description.isConstant());
+  }
+
+  @Test
+  public void describe_withBoundedFields_shouldSumLengths() {
+    FormatDescription description = FastPrintf.compile("[%c|%x|%#o|%.2f]").describe();
+    assertEquals(4, description.getArgumentCount());
+    assertEquals(5 + 1 + 1 + 1 + 3, description.getMinLength());
+    assertEquals(5 + 1 + 16 + 23 + (1 + 309 + 3), description.getMaxLength());
+    assertFalse(description.hasHeapAllocatingFields());
+    assertTrue(description.toString().startsWith("FormatDescription{arguments=4, length=[11, "));
+  }
+
+  @Test
+  public void describe_withGroupingFlag_shouldCountSeparators() {
+    FormatDescription description = FastPrintf.compile("%'d %'u %'.2f %'x").describe();
+    assertEquals(
+        (1 + 19 + 6) + 1 + (20 + 6) + 1 + (1 + 309 + 102 + 3) + 1 + 16,
+        description.getMaxLength());
+  }
+
+  @Test
+  public void describe_withNumericConversions_shouldNoteArrayArguments() {
+    String note =
+        "short[], int[], long[], float[] and double[] arguments repeat the field for every element,"
+            + " with no length bound";
+    for (String pattern : new String[] {"%d", "%u", "%o", "%x", "%X", "%f", "%e", "%G", "%a"}) {
+      Segment field = FastPrintf.compile(pattern).describe().getSegments().get(0);
+      assertTrue(pattern, field.getNotes().contains(note));
+    }
+    for (String pattern : new String[] {"%s", "%c", "%t", "%p"}) {
+      Segment field = FastPrintf.compile(pattern).describe().getSegments().get(0);
+      assertFalse(pattern, field.getNotes().contains(note));
+    }
+    FastPrintf formatter = FastPrintf.compile("%d");
+    String formatted = formatter.format(new int[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+    assertTrue(formatted.length() > formatter.describe().getMaxLength());
+  }
+
+  @Test
+  public void describe_withStarWidthAndPrecision_shouldCountExtraArguments() {
+    FormatDescription description = FastPrintf.compile("%*.*f").describe();
+    Segment field = description.getSegments().get(0);
+    assertEquals(3, field.getArgumentCount());
+    assertEquals(FormatDescription.UNBOUNDED, field.getMaxLength());
+    assertTrue(field.getNotes().contains("width is taken from an argument"));
+    assertTrue(field.getNotes().contains("precision is taken from an argument"));
+    assertEquals("%*.*f", field.getText());
+    assertEquals("11", FastPrintf.compile("%*.*f").format(2, 0, 11.2));
+  }
+
+  @Test
+  public void describe_onConstantAndWrappedFormatters() {
+    FormatDescription constant = FastPrintf.compile("100%% done").describe();
+    assertTrue(constant.isConstant());
+    assertEquals(0, constant.getArgumentCount());
+    assertEquals(9, constant.getMinLength());
+    assertEquals(9, constant.getMaxLength());
+    assertTrue(FastPrintf.compile("").describe().getSegments().isEmpty());
+
+    FormatDescription instrumented =
+        FastPrintf.compile("%p").instrument(new FormatMetrics()).describe();
+    assertTrue(instrumented.hasHeapAllocatingFields());
+    assertTrue(instrumented.getSegments().get(0).toString().contains(" heap"));
+  }
+
+  @Test
+  public void describe_withWidthMode_shouldBoundChars() {
+    FastPrintf codePoints = FastPrintf.compile("%-6.2s").withWidthMode(WidthMode.CODE_POINTS);
+    Segment field = codePoints.describe().getSegments().get(0);
+    assertEquals(0, field.getMinLength());
+    assertEquals(2 * 2 + 6, field.getMaxLength());
+    FastPrintf columns = FastPrintf.compile("%6.2s").withWidthMode(WidthMode.COLUMNS);
+    assertEquals(FormatDescription.UNBOUNDED, columns.describe().getMaxLength());
+  }
+
+  /** The bounds must hold for every primitive argument the specifier accepts. */
+  @Test
+  public void bounds_shouldHoldForPrimitiveArguments() {
+    String[] integerFormats = {"%d", "%+d", "%.0d", "% 12d", "%u", "%o", "%#o", "%x", "%#X", "%-5i"};
+    String[] floatFormats = {
+      "%f", "%.0f", "%#.0f", "%+.3f", "%e", "%.0e", "%E", "%g", "%#g", "%.10g", "%a", "%.3A",
+      "%.20a", "%15.2f"
+    };
+    Random random = new Random(37);
+    long[] longs = {0, 1, -1, Long.MIN_VALUE, Long.MAX_VALUE, Integer.MIN_VALUE};
+    double[] doubles = {
+      0.0, -0.0, Double.MAX_VALUE, -Double.MAX_VALUE, Double.MIN_VALUE, -1e-300, Double.NaN,
+      Double.NEGATIVE_INFINITY, 123.456, -9.999999e-5
+    };
+    for (String format : integerFormats) {
+      for (long value : longs) {
+        assertWithinBounds(format, value);
+      }
+      for (int i = 0; i < 200; i++) {
+        assertWithinBounds(format, random.nextLong() >> random.nextInt(64));
+      }
+    }
+    for (String format : floatFormats) {
+      for (double value : doubles) {
+        assertWithinBounds(format, value);
+      }
+      for (int i = 0; i < 200; i++) {
+        assertWithinBounds(format, Double.longBitsToDouble(random.nextLong()));
+      }
+    }
+    assertWithinBounds("%5c", 'x');
+    assertWithinBounds("%.4s", "abcdefgh");
+    assertWithinBounds("%n", 1);
+  }
+
+  private static void assertWithinBounds(String format, Object value) {
+    FastPrintf formatter = FastPrintf.compile(format);
+    FormatDescription description = formatter.describe();
+    int length = formatter.format(value).length();
+    String message = format + " with " + value + " -> " + length + " " + description;
+    assertTrue(message, length >= description.getMinLength());
+    assertTrue(
+        message,
+        description.getMaxLength() == FormatDescription.UNBOUNDED
+            || length <= description.getMaxLength());
+  }
+}
@@ -0,0 +1,24 @@
+package io.fastprintf;
+
+import static org.junit.Assert.assertEquals;
+
+import io.fastprintf.util.TestHelper;
+import org.junit.Test;
+
+public class FormatEventsTest {
+
+  /** Tests run against the Java 8 classes, where the hooks are no-ops. */
+  @Test
+  public void baseVersion_shouldNeverRecord() {
+    assertEquals(0L, FormatEvents.begin());
+    FastPrintfImpl formatter = (FastPrintfImpl) FastPrintf.compile("%s");
+    FormatEvents.end(0L, formatter, Args.of("x"), 1);
+    FormatEvents.end(System.nanoTime(), formatter, Args.of("x"), -1);
+    assertEquals("x", formatter.format("x"));
+  }
+
+  @Test
+  public void testPrivateConstructor() throws Exception {
+    TestHelper.testPrivateConstructor_forCodeCoverage(FormatEvents.class);
+  }
+}
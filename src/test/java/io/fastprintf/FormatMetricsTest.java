@@ -0,0 +1,108 @@
+package io.fastprintf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class FormatMetricsTest {
+
+  @Test
+  public void bucketIndex_shouldBeMonotonicAndBoundValues() {
+    Random random = new Random(35);
+    for (int i = 0; i < 100_000; i++) {
+      long nanos = random.nextLong() >>> (1 + random.nextInt(63));
+      int index = FormatMetrics.bucketIndex(nanos);
+      long upper = FormatMetrics.bucketUpperBound(index);
+      assertTrue(nanos + " <= " + upper, nanos <= upper);
+      // Relative error stays within one sub-bucket (12.5%).
+      assertTrue(nanos + " vs " + upper, upper - nanos <= Math.max(1, nanos / 8));
+    }
+    assertEquals(0, FormatMetrics.bucketIndex(-5));
+    assertEquals(7, FormatMetrics.bucketIndex(7));
+    assertEquals(8, FormatMetrics.bucketIndex(8));
+    assertEquals(15, FormatMetrics.bucketUpperBound(FormatMetrics.bucketIndex(15)));
+    assertEquals(
+        Long.MAX_VALUE, FormatMetrics.bucketUpperBound(FormatMetrics.bucketIndex(Long.MAX_VALUE)));
+    for (int index = 1; index < FormatMetrics.bucketIndex(Long.MAX_VALUE); index++) {
+      assertEquals(index, FormatMetrics.bucketIndex(FormatMetrics.bucketUpperBound(index - 1) + 1));
+    }
+  }
+
+  @Test
+  public void percentiles_shouldFollowRecordedLatencies() {
+    FormatMetrics metrics = new FormatMetrics();
+    assertEquals(0, metrics.getLatencyPercentileNanos(50));
+    for (int i = 1; i <= 100; i++) {
+      metrics.recordSuccess(i * 1000L, 10);
+    }
+    long p50 = metrics.getLatencyPercentileNanos(50);
+    long p99 = metrics.getLatencyPercentileNanos(99);
+    assertTrue(String.valueOf(p50), p50 >= 50_000 && p50 <= 50_000 * 9 / 8);
+    assertTrue(String.valueOf(p99), p99 >= 99_000 && p99 <= 99_000 * 9 / 8);
+    assertTrue(metrics.getLatencyPercentileNanos(0) >= 1000);
+    assertThrows(IllegalArgumentException.class, () -> metrics.getLatencyPercentileNanos(101));
+  }
+
+  @Test
+  public void record_shouldAggregateLengthsAndFailures() {
+    FormatMetrics metrics = new FormatMetrics();
+    metrics.recordSuccess(10, 4);
+    metrics.recordSuccess(10, 8);
+    metrics.recordFailure(10, new PrintfException("bad", new NumberFormatException()));
+    metrics.recordFailure(10, new PrintfException("no cause"));
+    metrics.recordFailure(10, new IllegalStateException());
+
+    assertEquals(5, metrics.getInvocations());
+    assertEquals(3, metrics.getFailures());
+    assertEquals(12, metrics.getTotalChars());
+    assertEquals(8, metrics.getMaxLength());
+    assertEquals(6.0, metrics.getAverageLength(), 0.0);
+    Map<Class<? extends Throwable>, Long> byCause = metrics.getFailuresByCause();
+    assertEquals(Long.valueOf(1), byCause.get(NumberFormatException.class));
+    assertEquals(Long.valueOf(1), byCause.get(PrintfException.class));
+    assertEquals(Long.valueOf(1), byCause.get(IllegalStateException.class));
+    assertTrue(metrics.toString().startsWith("FormatMetrics{invocations=5, failures=3"));
+
+    metrics.reset();
+    assertEquals(0, metrics.getInvocations());
+    assertEquals(0, metrics.getMaxLength());
+    assertEquals(0.0, metrics.getAverageLength(), 0.0);
+    assertTrue(metrics.getFailuresByCause().isEmpty());
+    assertEquals(0, metrics.getLatencyPercentileNanos(100));
+  }
+
+  @Test
+  public void record_fromManyThreads_shouldNotLoseUpdates() throws Exception {
+    FormatMetrics metrics = new FormatMetrics();
+    FastPrintf formatter = FastPrintf.compile("n=%05d").instrument(metrics);
+    ExecutorService pool = Executors.newFixedThreadPool(4);
+    try {
+      Future<?>[] futures = new Future<?>[4];
+      for (int t = 0; t < futures.length; t++) {
+        futures[t] =
+            pool.submit(
+                () -> {
+                  for (int i = 0; i < 10_000; i++) {
+                    formatter.format(i);
+                  }
+                });
+      }
+      for (Future<?> future : futures) {
+        future.get(30, TimeUnit.SECONDS);
+      }
+    } finally {
+      pool.shutdown();
+    }
+    assertEquals(40_000, metrics.getInvocations());
+    assertEquals(40_000 * 7, metrics.getTotalChars());
+    assertEquals(7, metrics.getMaxLength());
+  }
+}
@@ -0,0 +1,77 @@
+package io.fastprintf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringWriter;
+import org.junit.Test;
+
+public class InstrumentedFastPrintfTest {
+
+  @Test
+  public void format_shouldRecordLengthsForEveryEntryPoint() {
+    FormatMetrics metrics = new FormatMetrics();
+    FastPrintf formatter = FastPrintf.compile("id=%d, name=%s").instrument(metrics);
+
+    assertEquals("id=42, name=foo", formatter.format(42, "foo"));
+    StringBuilder sb = new StringBuilder("prefix:");
+    formatter.format(sb, Args.of(7, "ab"));
+    assertEquals("prefix:id=7, name=ab", sb.toString());
+    StringWriter writer = new StringWriter();
+    formatter.format(writer, Args.of(123, "xyz"));
+    assertEquals("id=123, name=xyz", writer.toString());
+    assertEquals("id=1, name=q", formatter.defer(Args.of(1, "q")).toString());
+
+    assertEquals(4, metrics.getInvocations());
+    assertEquals(0, metrics.getFailures());
+    assertEquals(15 + 13 + 16 + 12, metrics.getTotalChars());
+    assertEquals(16, metrics.getMaxLength());
+    assertTrue(metrics.getLatencyPercentileNanos(100) > 0);
+  }
+
+  @Test
+  public void format_whenFailing_shouldRecordCauseAndRethrow() {
+    FormatMetrics metrics = new FormatMetrics();
+    FastPrintf formatter = FastPrintf.compile("%d %s").instrument(metrics);
+
+    assertThrows(PrintfException.class, () -> formatter.format("not a number", "x"));
+    assertThrows(PrintfException.class, () -> formatter.format(1));
+    assertThrows(NullPointerException.class, () -> formatter.format(new StringBuilder(), null));
+
+    assertEquals(3, metrics.getInvocations());
+    assertEquals(3, metrics.getFailures());
+    assertEquals(0, metrics.getTotalChars());
+    assertEquals(Long.valueOf(1), metrics.getFailuresByCause().get(NumberFormatException.class));
+    assertEquals(Long.valueOf(1), metrics.getFailuresByCause().get(PrintfException.class));
+    assertEquals(Long.valueOf(1), metrics.getFailuresByCause().get(NullPointerException.class));
+  }
+
+  @Test
+  public void configurationMethods_shouldKeepInstrumentation() {
+    FormatMetrics metrics = new FormatMetrics();
+    FastPrintf base = FastPrintf.compile("x=%s");
+    InstrumentedFastPrintf instrumented = (InstrumentedFastPrintf) base.instrument(metrics);
+    assertSame(base, instrumented.getDelegate());
+    assertSame(metrics, instrumented.getMetrics());
+    assertSame(instrumented, instrumented.instrument(metrics));
+
+    FastPrintf cached = instrumented.enableThreadLocalCache();
+    assertTrue(cached instanceof InstrumentedFastPrintf);
+    assertSame(cached, cached.enableThreadLocalCache());
+    FastPrintf sized = cached.setStringBuilderInitialCapacity(128);
+    assertNotSame(cached, sized);
+    sized.format("y");
+
+    FormatMetrics other = new FormatMetrics();
+    InstrumentedFastPrintf moved = (InstrumentedFastPrintf) instrumented.instrument(other);
+    assertSame(base, moved.getDelegate());
+    moved.format("z");
+
+    assertEquals(1, metrics.getInvocations());
+    assertEquals(1, other.getInvocations());
+    assertThrows(NullPointerException.class, () -> base.instrument(null));
+  }
+}
@@ -0,0 +1,93 @@
+package io.fastprintf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+import java.util.Random;
+import org.junit.Test;
+
+public class LocaleSymbolsTest {
+
+  @Test
+  public void of_shouldResolveLocaleSymbols() {
+    for (Locale locale : new Locale[] {Locale.GERMANY, Locale.FRANCE, new Locale("de", "CH")}) {
+      DecimalFormatSymbols expected = DecimalFormatSymbols.getInstance(locale);
+      LocaleSymbols symbols = LocaleSymbols.of(locale);
+      assertEquals(expected.getDecimalSeparator(), symbols.getDecimalSeparator());
+      assertEquals(expected.getGroupingSeparator(), symbols.getGroupingSeparator());
+      assertEquals(expected.getMinusSign(), symbols.getMinusSign());
+    }
+    assertSame(LocaleSymbols.ROOT, LocaleSymbols.of(Locale.US));
+    assertSame(LocaleSymbols.ROOT, LocaleSymbols.of('.', ',', '-'));
+    assertThrows(NullPointerException.class, () -> LocaleSymbols.of(null));
+  }
+
+  @Test
+  public void valueSemantics_shouldCompareCharacters() throws Exception {
+    LocaleSymbols symbols = LocaleSymbols.of(',', '.', '\u2212');
+    assertEquals(symbols, LocaleSymbols.of(',', '.', '\u2212'));
+    assertEquals(symbols.hashCode(), LocaleSymbols.of(',', '.', '\u2212').hashCode());
+    assertNotEquals(symbols, symbols.withGroupingSeparator(' '));
+    assertSame(symbols, symbols.withGroupingSeparator('.'));
+    assertSame(LocaleSymbols.ROOT, LocaleSymbols.of('.', '_', '-').withGroupingSeparator(','));
+    assertEquals("LocaleSymbols{decimal=',', grouping='.', minus='\u2212'}", symbols.toString());
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(LocaleSymbols.ROOT);
+    }
+    try (ObjectInputStream in =
+        new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      assertSame(LocaleSymbols.ROOT, in.readObject());
+    }
+  }
+
+  @Test
+  public void compile_withSymbols_shouldLocalizeNumbers() {
+    LocaleSymbols german = LocaleSymbols.of(Locale.GERMANY);
+    FastPrintf formatter = FastPrintf.compile("%'d|%'.2f|%.1f|%e|%g|%#.0f|%x|%s", german);
+    assertEquals(
+        "-1.234.567|1.234.567,89|0,5|1,500000e+00|0,25|3,|ff|1.5",
+        formatter.format(
+            Args.create()
+                .putInt(-1234567)
+                .putDouble(1234567.891)
+                .putDouble(0.5)
+                .putDouble(1.5)
+                .putDouble(0.25)
+                .putDouble(3)
+                .putInt(255)
+                .putString("1.5")));
+
+    LocaleSymbols custom = LocaleSymbols.of(',', ' ', '\u2212');
+    assertEquals(
+        "\u22121 234,5|\u2212Infinity|\u221242|   \u22120,50",
+        FastPrintf.compile("%'.1f|%f|%d|%8.2f", custom)
+            .format(-1234.5, Double.NEGATIVE_INFINITY, -42, -0.5));
+    assertEquals("\u22120000012", FastPrintf.compile("%08d", custom).format(-12));
+    assertEquals("12,5", FastPrintf.compile("%.3g", custom).format(12.5));
+  }
+
+  @Test
+  public void compile_withLocale_shouldMatchJavaFormatter() {
+    Random random = new Random(44);
+    for (Locale locale : new Locale[] {Locale.GERMANY, Locale.FRANCE, Locale.ITALY}) {
+      FastPrintf formatter = FastPrintf.compile("%'d %'.2f %.4e", LocaleSymbols.of(locale));
+      for (int i = 0; i < 2_000; i++) {
+        long integer = random.nextLong() >> random.nextInt(64);
+        double value = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(15));
+        assertEquals(
+            String.format(locale, "%,d %,.2f %.4e", integer, value, value),
+            formatter.format(Args.create().putLong(integer).putDouble(value).putDouble(value)));
+      }
+    }
+  }
+}
@@ -0,0 +1,133 @@
+package io.fastprintf;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MappedFileWriterTest {
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private Path newFile() throws IOException {
+    File file = folder.newFile();
+    return file.toPath();
+  }
+
+  @Test
+  public void format_withManyRows_shouldWriteExactBytesAcrossRemaps() throws IOException {
+    Path path = newFile();
+    FastPrintf row = FastPrintf.compile("%d,%s,%.3f\n");
+    StringBuilder expected = new StringBuilder();
+    // A tiny region forces a remap every few rows.
+    try (MappedFileWriter writer = MappedFileWriter.open(path, 7)) {
+      for (int i = 0; i < 500; i++) {
+        Args args = Args.create().putInt(i).putString("name" + i).putDouble(i / 7.0);
+        writer.format(row, args);
+        expected.append(row.format(args));
+      }
+      assertEquals(expected.length(), writer.position());
+    }
+    assertEquals(expected.toString(), new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void force_afterSeveralRegions_shouldCoverEveryRegion() throws IOException {
+    Path path = newFile();
+    StringBuilder expected = new StringBuilder();
+    try (MappedFileWriter writer = MappedFileWriter.open(path, 8)) {
+      for (int i = 0; i < 100; i++) {
+        String line = "line " + i + "\n";
+        writer.append(line);
+        expected.append(line);
+      }
+      writer.force();
+      // The file is still mapped past the position, so only the written prefix is compared.
+      byte[] bytes = Files.readAllBytes(path);
+      assertEquals(
+          expected.toString(),
+          new String(bytes, 0, (int) writer.position(), StandardCharsets.UTF_8));
+      // The regions forced above are not forced again; the later ones are.
+      for (int i = 100; i < 150; i++) {
+        String line = "line " + i + "\n";
+        writer.append(line);
+        expected.append(line);
+      }
+      writer.force();
+      bytes = Files.readAllBytes(path);
+      assertEquals(
+          expected.toString(),
+          new String(bytes, 0, (int) writer.position(), StandardCharsets.UTF_8));
+    }
+    assertEquals(expected.toString(), new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void format_withNonAsciiText_shouldEncodeUtf8() throws IOException {
+    Path path = newFile();
+    FastPrintf row = FastPrintf.compile("[%s|%-6s|%c]\n");
+    String expected;
+    try (MappedFileWriter writer = MappedFileWriter.open(path, 5)) {
+      writer.format(row, "héllo", "中文", 'x');
+      writer.format(row, "emoji 😀!", "ß", '€');
+      expected = row.format("héllo", "中文", 'x') + row.format("emoji 😀!", "ß", '€');
+    }
+    assertArrayEquals(expected.getBytes(StandardCharsets.UTF_8), Files.readAllBytes(path));
+  }
+
+  @Test
+  public void append_withSurrogatePairSplitAcrossCalls_shouldJoinPair() throws IOException {
+    Path path = newFile();
+    try (MappedFileWriter writer = MappedFileWriter.open(path, 4)) {
+      writer.append('a').append('\uD83D').append("\uDE00b");
+    }
+    assertArrayEquals("a😀b".getBytes(StandardCharsets.UTF_8), Files.readAllBytes(path));
+  }
+
+  @Test
+  public void append_withUnpairedSurrogates_shouldWriteReplacement() throws IOException {
+    Path path = newFile();
+    try (MappedFileWriter writer = MappedFileWriter.open(path, 4)) {
+      writer.append("x\uDE00y\uD83Dz").append('\uD83D');
+    }
+    assertEquals("x?y?z?", new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void append_withNull_shouldWriteNullLiteral() throws IOException {
+    Path path = newFile();
+    try (MappedFileWriter writer = MappedFileWriter.open(path)) {
+      writer.append(null).append(null, 1, 3);
+    }
+    assertEquals("nullul", new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void close_whenCalledTwice_shouldBeNoOp() throws IOException {
+    Path path = newFile();
+    MappedFileWriter writer = MappedFileWriter.open(path);
+    writer.append("abc");
+    writer.force();
+    writer.close();
+    writer.close();
+    assertEquals(3, Files.size(path));
+    assertThrows(ClosedChannelException.class, () -> writer.append('d'));
+    assertThrows(ClosedChannelException.class, writer::force);
+  }
+
+  @Test
+  public void open_withTooSmallRegion_shouldThrow() throws IOException {
+    Path path = newFile();
+    assertThrows(IllegalArgumentException.class, () -> MappedFileWriter.open(path, 3));
+    assertThrows(NullPointerException.class, () -> MappedFileWriter.open(null));
+  }
+}
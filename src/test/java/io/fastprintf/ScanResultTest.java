@@ -0,0 +1,42 @@
+package io.fastprintf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import org.junit.Test;
+
+public class ScanResultTest {
+
+  @Test
+  public void getters_shouldCheckIndexAndKind() {
+    ScanResult result = FastScanf.compile("%d %f %s").scan("3000000000 2.5 word");
+    assertEquals(3, result.size());
+    assertEquals(3_000_000_000.0, result.getDouble(0), 0);
+    assertThrows(ArithmeticException.class, () -> result.getInt(0));
+    assertThrows(IllegalStateException.class, () -> result.getLong(1));
+    assertThrows(IllegalStateException.class, () -> result.getDouble(2));
+    assertThrows(IndexOutOfBoundsException.class, () -> result.getLong(3));
+    assertThrows(IndexOutOfBoundsException.class, () -> result.getStart(-1));
+    assertEquals("2.5", result.getString(1));
+    assertEquals('w', result.getChar(2));
+    assertEquals("ScanResult[3000000000, 2.5, \"word\"]", result.toString());
+  }
+
+  @Test
+  public void reuse_shouldGrowAndReplacePreviousContent() {
+    ScanResult result = new ScanResult(0);
+    assertEquals(2, FastScanf.compile("%d %d").scan("1 2", result));
+    assertEquals(1, FastScanf.compile("%s").scan("x", result));
+    assertEquals(1, result.size());
+    assertEquals("x", result.getString(0));
+    assertEquals("ScanResult[]", new ScanResult().toString());
+    assertThrows(IllegalArgumentException.class, () -> new ScanResult(-1));
+  }
+
+  @Test
+  public void getChar_onEmptyField_shouldThrow() {
+    ScanResult result = FastScanf.compile("%n").scan("");
+    assertEquals(0, result.getInt(0));
+    assertThrows(IndexOutOfBoundsException.class, () -> result.getChar(0));
+  }
+}
@@ -0,0 +1,110 @@
+package io.fastprintf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import org.junit.Test;
+
+public class TableWriterTest {
+
+  @Test
+  public void writeTo_shouldSizeColumnsToTheWidestCell() {
+    TableWriter table = TableWriter.create(FastPrintf.compile("%-s  %d  %.2f\n"));
+    assertEquals(3, table.getColumnCount());
+    table.addRow("apple", 3, 1.5).addRow("kiwi", 120, 0.25);
+    assertEquals(2, table.getRowCount());
+    assertEquals(5, table.getColumnWidth(0));
+    assertEquals(3, table.getColumnWidth(1));
+    assertEquals(4, table.getColumnWidth(2));
+    assertEquals("apple    3  1.50\nkiwi   120  0.25\n", table.toString());
+
+    StringWriter writer = new StringWriter();
+    assertSame(writer, table.writeTo(writer));
+    assertEquals(table.toString(), writer.toString());
+
+    StringBuilder builder = new StringBuilder(">");
+    table.writeTo(builder);
+    assertEquals(">" + table, builder.toString());
+  }
+
+  @Test
+  public void fieldWidths_shouldStillApply() {
+    TableWriter table = TableWriter.create(FastPrintf.compile("[%6s|%-*d|%05d]"));
+    table.addRow("a", 4, 1, 2).addRow("longer name", 2, 10, 3);
+    assertEquals("[          a|1   |00002][longer name|10  |00003]", table.toString());
+  }
+
+  @Test
+  public void writeRow_shouldStreamWithFixedWidths() {
+    TableWriter table = TableWriter.create(FastPrintf.compile("%-s|%s\n"), 4, 3);
+    StringWriter writer = new StringWriter();
+    table.writeRow(writer, Args.of("id", 1));
+    table.writeRow(writer, Args.of("toolong", 22));
+    assertEquals("id  |  1\ntoolong| 22\n", writer.toString());
+    assertEquals(0, table.getRowCount());
+    assertEquals(4, table.getColumnWidth(0));
+
+    table.addRow("x", 12345);
+    assertEquals(5, table.getColumnWidth(1));
+    table.clear();
+    assertEquals("", table.toString());
+    StringBuilder builder = new StringBuilder();
+    table.writeRow(builder, Args.of("y", 6));
+    assertEquals("y   |    6\n", builder.toString());
+  }
+
+  @Test
+  public void widthMode_shouldAlignByColumns() {
+    FastPrintf row = FastPrintf.compile("|%-s|%s|\n").withWidthMode(WidthMode.COLUMNS);
+    TableWriter table = TableWriter.create(row);
+    table.addRow("\u4e2d\u6587", "\ud83d\ude00").addRow("abcde", "x");
+    assertEquals(5, table.getColumnWidth(0));
+    assertEquals(2, table.getColumnWidth(1));
+    assertEquals("|\u4e2d\u6587 |\ud83d\ude00|\n|abcde| x|\n", table.toString());
+  }
+
+  @Test
+  public void create_withConstantOrInstrumentedTemplate() {
+    TableWriter constant = TableWriter.create(FastPrintf.compile("----\n"));
+    assertEquals(0, constant.getColumnCount());
+    assertEquals("----\n----\n", constant.addRow().addRow().toString());
+
+    FastPrintf instrumented = FastPrintf.compile("%s=%d;").instrument(new FormatMetrics());
+    TableWriter table = TableWriter.create(instrumented);
+    assertEquals(" a= 1;bb=22;", table.addRow("a", 1).addRow("bb", 22).toString());
+  }
+
+  @Test
+  public void create_withInvalidArguments_shouldThrow() {
+    FastPrintf row = FastPrintf.compile("%s %s");
+    assertThrows(IllegalArgumentException.class, () -> TableWriter.create(row, 1));
+    assertThrows(IllegalArgumentException.class, () -> TableWriter.create(row, 1, -1));
+    assertThrows(NullPointerException.class, () -> TableWriter.create(null));
+    assertThrows(IndexOutOfBoundsException.class, () -> TableWriter.create(row).getColumnWidth(2));
+    assertThrows(PrintfException.class, () -> TableWriter.create(row).addRow("only one"));
+  }
+
+  @Test
+  public void writeTo_withFailingAppendable_shouldThrowUnchecked() {
+    Writer failing =
+        new Writer() {
+          @Override
+          public void write(char[] cbuf, int off, int len) throws IOException {
+            throw new IOException("boom");
+          }
+
+          @Override
+          public void flush() {}
+
+          @Override
+          public void close() {}
+        };
+    TableWriter table = TableWriter.create(FastPrintf.compile("%s\n")).addRow("x");
+    assertThrows(UncheckedIOException.class, () -> table.writeTo(failing));
+  }
+}
@@ -0,0 +1,73 @@
+package io.fastprintf.appender;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import io.fastprintf.Args;
+import io.fastprintf.FormatContext;
+import io.fastprintf.PrintfException;
+import io.fastprintf.Specifier;
+import io.fastprintf.seq.Seq;
+import io.fastprintf.traits.FormatTraits;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.Test;
+
+public class FusedAppenderTest {
+
+  private static DefaultAppender field(Specifier specifier) {
+    return new DefaultAppender(specifier, FormatContext.create(""));
+  }
+
+  private static String render(Appender appender, Args args) {
+    StringBuilder sb = new StringBuilder();
+    appender.append(seq -> seq.appendTo(sb), args.iterator());
+    return sb.toString();
+  }
+
+  @Test
+  public void append_shouldEmitPrefixFieldAndSuffix() {
+    FusedAppender appender =
+        new FusedAppender("id=", field(Specifier.SIGNED_DECIMAL_INTEGER), ";\n");
+    assertEquals("id=42;\n", render(appender, Args.of(42)));
+  }
+
+  @Test
+  public void append_withEmptyLiterals_shouldEmitOnlyField() {
+    FusedAppender appender = new FusedAppender("", field(Specifier.STRING), "");
+    List<Seq> seqs = new ArrayList<>();
+    appender.append(seqs::add, Args.of("x").iterator());
+    assertEquals(1, seqs.size());
+    assertEquals("x", seqs.get(0).toString());
+  }
+
+  @Test
+  public void append_withMissingArgument_shouldThrowAfterPrefix() {
+    FusedAppender appender = new FusedAppender("a", field(Specifier.STRING), "b");
+    StringBuilder sb = new StringBuilder();
+    Iterator<FormatTraits> empty = Collections.emptyIterator();
+    assertThrows(PrintfException.class, () -> appender.append(seq -> seq.appendTo(sb), empty));
+    assertEquals("a", sb.toString());
+  }
+
+  @Test
+  public void testGettersAndToString() {
+    DefaultAppender field = field(Specifier.STRING);
+    FusedAppender appender = new FusedAppender("k=\"", field, "\"\n");
+    assertEquals("k=\"", appender.getPrefix());
+    assertEquals(field, appender.getField());
+    assertEquals("\"\n", appender.getSuffix());
+    assertEquals("\"k=\\\"\" %s \"\\\"\\n\"", appender.toString());
+    assertEquals("%s", new FusedAppender("", field, "").toString());
+  }
+
+  @Test
+  public void testConstructorWithNull() {
+    DefaultAppender field = field(Specifier.STRING);
+    assertThrows(NullPointerException.class, () -> new FusedAppender(null, field, ""));
+    assertThrows(NullPointerException.class, () -> new FusedAppender("", null, ""));
+    assertThrows(NullPointerException.class, () -> new FusedAppender("", field, null));
+  }
+}
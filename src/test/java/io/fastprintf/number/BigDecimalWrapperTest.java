@@ -6,6 +6,7 @@ import io.fastprintf.PrintfException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.Locale;
+import java.util.Random;
 import java.util.function.BiFunction;
 import org.junit.Test;
 
@@ -148,4 +149,71 @@ public class BigDecimalWrapperTest {
     FloatLayout layout3 = new BigDecimalWrapper(val3).decimalLayout(5);
     assertEquals("0.00124", layout3.getMantissa().toString());
   }
+
+  /** The original %g branch selection, kept here to check the allocation-free rewrite. */
+  private static FloatLayout referenceGeneralLayout(BigDecimal value, int precision) {
+    BigDecimalWrapper wrapper = new BigDecimalWrapper(value);
+    BigDecimal abs = value.abs();
+    BigDecimal tenToTheNegFour = BigDecimal.valueOf(1, 4);
+    BigDecimal tenToThePrec = BigDecimal.valueOf(1, -precision);
+    if ((abs.equals(BigDecimal.ZERO))
+        || ((abs.compareTo(tenToTheNegFour) >= 0) && (abs.compareTo(tenToThePrec) < 0))) {
+      int e = -abs.scale() + (abs.unscaledValue().toString().length() - 1);
+      return wrapper.decimalLayoutFallback(precision - e - 1);
+    } else {
+      return wrapper.scientificLayoutFallback(precision - 1);
+    }
+  }
+
+  private static void assertFastPathMatchesFallback(BigDecimal value, int precision) {
+    BigDecimalWrapper wrapper = new BigDecimalWrapper(value);
+    String message = value + " @ " + precision;
+    assertEquals(
+        message,
+        wrapper.decimalLayoutFallback(precision).toString(),
+        wrapper.decimalLayout(precision).toString());
+    assertEquals(
+        message,
+        wrapper.scientificLayoutFallback(precision).toString(),
+        wrapper.scientificLayout(precision).toString());
+    int g = Math.max(precision, 1);
+    assertEquals(
+        message,
+        referenceGeneralLayout(value, g).toString(),
+        wrapper.generalLayout(g).toString());
+  }
+
+  @Test
+  public void testLongFastPath_shouldMatchBigIntegerFallback() {
+    String[] samples = {
+      "0", "0.00", "0E+3", "0.000", "1", "9.995", "999.995", "0.995", "0.0995", "99.5", "0.5",
+      "0.05", "0.00049", "0.00005", "1E+5", "123E-20", "999999999999999999", "0.999999999999999999",
+      "99999999999999999.9", "12.345", "-12.345", "1.005", "2.675", "0.0001", "0.00009999",
+      "123456789012345678E+40", "5E-19", "5E-18", "4.9E-18"
+    };
+    for (String sample : samples) {
+      for (int precision = 0; precision <= 25; precision++) {
+        assertFastPathMatchesFallback(new BigDecimal(sample), precision);
+      }
+    }
+    Random random = new Random(2024);
+    for (int i = 0; i < 20000; i++) {
+      int digits = 1 + random.nextInt(18);
+      long unscaled = Math.abs(random.nextLong()) % (long) Math.pow(10, digits);
+      if (random.nextBoolean()) {
+        // Favour values that sit on a rounding boundary.
+        unscaled = unscaled / 10 * 10 + (random.nextBoolean() ? 5 : 9);
+      }
+      int scale = random.nextInt(41) - 20;
+      assertFastPathMatchesFallback(BigDecimal.valueOf(unscaled, scale), random.nextInt(20));
+    }
+  }
+
+  @Test
+  public void testScientificLayout_withExtremeScale_shouldFallBack() {
+    BigDecimal value = new BigDecimal(BigInteger.valueOf(123456789), Integer.MIN_VALUE + 5);
+    BigDecimalWrapper wrapper = new BigDecimalWrapper(value);
+    assertThrows(ArithmeticException.class, () -> wrapper.scientificLayoutFallback(2));
+    assertThrows(ArithmeticException.class, () -> wrapper.scientificLayout(2));
+  }
 }
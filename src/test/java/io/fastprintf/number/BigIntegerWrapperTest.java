@@ -4,6 +4,7 @@ import static org.junit.Assert.assertEquals;
 
 import io.fastprintf.PrintfException;
 import java.math.BigInteger;
+import java.util.Random;
 import org.junit.Test;
 
 public class BigIntegerWrapperTest {
@@ -90,4 +91,48 @@ public class BigIntegerWrapperTest {
     BigIntegerWrapper negativeWrapper = new BigIntegerWrapper(BigInteger.valueOf(-1));
     negativeWrapper.toUnsignedDecimalString();
   }
+
+  private static void assertSeqsMatchToString(BigInteger value) {
+    BigIntegerWrapper wrapper = new BigIntegerWrapper(value);
+    assertEquals(value.toString(), wrapper.toDecimalSeq().toString());
+    assertEquals(value.toString(), wrapper.toUnsignedDecimalSeq().toString());
+    assertEquals(value.toString(16), wrapper.toHexSeq().toString());
+    assertEquals(value.toString(8), wrapper.toOctalSeq().toString());
+  }
+
+  @Test
+  public void testSeqConversions_shouldMatchBigIntegerToString() {
+    assertSeqsMatchToString(BigInteger.ZERO);
+    assertSeqsMatchToString(BigInteger.ONE);
+    assertSeqsMatchToString(BigInteger.valueOf(Long.MAX_VALUE));
+    assertSeqsMatchToString(BigInteger.ONE.shiftLeft(63));
+    assertSeqsMatchToString(BigInteger.TEN.pow(18));
+    assertSeqsMatchToString(BigInteger.TEN.pow(36));
+    assertSeqsMatchToString(BigInteger.TEN.pow(72).subtract(BigInteger.ONE));
+    assertSeqsMatchToString(BigInteger.TEN.pow(300).add(BigInteger.valueOf(7)));
+    for (int bits = 1; bits <= 4096; bits = bits * 2 + 1) {
+      assertSeqsMatchToString(BigInteger.ONE.shiftLeft(bits).subtract(BigInteger.ONE));
+      assertSeqsMatchToString(BigInteger.ONE.shiftLeft(bits));
+    }
+    Random random = new Random(42);
+    for (int i = 0; i < 500; i++) {
+      assertSeqsMatchToString(new BigInteger(1 + random.nextInt(5000), random));
+    }
+  }
+
+  @Test
+  public void testDecimalSeq_withNegativeValue_shouldReturnAbsoluteValue() {
+    BigInteger value = BigInteger.ONE.shiftLeft(200).negate();
+    assertEquals(value.negate().toString(), new BigIntegerWrapper(value).toDecimalSeq().toString());
+  }
+
+  @Test(expected = PrintfException.class)
+  public void testHexSeq_withNegativeValue_shouldThrow() {
+    new BigIntegerWrapper(BigInteger.valueOf(-1)).toHexSeq();
+  }
+
+  @Test(expected = PrintfException.class)
+  public void testOctalSeq_withNegativeValue_shouldThrow() {
+    new BigIntegerWrapper(BigInteger.valueOf(-1)).toOctalSeq();
+  }
 }
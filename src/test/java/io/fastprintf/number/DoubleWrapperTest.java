@@ -3,6 +3,7 @@ package io.fastprintf.number;
 import static org.junit.Assert.*;
 
 import java.util.Locale;
+import java.util.Random;
 import java.util.function.BiFunction;
 import org.junit.Test;
 
@@ -168,4 +169,86 @@ public class DoubleWrapperTest {
     assertNull(negInfLayout.getExponent());
     assertTrue(negInfWrapper.isNegative());
   }
+
+  @Test
+  public void testHexLayout_shouldMatchStringBasedReference() {
+    double[] samples = {
+      1.0, -1.0, 0.1, 123.5, Math.PI, Math.E, 1e300, 1e-300, Double.MAX_VALUE, Double.MIN_NORMAL,
+      Double.MIN_VALUE, Math.nextDown(Double.MIN_NORMAL), Math.nextDown(2.0), 0x1.fffffp0,
+      0x1.08p0, 0x1.18p0, 0x0.0000000000fffp-1022, 0.0, -0.0
+    };
+    for (double sample : samples) {
+      for (int precision = 0; precision <= 14; precision++) {
+        assertHexLayoutMatchesReference(sample, precision);
+      }
+    }
+    Random random = new Random(34);
+    for (int i = 0; i < 100_000; i++) {
+      double value = Double.longBitsToDouble(random.nextLong());
+      if (i % 4 == 0) {
+        // Subnormals
+        value = Double.longBitsToDouble(random.nextLong() >>> (12 + random.nextInt(52)));
+      }
+      if (Double.isFinite(value)) {
+        assertHexLayoutMatchesReference(value, random.nextInt(15));
+      }
+    }
+  }
+
+  @Test
+  public void testHexLayout_withRoundingCarry_shouldBumpExponent() {
+    assertHexLayout(0x1.f8p3, 1, "0x1.0p+4");
+    assertHexLayout(0x1.08p0, 1, "0x1.0p+0");
+    assertHexLayout(0x1.18p0, 1, "0x1.2p+0");
+    assertHexLayout(Double.MIN_VALUE * 3, 1, "0x1.8p-1073");
+    assertHexLayout(Double.MIN_VALUE, 0, "0x0.0000000000001p-1022");
+  }
+
+  @Test
+  public void testHexLayout_withNonFiniteValues() {
+    assertEquals("NaN", new DoubleWrapper(Double.NaN).hexLayout(3).getMantissa().toString());
+    assertEquals(
+        "Infinity",
+        new DoubleWrapper(Double.NEGATIVE_INFINITY).hexLayout(3).getMantissa().toString());
+  }
+
+  private void assertHexLayoutMatchesReference(double value, int precision) {
+    FloatLayout layout = new DoubleWrapper(value).hexLayout(precision);
+    String actual = layout.getMantissa() + "p" + layout.getExponent();
+    assertEquals(value + " @ " + precision, referenceHex(value, precision), actual);
+  }
+
+  /** The previous implementation, which post-processed {@link Double#toHexString(double)}. */
+  private static String referenceHex(double d, int prec) {
+    if (d == 0.0 || prec == 0 || prec >= 13) {
+      return simpleHex(d, 0);
+    }
+    int exponent = Math.getExponent(d);
+    boolean subnormal = (exponent == Double.MIN_EXPONENT - 1);
+    if (subnormal) {
+      d *= Math.scalb(1.0, 54);
+    }
+    int shiftDistance = 53 - (1 + prec * 4);
+    long doppel = Double.doubleToLongBits(d);
+    long newSignif = (doppel & 0x7FFFFFFFFFFFFFFFL) >> shiftDistance;
+    long roundingBits = doppel & ~(~0L << shiftDistance);
+    boolean leastZero = (newSignif & 0x1L) == 0L;
+    boolean round = ((1L << (shiftDistance - 1)) & roundingBits) != 0L;
+    boolean sticky = shiftDistance > 1 && (~(1L << (shiftDistance - 1)) & roundingBits) != 0;
+    if ((leastZero && round && sticky) || (!leastZero && round)) {
+      newSignif++;
+    }
+    double result = Double.longBitsToDouble(newSignif << shiftDistance);
+    if (Double.isInfinite(result)) {
+      return "1.0p+1024";
+    }
+    return simpleHex(result, subnormal ? 54 : 0);
+  }
+
+  private static String simpleHex(double d, int exponentAdjust) {
+    String s = Double.toHexString(Math.abs(d));
+    int p = s.indexOf('p');
+    int exponent = Integer.parseInt(s.substring(p + 1)) - exponentAdjust;
+    return s.substring(2, p) + "p" + (exponent < 0 ? "" : "+") + exponent;
+  }
 }
@@ -0,0 +1,67 @@
+package io.fastprintf.number;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+public class ElementFormTest {
+
+  private static void assertSameInt(IntForm expected, IntForm actual) {
+    assertEquals(expected.signum(), actual.signum());
+    assertEquals(expected.toDecimalString(), actual.toDecimalString());
+    assertEquals(
+        expected.toGroupedDecimalSeq(',').toString(), actual.toGroupedDecimalSeq(',').toString());
+    assertEquals(expected.toHexString(), actual.toHexString());
+    assertEquals(expected.toOctalString(), actual.toOctalString());
+    assertEquals(expected.toUnsignedDecimalString(), actual.toUnsignedDecimalString());
+    assertEquals(expected.toString(), actual.toString());
+  }
+
+  private static void assertLayout(FloatLayout expected, FloatLayout actual) {
+    assertEquals(String.valueOf(expected.getMantissa()), String.valueOf(actual.getMantissa()));
+    assertEquals(String.valueOf(expected.getExponent()), String.valueOf(actual.getExponent()));
+  }
+
+  private static void assertSameFloat(FloatForm expected, FloatForm actual) {
+    assertEquals(expected.signum(), actual.signum());
+    assertEquals(expected.isNaN(), actual.isNaN());
+    assertEquals(expected.isInfinite(), actual.isInfinite());
+    for (int precision : new int[] {0, 1, 3, 6, 17}) {
+      assertLayout(expected.generalLayout(precision), actual.generalLayout(precision));
+      assertLayout(expected.scientificLayout(precision), actual.scientificLayout(precision));
+      assertLayout(expected.decimalLayout(precision), actual.decimalLayout(precision));
+      assertLayout(expected.hexLayout(precision), actual.hexLayout(precision));
+    }
+    assertEquals(expected.toString(), actual.toString());
+  }
+
+  @Test
+  public void load_shouldBehaveLikeTheWrapperOfEachType() {
+    ElementForm form = new ElementForm();
+    for (short value : new short[] {0, 1, -1, 255, -7, Short.MIN_VALUE, Short.MAX_VALUE}) {
+      assertSameInt(new ShortWrapper(value), form.load(value));
+    }
+    for (int value : new int[] {0, 42, -42, 1000, Integer.MIN_VALUE, Integer.MAX_VALUE}) {
+      assertSameInt(new IntWrapper(value), form.load(value));
+    }
+    for (long value : new long[] {0, 9, -9, 1L << 40, Long.MIN_VALUE, Long.MAX_VALUE}) {
+      assertSameInt(new LongWrapper(value), form.load(value));
+    }
+    double[] doubles = {
+      0.0, -0.0, 1.5, -2.25, Math.PI, 1e-320, 1e300, Double.NaN, Double.NEGATIVE_INFINITY
+    };
+    for (double value : doubles) {
+      assertSameFloat(new DoubleWrapper(value), form.load(value));
+    }
+  }
+
+  @Test
+  public void load_shouldReturnTheSameInstance() {
+    ElementForm form = new ElementForm();
+    assertSame(form, form.load(1));
+    assertSame(form, form.load(2.5));
+    assertSame(form, form.load((short) 3));
+    assertSame(form, form.load(4L));
+  }
+}
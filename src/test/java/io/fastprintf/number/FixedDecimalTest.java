@@ -0,0 +1,128 @@
+package io.fastprintf.number;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import io.fastprintf.FastPrintf;
+import io.fastprintf.util.TestHelper;
+import io.fastprintf.util.internal.FormattedFPDecimal;
+import java.util.Random;
+import org.junit.Test;
+
+public class FixedDecimalTest {
+
+  /**
+   * The general PLAIN mantissa with trailing fraction zeros dropped. How many of them PLAIN keeps
+   * depends on the shortest decimal, and {@code %f} pads the fraction anyway.
+   */
+  private static String reference(double value, int precision) {
+    String mantissa =
+        new String(
+            FormattedFPDecimal.valueOf(value, precision, FormattedFPDecimal.PLAIN).getMantissa());
+    if (mantissa.indexOf('.') < 0) {
+      return mantissa;
+    }
+    int end = mantissa.length();
+    while (mantissa.charAt(end - 1) == '0') {
+      end--;
+    }
+    if (mantissa.charAt(end - 1) == '.') {
+      end--;
+    }
+    return mantissa.substring(0, end);
+  }
+
+  private static int assertMatchesReference(double value, int precision) {
+    char[] fast = FixedDecimal.tryFormat(value, precision);
+    if (fast == null) {
+      return 0;
+    }
+    assertEquals(value + " @ " + precision, reference(value, precision), new String(fast));
+    return 1;
+  }
+
+  @Test
+  public void tryFormat_withCommonValues_shouldMatchGeneralPath() {
+    double[] samples = {
+      0.0, 1.0, 0.5, 0.125, 0.1, 0.2, 0.3, 1.005, 2.675, 1.115, 98.615, 3.14159265358979,
+      123456.789, 999.9999, 9.5, 0.0625, 1e15 + 0.3, 4503599627370495.5, 0.000489, 0.00049,
+      Math.scalb(1.0, -11), Math.nextDown(Math.scalb(1.0, 52))
+    };
+    for (double sample : samples) {
+      for (int precision = 0; precision <= FixedDecimal.MAX_PRECISION; precision++) {
+        assertMatchesReference(sample, precision);
+      }
+    }
+  }
+
+  @Test
+  public void tryFormat_withRandomValues_shouldMatchGeneralPathAndMostlyHit() {
+    Random random = new Random(7);
+    int hits = 0;
+    int total = 0;
+    for (int i = 0; i < 200_000; i++) {
+      double value;
+      switch (i % 4) {
+        case 0:
+          value = random.nextDouble() * 1000;
+          break;
+        case 1:
+          // Money-like amounts sitting on decimal boundaries.
+          value = (random.nextInt(10_000_000) + (random.nextBoolean() ? 0.5 : 0.005)) / 100;
+          break;
+        case 2:
+          value = Math.scalb(random.nextDouble(), random.nextInt(64) - 12);
+          break;
+        default:
+          value = Double.longBitsToDouble(random.nextLong() & Long.MAX_VALUE);
+      }
+      int precision = random.nextInt(FixedDecimal.MAX_PRECISION + 1);
+      hits += assertMatchesReference(value, precision);
+      total++;
+    }
+    // Values outside the fast path's range (case 3) decline; the rest overwhelmingly hit.
+    assertEquals(true, hits > total / 2);
+  }
+
+  @Test
+  public void tryFormat_withMidpointShortestDecimal_shouldDecline() {
+    // 0.15 is stored as 0.1499999999999999944..., but %.1f rounds its shortest decimal to 0.2.
+    assertNull(FixedDecimal.tryFormat(0.15, 1));
+    assertNull(FixedDecimal.tryFormat(2.675, 2));
+    assertEquals("0.2", reference(0.15, 1));
+    assertEquals("2.68", reference(2.675, 2));
+  }
+
+  @Test
+  public void tryFormat_outsideSupportedRange_shouldDecline() {
+    assertNull(FixedDecimal.tryFormat(1.5, FixedDecimal.MAX_PRECISION + 1));
+    assertNull(FixedDecimal.tryFormat(1.5, -1));
+    assertNull(FixedDecimal.tryFormat(-1.5, 2));
+    assertNull(FixedDecimal.tryFormat(Double.MIN_VALUE, 2));
+    assertNull(FixedDecimal.tryFormat(Math.scalb(1.0, 60), 2));
+    assertNull(FixedDecimal.tryFormat(1e-5, 2));
+    assertNull(FixedDecimal.tryFormat(Double.NaN, 2));
+    assertNull(FixedDecimal.tryFormat(Double.POSITIVE_INFINITY, 2));
+  }
+
+  @Test
+  public void tryFormat_shouldDropTrailingFractionZeros() {
+    assertArrayEquals("0".toCharArray(), FixedDecimal.tryFormat(0.0, 3));
+    assertArrayEquals("12.34".toCharArray(), FixedDecimal.tryFormat(12.34, 2));
+    assertArrayEquals("12.3".toCharArray(), FixedDecimal.tryFormat(12.3, 4));
+    assertArrayEquals("1".toCharArray(), FixedDecimal.tryFormat(0.996, 2));
+    assertArrayEquals("12".toCharArray(), FixedDecimal.tryFormat(12.34, 0));
+  }
+
+  @Test
+  public void format_withFixedPrecision_shouldPadFraction() {
+    assertEquals("12.30|0.000|-1.25|  3.1", FastPrintf.compile("%.2f|%.3f|%.2f|%5.1f")
+        .format(12.3, 0.0, -1.254, 3.14159));
+  }
+
+  @Test
+  public void testPrivateConstructor() throws Exception {
+    TestHelper.testPrivateConstructor_forCodeCoverage(FixedDecimal.class);
+  }
+}
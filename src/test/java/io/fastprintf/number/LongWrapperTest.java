@@ -30,6 +30,20 @@ public class LongWrapperTest {
         new LongWrapper(Long.MIN_VALUE).toDecimalString());
   }
 
+  @Test
+  public void testToGroupedDecimalSeq() {
+    assertEquals("0", new LongWrapper(0L).toGroupedDecimalSeq(',').toString());
+    assertEquals("999", new LongWrapper(-999L).toGroupedDecimalSeq(',').toString());
+    assertEquals("1,000", new LongWrapper(1000L).toGroupedDecimalSeq(',').toString());
+    assertEquals("12 345 678", new LongWrapper(-12345678L).toGroupedDecimalSeq(' ').toString());
+    assertEquals(
+        "9,223,372,036,854,775,807",
+        new LongWrapper(Long.MAX_VALUE).toGroupedDecimalSeq(',').toString());
+    assertEquals(
+        "9,223,372,036,854,775,808",
+        new LongWrapper(Long.MIN_VALUE).toGroupedDecimalSeq(',').toString());
+  }
+
   @Test
   public void testToString() {
     assertEquals("toString for positive value", "12345", new LongWrapper(12345L).toString());
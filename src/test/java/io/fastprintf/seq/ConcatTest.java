@@ -56,6 +56,8 @@ public class ConcatTest {
 
     // Spanning both children
     assertEquals("defg", seq.subSequence(3, 7).toString());
+    assertEquals(4, seq.subSequence(3, 7).length());
+    assertEquals(2, Concat.concat(Seq.wrap("0.5"), Seq.ch('0')).subSequence(2, 4).length());
 
     // Edge cases
     assertEquals("", seq.subSequence(5, 5).toString());
@@ -0,0 +1,91 @@
+package io.fastprintf.seq;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import io.fastprintf.util.TestHelper;
+import java.util.Random;
+import org.junit.Test;
+
+public class CsvQuoteTest {
+
+  /** A straightforward reference implementation. */
+  private static String reference(String s, boolean always) {
+    boolean quote =
+        always || s.indexOf(',') >= 0 || s.indexOf('"') >= 0 || s.indexOf('\n') >= 0
+            || s.indexOf('\r') >= 0;
+    return quote ? '"' + s.replace("\"", "\"\"") + '"' : s;
+  }
+
+  @Test
+  public void quoteCsv_withCleanInput_shouldReturnSameInstance() {
+    Seq view = Seq.wrap("plain text; caf\u00e9 \t 'ok'");
+    assertSame(view, Seq.quoteCsv(view, false));
+    Seq array = Seq.forArray("no quoting here".toCharArray());
+    assertSame(array, Seq.quoteCsv(array, false));
+    Seq concat = Seq.wrap("left").append(Seq.wrap("right"));
+    assertSame(concat, Seq.quoteCsv(concat, false));
+    assertSame(Seq.empty(), Seq.quoteCsv(Seq.empty(), false));
+  }
+
+  @Test
+  public void quoteCsv_shouldQuoteAndDoubleEmbeddedQuotes() {
+    assertEquals("\"a,b\"", Seq.quoteCsv(Seq.wrap("a,b"), false).toString());
+    assertEquals("\"line1\nline2\"", Seq.quoteCsv(Seq.wrap("line1\nline2"), false).toString());
+    assertEquals("\"cr\r\"", Seq.quoteCsv(Seq.wrap("cr\r"), false).toString());
+    assertEquals(
+        "\"say \"\"hi\"\"\"", Seq.quoteCsv(Seq.wrap("say \"hi\""), false).toString());
+    assertEquals("\"\"\"\"", Seq.quoteCsv(Seq.ch('"'), false).toString());
+    assertEquals("\"\"\"\"\"\"", Seq.quoteCsv(Seq.wrap("\"\""), false).toString());
+    assertEquals(
+        "\"x,\"\"y\"\"\"",
+        Seq.quoteCsv(Seq.wrap("x,").append(Seq.wrap("\"y\"")), false).toString());
+  }
+
+  @Test
+  public void quoteCsv_withAlways_shouldQuoteCleanInput() {
+    assertEquals("\"plain\"", Seq.quoteCsv(Seq.wrap("plain"), true).toString());
+    assertEquals("\"\"", Seq.quoteCsv(Seq.empty(), true).toString());
+  }
+
+  @Test
+  public void quoteCsv_shouldBeBuiltFromSlices() {
+    Seq quoted = Seq.quoteCsv(Seq.wrap("a\"b\"c"), false);
+    // open quote, "a\"", "\"b\"", "\"c", close quote
+    assertEquals(5, quoted.elementCount());
+    assertEquals(9, quoted.length());
+    assertEquals("\"a\"\"b\"\"c\"", quoted.toString());
+  }
+
+  @Test
+  public void quoteCsv_onSubViewsAndUpperCase_shouldOnlyQuoteTheView() {
+    String source = "\"head\" a,b \"tail\"";
+    assertEquals("\"a,b\"", Seq.quoteCsv(Seq.wrap(source, 7, 10), false).toString());
+    char[] chars = ",,mid\"dle,,".toCharArray();
+    assertEquals("\"mid\"\"dle\"", Seq.quoteCsv(Seq.forArray(chars, 2, 7), false).toString());
+    assertEquals(
+        "\"SAY \"\"HI\"\"\"", Seq.quoteCsv(Seq.wrap("say \"hi\"").upperCase(), false).toString());
+  }
+
+  @Test
+  public void quoteCsv_withRandomInput_shouldMatchReference() {
+    Random random = new Random(39);
+    char[] alphabet = {'a', 'Z', ' ', '"', ',', '\n', '\r', '\t', ';', '\u00e9'};
+    for (int i = 0; i < 5_000; i++) {
+      char[] chars = new char[random.nextInt(40)];
+      for (int k = 0; k < chars.length; k++) {
+        chars[k] = alphabet[random.nextInt(alphabet.length)];
+      }
+      String s = new String(chars);
+      boolean always = random.nextInt(4) == 0;
+      String expected = reference(s, always);
+      assertEquals(expected, Seq.quoteCsv(Seq.wrap(s), always).toString());
+      assertEquals(expected, Seq.quoteCsv(Seq.forArray(chars), always).toString());
+    }
+  }
+
+  @Test
+  public void testPrivateConstructor() throws Exception {
+    TestHelper.testPrivateConstructor_forCodeCoverage(CsvQuote.class);
+  }
+}
@@ -0,0 +1,61 @@
+package io.fastprintf.seq;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import io.fastprintf.util.TestHelper;
+import org.junit.Test;
+
+public class DigitGroupingTest {
+
+  @Test
+  public void groupDigits_shouldSeparateIntegerPartOnly() {
+    assertEquals("1,234", Seq.groupDigits(Seq.wrap("1234"), ',').toString());
+    assertEquals("12,345", Seq.groupDigits(Seq.wrap("12345"), ',').toString());
+    assertEquals("123,456", Seq.groupDigits(Seq.wrap("123456"), ',').toString());
+    assertEquals("1_234_567", Seq.groupDigits(Seq.wrap("1234567"), '_').toString());
+    assertEquals("1,234.56789", Seq.groupDigits(Seq.wrap("1234.56789"), ',').toString());
+    assertEquals("1.234.5678", Seq.groupDigits(Seq.wrap("1234.5678"), '.').toString());
+    assertEquals("1,234.", Seq.groupDigits(Seq.wrap("1234."), ',').toString());
+  }
+
+  @Test
+  public void groupDigits_withShortIntegerPart_shouldReturnSameInstance() {
+    Seq[] samples = {
+      Seq.empty(), Seq.ch('7'), Seq.wrap("123"), Seq.wrap("0.12345"), Seq.wrap("999.1234567")
+    };
+    for (Seq sample : samples) {
+      assertSame(sample, Seq.groupDigits(sample, ','));
+    }
+  }
+
+  @Test
+  public void groupDigits_withDecimalSeparator_shouldReplaceThePointInTheSamePass() {
+    assertEquals("1.234,5", Seq.groupDigits(Seq.wrap("1234.5"), '.', ',').toString());
+    assertEquals("123,45", Seq.groupDigits(Seq.wrap("123.45"), '.', ',').toString());
+    assertEquals("1 234", Seq.groupDigits(Seq.wrap("1234"), ' ', ',').toString());
+    assertEquals("1.234,", Seq.groupDigits(Seq.wrap("1234."), '.', ',').toString());
+  }
+
+  @Test
+  public void replaceDecimalPoint_shouldSliceAroundThePoint() {
+    Seq number = Seq.wrap("3.25");
+    assertSame(number, Seq.replaceDecimalPoint(number, '.'));
+    assertEquals("3,25", Seq.replaceDecimalPoint(number, ',').toString());
+    assertEquals("3,", Seq.replaceDecimalPoint(Seq.wrap("3."), ',').toString());
+    assertEquals(",5", Seq.replaceDecimalPoint(Seq.wrap(".5"), ',').toString());
+    Seq integer = Seq.wrap("42");
+    assertSame(integer, Seq.replaceDecimalPoint(integer, ','));
+  }
+
+  @Test
+  public void groupDigits_shouldReadAnySeq() {
+    Seq concat = Seq.wrap("12").append(Seq.wrap("345")).append(Seq.wrap(".5"));
+    assertEquals("12,345.5", Seq.groupDigits(concat, ',').toString());
+  }
+
+  @Test
+  public void testPrivateConstructor() throws Exception {
+    TestHelper.testPrivateConstructor_forCodeCoverage(DigitGrouping.class);
+  }
+}
@@ -0,0 +1,85 @@
+package io.fastprintf.seq;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import io.fastprintf.util.TestHelper;
+import org.junit.Test;
+
+public class DisplayWidthTest {
+
+  private static final String GRINNING = "\ud83d\ude00";
+
+  @Test
+  public void columns_shouldFollowWcwidth() {
+    assertEquals(1, DisplayWidth.columns('a'));
+    assertEquals(1, DisplayWidth.columns('\t'));
+    assertEquals(1, DisplayWidth.columns('\u00e9'));
+    assertEquals(1, DisplayWidth.columns('\u0416'));
+    assertEquals(2, DisplayWidth.columns('\u4e2d'));
+    assertEquals(2, DisplayWidth.columns('\uac00'));
+    assertEquals(2, DisplayWidth.columns('\uff21'));
+    assertEquals(2, DisplayWidth.columns(0x1F600));
+    assertEquals(2, DisplayWidth.columns(0x20000));
+    assertEquals(1, DisplayWidth.columns(0x1F1E6));
+    assertEquals(0, DisplayWidth.columns('\u0301'));
+    assertEquals(0, DisplayWidth.columns('\u200b'));
+    assertEquals(0, DisplayWidth.columns('\u1160'));
+    assertEquals(1, DisplayWidth.columns('\u2026'));
+  }
+
+  @Test
+  public void count_shouldMeasureCodePointsAndColumns() {
+    Seq seq = Seq.wrap("a\u4e2d" + GRINNING + "e\u0301");
+    assertEquals(6, seq.length());
+    assertEquals(5, Seq.codePointCount(seq));
+    assertEquals(6, Seq.columnCount(seq));
+
+    Seq latin1 = Seq.wrap("caf\u00e9 \u00fcber");
+    assertEquals(latin1.length(), Seq.codePointCount(latin1));
+    assertEquals(latin1.length(), Seq.columnCount(latin1));
+    assertEquals(5, Seq.columnCount(Seq.repeated('x', 5)));
+    assertEquals(6, Seq.columnCount(Seq.repeated('\u3000', 3)));
+    assertEquals(4, Seq.columnCount(Seq.forArray("\u6587\u5b57".toCharArray())));
+    assertEquals(0, Seq.columnCount(Seq.empty()));
+  }
+
+  @Test
+  public void count_withSurrogatePairSplitAcrossParts_shouldCountItOnce() {
+    Seq split = Seq.wrap("a\ud83d").append(Seq.wrap("\ude00b"));
+    assertEquals(3, Seq.codePointCount(split));
+    assertEquals(4, Seq.columnCount(split));
+
+    Seq chars = Seq.ch('\ud83d').append(Seq.ch('\ude00')).append(Seq.wrap("\u4e2d"));
+    assertEquals(2, Seq.codePointCount(chars));
+    assertEquals(4, Seq.columnCount(chars));
+  }
+
+  @Test
+  public void truncate_shouldNeverSplitACharacter() {
+    assertEquals("\u4e2d", Seq.truncateColumns(Seq.wrap("\u4e2d\u6587abc"), 3).toString());
+    assertEquals("\u4e2d\u6587a", Seq.truncateColumns(Seq.wrap("\u4e2d\u6587abc"), 5).toString());
+    assertEquals("e\u0301", Seq.truncateColumns(Seq.wrap("e\u0301x"), 1).toString());
+    assertEquals("", Seq.truncateColumns(Seq.wrap(GRINNING), 1).toString());
+    assertEquals(GRINNING, Seq.truncateCodePoints(Seq.wrap(GRINNING + GRINNING), 1).toString());
+    assertEquals("hel", Seq.truncateCodePoints(Seq.wrap("hello"), 3).toString());
+    assertEquals("hel", Seq.truncateColumns(Seq.wrap("hello"), 3).toString());
+  }
+
+  @Test
+  public void truncate_withinLimit_shouldReturnSameInstance() {
+    Seq wide = Seq.wrap("\u4e2d\u6587");
+    assertSame(wide, Seq.truncateColumns(wide, 4));
+    assertSame(wide, Seq.truncateCodePoints(wide, 2));
+    Seq latin1 = Seq.wrap("hello");
+    assertSame(latin1, Seq.truncateColumns(latin1, 5));
+    assertSame(latin1, Seq.truncateCodePoints(latin1, 9));
+    assertThrows(IllegalArgumentException.class, () -> Seq.truncateColumns(latin1, -1));
+  }
+
+  @Test
+  public void testPrivateConstructor() throws Exception {
+    TestHelper.testPrivateConstructor_forCodeCoverage(DisplayWidth.class);
+  }
+}
@@ -0,0 +1,75 @@
+package io.fastprintf.seq;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import org.junit.Test;
+
+public class HexBytesTest {
+
+  private static String expectedHex(byte[] bytes, int count, boolean grouped) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < count; i++) {
+      if (grouped && i > 0) {
+        sb.append(i % 8 == 0 ? "  " : " ");
+      }
+      sb.append(String.format("%02x", bytes[i] & 0xFF));
+    }
+    return sb.toString();
+  }
+
+  @Test
+  public void hex_shouldMatchReferenceEncoding() {
+    Random random = new Random(47);
+    for (int length = 0; length < 600; length += 1 + length / 8) {
+      byte[] bytes = new byte[length];
+      random.nextBytes(bytes);
+      for (boolean grouped : new boolean[] {false, true}) {
+        String expected = expectedHex(bytes, length, grouped);
+        Seq seq = Seq.hex(ByteBuffer.wrap(bytes), Integer.MAX_VALUE, grouped, false);
+        assertEquals(expected.length(), seq.length());
+        StringBuilder sb = new StringBuilder("x");
+        seq.appendTo(sb);
+        assertEquals("x" + expected, sb.toString());
+        assertEquals(
+            expected.toUpperCase(),
+            Seq.hex(ByteBuffer.wrap(bytes), Integer.MAX_VALUE, grouped, true).toString());
+      }
+    }
+  }
+
+  @Test
+  public void hex_shouldEncodeEveryByteValue() {
+    byte[] bytes = new byte[256];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) i;
+    }
+    String hex = Seq.hex(ByteBuffer.wrap(bytes), 256, false, false).toString();
+    for (int i = 0; i < bytes.length; i++) {
+      assertEquals(Integer.parseInt(hex.substring(2 * i, 2 * i + 2), 16), i);
+    }
+  }
+
+  @Test
+  public void hex_withMaxBytes_shouldTruncate() {
+    byte[] bytes = {0x00, 0x7f, (byte) 0x80, (byte) 0xff, 0x10};
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    assertEquals("007f80", Seq.hex(buffer, 3, false, false).toString());
+    assertEquals("00 7F 80 FF 10", Seq.hex(buffer, 99, true, true).toString());
+    assertSame(Seq.empty(), Seq.hex(buffer, 0, true, false));
+    assertEquals(0, buffer.position());
+    assertThrows(IllegalArgumentException.class, () -> Seq.hex(buffer, -1, false, false));
+  }
+
+  @Test
+  public void length_shouldCountSeparators() {
+    assertEquals(0, HexBytes.length(0, true));
+    assertEquals(2, HexBytes.length(1, true));
+    assertEquals(23, HexBytes.length(8, true));
+    assertEquals(27, HexBytes.length(9, true));
+    assertEquals(18, HexBytes.length(9, false));
+  }
+}
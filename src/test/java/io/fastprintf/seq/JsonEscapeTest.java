@@ -0,0 +1,111 @@
+package io.fastprintf.seq;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import io.fastprintf.util.TestHelper;
+import java.util.Random;
+import org.junit.Test;
+
+public class JsonEscapeTest {
+
+  /** A straightforward reference implementation. */
+  private static String reference(String s) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      switch (c) {
+        case '"':
+          sb.append("\\\"");
+          break;
+        case '\\':
+          sb.append("\\\\");
+          break;
+        case '\b':
+          sb.append("\\b");
+          break;
+        case '\f':
+          sb.append("\\f");
+          break;
+        case '\n':
+          sb.append("\\n");
+          break;
+        case '\r':
+          sb.append("\\r");
+          break;
+        case '\t':
+          sb.append("\\t");
+          break;
+        default:
+          if (c < 0x20) {
+            sb.append(String.format("\\u%04x", (int) c));
+          } else {
+            sb.append(c);
+          }
+      }
+    }
+    return sb.toString();
+  }
+
+  @Test
+  public void escapeJson_withCleanInput_shouldReturnSameInstance() {
+    Seq view = Seq.wrap("plain text, caf\u00e9 \u4e2d\u6587 / <ok>");
+    assertSame(view, Seq.escapeJson(view));
+    Seq array = Seq.forArray("no escapes here".toCharArray());
+    assertSame(array, Seq.escapeJson(array));
+    Seq concat = Seq.wrap("left").append(Seq.wrap("right"));
+    assertSame(concat, Seq.escapeJson(concat));
+    assertSame(Seq.empty(), Seq.escapeJson(Seq.empty()));
+  }
+
+  @Test
+  public void escapeJson_shouldEscapeQuotesBackslashesAndControls() {
+    String input = "a\"b\\c\nd\te\r\b\f\u0000\u001f\u007f end";
+    String expected = "a\\\"b\\\\c\\nd\\te\\r\\b\\f\\u0000\\u001f\u007f end";
+    assertEquals(expected, Seq.escapeJson(Seq.wrap(input)).toString());
+    assertEquals(expected, Seq.escapeJson(Seq.forArray(input.toCharArray())).toString());
+    assertEquals("\\\"", Seq.escapeJson(Seq.ch('"')).toString());
+    assertEquals(
+        "x\\\\y\\n", Seq.escapeJson(Seq.wrap("x\\y").append(Seq.ch('\n'))).toString());
+  }
+
+  @Test
+  public void escapeJson_onSubViews_shouldOnlyEscapeTheView() {
+    String source = "\"head\" body\n \"tail\"";
+    Seq view = Seq.wrap(source, 7, 12); // "body\n"
+    assertEquals("body\\n", Seq.escapeJson(view).toString());
+    char[] chars = ("\n\n" + "mid\"dle" + "\n\n").toCharArray();
+    assertEquals("mid\\\"dle", Seq.escapeJson(Seq.forArray(chars, 2, 7)).toString());
+  }
+
+  @Test
+  public void escapeJson_onUpperCaseViews_shouldKeepCase() {
+    assertEquals(
+        "SAY \\\"HI\\\"\\n", Seq.escapeJson(Seq.wrap("say \"hi\"\n").upperCase()).toString());
+    assertEquals(
+        "TAB\\tEND", Seq.escapeJson(Seq.forArray("tab\tend".toCharArray()).upperCase()).toString());
+    Seq clean = Seq.wrap("clean").upperCase();
+    assertSame(clean, Seq.escapeJson(clean));
+  }
+
+  @Test
+  public void escapeJson_withRandomInput_shouldMatchReference() {
+    Random random = new Random(38);
+    char[] alphabet = {'a', 'Z', ' ', '"', '\\', '\n', '\u0001', '\u00e9', '\u2028', '/', '\t'};
+    for (int i = 0; i < 5_000; i++) {
+      char[] chars = new char[random.nextInt(40)];
+      for (int k = 0; k < chars.length; k++) {
+        chars[k] = alphabet[random.nextInt(alphabet.length)];
+      }
+      String s = new String(chars);
+      String expected = reference(s);
+      assertEquals(expected, Seq.escapeJson(Seq.wrap(s)).toString());
+      assertEquals(expected, Seq.escapeJson(Seq.forArray(chars)).toString());
+    }
+  }
+
+  @Test
+  public void testPrivateConstructor() throws Exception {
+    TestHelper.testPrivateConstructor_forCodeCoverage(JsonEscape.class);
+  }
+}
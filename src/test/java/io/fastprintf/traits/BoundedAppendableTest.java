@@ -0,0 +1,48 @@
+package io.fastprintf.traits;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class BoundedAppendableTest {
+
+  @Test
+  public void render_shouldKeepEverythingWithinTheLimit() {
+    String text =
+        BoundedAppendable.render(
+            10, out -> out.append("ab").append('c').append("xdefx", 1, 4).append(null));
+    assertEquals("abcdefnull", text);
+  }
+
+  @Test
+  public void render_shouldStopTheWriterOnceFull() {
+    int[] appends = new int[1];
+    String text =
+        BoundedAppendable.render(
+            4,
+            out -> {
+              for (int i = 0; i < 1000; i++) {
+                out.append("ab");
+                appends[0]++;
+              }
+            });
+    assertEquals("abab", text);
+    assertEquals(2, appends[0]);
+
+    assertEquals("", BoundedAppendable.render(0, out -> out.append('a')));
+    assertEquals("abc", BoundedAppendable.render(3, out -> out.append("abc").append("")));
+  }
+
+  @Test
+  public void render_shouldNotHideOtherExceptions() {
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            BoundedAppendable.render(
+                10,
+                out -> {
+                  out.append("a");
+                  throw new IllegalStateException();
+                }));
+  }
+}
@@ -0,0 +1,61 @@
+package io.fastprintf.traits;
+
+import static org.junit.Assert.*;
+
+import io.fastprintf.PrintfException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+
+public class ByteArrayTraitsTest {
+
+  private static final byte[] HELLO = "Hello".getBytes(StandardCharsets.US_ASCII);
+
+  @Test
+  public void testConstructorAndRef() {
+    ByteArrayTraits traits = new ByteArrayTraits(HELLO);
+    RefSlot ref = traits.ref();
+    assertFalse(ref.isPrimitive());
+    assertSame(HELLO, ref.get());
+    assertSame(HELLO, traits.asObject());
+
+    ByteBuffer buffer = ByteBuffer.wrap(HELLO);
+    assertSame(buffer, new ByteArrayTraits(buffer).ref().get());
+  }
+
+  @Test
+  public void testAsString() {
+    assertEquals("SGVsbG8=", new ByteArrayTraits(HELLO).asString());
+    ByteBuffer buffer = ByteBuffer.allocate(4);
+    assertEquals(buffer.toString(), new ByteArrayTraits(buffer).asString());
+  }
+
+  @Test
+  public void testAsHexSeq() {
+    ByteArrayTraits traits = new ByteArrayTraits(HELLO);
+    assertEquals("48656c6c6f", traits.asHexSeq(Integer.MAX_VALUE, false, false).toString());
+    assertEquals("48 65 6C", traits.asHexSeq(3, true, true).toString());
+    assertEquals("", traits.asHexSeq(0, false, false).toString());
+  }
+
+  @Test
+  public void testAsHexSeq_withBufferPosition_shouldReadRemainingBytesOnly() {
+    ByteBuffer buffer = ByteBuffer.wrap(HELLO);
+    buffer.position(1).limit(4);
+    ByteArrayTraits traits = new ByteArrayTraits(buffer.slice());
+    assertEquals("656c6c", traits.asHexSeq(Integer.MAX_VALUE, false, false).toString());
+
+    ByteBuffer direct = ByteBuffer.allocateDirect(3);
+    direct.put((byte) 0xAB).put((byte) 0x01).put((byte) 0xFF).flip();
+    assertEquals("ab01ff", new ByteArrayTraits(direct).asHexSeq(9, false, false).toString());
+    assertEquals(0, direct.position());
+  }
+
+  @Test
+  public void testNumericConversions_shouldThrow() {
+    ByteArrayTraits traits = new ByteArrayTraits(HELLO);
+    assertThrows(PrintfException.class, traits::asIntForm);
+    assertThrows(PrintfException.class, traits::asFloatForm);
+    assertThrows(PrintfException.class, traits::asInt);
+  }
+}
@@ -169,4 +169,56 @@ public class CharSequenceTraitsTest {
   public void testAsTemporalAccessor_throwsException() {
     new CharSequenceTraits("2022-01-01").asTemporalAccessor();
   }
+
+  @Test
+  public void testAsSeq_withMaxLength_shouldCopyOnlyThePrefix() {
+    StringBuilder large = new StringBuilder();
+    for (int i = 0; i < 10_000; i++) {
+      large.append((char) ('a' + i % 26));
+    }
+    CountingSequence counted = new CountingSequence(large);
+    Seq prefix = new CharSequenceTraits(counted).asSeq(5);
+    assertEquals(5, prefix.length());
+    assertEquals("abcde", prefix.toString());
+    assertTrue(counted.reads <= 5);
+
+    assertEquals("ab", new CharSequenceTraits(new StringBuilder("ab")).asSeq(5).toString());
+    assertEquals("a string", new CharSequenceTraits("a string").asSeq(3).toString());
+    Seq seq = Seq.wrap("a seq");
+    assertSame(seq, new CharSequenceTraits(seq).asSeq(1));
+  }
+
+  /** A sequence that counts the characters read from it. */
+  private static final class CountingSequence implements CharSequence {
+
+    private final CharSequence delegate;
+    private int reads;
+
+    CountingSequence(CharSequence delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public int length() {
+      return delegate.length();
+    }
+
+    @Override
+    public char charAt(int index) {
+      reads++;
+      return delegate.charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      reads += end - start;
+      return delegate.subSequence(start, end);
+    }
+
+    @Override
+    public String toString() {
+      reads += delegate.length();
+      return delegate.toString();
+    }
+  }
 }
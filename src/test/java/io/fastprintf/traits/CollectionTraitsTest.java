@@ -0,0 +1,149 @@
+package io.fastprintf.traits;
+
+import static org.junit.Assert.*;
+
+import io.fastprintf.PrintfException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.junit.Test;
+
+public class CollectionTraitsTest {
+
+  @Test
+  public void testAsString_shouldMatchToString() {
+    List<Object> list = new ArrayList<>(Arrays.asList(1, "two", null, 4.5));
+    list.add(Arrays.asList('a', 'b'));
+    assertEquals(list.toString(), new CollectionTraits(list).asString());
+    assertEquals("[]", new CollectionTraits(Collections.emptyList()).asString());
+
+    Map<Object, Object> map = new LinkedHashMap<>();
+    map.put("a", 1);
+    map.put(null, Collections.singletonMap("x", Arrays.asList(1, 2)));
+    assertEquals(map.toString(), new CollectionTraits(map).asString());
+
+    HashSet<Integer> set = new HashSet<>(Arrays.asList(3, 1, 2));
+    assertEquals(set.toString(), new CollectionTraits(set).asString());
+  }
+
+  @Test
+  public void testAsString_withSelfReference_shouldMatchToString() {
+    List<Object> list = new ArrayList<>();
+    list.add(list);
+    list.add(1);
+    assertEquals("[(this Collection), 1]", new CollectionTraits(list).asString());
+
+    Map<Object, Object> map = new TreeMap<>();
+    map.put("self", map);
+    assertEquals("{self=(this Map)}", new CollectionTraits(map).asString());
+  }
+
+  @Test
+  public void testAsString_withStream_shouldWriteElements() {
+    assertEquals("[1, 2, 3]", new CollectionTraits(Stream.of(1, 2, 3)).asString());
+    assertEquals("[]", new CollectionTraits(Stream.empty()).asString());
+  }
+
+  @Test
+  public void testStream_shouldGiveTheSameTextOnEveryCall() {
+    AtomicInteger pulled = new AtomicInteger();
+    Stream<Integer> stream = Stream.iterate(0, i -> i + 1).peek(i -> pulled.incrementAndGet());
+    CollectionTraits traits = new CollectionTraits(stream);
+    assertEquals("[0, 1", traits.asSeq(5).toString());
+    int afterFirst = pulled.get();
+    assertEquals("[0, 1", traits.asSeq(5).toString());
+    assertEquals(afterFirst, pulled.get());
+    assertEquals("[0, 1, 2, 3, 4", traits.asSeq(14).toString());
+
+    CollectionTraits finite = new CollectionTraits(Stream.of("a", "b"));
+    assertEquals("[a", finite.asSeq(2).toString());
+    assertEquals("[a, b]", finite.asString());
+    assertEquals("[a, b]", finite.asString());
+  }
+
+  @Test
+  public void testAsSeq_withMaxLength_shouldStopIteratingEarly() {
+    List<Integer> list = new ArrayList<>(1_000_000);
+    for (int i = 0; i < 1_000_000; i++) {
+      list.add(i);
+    }
+    AtomicInteger visited = new AtomicInteger();
+
+    CollectionTraits traits = new CollectionTraits(new CountingList(list, visited));
+    String prefix = traits.asSeq(20).toString();
+    assertEquals(list.toString().substring(0, 20), prefix);
+    assertTrue(visited.get() < 20);
+
+    Stream<Integer> infinite = Stream.iterate(0, i -> i + 1);
+    assertEquals("[0, 1, 2, 3", new CollectionTraits(infinite).asSeq(11).toString());
+    assertEquals("", new CollectionTraits(list).asSeq(0).toString());
+    assertEquals("[1]", new CollectionTraits(Arrays.asList(1)).asSeq(100).toString());
+  }
+
+  @Test
+  public void testInheritsToString() {
+    assertTrue(CollectionTraits.inheritsToString(new ArrayList<>()));
+    assertTrue(CollectionTraits.inheritsToString(Arrays.asList(1)));
+    assertTrue(CollectionTraits.inheritsToString(new TreeMap<>()));
+    assertFalse(CollectionTraits.inheritsToString(Collections.unmodifiableList(new ArrayList<>())));
+    assertFalse(CollectionTraits.inheritsToString("text"));
+    assertFalse(CollectionTraits.inheritsToString(null));
+  }
+
+  @Test
+  public void testNumericConversions_shouldThrow() {
+    CollectionTraits traits = new CollectionTraits(Arrays.asList(1));
+    assertThrows(PrintfException.class, traits::asIntForm);
+    assertThrows(PrintfException.class, traits::asFloatForm);
+    assertThrows(PrintfException.class, traits::asInt);
+    List<Integer> list = Arrays.asList(1);
+    assertSame(list, new CollectionTraits(list).ref().get());
+  }
+
+  /** A list whose iterator counts the elements it returns. */
+  private static final class CountingList extends java.util.AbstractList<Integer> {
+
+    private final List<Integer> list;
+    private final AtomicInteger visited;
+
+    CountingList(List<Integer> list, AtomicInteger visited) {
+      this.list = list;
+      this.visited = visited;
+    }
+
+    @Override
+    public Integer get(int index) {
+      return list.get(index);
+    }
+
+    @Override
+    public int size() {
+      return list.size();
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+      Iterator<Integer> it = list.iterator();
+      return new Iterator<Integer>() {
+        @Override
+        public boolean hasNext() {
+          return it.hasNext();
+        }
+
+        @Override
+        public Integer next() {
+          visited.incrementAndGet();
+          return it.next();
+        }
+      };
+    }
+  }
+}
@@ -2,6 +2,7 @@ package io.fastprintf.traits;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import io.fastprintf.PrintfException;
@@ -11,6 +12,8 @@ import java.util.Arrays;
 import java.util.Base64;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.Formattable;
+import java.util.Formatter;
 import java.util.GregorianCalendar;
 import org.junit.Test;
 
@@ -235,4 +238,52 @@ public class ObjectTraitsTest {
     ObjectTraits traits = new ObjectTraits(obj);
     assertSame(obj, traits.ref().get());
   }
+
+  // --- Formattable Tests ---
+
+  @Test
+  public void asString_withFormattable_shouldUseFormatTo() {
+    ObjectTraits traits = new ObjectTraits(new Repeating("ab", 3));
+    assertEquals("ababab", traits.asString());
+    assertEquals("ababab", traits.asSeq().toString());
+  }
+
+  @Test
+  public void asSeq_withMaxLength_shouldStopFormattableEarly() {
+    Repeating repeating = new Repeating("xyz", 1_000_000);
+    ObjectTraits traits = new ObjectTraits(repeating);
+    assertEquals("xyzxy", traits.asSeq(5).toString());
+    assertTrue(repeating.written <= 2);
+    assertEquals("", traits.asSeq(0).toString());
+
+    // Objects that are not Formattable are converted whole.
+    assertEquals("plain", new ObjectTraits(new StringBuilder("plain")).asSeq(2).toString());
+  }
+
+  /** Writes a string a number of times, counting how many it got through. */
+  private static final class Repeating implements Formattable {
+
+    private final String text;
+    private final int times;
+    private int written;
+
+    Repeating(String text, int times) {
+      this.text = text;
+      this.times = times;
+    }
+
+    @Override
+    public void formatTo(Formatter formatter, int flags, int width, int precision) {
+      written = 0;
+      for (int i = 0; i < times; i++) {
+        formatter.format("%s", text);
+        written++;
+      }
+    }
+
+    @Override
+    public String toString() {
+      return "Repeating";
+    }
+  }
 }
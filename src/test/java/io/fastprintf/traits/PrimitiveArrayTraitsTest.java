@@ -0,0 +1,95 @@
+package io.fastprintf.traits;
+
+import static org.junit.Assert.*;
+
+import io.fastprintf.PrintfException;
+import io.fastprintf.number.IntForm;
+import org.junit.Test;
+
+public class PrimitiveArrayTraitsTest {
+
+  @Test
+  public void testConstructorAndRef() {
+    int[] array = {1, 2, 3};
+    PrimitiveArrayTraits traits = new PrimitiveArrayTraits(array);
+    RefSlot ref = traits.ref();
+    assertFalse(ref.isPrimitive());
+    assertSame(array, ref.get());
+    assertSame(array, traits.asObject());
+    assertEquals(3, traits.length());
+    assertEquals(0, new PrimitiveArrayTraits(new double[0]).length());
+  }
+
+  @Test
+  public void testCursor_shouldConvertLikeTheElementTraits() {
+    assertEquals(-7, new PrimitiveArrayTraits(new short[] {-7}).cursor().moveTo(0).asInt());
+    assertEquals(200, new PrimitiveArrayTraits(new int[] {100, 200}).cursor().moveTo(1).asInt());
+    assertEquals(
+        "9007199254740993",
+        new PrimitiveArrayTraits(new long[] {9007199254740993L}).cursor().asString());
+    assertEquals("0.5", new PrimitiveArrayTraits(new float[] {0.5f}).cursor().asString());
+    assertEquals("2.25", new PrimitiveArrayTraits(new double[] {2.25}).cursor().asString());
+    assertEquals(3, new PrimitiveArrayTraits(new double[] {2.5}).cursor().asInt());
+    assertEquals(2.5, new PrimitiveArrayTraits(new double[] {2.5}).cursor().asObject());
+    assertTrue(new PrimitiveArrayTraits(new int[] {1}).cursor().ref().isPrimitive());
+
+    PrimitiveArrayTraits.Cursor shorts = new PrimitiveArrayTraits(new short[] {-1}).cursor();
+    assertEquals("ffff", shorts.asIntForm().toHexString());
+    PrimitiveArrayTraits.Cursor floats = new PrimitiveArrayTraits(new float[] {-2.75f}).cursor();
+    assertEquals("2", floats.asIntForm().toDecimalString());
+    assertEquals(-1, floats.asFloatForm().signum());
+
+    assertThrows(
+        ArrayIndexOutOfBoundsException.class,
+        () -> new PrimitiveArrayTraits(new int[0]).cursor().moveTo(0));
+  }
+
+  @Test
+  public void testCursor_shouldReuseOneFormForEveryElement() {
+    PrimitiveArrayTraits.Cursor cursor = new PrimitiveArrayTraits(new long[] {5, -6}).cursor();
+    IntForm first = cursor.asIntForm();
+    assertEquals("5", first.toDecimalString());
+    assertSame(first, cursor.moveTo(1).asIntForm());
+    assertEquals(-1, first.signum());
+    assertSame(first, cursor.asFloatForm());
+  }
+
+  @Test
+  public void testCursor_appendDecimal_shouldWriteDigits() {
+    StringBuilder sb = new StringBuilder();
+    new PrimitiveArrayTraits(new short[] {-32768}).cursor().appendDecimal(sb);
+    sb.append('|');
+    new PrimitiveArrayTraits(new int[] {0, Integer.MIN_VALUE}).cursor().moveTo(1).appendDecimal(sb);
+    sb.append('|');
+    new PrimitiveArrayTraits(new long[] {Long.MAX_VALUE}).cursor().appendDecimal(sb);
+    sb.append('|');
+    new PrimitiveArrayTraits(new float[] {-1.9f}).cursor().appendDecimal(sb);
+    sb.append('|');
+    new PrimitiveArrayTraits(new double[] {1e19}).cursor().appendDecimal(sb);
+    assertEquals(
+        "-32768|-2147483648|9223372036854775807|-1|9223372036854775807", sb.toString());
+  }
+
+  @Test
+  public void testAsString_shouldMatchArraysToString() {
+    assertEquals("[1, -2]", new PrimitiveArrayTraits(new short[] {1, -2}).asString());
+    assertEquals("[1, 2, 3]", new PrimitiveArrayTraits(new int[] {1, 2, 3}).asString());
+    assertEquals("[]", new PrimitiveArrayTraits(new long[0]).asString());
+    assertEquals("[1.5, NaN]", new PrimitiveArrayTraits(new float[] {1.5f, Float.NaN}).asString());
+    assertEquals("[1.0E10]", new PrimitiveArrayTraits(new double[] {1e10}).asString());
+  }
+
+  @Test
+  public void testNumericConversions_shouldThrow() {
+    PrimitiveArrayTraits traits = new PrimitiveArrayTraits(new int[] {1});
+    assertThrows(PrintfException.class, traits::asIntForm);
+    assertThrows(PrintfException.class, traits::asFloatForm);
+    assertThrows(PrintfException.class, traits::asInt);
+
+    // The message names the type rather than rendering the whole array.
+    PrimitiveArrayTraits large = new PrimitiveArrayTraits(new double[100_000]);
+    String message = assertThrows(PrintfException.class, large::asInt).getMessage();
+    assertTrue(message, message.contains("[D"));
+    assertFalse(message, message.contains("0.0"));
+  }
+}
@@ -0,0 +1,158 @@
+package io.fastprintf.util.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import io.fastprintf.util.TestHelper;
+import java.math.BigDecimal;
+import java.util.Random;
+import org.junit.Test;
+
+public class DecimalToDoubleTest {
+
+  private static void assertParses(String s) {
+    double expected = Double.parseDouble(s);
+    double actual = DecimalToDouble.parseDouble(s, 0, s.length());
+    assertEquals(s, Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(actual));
+  }
+
+  @Test
+  public void parseDouble_withSpecialValues_shouldMatchJdk() {
+    String[] samples = {
+      "0", "-0", "+0.0", "0e999999999", "1", "-1.5", ".5", "5.", "1e0", "1E+2", "1e-2", "123.456e-7",
+      "NaN", "-NaN", "Infinity", "-Infinity", "+Infinity",
+      "4.9e-324", "2.4703282292062327e-324", "2.4703282292062328e-324", "2.2250738585072011e-308",
+      "2.2250738585072012e-308", "1.7976931348623157e308", "1.7976931348623158e308",
+      "1.7976931348623159e308", "1e309", "1e-400", "9007199254740993", "9007199254740995",
+      "9999999999999999999", "18446744073709551615", "18446744073709551616",
+      "123456789012345678901234567890", "0.000000000000000000000000000001234567890123456789012",
+      "1.00000000000000011102230246251565404236316680908203125",
+      "1.00000000000000011102230246251565404236316680908203124",
+      "1.00000000000000011102230246251565404236316680908203126",
+      "0x1.8p1", "-0x1p-1074", "7.2057594037927933e16", "1e22", "1e23", "8.41e21", "3.0e-44"
+    };
+    for (String sample : samples) {
+      assertParses(sample);
+    }
+  }
+
+  @Test
+  public void parseDouble_withShortestAndFixedRepresentations_shouldRoundTrip() {
+    Random random = new Random(42);
+    for (int i = 0; i < 200_000; i++) {
+      double value = Double.longBitsToDouble(random.nextLong());
+      if (Double.isNaN(value)) {
+        continue;
+      }
+      assertParses(Double.toString(value));
+      assertParses(String.format("%.17e", value));
+      assertParses(String.format("%.3e", value));
+    }
+  }
+
+  @Test
+  public void parseDouble_withRandomDecimals_shouldMatchJdk() {
+    Random random = new Random(43);
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 200_000; i++) {
+      sb.setLength(0);
+      if (random.nextBoolean()) {
+        sb.append('-');
+      }
+      int digits = 1 + random.nextInt(i % 3 == 0 ? 40 : 20);
+      int point = random.nextInt(digits + 1);
+      for (int k = 0; k < digits; k++) {
+        if (k == point) {
+          sb.append('.');
+        }
+        sb.append((char) ('0' + random.nextInt(10)));
+      }
+      if (random.nextBoolean()) {
+        sb.append('e').append(random.nextInt(700) - 350);
+      }
+      assertParses(sb.toString());
+    }
+  }
+
+  @Test
+  public void parseDouble_withNearTies_shouldMatchJdk() {
+    // Midpoints between adjacent doubles, and their neighbours, stress the rounding decision.
+    Random random = new Random(44);
+    for (int i = 0; i < 20_000; i++) {
+      double value = Math.abs(Double.longBitsToDouble(random.nextLong()));
+      if (Double.isNaN(value) || Double.isInfinite(value) || value == Double.MAX_VALUE) {
+        continue;
+      }
+      BigDecimal low = new BigDecimal(value);
+      BigDecimal high = new BigDecimal(Math.nextUp(value));
+      BigDecimal middle = low.add(high).divide(BigDecimal.valueOf(2));
+      BigDecimal nudge = middle.ulp();
+      assertParses(middle.toString());
+      assertParses(middle.add(nudge).toString());
+      assertParses(middle.subtract(nudge).toString());
+    }
+  }
+
+  @Test
+  public void parseDouble_withLongDigitsAndLargeExponent_shouldMatchJdk() {
+    StringBuilder zeros = new StringBuilder();
+    for (int i = 0; i < 200_000; i++) {
+      zeros.append('0');
+    }
+    assertParses("1" + zeros + "e-1000000");
+    assertParses("1" + zeros + "e-200005");
+    assertParses("0." + zeros + "1e1000000");
+    assertParses("0." + zeros + "1e200001");
+    assertParses("0." + zeros + "1e99999999999999999999");
+    assertParses("1" + zeros + "e-99999999999999999999");
+  }
+
+  @Test
+  public void parseDouble_shouldOnlyReadTheRange() {
+    String text = "x=-12.5e1;";
+    assertEquals(-125.0, DecimalToDouble.parseDouble(text, 2, 9), 0);
+    assertEquals(2.0, DecimalToDouble.parseDouble(new StringBuilder("[2]"), 1, 2), 0);
+  }
+
+  @Test
+  public void parseDouble_withInvalidInput_shouldThrow() {
+    String[] invalid = {"", "-", "+", ".", "e5", "1e", "1e+", "1.2.3", "1x", " 1", "1 ", "Inf", "NaNx", "1d"};
+    for (String s : invalid) {
+      assertThrows(s, NumberFormatException.class, () -> DecimalToDouble.parseDouble(s, 0, s.length()));
+    }
+    assertThrows(IndexOutOfBoundsException.class, () -> DecimalToDouble.parseDouble("1", 0, 2));
+  }
+
+  @Test
+  public void toDouble_shouldDecideAlmostAllShortestDecimals() {
+    // Within the range of the power-of-ten table, only near-ties should be left undecided.
+    Random random = new Random(45);
+    int undecided = 0;
+    int total = 0;
+    for (int i = 0; i < 100_000; i++) {
+      double value = Math.abs(Double.longBitsToDouble(random.nextLong()));
+      if (Double.isNaN(value) || Double.isInfinite(value)) {
+        continue;
+      }
+      BigDecimal decimal = new BigDecimal(Double.toString(value));
+      if (decimal.scale() > MathUtils.K_MAX) {
+        continue;
+      }
+      long w = decimal.unscaledValue().longValueExact();
+      double parsed = DecimalToDouble.toDouble(w, -decimal.scale(), false);
+      total++;
+      if (Double.isNaN(parsed)) {
+        undecided++;
+      } else {
+        assertEquals(Double.doubleToLongBits(value), Double.doubleToLongBits(parsed));
+      }
+    }
+    assertTrue(undecided + " of " + total, undecided * 1000 < total);
+  }
+
+  @Test
+  public void testPrivateConstructor() throws Exception {
+    TestHelper.testPrivateConstructor_forCodeCoverage(DecimalToDouble.class);
+  }
+}